@@ -1,15 +1,24 @@
 package br.com.fipe.gateway.application.ports.input;
 
 import br.com.fipe.gateway.presentation.dto.request.UpdateVehicleRequest;
+import br.com.fipe.gateway.presentation.dto.request.VehicleBatchRequest;
 import br.com.fipe.gateway.presentation.dto.response.BrandResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehicleBatchResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehiclePageResponse;
 import br.com.fipe.gateway.presentation.dto.response.VehicleResponse;
+import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface CommandServicePort {
 
     Mono<String> dataLoad();
-    Flux<BrandResponse> getBrands();
-    Flux<VehicleResponse> getVehiclesByBrand(String brandCode);
+    Mono<ResponseEntity<Flux<BrandResponse>>> getBrands(String ifNoneMatch);
+    Mono<ResponseEntity<Flux<VehicleResponse>>> getVehiclesByBrand(String brandCode, String ifNoneMatch);
+    Flux<BrandResponse> streamBrands();
+    Flux<VehicleResponse> streamVehiclesByBrand(String brandName);
+    Mono<VehiclePageResponse> getVehiclePage(String brandName, Integer limit, String cursor);
+    Flux<VehicleBatchResponse> getVehiclesBatch(VehicleBatchRequest request);
+    Flux<VehicleBatchResponse> streamVehiclesBatch(VehicleBatchRequest request);
     Mono<VehicleResponse> updateVehicle(Long id, UpdateVehicleRequest request);
 }
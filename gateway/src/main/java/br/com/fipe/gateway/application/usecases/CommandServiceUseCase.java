@@ -2,12 +2,19 @@ package br.com.fipe.gateway.application.usecases;
 
 import br.com.fipe.gateway.application.ports.input.CommandServicePort;
 import br.com.fipe.gateway.presentation.dto.request.UpdateVehicleRequest;
+import br.com.fipe.gateway.presentation.dto.request.VehicleBatchRequest;
 import br.com.fipe.gateway.presentation.dto.response.BrandResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehicleBatchResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehiclePageResponse;
 import br.com.fipe.gateway.presentation.dto.response.VehicleResponse;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -32,29 +39,130 @@ public class CommandServiceUseCase implements CommandServicePort {
     }
 
     @Override
-    public Flux<BrandResponse> getBrands() {
+    public Mono<ResponseEntity<Flux<BrandResponse>>> getBrands(final String ifNoneMatch) {
         return webClient.get()
                 .uri("/api/v1/brands")
                 .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> forwardValidator(headers, ifNoneMatch))
                 .retrieve()
                 .onStatus(HttpStatusCode::is4xxClientError, response ->
                         handleErrorResponse(response, "Error retrieving brands"))
                 .onStatus(HttpStatusCode::is5xxServerError, response ->
                         handleErrorResponse(response, "Server error while retrieving brands"))
-                .bodyToFlux(BrandResponse.class)
+                .toEntityFlux(BrandResponse.class)
+                .map(CommandServiceUseCase::relayValidator)
                 .doOnSubscribe(subscription -> log.info("Starting request for get all brands"))
-                .doOnComplete(() -> log.info("Request completed to all brands"))
+                .doOnSuccess(response -> log.info("Request completed to all brands with status {}", response.getStatusCode()))
                 .doOnError(error -> log.error("Error retrieving all brands: {}", error.getMessage()));
     }
 
     @Override
-    public Flux<VehicleResponse> getVehiclesByBrand(final String brandName) {
+    public Flux<BrandResponse> streamBrands() {
+        return fetchBrands(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<VehicleResponse>>> getVehiclesByBrand(final String brandName, final String ifNoneMatch) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/api/v1/vehicles")
                         .queryParam("brandName", brandName)
                         .build())
                 .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> forwardValidator(headers, ifNoneMatch))
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response ->
+                        handleErrorResponse(response, "Error retrieving vehicles for brand: " + brandName))
+                .onStatus(HttpStatusCode::is5xxServerError, response ->
+                        handleErrorResponse(response, "Server error while retrieving vehicles for brand: " + brandName))
+                .toEntityFlux(VehicleResponse.class)
+                .map(CommandServiceUseCase::relayValidator)
+                .doOnSubscribe(subscription -> log.info("Starting request for brand: {}", brandName))
+                .doOnSuccess(response -> log.info("Request completed for brand {} with status {}",
+                        brandName, response.getStatusCode()))
+                .doOnError(error -> log.error("Error retrieving vehicles for brand {}: {}", brandName, error.getMessage()));
+    }
+
+    @Override
+    public Flux<VehicleResponse> streamVehiclesByBrand(final String brandName) {
+        return fetchVehiclesByBrand(brandName, MediaType.APPLICATION_NDJSON);
+    }
+
+    @Override
+    public Mono<VehiclePageResponse> getVehiclePage(final String brandName, final Integer limit, final String cursor) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/vehicles/page")
+                        .queryParam("brandName", brandName)
+                        .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response ->
+                        handleErrorResponse(response, "Error retrieving vehicle page for brand: " + brandName))
+                .onStatus(HttpStatusCode::is5xxServerError, response ->
+                        handleErrorResponse(response, "Server error while retrieving vehicle page for brand: " + brandName))
+                .bodyToMono(VehiclePageResponse.class)
+                .doOnSubscribe(subscription -> log.info("Starting page request for brand: {}", brandName))
+                .doOnError(error -> log.error("Error retrieving vehicle page for brand {}: {}", brandName, error.getMessage()));
+    }
+
+    @Override
+    public Flux<VehicleBatchResponse> getVehiclesBatch(final VehicleBatchRequest request) {
+        return fetchVehiclesBatch(request, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public Flux<VehicleBatchResponse> streamVehiclesBatch(final VehicleBatchRequest request) {
+        return fetchVehiclesBatch(request, MediaType.APPLICATION_NDJSON);
+    }
+
+    private static void forwardValidator(final HttpHeaders headers, final String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+    }
+
+    /**
+     * Keeps the processor's status and ETag but none of its other headers, since the gateway serializes the body
+     * again. The bytes may differ from the processor's, so the ETag is passed on as weak; the processor compares
+     * weakly, so the client can send it back unchanged.
+     */
+    private static <T> ResponseEntity<Flux<T>> relayValidator(final ResponseEntity<Flux<T>> response) {
+        String etag = response.getHeaders().getETag();
+        ResponseEntity.BodyBuilder relayed = ResponseEntity.status(response.getStatusCode());
+        if (etag != null) {
+            relayed.eTag(etag.startsWith("W/") ? etag : "W/" + etag);
+        }
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return relayed.build();
+        }
+        return relayed.body(response.getBody());
+    }
+
+    private Flux<BrandResponse> fetchBrands(final MediaType mediaType) {
+        return webClient.get()
+                .uri("/api/v1/brands")
+                .accept(mediaType)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response ->
+                        handleErrorResponse(response, "Error retrieving brands"))
+                .onStatus(HttpStatusCode::is5xxServerError, response ->
+                        handleErrorResponse(response, "Server error while retrieving brands"))
+                .bodyToFlux(BrandResponse.class)
+                .doOnSubscribe(subscription -> log.info("Starting request for get all brands"))
+                .doOnComplete(() -> log.info("Request completed to all brands"))
+                .doOnError(error -> log.error("Error retrieving all brands: {}", error.getMessage()));
+    }
+
+    private Flux<VehicleResponse> fetchVehiclesByBrand(final String brandName, final MediaType mediaType) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/vehicles")
+                        .queryParam("brandName", brandName)
+                        .build())
+                .accept(mediaType)
                 .retrieve()
                 .onStatus(HttpStatusCode::is4xxClientError, response ->
                         handleErrorResponse(response, "Error retrieving vehicles for brand: " + brandName))
@@ -66,6 +174,23 @@ public class CommandServiceUseCase implements CommandServicePort {
                 .doOnError(error -> log.error("Error retrieving vehicles for brand {}: {}", brandName, error.getMessage()));
     }
 
+    private Flux<VehicleBatchResponse> fetchVehiclesBatch(final VehicleBatchRequest request, final MediaType mediaType) {
+        return webClient.post()
+                .uri("/api/v1/vehicles/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .accept(mediaType)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response ->
+                        handleErrorResponse(response, "Error retrieving vehicles batch"))
+                .onStatus(HttpStatusCode::is5xxServerError, response ->
+                        handleErrorResponse(response, "Server error while retrieving vehicles batch"))
+                .bodyToFlux(VehicleBatchResponse.class)
+                .doOnSubscribe(subscription -> log.info("Starting vehicles batch request"))
+                .doOnComplete(() -> log.info("Vehicles batch request completed"))
+                .doOnError(error -> log.error("Error retrieving vehicles batch: {}", error.getMessage()));
+    }
+
     @Override
     public Mono<VehicleResponse> updateVehicle(final Long id, final UpdateVehicleRequest request) {
         return webClient.put()
@@ -0,0 +1,52 @@
+package br.com.fipe.gateway.infrastructure.adapters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Binary (Smile) value serializer for the {@code fipe.brands} topic.
+ *
+ * <p>Every record carries a {@code content-type} and a {@code schema-version} header, and the
+ * payload itself starts with the Smile magic {@code :)\n}, so consumers can tell it apart from
+ * legacy JSON records during a rolling upgrade. Schema evolution rules: fields may only be added,
+ * never renamed or retyped, and consumers ignore fields they do not know.
+ */
+public class CustomSmileSerializerAdapter<T> implements Serializer<T> {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String SCHEMA_VERSION_HEADER = "schema-version";
+    public static final String CONTENT_TYPE = "application/x-jackson-smile";
+    public static final String SCHEMA_VERSION = "1";
+
+    private static final byte[] CONTENT_TYPE_BYTES = CONTENT_TYPE.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SCHEMA_VERSION_BYTES = SCHEMA_VERSION.getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+
+    @Override
+    public byte[] serialize(final String topic, final T data) {
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (Exception e) {
+            throw new RuntimeException("Error serializing object to Smile", e);
+        }
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Headers headers, final T data) {
+        headers.remove(CONTENT_TYPE_HEADER);
+        headers.remove(SCHEMA_VERSION_HEADER);
+        headers.add(CONTENT_TYPE_HEADER, CONTENT_TYPE_BYTES);
+        headers.add(SCHEMA_VERSION_HEADER, SCHEMA_VERSION_BYTES);
+        return serialize(topic, data);
+    }
+}
@@ -2,20 +2,28 @@ package br.com.fipe.gateway.presentation.controllers;
 
 import br.com.fipe.gateway.application.ports.input.CommandServicePort;
 import br.com.fipe.gateway.presentation.dto.request.UpdateVehicleRequest;
+import br.com.fipe.gateway.presentation.dto.request.VehicleBatchRequest;
 import br.com.fipe.gateway.presentation.dto.response.BrandResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehicleBatchResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehiclePageResponse;
 import br.com.fipe.gateway.presentation.dto.response.VehicleResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
@@ -40,22 +48,76 @@ public class VehicleController {
         return service.dataLoad();
     }
 
-    @GetMapping("/brands")
-    @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Get all brands", description = "Retrieves all vehicle brands from the database")
-    public Flux<BrandResponse> getBrands() {
+    @GetMapping(value = "/brands", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get all brands",
+            description = "Retrieves all vehicle brands from the database; answers 304 when If-None-Match holds the current ETag")
+    public Mono<ResponseEntity<Flux<BrandResponse>>> getBrands(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Retrieving all brands");
-        
-        return service.getBrands();
+
+        return service.getBrands(ifNoneMatch);
     }
 
-    @GetMapping("/vehicles/{brandName}")
+    @GetMapping(value = "/brands", produces = MediaType.APPLICATION_NDJSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Get vehicles by brand", description = "Retrieves all vehicles for a specific brand")
-    public Flux<VehicleResponse> getVehiclesByBrand(@PathVariable String brandName) {
+    @Operation(summary = "Stream all brands", description = "Streams all vehicle brands as newline-delimited JSON")
+    public Flux<BrandResponse> streamBrands() {
+        log.info("Streaming all brands");
+
+        return service.streamBrands();
+    }
+
+    @GetMapping(value = "/vehicles/{brandName}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get vehicles by brand",
+            description = "Retrieves all vehicles for a specific brand; answers 304 when If-None-Match holds the current ETag")
+    public Mono<ResponseEntity<Flux<VehicleResponse>>> getVehiclesByBrand(
+            @PathVariable String brandName,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Retrieving vehicles for brand: {}", brandName);
 
-        return service.getVehiclesByBrand(brandName);
+        return service.getVehiclesByBrand(brandName, ifNoneMatch);
+    }
+
+    @GetMapping(value = "/vehicles/{brandName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Stream vehicles by brand", description = "Streams the vehicles of a brand as newline-delimited JSON")
+    public Flux<VehicleResponse> streamVehiclesByBrand(@PathVariable String brandName) {
+        log.info("Streaming vehicles for brand: {}", brandName);
+
+        return service.streamVehiclesByBrand(brandName);
+    }
+
+    @GetMapping("/vehicles/{brandName}/page")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get a page of vehicles by brand",
+            description = "Retrieves vehicles of a brand in model order, one page at a time; pass nextCursor back to continue")
+    public Mono<VehiclePageResponse> getVehiclePage(
+            @PathVariable String brandName,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("Retrieving vehicle page for brand: {}", brandName);
+
+        return service.getVehiclePage(brandName, limit, cursor);
+    }
+
+    @PostMapping(value = "/vehicles/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get vehicles in batch",
+            description = "Resolves several brand names, vehicle ids and FIPE codes in a single request")
+    public Flux<VehicleBatchResponse> getVehiclesBatch(@Valid @RequestBody VehicleBatchRequest request) {
+        log.info("Retrieving vehicles batch");
+
+        return service.getVehiclesBatch(request);
+    }
+
+    @PostMapping(value = "/vehicles/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Stream vehicles in batch",
+            description = "Streams one newline-delimited JSON entry per lookup as soon as it is resolved")
+    public Flux<VehicleBatchResponse> streamVehiclesBatch(@Valid @RequestBody VehicleBatchRequest request) {
+        log.info("Streaming vehicles batch");
+
+        return service.streamVehiclesBatch(request);
     }
 
     @PutMapping("/vehicles/{id}")
@@ -0,0 +1,20 @@
+package br.com.fipe.gateway.presentation.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Schema(description = "Several vehicle lookups resolved in one call; any of the lists may be omitted")
+public record VehicleBatchRequest(
+        @Schema(description = "Brand names whose vehicles should be returned", example = "[\"Acura\", \"Fiat\"]")
+        @Size(max = 100, message = "At most 100 brand names per batch")
+        List<String> brandNames,
+
+        @Schema(description = "Vehicle ids", example = "[1, 2]")
+        @Size(max = 500, message = "At most 500 vehicle ids per batch")
+        List<Long> ids,
+
+        @Schema(description = "FIPE vehicle codes", example = "[\"001004-1\"]")
+        @Size(max = 500, message = "At most 500 vehicle codes per batch")
+        List<String> codes
+) {}
@@ -0,0 +1,13 @@
+package br.com.fipe.gateway.presentation.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Vehicles found for one lookup of a batch request")
+public record VehicleBatchResponse(
+        @Schema(description = "The lookup this entry answers, prefixed by its kind", example = "brand:Acura")
+        String lookup,
+
+        @Schema(description = "Matching vehicles; empty when nothing matched")
+        List<VehicleResponse> vehicles
+) {}
@@ -0,0 +1,13 @@
+package br.com.fipe.gateway.presentation.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "One page of a brand's vehicles, ordered by model")
+public record VehiclePageResponse(
+        @Schema(description = "Vehicles in this page")
+        List<VehicleResponse> items,
+
+        @Schema(description = "Opaque token for the next page; absent on the last page", example = "MTIzOkludGVncmEgR1MgMS44")
+        String nextCursor
+) {}
@@ -0,0 +1,6 @@
+-- Vehicle models sort by their bytes ("C" collation), the order Redis ZRANGEBYLEX walks the hash layout's index in
+-- and, for the text FIPE uses, the order of String.compareTo in the in-memory catalog. A page cursor then means the
+-- same position in Postgres, Redis and memory, whichever of them served the previous page. Only the collation
+-- changes, so rows stay in place; the indexes on model are rebuilt.
+ALTER TABLE vehicles ALTER COLUMN model TYPE VARCHAR(200) COLLATE "C";
+ALTER TABLE vehicles_by_brand ALTER COLUMN model TYPE VARCHAR(200) COLLATE "C";
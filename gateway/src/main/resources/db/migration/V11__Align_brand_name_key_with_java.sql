@@ -0,0 +1,26 @@
+-- brand_name_key (V6) and Brand.normalizeName in the processor computed different keys for some names: unaccent
+-- also folds letters such as ß, æ and ø, btrim only strips spaces while the Java side trimmed control characters,
+-- and lower() followed the database locale. Both now apply the same locale-independent rules: NFD with the
+-- combining diacritical marks U+0300..U+036F dropped, runs of ASCII whitespace collapsed to one space and trimmed,
+-- and only A-Z lower-cased. processor-brand checks both against the cases in brand-name-keys.csv.
+CREATE OR REPLACE FUNCTION brand_name_key(name TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$
+    SELECT translate(btrim(regexp_replace(regexp_replace(normalize(name, NFD), '[\u0300-\u036f]+', '', 'g'),
+                                          '[ \t\n\v\f\r]+', ' ', 'g'), ' '),
+                     'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz')
+$$;
+
+REINDEX INDEX idx_brands_name_key;
+
+-- The read model stores the key, so rebuild it the way V7 first filled it.
+DELETE FROM vehicles_by_brand;
+
+INSERT INTO vehicles_by_brand (brand_name_key, vehicle_id, code, brand_code, model, observations,
+                               created_at, updated_at, generation, visible_from)
+SELECT b.name_key, v.id, v.code, v.brand_code, v.model, v.observations, v.created_at, v.updated_at,
+       v.generation, GREATEST(v.generation, b.generation)
+FROM (SELECT code, brand_name_key(name) AS name_key, MIN(generation) AS generation
+      FROM brands
+      GROUP BY code, brand_name_key(name)) b
+JOIN vehicles v ON v.brand_code = b.code;
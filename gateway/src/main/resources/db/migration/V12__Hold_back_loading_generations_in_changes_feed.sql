@@ -0,0 +1,20 @@
+-- Publishing a generation renumbered every one of its vehicles (V8) in the transaction that flips its status, which
+-- made publish the longest transaction writing vehicles: once it ran past the settle window, a mirror could move
+-- past the generation's new numbers while they were still uncommitted and never see them. Rows of a loading
+-- generation now keep the numbers they were inserted with, and the changes feed stops before the first of them
+-- until the generation is published, the same way it stops before a change that has not settled. A load that
+-- never finishes is marked FAILED by the stale-generation sweep, so the feed is held back for at most that long.
+DROP TRIGGER trg_catalog_generation_published ON catalog_generations;
+DROP FUNCTION vehicles_publish_changes();
+
+-- Vehicles of a generation that is not published never reached a mirror, so deleting them (a failed load discards
+-- its rows, V9) leaves no tombstone.
+CREATE OR REPLACE FUNCTION vehicles_record_deletions() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO vehicle_deletions (vehicle_id, code, brand_code)
+    SELECT o.id, o.code, o.brand_code
+    FROM old_vehicles o
+    WHERE EXISTS (SELECT 1 FROM catalog_generations g WHERE g.id = o.generation AND g.status = 'PUBLISHED')
+    ORDER BY o.id;
+    RETURN NULL;
+END $$;
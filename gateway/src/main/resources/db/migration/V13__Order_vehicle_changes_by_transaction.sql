@@ -0,0 +1,53 @@
+-- The changes feed held back changes younger than a settle window (V8) and stopped before the rows of a loading
+-- generation (V12). Neither was safe: publish renumbers and rewrites rows inside one transaction that can outlast any
+-- window, and a load held the whole feed, user updates included, until it was published or abandoned.
+-- Every change now records the id of the transaction that made it, and the feed is ordered by (transaction, number)
+-- and only hands out changes of transactions older than the oldest one still running. A transaction that commits
+-- later has a higher id than all of those, so it always lands after what a mirror has already read, however long it
+-- ran and whatever numbers it took. Rows of a generation that is not published are skipped, and publishing the
+-- generation writes them again in its own transaction, after everything the mirror has seen (as V8 did).
+ALTER TABLE vehicles ADD COLUMN change_xid xid8 NOT NULL DEFAULT '0';
+ALTER TABLE vehicles ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id();
+
+ALTER TABLE vehicle_deletions ADD COLUMN change_xid xid8 NOT NULL DEFAULT '0';
+ALTER TABLE vehicle_deletions ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id();
+
+DROP INDEX IF EXISTS idx_vehicles_change_seq;
+CREATE INDEX IF NOT EXISTS idx_vehicles_change_xid ON vehicles(change_xid, change_seq);
+CREATE INDEX IF NOT EXISTS idx_vehicle_deletions_change_xid ON vehicle_deletions(change_xid, change_seq);
+
+CREATE OR REPLACE FUNCTION vehicles_next_change() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id();
+    NEW.change_seq := nextval('vehicle_change_seq');
+    NEW.changed_at := clock_timestamp();
+    RETURN NEW;
+END $$;
+
+-- Publishing also writes the rows of generations below it that became visible with it.
+CREATE FUNCTION vehicles_publish_changes() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE vehicles
+    SET change_seq = nextval('vehicle_change_seq')
+    WHERE generation <= NEW.id
+      AND generation > (SELECT COALESCE(MAX(id), -1)
+                        FROM catalog_generations
+                        WHERE status = 'PUBLISHED' AND id <> NEW.id);
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_catalog_generation_published AFTER UPDATE OF status ON catalog_generations
+    FOR EACH ROW WHEN (NEW.status = 'PUBLISHED' AND OLD.status IS DISTINCT FROM 'PUBLISHED')
+    EXECUTE FUNCTION vehicles_publish_changes();
+
+-- The feed shows rows up to the newest published generation, so deleting one of those leaves a tombstone even when
+-- its own generation never got published.
+CREATE OR REPLACE FUNCTION vehicles_record_deletions() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO vehicle_deletions (vehicle_id, code, brand_code)
+    SELECT o.id, o.code, o.brand_code
+    FROM old_vehicles o
+    WHERE o.generation <= (SELECT MAX(id) FROM catalog_generations WHERE status = 'PUBLISHED')
+    ORDER BY o.id;
+    RETURN NULL;
+END $$;
@@ -0,0 +1,22 @@
+CREATE TABLE catalog_generations (
+                                     id BIGSERIAL PRIMARY KEY,
+                                     status VARCHAR(20) NOT NULL,
+                                     expected_brands INTEGER,
+                                     started_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                                     published_at TIMESTAMP
+);
+
+CREATE TABLE catalog_generation_brands (
+                                           generation_id BIGINT NOT NULL REFERENCES catalog_generations(id),
+                                           brand_code VARCHAR(50) NOT NULL,
+                                           completed_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                                           PRIMARY KEY (generation_id, brand_code)
+);
+
+-- Generation 0 is the catalog that existed before generations were introduced.
+INSERT INTO catalog_generations (id, status, expected_brands, published_at) VALUES (0, 'PUBLISHED', 0, NOW());
+
+ALTER TABLE brands ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE vehicles ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_catalog_generations_status ON catalog_generations(status, id);
@@ -0,0 +1,3 @@
+-- Keyset pagination walks a brand in (model, id) order; the old brand_code index is a prefix of this one.
+CREATE INDEX IF NOT EXISTS idx_vehicles_brand_model_id ON vehicles(brand_code, model, id);
+DROP INDEX IF EXISTS idx_vehicles_brand;
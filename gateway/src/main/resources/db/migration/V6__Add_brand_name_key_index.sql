@@ -0,0 +1,12 @@
+-- Brand lookups match names case- and accent-insensitively. unaccent() is only STABLE, so it is wrapped in an
+-- IMMUTABLE function with an explicit dictionary to make it usable in an index expression. The Java side
+-- (Brand.normalizeName) applies the same folding: strip accents, trim, collapse whitespace, lower-case.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE OR REPLACE FUNCTION brand_name_key(name TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$
+    SELECT lower(regexp_replace(btrim(public.unaccent('public.unaccent'::regdictionary, name)), '\s+', ' ', 'g'))
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_brands_name_key ON brands(brand_name_key(name), generation);
@@ -0,0 +1,84 @@
+-- Read model for "vehicles of a brand": one row per vehicle and brand name key (brand_name_key, see V6), so the
+-- endpoint is served by a single index-only scan instead of a brand lookup followed by a vehicle query.
+-- A row becomes visible in the later of the vehicle's generation and the first generation that has the brand under
+-- that name, which is exactly what the two-query lookup returned.
+CREATE TABLE vehicles_by_brand (
+                                   brand_name_key TEXT NOT NULL,
+                                   vehicle_id INTEGER NOT NULL REFERENCES vehicles(id) ON DELETE CASCADE,
+                                   code VARCHAR(50) NOT NULL,
+                                   brand_code VARCHAR(50) NOT NULL,
+                                   model VARCHAR(200) NOT NULL,
+                                   observations TEXT,
+                                   created_at TIMESTAMP NOT NULL,
+                                   updated_at TIMESTAMP NOT NULL,
+                                   generation BIGINT NOT NULL,
+                                   visible_from BIGINT NOT NULL,
+                                   PRIMARY KEY (vehicle_id, brand_name_key)
+);
+
+-- Covers every column the endpoint returns. Observations are capped at 1000 characters by the API, which keeps
+-- index tuples well under the btree size limit.
+CREATE INDEX idx_vehicles_by_brand_covering ON vehicles_by_brand(brand_name_key, model, vehicle_id)
+    INCLUDE (visible_from, code, brand_code, observations, created_at, updated_at, generation);
+
+-- Statement-level triggers keep the read model in step with every writer, so a bulk load refreshes it with one
+-- set-based insert. Vehicle inserts take a shared advisory lock and brand inserts an exclusive one: whichever runs
+-- second waits for the first to commit and then sees its rows, so a brand and its vehicles written concurrently
+-- are never both missed.
+CREATE FUNCTION vehicles_by_brand_add_vehicles() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock_shared(hashtext('vehicles_by_brand'));
+    INSERT INTO vehicles_by_brand (brand_name_key, vehicle_id, code, brand_code, model, observations,
+                                   created_at, updated_at, generation, visible_from)
+    SELECT b.name_key, v.id, v.code, v.brand_code, v.model, v.observations, v.created_at, v.updated_at,
+           v.generation, GREATEST(v.generation, b.generation)
+    FROM new_vehicles v
+    JOIN (SELECT code, brand_name_key(name) AS name_key, MIN(generation) AS generation
+          FROM brands
+          WHERE code IN (SELECT DISTINCT brand_code FROM new_vehicles)
+          GROUP BY code, brand_name_key(name)) b ON b.code = v.brand_code
+    ON CONFLICT (vehicle_id, brand_name_key) DO NOTHING;
+    RETURN NULL;
+END $$;
+
+CREATE FUNCTION vehicles_by_brand_update_vehicles() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE vehicles_by_brand r
+    SET code = v.code, model = v.model, observations = v.observations,
+        created_at = v.created_at, updated_at = v.updated_at
+    FROM new_vehicles v
+    WHERE r.vehicle_id = v.id;
+    RETURN NULL;
+END $$;
+
+CREATE FUNCTION vehicles_by_brand_add_brands() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('vehicles_by_brand'));
+    INSERT INTO vehicles_by_brand (brand_name_key, vehicle_id, code, brand_code, model, observations,
+                                   created_at, updated_at, generation, visible_from)
+    SELECT b.name_key, v.id, v.code, v.brand_code, v.model, v.observations, v.created_at, v.updated_at,
+           v.generation, GREATEST(v.generation, b.generation)
+    FROM (SELECT code, brand_name_key(name) AS name_key, MIN(generation) AS generation
+          FROM new_brands
+          GROUP BY code, brand_name_key(name)) b
+    JOIN vehicles v ON v.brand_code = b.code
+    ON CONFLICT (vehicle_id, brand_name_key) DO UPDATE SET visible_from = EXCLUDED.visible_from
+        WHERE EXCLUDED.visible_from < vehicles_by_brand.visible_from;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_vehicles_by_brand_insert AFTER INSERT ON vehicles
+    REFERENCING NEW TABLE AS new_vehicles FOR EACH STATEMENT EXECUTE FUNCTION vehicles_by_brand_add_vehicles();
+CREATE TRIGGER trg_vehicles_by_brand_update AFTER UPDATE ON vehicles
+    REFERENCING NEW TABLE AS new_vehicles FOR EACH STATEMENT EXECUTE FUNCTION vehicles_by_brand_update_vehicles();
+CREATE TRIGGER trg_vehicles_by_brand_brands AFTER INSERT ON brands
+    REFERENCING NEW TABLE AS new_brands FOR EACH STATEMENT EXECUTE FUNCTION vehicles_by_brand_add_brands();
+
+INSERT INTO vehicles_by_brand (brand_name_key, vehicle_id, code, brand_code, model, observations,
+                               created_at, updated_at, generation, visible_from)
+SELECT b.name_key, v.id, v.code, v.brand_code, v.model, v.observations, v.created_at, v.updated_at,
+       v.generation, GREATEST(v.generation, b.generation)
+FROM (SELECT code, brand_name_key(name) AS name_key, MIN(generation) AS generation
+      FROM brands
+      GROUP BY code, brand_name_key(name)) b
+JOIN vehicles v ON v.brand_code = b.code;
@@ -0,0 +1,65 @@
+-- Delta sync (GET /api/v1/vehicles/changes): every inserted or updated vehicle takes the next value of
+-- vehicle_change_seq and every deleted one leaves a tombstone numbered from the same sequence, so a mirror asks for
+-- everything after the last number it applied. changed_at records when the number was taken: the endpoint only
+-- hands out numbers older than a settle window, so a transaction still open with a lower number is not skipped.
+CREATE SEQUENCE vehicle_change_seq;
+
+ALTER TABLE vehicles ADD COLUMN change_seq BIGINT;
+ALTER TABLE vehicles ADD COLUMN changed_at TIMESTAMPTZ;
+
+-- Existing rows are numbered in update order. The read model trigger (V7) has nothing to copy for these columns.
+ALTER TABLE vehicles DISABLE TRIGGER trg_vehicles_by_brand_update;
+UPDATE vehicles v
+SET change_seq = s.change_seq, changed_at = clock_timestamp()
+FROM (SELECT id, nextval('vehicle_change_seq') AS change_seq
+      FROM (SELECT id FROM vehicles ORDER BY updated_at, id) ordered) s
+WHERE v.id = s.id;
+ALTER TABLE vehicles ENABLE TRIGGER trg_vehicles_by_brand_update;
+
+ALTER TABLE vehicles
+    ALTER COLUMN change_seq SET DEFAULT nextval('vehicle_change_seq'),
+    ALTER COLUMN change_seq SET NOT NULL,
+    ALTER COLUMN changed_at SET DEFAULT clock_timestamp(),
+    ALTER COLUMN changed_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_vehicles_change_seq ON vehicles(change_seq);
+
+CREATE FUNCTION vehicles_next_change() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.change_seq := nextval('vehicle_change_seq');
+    NEW.changed_at := clock_timestamp();
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER trg_vehicles_next_change BEFORE UPDATE ON vehicles
+    FOR EACH ROW EXECUTE FUNCTION vehicles_next_change();
+
+CREATE TABLE vehicle_deletions (
+                                   change_seq BIGINT PRIMARY KEY DEFAULT nextval('vehicle_change_seq'),
+                                   vehicle_id INTEGER NOT NULL,
+                                   code VARCHAR(50) NOT NULL,
+                                   brand_code VARCHAR(50) NOT NULL,
+                                   deleted_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE FUNCTION vehicles_record_deletions() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO vehicle_deletions (vehicle_id, code, brand_code)
+    SELECT id, code, brand_code FROM old_vehicles ORDER BY id;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_vehicles_record_deletions AFTER DELETE ON vehicles
+    REFERENCING OLD TABLE AS old_vehicles FOR EACH STATEMENT EXECUTE FUNCTION vehicles_record_deletions();
+
+-- Rows of a generation that is still loading are left out of the changes feed, and a mirror may move past their
+-- numbers meanwhile. Publishing the generation numbers them again, after everything the mirror has seen.
+CREATE FUNCTION vehicles_publish_changes() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE vehicles SET change_seq = nextval('vehicle_change_seq') WHERE generation = NEW.id;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_catalog_generation_published AFTER UPDATE OF status ON catalog_generations
+    FOR EACH ROW WHEN (NEW.status = 'PUBLISHED' AND OLD.status IS DISTINCT FROM 'PUBLISHED')
+    EXECUTE FUNCTION vehicles_publish_changes();
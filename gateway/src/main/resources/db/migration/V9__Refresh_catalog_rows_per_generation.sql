@@ -0,0 +1,84 @@
+-- A reload refreshes the catalog instead of appending to it. brands and vehicles keep one row per code; a load
+-- inserts codes it has not seen under its own generation (hidden until publish, as before) and stages new values
+-- for rows that changed. Publishing the generation applies the staged values in the same transaction that flips
+-- its status, so readers switch to the refreshed catalog at once. A generation that fails is discarded.
+
+-- One brand row per code: keep the newest published row, or the newest row if none is published yet.
+DELETE FROM brands
+WHERE id IN (SELECT id
+             FROM (SELECT b.id, ROW_NUMBER() OVER (PARTITION BY b.code
+                                                   ORDER BY b.generation <= p.published DESC, b.generation DESC,
+                                                            b.id DESC) AS position
+                   FROM brands b,
+                        (SELECT COALESCE(MAX(id), 0) AS published
+                         FROM catalog_generations WHERE status = 'PUBLISHED') p) ranked
+             WHERE position > 1);
+
+DELETE FROM vehicles_by_brand r
+WHERE NOT EXISTS (SELECT 1 FROM brands b WHERE b.code = r.brand_code AND brand_name_key(b.name) = r.brand_name_key);
+
+ALTER TABLE brands ADD CONSTRAINT uk_brand_code UNIQUE (code);
+
+CREATE TABLE pending_brand_updates (
+                                       generation_id BIGINT NOT NULL REFERENCES catalog_generations(id),
+                                       code VARCHAR(10) NOT NULL,
+                                       name VARCHAR(100) NOT NULL,
+                                       PRIMARY KEY (generation_id, code)
+);
+
+CREATE TABLE pending_vehicle_updates (
+                                         generation_id BIGINT NOT NULL REFERENCES catalog_generations(id),
+                                         code VARCHAR(50) NOT NULL,
+                                         brand_code VARCHAR(50) NOT NULL,
+                                         model VARCHAR(200) NOT NULL,
+                                         PRIMARY KEY (generation_id, code, brand_code)
+);
+
+-- Rows keep their generation when refreshed, so replicas still reading the previous generation keep seeing them.
+CREATE FUNCTION catalog_generation_finish() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.status = 'PUBLISHED' THEN
+        UPDATE brands b SET name = u.name
+        FROM pending_brand_updates u
+        WHERE u.generation_id = NEW.id AND b.code = u.code AND b.name IS DISTINCT FROM u.name;
+
+        UPDATE vehicles v SET model = u.model, updated_at = NOW()
+        FROM pending_vehicle_updates u
+        WHERE u.generation_id = NEW.id AND v.code = u.code AND v.brand_code = u.brand_code
+          AND v.model IS DISTINCT FROM u.model;
+    ELSE
+        DELETE FROM vehicles WHERE generation = NEW.id;
+        DELETE FROM brands WHERE generation = NEW.id;
+    END IF;
+    DELETE FROM pending_vehicle_updates WHERE generation_id = NEW.id;
+    DELETE FROM pending_brand_updates WHERE generation_id = NEW.id;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_catalog_generation_finish AFTER UPDATE OF status ON catalog_generations
+    FOR EACH ROW WHEN (OLD.status = 'LOADING' AND NEW.status IN ('PUBLISHED', 'FAILED'))
+    EXECUTE FUNCTION catalog_generation_finish();
+
+-- A renamed brand moves its vehicles to the new name key in the read model (V7).
+CREATE FUNCTION vehicles_by_brand_rename_brands() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('vehicles_by_brand'));
+    DELETE FROM vehicles_by_brand r
+    USING old_brands o JOIN new_brands n ON n.id = o.id
+    WHERE r.brand_code = o.code AND r.brand_name_key = brand_name_key(o.name)
+      AND brand_name_key(n.name) IS DISTINCT FROM brand_name_key(o.name);
+
+    INSERT INTO vehicles_by_brand (brand_name_key, vehicle_id, code, brand_code, model, observations,
+                                   created_at, updated_at, generation, visible_from)
+    SELECT brand_name_key(n.name), v.id, v.code, v.brand_code, v.model, v.observations, v.created_at, v.updated_at,
+           v.generation, GREATEST(v.generation, n.generation)
+    FROM new_brands n
+    JOIN old_brands o ON o.id = n.id AND brand_name_key(n.name) IS DISTINCT FROM brand_name_key(o.name)
+    JOIN vehicles v ON v.brand_code = n.code
+    ON CONFLICT (vehicle_id, brand_name_key) DO NOTHING;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_vehicles_by_brand_rename AFTER UPDATE ON brands
+    REFERENCING OLD TABLE AS old_brands NEW TABLE AS new_brands
+    FOR EACH STATEMENT EXECUTE FUNCTION vehicles_by_brand_rename_brands();
@@ -1,14 +1,23 @@
 package br.com.fipe.gateway.application.usecases;
 
+import br.com.fipe.gateway.presentation.dto.request.VehicleBatchRequest;
 import br.com.fipe.gateway.presentation.dto.response.BrandResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehicleBatchResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehiclePageResponse;
 import br.com.fipe.gateway.presentation.dto.response.VehicleResponse;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.RequestBodySpec;
@@ -19,7 +28,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -101,11 +112,13 @@ class CommandServiceUseCaseTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri("/api/v1/brands")).thenReturn(requestBodySpec);
         when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
         when(requestBodySpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.bodyToFlux(BrandResponse.class)).thenReturn(Flux.fromIterable(expectedBrands));
+        when(responseSpec.toEntityFlux(BrandResponse.class)).thenReturn(Mono.just(ResponseEntity.ok().body(Flux.fromIterable(expectedBrands))));
 
-        Flux<BrandResponse> result = commandServiceUseCase.getBrands();
+        Flux<BrandResponse> result = commandServiceUseCase.getBrands(null)
+                .flatMapMany(ResponseEntity::getBody);
 
         StepVerifier.create(result)
                 .expectNextSequence(expectedBrands)
@@ -116,17 +129,61 @@ class CommandServiceUseCaseTest {
         verify(requestBodySpec).accept(any());
     }
 
+    @Test
+    void streamBrands_ShouldRequestNdjsonFromProcessor() {
+        List<BrandResponse> expectedBrands = List.of(new BrandResponse("1", "Acura"));
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri("/api/v1/brands")).thenReturn(requestBodySpec);
+        when(requestBodySpec.accept(MediaType.APPLICATION_NDJSON)).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(BrandResponse.class)).thenReturn(Flux.fromIterable(expectedBrands));
+
+        StepVerifier.create(commandServiceUseCase.streamBrands())
+                .expectNextSequence(expectedBrands)
+                .verifyComplete();
+
+        verify(requestBodySpec).accept(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void streamVehiclesBatch_ShouldPostLookupsAndRequestNdjson() {
+        VehicleBatchRequest request = new VehicleBatchRequest(List.of("Acura"), List.of(1L), null);
+        List<VehicleBatchResponse> expected = List.of(
+                new VehicleBatchResponse("brand:Acura", List.of()),
+                new VehicleBatchResponse("id:1", List.of()));
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/api/v1/vehicles/batch")).thenReturn(requestBodySpec);
+        when(requestBodySpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodySpec);
+        doReturn(requestBodySpec).when(requestBodySpec).bodyValue(request);
+        when(requestBodySpec.accept(MediaType.APPLICATION_NDJSON)).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(VehicleBatchResponse.class)).thenReturn(Flux.fromIterable(expected));
+
+        StepVerifier.create(commandServiceUseCase.streamVehiclesBatch(request))
+                .expectNextSequence(expected)
+                .verifyComplete();
+
+        verify(requestBodySpec).bodyValue(request);
+        verify(requestBodySpec).accept(MediaType.APPLICATION_NDJSON);
+    }
+
     @Test
     void getBrands_ShouldHandleClientError() {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri("/api/v1/brands")).thenReturn(requestBodySpec);
         when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
         when(requestBodySpec.retrieve()).thenReturn(responseSpec);
 
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.bodyToFlux(BrandResponse.class)).thenReturn(Flux.error(new RuntimeException("Client error")));
+        when(responseSpec.toEntityFlux(BrandResponse.class)).thenReturn(Mono.error(new RuntimeException("Client error")));
 
-        Flux<BrandResponse> result = commandServiceUseCase.getBrands();
+        Flux<BrandResponse> result = commandServiceUseCase.getBrands(null)
+                .flatMapMany(ResponseEntity::getBody);
 
         StepVerifier.create(result)
                 .expectError(RuntimeException.class)
@@ -147,11 +204,13 @@ class CommandServiceUseCaseTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
         when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
         when(requestBodySpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.bodyToFlux(VehicleResponse.class)).thenReturn(Flux.fromIterable(expectedVehicles));
+        when(responseSpec.toEntityFlux(VehicleResponse.class)).thenReturn(Mono.just(ResponseEntity.ok().body(Flux.fromIterable(expectedVehicles))));
 
-        Flux<VehicleResponse> result = commandServiceUseCase.getVehiclesByBrand(brandName);
+        Flux<VehicleResponse> result = commandServiceUseCase.getVehiclesByBrand(brandName, null)
+                .flatMapMany(ResponseEntity::getBody);
 
         StepVerifier.create(result)
                 .expectNextSequence(expectedVehicles)
@@ -162,6 +221,42 @@ class CommandServiceUseCaseTest {
         verify(requestBodySpec).accept(any());
     }
 
+    @Test
+    void streamVehiclesByBrand_ShouldRequestNdjsonFromProcessor() {
+        List<VehicleResponse> expectedVehicles = List.of(
+                new VehicleResponse(1L, "001004-1", "1", "Integra GS 1.8", "Imported vehicle"));
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
+        when(requestBodySpec.accept(MediaType.APPLICATION_NDJSON)).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(VehicleResponse.class)).thenReturn(Flux.fromIterable(expectedVehicles));
+
+        StepVerifier.create(commandServiceUseCase.streamVehiclesByBrand("Acura"))
+                .expectNextSequence(expectedVehicles)
+                .verifyComplete();
+
+        verify(requestBodySpec).accept(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void getVehiclePage_ShouldReturnPage() {
+        VehiclePageResponse page = new VehiclePageResponse(
+                List.of(new VehicleResponse(1L, "001004-1", "1", "Integra GS 1.8", "Imported vehicle")), "next");
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
+        when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(VehiclePageResponse.class)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(commandServiceUseCase.getVehiclePage("Acura", 1, null))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
     @Test
     void getVehiclesByBrand_ShouldHandleServerError() {
         String brandName = "Acura";
@@ -169,12 +264,14 @@ class CommandServiceUseCaseTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
         when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
         when(requestBodySpec.retrieve()).thenReturn(responseSpec);
 
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.bodyToFlux(VehicleResponse.class)).thenReturn(Flux.error(new RuntimeException("Server error")));
+        when(responseSpec.toEntityFlux(VehicleResponse.class)).thenReturn(Mono.error(new RuntimeException("Server error")));
 
-        Flux<VehicleResponse> result = commandServiceUseCase.getVehiclesByBrand(brandName);
+        Flux<VehicleResponse> result = commandServiceUseCase.getVehiclesByBrand(brandName, null)
+                .flatMapMany(ResponseEntity::getBody);
 
         StepVerifier.create(result)
                 .expectError(RuntimeException.class)
@@ -189,15 +286,17 @@ class CommandServiceUseCaseTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri("/api/v1/brands")).thenReturn(requestBodySpec);
         when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
         when(requestBodySpec.retrieve()).thenReturn(responseSpec);
 
         when(responseSpec.onStatus(any(), any())).thenAnswer(invocation -> {
             Function<ClientResponse, Mono<? extends Throwable>> errorHandler = invocation.getArgument(1);
             return responseSpec;
         });
-        when(responseSpec.bodyToFlux(BrandResponse.class)).thenReturn(Flux.error(new RuntimeException("Error retrieving brands - Status: 400, Body: Error details")));
+        when(responseSpec.toEntityFlux(BrandResponse.class)).thenReturn(Mono.error(new RuntimeException("Error retrieving brands - Status: 400, Body: Error details")));
 
-        Flux<BrandResponse> result = commandServiceUseCase.getBrands();
+        Flux<BrandResponse> result = commandServiceUseCase.getBrands(null)
+                .flatMapMany(ResponseEntity::getBody);
 
         StepVerifier.create(result)
                 .expectErrorMatches(throwable ->
@@ -213,15 +312,17 @@ class CommandServiceUseCaseTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri("/api/v1/brands")).thenReturn(requestBodySpec);
         when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
         when(requestBodySpec.retrieve()).thenReturn(responseSpec);
 
         when(responseSpec.onStatus(any(), any())).thenAnswer(invocation -> {
             Function<ClientResponse, Mono<? extends Throwable>> errorHandler = invocation.getArgument(1);
             return responseSpec;
         });
-        when(responseSpec.bodyToFlux(BrandResponse.class)).thenReturn(Flux.error(new RuntimeException("Server error while retrieving brands - Status: 500, Body: No error body")));
+        when(responseSpec.toEntityFlux(BrandResponse.class)).thenReturn(Mono.error(new RuntimeException("Server error while retrieving brands - Status: 500, Body: No error body")));
 
-        Flux<BrandResponse> result = commandServiceUseCase.getBrands();
+        Flux<BrandResponse> result = commandServiceUseCase.getBrands(null)
+                .flatMapMany(ResponseEntity::getBody);
 
         StepVerifier.create(result)
                 .expectErrorMatches(throwable ->
@@ -242,11 +343,13 @@ class CommandServiceUseCaseTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
         when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
         when(requestBodySpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.bodyToFlux(VehicleResponse.class)).thenReturn(Flux.fromIterable(expectedVehicles));
+        when(responseSpec.toEntityFlux(VehicleResponse.class)).thenReturn(Mono.just(ResponseEntity.ok().body(Flux.fromIterable(expectedVehicles))));
 
-        Flux<VehicleResponse> result = commandServiceUseCase.getVehiclesByBrand(brandName);
+        Flux<VehicleResponse> result = commandServiceUseCase.getVehiclesByBrand(brandName, null)
+                .flatMapMany(ResponseEntity::getBody);
 
         StepVerifier.create(result)
                 .expectNextCount(1)
@@ -255,4 +358,57 @@ class CommandServiceUseCaseTest {
         verify(webClient).get();
         verify(requestHeadersUriSpec).uri(any(Function.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getBrands_ShouldForwardIfNoneMatchAndRelayNotModified() {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri("/api/v1/brands")).thenReturn(requestBodySpec);
+        when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(BrandResponse.class)).thenReturn(Mono.just(
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"abc\"").body(Flux.empty())));
+
+        StepVerifier.create(commandServiceUseCase.getBrands("W/\"abc\""))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                    assertThat(response.getHeaders().getETag()).isEqualTo("W/\"abc\"");
+                    assertThat(response.getBody()).isNull();
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<Consumer<HttpHeaders>> headers = ArgumentCaptor.forClass(Consumer.class);
+        verify(requestBodySpec).headers(headers.capture());
+        HttpHeaders forwarded = new HttpHeaders();
+        headers.getValue().accept(forwarded);
+        assertThat(forwarded.getFirst(HttpHeaders.IF_NONE_MATCH)).isEqualTo("W/\"abc\"");
+    }
+
+    @Test
+    void getVehiclesByBrand_ShouldRelayEtagAsWeakWithBody() {
+        List<VehicleResponse> expectedVehicles = List.of(
+                new VehicleResponse(1L, "001234-1", "1", "Civic", "Compact car"));
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
+        when(requestBodySpec.accept(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(VehicleResponse.class)).thenReturn(Mono.just(ResponseEntity.ok()
+                .eTag("\"abc\"")
+                .contentLength(123)
+                .body(Flux.fromIterable(expectedVehicles))));
+
+        ResponseEntity<Flux<VehicleResponse>> response = commandServiceUseCase.getVehiclesByBrand("Honda", null).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("W/\"abc\"");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(-1);
+        StepVerifier.create(response.getBody())
+                .expectNextSequence(expectedVehicles)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fipe.gateway.infrastructure.adapters;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CustomSmileSerializerAdapterTest {
+
+    private CustomSmileSerializerAdapter<Object> serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new CustomSmileSerializerAdapter<>();
+    }
+
+    @Test
+    void serialize_ShouldWriteSmileMagicHeader() {
+        byte[] result = serializer.serialize("test-topic", new BrandMessage("1", "Acura", null));
+
+        assertNotNull(result);
+        assertArrayEquals(new byte[]{':', ')', '\n'}, new byte[]{result[0], result[1], result[2]});
+    }
+
+    @Test
+    void serialize_ShouldAddContentTypeAndSchemaVersionHeadersOnce() {
+        RecordHeaders headers = new RecordHeaders();
+
+        serializer.serialize("test-topic", headers, new BrandMessage("1", "Acura", null));
+        serializer.serialize("test-topic", headers, new BrandMessage("1", "Acura", null));
+
+        assertEquals("application/x-jackson-smile",
+                new String(headers.lastHeader("content-type").value(), StandardCharsets.UTF_8));
+        assertEquals("1", new String(headers.lastHeader("schema-version").value(), StandardCharsets.UTF_8));
+        assertEquals(2, headers.toArray().length);
+    }
+
+    @Test
+    void serialize_ShouldWriteDatesAsIsoStrings() throws Exception {
+        BrandMessage message = new BrandMessage("59", "VW - VolksWagen", LocalDateTime.of(2024, 1, 15, 10, 30));
+
+        byte[] result = serializer.serialize("test-topic", message);
+
+        JsonNode decoded = SmileMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readTree(result);
+        assertEquals("59", decoded.get("code").asText());
+        assertEquals("VW - VolksWagen", decoded.get("name").asText());
+        assertEquals("2024-01-15T10:30:00", decoded.get("createdAt").asText());
+    }
+
+    @Test
+    void serialize_ShouldThrowRuntimeExceptionOnSerializationError() {
+        SelfReference self = new SelfReference();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> serializer.serialize("test-topic", self));
+
+        assertEquals("Error serializing object to Smile", exception.getMessage());
+        assertNotNull(exception.getCause());
+    }
+
+    record BrandMessage(String code, String name, LocalDateTime createdAt) {
+    }
+
+    static class SelfReference {
+        public SelfReference getSelf() {
+            return this;
+        }
+    }
+}
@@ -4,9 +4,13 @@ import br.com.fipe.gateway.application.ports.input.CommandServicePort;
 import br.com.fipe.gateway.config.TestSecurityConfig;
 import br.com.fipe.gateway.config.TestValidationConfig;
 import br.com.fipe.gateway.presentation.dto.request.UpdateVehicleRequest;
+import br.com.fipe.gateway.presentation.dto.request.VehicleBatchRequest;
 import br.com.fipe.gateway.presentation.dto.response.BrandResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehicleBatchResponse;
+import br.com.fipe.gateway.presentation.dto.response.VehiclePageResponse;
 import br.com.fipe.gateway.presentation.dto.response.VehicleResponse;
 import java.util.List;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,7 +19,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
@@ -23,6 +30,7 @@ import reactor.core.publisher.Mono;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -87,7 +95,7 @@ class VehicleControllerTest {
     @WithMockUser
     void getBrands_ShouldReturnBrandsList() {
         List<BrandResponse> expectedBrands = List.of(brandResponse1, brandResponse2);
-        when(commandServicePort.getBrands()).thenReturn(Flux.fromIterable(expectedBrands));
+        when(commandServicePort.getBrands(null)).thenReturn(Mono.just(ResponseEntity.ok(Flux.fromIterable(expectedBrands))));
 
         webTestClient.get()
                 .uri("/api/v1/brands")
@@ -98,13 +106,13 @@ class VehicleControllerTest {
                 .hasSize(2)
                 .contains(brandResponse1, brandResponse2);
 
-        verify(commandServicePort).getBrands();
+        verify(commandServicePort).getBrands(null);
     }
 
     @Test
     @WithMockUser
     void getBrands_ShouldHandleEmptyList() {
-        when(commandServicePort.getBrands()).thenReturn(Flux.empty());
+        when(commandServicePort.getBrands(null)).thenReturn(Mono.just(ResponseEntity.ok(Flux.empty())));
 
         webTestClient.get()
                 .uri("/api/v1/brands")
@@ -113,20 +121,38 @@ class VehicleControllerTest {
                 .expectBodyList(BrandResponse.class)
                 .hasSize(0);
 
-        verify(commandServicePort).getBrands();
+        verify(commandServicePort).getBrands(null);
     }
 
     @Test
     @WithMockUser
     void getBrands_ShouldHandleServiceError() {
-        when(commandServicePort.getBrands()).thenReturn(Flux.error(new RuntimeException("Database error")));
+        when(commandServicePort.getBrands(null)).thenReturn(Mono.error(new RuntimeException("Database error")));
 
         webTestClient.get()
                 .uri("/api/v1/brands")
                 .exchange()
                 .expectStatus().is5xxServerError();
 
-        verify(commandServicePort).getBrands();
+        verify(commandServicePort).getBrands(null);
+    }
+
+    @Test
+    @WithMockUser
+    void streamBrands_ShouldReturnNdjsonWhenRequested() {
+        when(commandServicePort.streamBrands()).thenReturn(Flux.just(brandResponse1, brandResponse2));
+
+        webTestClient.get()
+                .uri("/api/v1/brands")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BrandResponse.class)
+                .contains(brandResponse1, brandResponse2);
+
+        verify(commandServicePort).streamBrands();
+        verify(commandServicePort, never()).getBrands(any());
     }
 
     @Test
@@ -134,7 +160,8 @@ class VehicleControllerTest {
     void getVehiclesByBrand_ShouldReturnVehicles() {
         String brandName = "Acura";
         List<VehicleResponse> expectedVehicles = List.of(vehicleResponse1, vehicleResponse2);
-        when(commandServicePort.getVehiclesByBrand(brandName)).thenReturn(Flux.fromIterable(expectedVehicles));
+        when(commandServicePort.getVehiclesByBrand(brandName, null))
+                .thenReturn(Mono.just(ResponseEntity.ok(Flux.fromIterable(expectedVehicles))));
 
         webTestClient.get()
                 .uri("/api/v1/vehicles/{brandName}", brandName)
@@ -145,14 +172,118 @@ class VehicleControllerTest {
                 .hasSize(2)
                 .contains(vehicleResponse1, vehicleResponse2);
 
-        verify(commandServicePort).getVehiclesByBrand(brandName);
+        verify(commandServicePort).getVehiclesByBrand(brandName, null);
+    }
+
+    @Test
+    @WithMockUser
+    void streamVehiclesByBrand_ShouldReturnNdjsonWhenRequested() {
+        String brandName = "Acura";
+        when(commandServicePort.streamVehiclesByBrand(brandName)).thenReturn(Flux.just(vehicleResponse1, vehicleResponse2));
+
+        webTestClient.get()
+                .uri("/api/v1/vehicles/{brandName}", brandName)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(VehicleResponse.class)
+                .contains(vehicleResponse1, vehicleResponse2);
+
+        verify(commandServicePort).streamVehiclesByBrand(brandName);
+    }
+
+    @Test
+    @WithMockUser
+    void getVehiclesBatch_ShouldRelayOneEntryPerLookup() {
+        VehicleBatchRequest request = new VehicleBatchRequest(List.of("Acura"), List.of(2L), null);
+        VehicleBatchResponse byBrand = new VehicleBatchResponse("brand:Acura", List.of(vehicleResponse1, vehicleResponse2));
+        VehicleBatchResponse byId = new VehicleBatchResponse("id:2", List.of(vehicleResponse2));
+        when(commandServicePort.getVehiclesBatch(request)).thenReturn(Flux.just(byBrand, byId));
+
+        webTestClient.post()
+                .uri("/api/v1/vehicles/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(VehicleBatchResponse.class)
+                .isEqualTo(List.of(byBrand, byId));
+
+        verify(commandServicePort, never()).streamVehiclesBatch(any());
+    }
+
+    @Test
+    @WithMockUser
+    void streamVehiclesBatch_ShouldReturnNdjsonWhenRequested() {
+        VehicleBatchRequest request = new VehicleBatchRequest(null, null, List.of("001004-1"));
+        VehicleBatchResponse byCode = new VehicleBatchResponse("code:001004-1", List.of(vehicleResponse1));
+        when(commandServicePort.streamVehiclesBatch(request)).thenReturn(Flux.just(byCode));
+
+        webTestClient.post()
+                .uri("/api/v1/vehicles/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(VehicleBatchResponse.class)
+                .isEqualTo(List.of(byCode));
+    }
+
+    @Test
+    @WithMockUser
+    void getVehiclesBatch_ShouldRejectOversizedBatch() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        webTestClient.post()
+                .uri("/api/v1/vehicles/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new VehicleBatchRequest(null, ids, null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(commandServicePort, never()).getVehiclesBatch(any());
+    }
+
+    @Test
+    @WithMockUser
+    void getVehiclePage_ShouldRelayPageAndCursor() {
+        VehiclePageResponse page = new VehiclePageResponse(List.of(vehicleResponse1), "next-token");
+        when(commandServicePort.getVehiclePage("Acura", 1, "token")).thenReturn(Mono.just(page));
+
+        webTestClient.get()
+                .uri("/api/v1/vehicles/{brandName}/page?limit=1&cursor=token", "Acura")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(VehiclePageResponse.class)
+                .isEqualTo(page);
+
+        verify(commandServicePort).getVehiclePage("Acura", 1, "token");
+    }
+
+    @Test
+    @WithMockUser
+    void getVehiclesByBrand_ShouldPassIfNoneMatchAndRelayNotModified() {
+        when(commandServicePort.getVehiclesByBrand("Acura", "W/\"abc\""))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("W/\"abc\"").build()));
+
+        webTestClient.get()
+                .uri("/api/v1/vehicles/{brandName}", "Acura")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"abc\"")
+                .expectBody().isEmpty();
     }
 
     @Test
     @WithMockUser
     void getVehiclesByBrand_ShouldHandleEmptyList() {
         String brandName = "UnknownBrand";
-        when(commandServicePort.getVehiclesByBrand(brandName)).thenReturn(Flux.empty());
+        when(commandServicePort.getVehiclesByBrand(brandName, null))
+                .thenReturn(Mono.just(ResponseEntity.ok(Flux.empty())));
 
         webTestClient.get()
                 .uri("/api/v1/vehicles/{brandName}", brandName)
@@ -161,21 +292,21 @@ class VehicleControllerTest {
                 .expectBodyList(VehicleResponse.class)
                 .hasSize(0);
 
-        verify(commandServicePort).getVehiclesByBrand(brandName);
+        verify(commandServicePort).getVehiclesByBrand(brandName, null);
     }
 
     @Test
     @WithMockUser
     void getVehiclesByBrand_ShouldHandleServiceError() {
         String brandName = "Acura";
-        when(commandServicePort.getVehiclesByBrand(brandName)).thenReturn(Flux.error(new RuntimeException("Brand not found")));
+        when(commandServicePort.getVehiclesByBrand(brandName, null)).thenReturn(Mono.error(new RuntimeException("Brand not found")));
 
         webTestClient.get()
                 .uri("/api/v1/vehicles/{brandName}", brandName)
                 .exchange()
                 .expectStatus().is5xxServerError();
 
-        verify(commandServicePort).getVehiclesByBrand(brandName);
+        verify(commandServicePort).getVehiclesByBrand(brandName, null);
     }
 
     @Test
@@ -0,0 +1,87 @@
+package com.fipe.processor.application.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-size Bloom filter over strings: no false negatives, false positives at roughly the rate it was sized for.
+ * Probe positions come from double hashing of one 64-bit hash, so a lookup hashes the value once.
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final int hashes;
+
+    private BloomFilter(long[] bits, int hashes) {
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    public static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        int expected = Math.max(1, expectedInsertions);
+        long bitCount = Math.max(Long.SIZE, (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashes = Math.max(1, (int) Math.round((double) bitCount / expected * LN2));
+        return new BloomFilter(new long[(int) ((bitCount + Long.SIZE - 1) / Long.SIZE)], hashes);
+    }
+
+    public static BloomFilter fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int hashes = buffer.getInt();
+        long[] bits = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(bits);
+        return new BloomFilter(bits, hashes);
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        long bitCount = bitCount();
+        for (int i = 1; i <= hashes; i++) {
+            long index = Math.floorMod(hash + i * (hash >>> 32 | 1), bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long bitCount = bitCount();
+        for (int i = 1; i <= hashes; i++) {
+            long index = Math.floorMod(hash + i * (hash >>> 32 | 1), bitCount);
+            if ((bits[(int) (index >>> 6)] & 1L << index) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + bits.length * Long.BYTES);
+        buffer.putInt(hashes);
+        buffer.asLongBuffer().put(bits);
+        return buffer.array();
+    }
+
+    private long bitCount() {
+        return (long) bits.length * Long.SIZE;
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 64-bit mixer so both halves are well distributed.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,42 @@
+package com.fipe.processor.application.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Rendered HTTP bodies are cached next to the domain entry they were built from, one key per encoding,
+ * so invalidating an entry can drop its rendered bodies too. Each body has its ETag stored beside it.
+ */
+public enum BodyEncoding {
+
+    IDENTITY(":body"),
+    GZIP(":body:gzip");
+
+    private final String keySuffix;
+
+    BodyEncoding(String keySuffix) {
+        this.keySuffix = keySuffix;
+    }
+
+    public String keyFor(String cacheKey) {
+        return cacheKey + keySuffix;
+    }
+
+    public String etagKeyFor(String cacheKey) {
+        return keyFor(cacheKey) + ":etag";
+    }
+
+    /**
+     * The ETag and body keys of every encoding, ETags first so a deleted body never leaves its validator behind.
+     */
+    public static List<String> renderedKeys(String cacheKey) {
+        return Stream.concat(Arrays.stream(values()).map(encoding -> encoding.etagKeyFor(cacheKey)),
+                        Arrays.stream(values()).map(encoding -> encoding.keyFor(cacheKey)))
+                .toList();
+    }
+
+    public static List<String> keysWithBodies(String cacheKey) {
+        return Stream.concat(Stream.of(cacheKey), renderedKeys(cacheKey).stream()).toList();
+    }
+}
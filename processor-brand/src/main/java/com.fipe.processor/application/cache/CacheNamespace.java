@@ -0,0 +1,25 @@
+package com.fipe.processor.application.cache;
+
+/**
+ * Top-level cache namespaces. Keys are {@code <prefix>:v<namespace version>:g<catalog generation>:<rest>};
+ * bumping the namespace version orphans every key under it in one {@code INCR}.
+ */
+public enum CacheNamespace {
+
+    BRANDS("brands"),
+    VEHICLES("vehicles");
+
+    private final String prefix;
+
+    CacheNamespace(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    public String key(long version, long generation, String rest) {
+        return "%s:v%d:g%d:%s".formatted(prefix, version, generation, rest);
+    }
+}
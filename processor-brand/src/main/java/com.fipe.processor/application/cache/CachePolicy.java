@@ -0,0 +1,13 @@
+package com.fipe.processor.application.cache;
+
+import java.time.Duration;
+
+/**
+ * Entries are fresh until {@code softTtl}; between soft and hard TTL they are served stale while a
+ * background refresh runs; after {@code hardTtl} Redis drops them and the next reader loads.
+ */
+public record CachePolicy(
+        Duration softTtl,
+        Duration hardTtl
+) {
+}
@@ -0,0 +1,310 @@
+package com.fipe.processor.application.cache;
+
+import com.fipe.processor.application.concurrency.SingleFlight;
+import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.ports.DistributedLockPort;
+import com.fipe.processor.domain.dto.CacheEnvelope;
+import java.lang.reflect.Array;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshAheadCache {
+
+    private static final String LOCK_KEY_PREFIX = "lock:";
+    private static final String NO_LOCK = "";
+
+    private final CacheServicePort cacheService;
+    private final SingleFlight singleFlight;
+    private final DistributedLockPort lockPort;
+
+    @Value("${cache.refresh-ahead.beta:1.0}")
+    private double beta;
+
+    @Value("${cache.refresh-ahead.jitter:0.1}")
+    private double jitter;
+
+    @Value("${cache.refresh-ahead.negative-ttl:5s}")
+    private Duration negativeTtl;
+
+    @Value("${cache.single-flight.distributed.enabled:false}")
+    private boolean distributedSingleFlight;
+
+    @Value("${cache.single-flight.distributed.lock-ttl:5s}")
+    private Duration lockTtl;
+
+    @Value("${cache.single-flight.distributed.wait:2s}")
+    private Duration lockWait;
+
+    @Value("${cache.single-flight.distributed.poll-interval:50ms}")
+    private Duration lockPollInterval;
+
+    private Clock clock = Clock.systemUTC();
+
+    private DoubleSupplier random = () -> 1.0 - ThreadLocalRandom.current().nextDouble();
+
+    /**
+     * Returns the cached value, loading it on a miss. An empty loader result is cached as an empty envelope
+     * for {@code negative-ttl}, so readers and replicas waiting on the lock see "not found" instead of loading.
+     */
+    public <T> Mono<T> get(String key, Class<T> valueType, CachePolicy policy, Supplier<Mono<T>> loader) {
+        return readEnvelope(key, valueType)
+                .map(envelope -> {
+                    long now = clock.millis();
+                    if (envelope.isStale(now)) {
+                        log.debug("Serving stale value for {} while it refreshes", key);
+                        refreshInBackground(key, valueType, policy, loader);
+                    } else if (envelope.shouldRefreshEarly(now, beta, random.getAsDouble())) {
+                        log.debug("Refreshing {} ahead of its soft expiry", key);
+                        refreshInBackground(key, valueType, policy, loader);
+                    }
+                    return Optional.ofNullable(envelope.value());
+                })
+                .switchIfEmpty(Mono.defer(() -> singleFlight.execute(key, () -> load(key, valueType, policy, loader))
+                        .map(Optional::of)))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Streaming form of {@link #get} for array values: a hit is streamed from the cached array, a miss streams
+     * {@code source} straight through and caches what it emitted once it completes, so the caller never waits for
+     * the whole result and a miss costs a single query. Concurrent misses share that query, and with the
+     * distributed lock enabled replicas wait for the one holding it, as {@link #get} does. Stale hits are refreshed
+     * in the background through {@code loader}. A source that completes empty is cached as "not found", like an
+     * empty {@code loader} result.
+     */
+    public <T> Flux<T> stream(String key, Class<T[]> arrayType, CachePolicy policy, Supplier<Mono<T[]>> loader,
+                              Supplier<Flux<T>> source) {
+        return readEnvelope(key, arrayType)
+                .map(envelope -> {
+                    if (envelope.isStale(clock.millis())) {
+                        refreshInBackground(key, arrayType, policy, loader);
+                    }
+                    return envelope.value() == null ? Flux.<T>empty() : Flux.fromArray(envelope.value());
+                })
+                .defaultIfEmpty(Flux.defer(() -> singleFlight.stream(key, () -> streamMiss(key, arrayType, policy, source))))
+                .flatMapMany(Function.identity());
+    }
+
+    /**
+     * Batch form of {@link #get}: one multi-key read, then a single {@code loader} call for all the keys that
+     * missed. Stale hits are served and refreshed through the same loader in the background. Keys the loader
+     * does not return are left out of the result.
+     */
+    public <T> Mono<Map<String, T>> getAll(List<String> keys, Class<T> valueType, CachePolicy policy,
+                                           Function<List<String>, Mono<Map<String, T>>> loader) {
+        return cacheService.getEnvelopes(keys, valueType)
+                .onErrorResume(error -> {
+                    log.warn("Error reading {} keys from cache, falling back to database: {}", keys.size(), error.getMessage());
+                    return Mono.just(Map.of());
+                })
+                .flatMap(cached -> {
+                    long now = clock.millis();
+                    Map<String, T> values = new LinkedHashMap<>();
+                    List<String> stale = new ArrayList<>();
+                    cached.forEach((key, envelope) -> {
+                        if (envelope.value() != null) {
+                            values.put(key, envelope.value());
+                            if (envelope.isStale(now)) {
+                                stale.add(key);
+                            }
+                        }
+                    });
+                    if (!stale.isEmpty()) {
+                        loadAll(stale, policy, loader).subscribe(
+                                loaded -> log.debug("Refreshed {} cache entries", loaded.size()),
+                                error -> log.warn("Background refresh of {} keys failed, keeping stale values: {}", stale.size(), error.getMessage()));
+                    }
+                    List<String> missing = keys.stream().filter(key -> !values.containsKey(key)).toList();
+                    if (missing.isEmpty()) {
+                        return Mono.just(values);
+                    }
+                    return loadAll(missing, policy, loader).map(loaded -> {
+                        values.putAll(loaded);
+                        return values;
+                    });
+                });
+    }
+
+    /**
+     * Rewrites a cached value in place, keeping its soft expiry so the regular refresh schedule is unchanged.
+     * Completes empty when the key is not cached.
+     */
+    public <T> Mono<Void> patch(String key, Class<T> valueType, CachePolicy policy, UnaryOperator<T> patcher) {
+        return cacheService.getEnvelope(key, valueType)
+                .filter(envelope -> envelope.value() != null)
+                .flatMap(envelope -> cacheService.put(key,
+                        new CacheEnvelope<>(patcher.apply(envelope.value()), envelope.softExpiresAt(), envelope.computeMillis()),
+                        jittered(policy.hardTtl())));
+    }
+
+    private <T> Mono<CacheEnvelope<T>> readEnvelope(String key, Class<T> valueType) {
+        return cacheService.getEnvelope(key, valueType)
+                .onErrorResume(error -> {
+                    log.warn("Error reading from cache for key {}, falling back to database: {}", key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private <T> void refreshInBackground(String key, Class<T> valueType, CachePolicy policy, Supplier<Mono<T>> loader) {
+        singleFlight.execute(key, () -> load(key, valueType, policy, loader))
+                .subscribe(
+                        value -> log.debug("Refreshed cache entry {}", key),
+                        error -> log.warn("Background refresh of {} failed, keeping stale value: {}", key, error.getMessage()));
+    }
+
+    private <T> Mono<T> load(String key, Class<T> valueType, CachePolicy policy, Supplier<Mono<T>> loader) {
+        Mono<T> loadAndStore = Mono.defer(() -> {
+            long start = clock.millis();
+            return loader.get()
+                    .flatMap(value -> store(key, value, policy, clock.millis() - start).thenReturn(value))
+                    .switchIfEmpty(Mono.defer(() -> storeAbsent(key, clock.millis() - start).then(Mono.empty())));
+        });
+        if (!distributedSingleFlight) {
+            return loadAndStore;
+        }
+
+        String lockKey = LOCK_KEY_PREFIX + key;
+        return tryLock(key, lockKey)
+                .flatMap(token -> token.isPresent()
+                        ? Mono.usingWhen(Mono.just(token.get()), acquired -> loadAndStore, acquired -> unlock(lockKey, acquired))
+                        : waitForPeer(key, valueType)
+                                .map(envelope -> Optional.ofNullable(envelope.value()))
+                                .switchIfEmpty(loadAndStore.map(Optional::of))
+                                .flatMap(Mono::justOrEmpty));
+    }
+
+    private <T> Flux<T> streamMiss(String key, Class<T[]> arrayType, CachePolicy policy, Supplier<Flux<T>> source) {
+        Flux<T> streamAndStore = Flux.defer(() -> streamAndStore(key, arrayType, policy, source));
+        if (!distributedSingleFlight) {
+            return streamAndStore;
+        }
+
+        String lockKey = LOCK_KEY_PREFIX + key;
+        return tryLock(key, lockKey)
+                .flatMapMany(token -> token.isPresent()
+                        ? Flux.usingWhen(Mono.just(token.get()), acquired -> streamAndStore, acquired -> unlock(lockKey, acquired))
+                        : waitForPeer(key, arrayType)
+                                .map(envelope -> envelope.value() == null ? Flux.<T>empty() : Flux.fromArray(envelope.value()))
+                                .defaultIfEmpty(streamAndStore)
+                                .flatMapMany(Function.identity()));
+    }
+
+    /**
+     * The lock token, {@link #NO_LOCK} when the lock backend is unavailable, or empty when another replica holds it.
+     */
+    private Mono<Optional<String>> tryLock(String key, String lockKey) {
+        return lockPort.tryLock(lockKey, lockTtl)
+                .onErrorResume(error -> {
+                    log.warn("Distributed lock unavailable for {}, loading locally: {}", key, error.getMessage());
+                    return Mono.just(NO_LOCK);
+                })
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<Void> unlock(String lockKey, String token) {
+        return NO_LOCK.equals(token) ? Mono.empty() : lockPort.unlock(lockKey, token);
+    }
+
+    /**
+     * Polls for the lock holder's result. An envelope without a value means the holder found nothing.
+     */
+    private <T> Mono<CacheEnvelope<T>> waitForPeer(String key, Class<T> valueType) {
+        log.debug("Another replica is loading {}, waiting for its result", key);
+        return Flux.interval(lockPollInterval)
+                .concatMap(tick -> readEnvelope(key, valueType))
+                .next()
+                .timeout(lockWait, Mono.empty());
+    }
+
+    /**
+     * Keeps the emitted elements to store them when {@code source} completes. A cancelled or failed stream stores nothing.
+     */
+    private <T> Flux<T> streamAndStore(String key, Class<T[]> arrayType, CachePolicy policy, Supplier<Flux<T>> source) {
+        long start = clock.millis();
+        List<T> streamed = new ArrayList<>();
+        return source.get()
+                .doOnNext(streamed::add)
+                .doOnComplete(() -> {
+                    long computeMillis = clock.millis() - start;
+                    (streamed.isEmpty()
+                            ? storeAbsent(key, computeMillis)
+                            : store(key, toArray(streamed, arrayType), policy, computeMillis))
+                            .subscribe(null, error -> log.warn("Error caching streamed {}: {}", key, error.getMessage()));
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] toArray(List<T> elements, Class<T[]> arrayType) {
+        return elements.toArray((T[]) Array.newInstance(arrayType.getComponentType(), elements.size()));
+    }
+
+    private <T> Mono<Map<String, T>> loadAll(List<String> keys, CachePolicy policy,
+                                             Function<List<String>, Mono<Map<String, T>>> loader) {
+        return Mono.defer(() -> {
+            long start = clock.millis();
+            return loader.apply(keys)
+                    .flatMap(loaded -> {
+                        long computeMillis = clock.millis() - start;
+                        return Flux.fromIterable(loaded.entrySet())
+                                .flatMap(entry -> store(entry.getKey(), entry.getValue(), policy, computeMillis))
+                                .then(Mono.just(loaded));
+                    });
+        });
+    }
+
+    /**
+     * Also drops the bodies rendered from the previous value, so a refresh is served from the next request on.
+     */
+    private <T> Mono<Void> store(String key, T value, CachePolicy policy, long computeMillis) {
+        long softExpiresAt = clock.millis() + jittered(policy.softTtl()).toMillis();
+        CacheEnvelope<T> envelope = new CacheEnvelope<>(value, softExpiresAt, computeMillis);
+        return cacheService.put(key, envelope, jittered(policy.hardTtl()))
+                .thenMany(Flux.fromIterable(BodyEncoding.renderedKeys(key)))
+                .concatMap(cacheService::delete)
+                .then()
+                .onErrorResume(error -> {
+                    log.error("Error updating cache for key {}, returning database results: {}", key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> storeAbsent(String key, long computeMillis) {
+        if (!negativeTtl.isPositive()) {
+            return Mono.empty();
+        }
+        CacheEnvelope<Object> envelope = new CacheEnvelope<>(null, clock.millis() + negativeTtl.toMillis(), computeMillis);
+        return cacheService.put(key, envelope, negativeTtl)
+                .onErrorResume(error -> {
+                    log.warn("Error caching absence of {}: {}", key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Duration jittered(Duration ttl) {
+        if (jitter <= 0) {
+            return ttl;
+        }
+        double factor = 1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofMillis((long) (ttl.toMillis() * factor));
+    }
+}
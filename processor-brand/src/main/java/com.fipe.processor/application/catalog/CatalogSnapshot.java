@@ -0,0 +1,674 @@
+package com.fipe.processor.application.catalog;
+
+import com.fipe.processor.domain.dto.VehicleCursor;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, column-oriented copy of one catalog generation. Vehicles live in parallel columns, grouped by brand
+ * code so each brand is a contiguous row range, and kept in the order they were loaded (model, then id) so the
+ * database collation is preserved. Each distinct string is stored once in a string table and referenced by index,
+ * brand names resolve through {@link Brand#normalizeName} to a group index, and ids are found by binary search.
+ * Timestamps are not kept. Updates produce a new snapshot; readers holding the old one are never affected.
+ * <p>
+ * A patched snapshot shares every column with the one it was made from and keeps the patched rows in a small heap
+ * overlay, keyed by row, together with the new row order of each brand whose models moved. Patching therefore
+ * costs the size of the overlay and of one brand, not of the catalog, and never copies a mapped snapshot onto the
+ * heap; the overlay is dropped at the next load. Each patch also bumps the snapshot's {@link #revision}, which is
+ * written to the file header so readers of the file can tell that it changed within a generation.
+ * <p>
+ * Columns are {@link IntBuffer}s and {@link LongBuffer}s, either over heap arrays ({@link #build}) or over a
+ * snapshot file written by {@link #writeTo} and mapped with {@link #from}, which is then read in place: only the
+ * brand name index is built on the heap and strings are decoded as rows are returned.
+ */
+public final class CatalogSnapshot {
+
+    /**
+     * Magic, format version, generation, revision and five section sizes.
+     */
+    public static final int HEADER_BYTES = 44;
+
+    private static final int MAGIC = 0x46495043;
+    private static final int FORMAT_VERSION = 2;
+    private static final int NO_STRING = -1;
+
+    private final long generation;
+    private final long revision;
+    private final Strings strings;
+
+    private final LongBuffer brandIds;
+    private final LongBuffer brandGenerations;
+    private final IntBuffer brandCodes;
+    private final IntBuffer brandNames;
+
+    private final IntBuffer groupCodes;
+    private final IntBuffer groupStart;
+    private final Map<String, Integer> groupByNameKey;
+
+    private final IntBuffer vehicleIds;
+    private final IntBuffer vehicleCodes;
+    private final IntBuffer models;
+    private final IntBuffer observations;
+    private final LongBuffer vehicleGenerations;
+
+    private final IntBuffer sortedIds;
+    private final IntBuffer rowOfSortedId;
+
+    private final Map<Integer, Vehicle> patchedRows;
+    private final Map<Integer, int[]> groupOrders;
+
+    private CatalogSnapshot(long generation, long revision, Strings strings, LongBuffer brandIds,
+                            LongBuffer brandGenerations, IntBuffer brandCodes, IntBuffer brandNames,
+                            IntBuffer groupCodes, IntBuffer groupStart, IntBuffer vehicleIds, IntBuffer vehicleCodes,
+                            IntBuffer models, IntBuffer observations, LongBuffer vehicleGenerations,
+                            IntBuffer sortedIds, IntBuffer rowOfSortedId) {
+        this.generation = generation;
+        this.revision = revision;
+        this.strings = strings;
+        this.brandIds = brandIds;
+        this.brandGenerations = brandGenerations;
+        this.brandCodes = brandCodes;
+        this.brandNames = brandNames;
+        this.groupCodes = groupCodes;
+        this.groupStart = groupStart;
+        this.vehicleIds = vehicleIds;
+        this.vehicleCodes = vehicleCodes;
+        this.models = models;
+        this.observations = observations;
+        this.vehicleGenerations = vehicleGenerations;
+        this.sortedIds = sortedIds;
+        this.rowOfSortedId = rowOfSortedId;
+        this.groupByNameKey = indexNames();
+        this.patchedRows = Map.of();
+        this.groupOrders = Map.of();
+    }
+
+    private CatalogSnapshot(CatalogSnapshot base, Map<Integer, Vehicle> patchedRows, Map<Integer, int[]> groupOrders) {
+        this.generation = base.generation;
+        this.revision = base.revision + 1;
+        this.strings = base.strings;
+        this.brandIds = base.brandIds;
+        this.brandGenerations = base.brandGenerations;
+        this.brandCodes = base.brandCodes;
+        this.brandNames = base.brandNames;
+        this.groupCodes = base.groupCodes;
+        this.groupStart = base.groupStart;
+        this.groupByNameKey = base.groupByNameKey;
+        this.vehicleIds = base.vehicleIds;
+        this.vehicleCodes = base.vehicleCodes;
+        this.models = base.models;
+        this.observations = base.observations;
+        this.vehicleGenerations = base.vehicleGenerations;
+        this.sortedIds = base.sortedIds;
+        this.rowOfSortedId = base.rowOfSortedId;
+        this.patchedRows = patchedRows;
+        this.groupOrders = groupOrders;
+    }
+
+    /**
+     * @param brands   brand rows in list order, as {@code GET /brands} returns them
+     * @param vehicles vehicle rows in model order; rows of one brand need not be adjacent
+     */
+    public static CatalogSnapshot build(long generation, List<Brand> brands, List<Vehicle> vehicles) {
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> table = new ArrayList<>();
+        ToIntFunction<String> intern = value -> value == null ? NO_STRING : stringIds.computeIfAbsent(value, v -> {
+            table.add(v);
+            return table.size() - 1;
+        });
+        Map<Integer, Integer> groupByCode = new HashMap<>();
+        List<Integer> groupCodes = new ArrayList<>();
+        ToIntFunction<String> groupOf = code -> groupByCode.computeIfAbsent(intern.applyAsInt(code), id -> {
+            groupCodes.add(id);
+            return groupCodes.size() - 1;
+        });
+
+        int brandCount = brands.size();
+        long[] brandIds = new long[brandCount];
+        long[] brandGenerations = new long[brandCount];
+        int[] brandCodes = new int[brandCount];
+        int[] brandNames = new int[brandCount];
+        for (int i = 0; i < brandCount; i++) {
+            Brand brand = brands.get(i);
+            brandIds[i] = brand.getId() == null ? 0L : brand.getId();
+            brandGenerations[i] = generationOf(brand.getGeneration());
+            brandCodes[i] = intern.applyAsInt(brand.getCode());
+            brandNames[i] = intern.applyAsInt(brand.getName());
+            groupOf.applyAsInt(brand.getCode());
+        }
+        int[] groupOfVehicle = vehicles.stream().mapToInt(vehicle -> groupOf.applyAsInt(vehicle.getBrandCode())).toArray();
+
+        int groups = groupCodes.size();
+        int[] groupStart = new int[groups + 1];
+        for (int group : groupOfVehicle) {
+            groupStart[group + 1]++;
+        }
+        for (int group = 0; group < groups; group++) {
+            groupStart[group + 1] += groupStart[group];
+        }
+        int[] next = Arrays.copyOf(groupStart, groups);
+        int rows = vehicles.size();
+        int[] vehicleIds = new int[rows];
+        int[] vehicleCodes = new int[rows];
+        int[] models = new int[rows];
+        int[] observations = new int[rows];
+        long[] vehicleGenerations = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            Vehicle vehicle = vehicles.get(i);
+            int row = next[groupOfVehicle[i]]++;
+            vehicleIds[row] = Math.toIntExact(vehicle.getId());
+            vehicleCodes[row] = intern.applyAsInt(vehicle.getCode());
+            models[row] = intern.applyAsInt(vehicle.getModel());
+            observations[row] = intern.applyAsInt(vehicle.getObservations());
+            vehicleGenerations[row] = generationOf(vehicle.getGeneration());
+        }
+        int[][] idIndex = indexIds(vehicleIds);
+
+        return new CatalogSnapshot(generation, 0L, new Strings(table.toArray(String[]::new)),
+                LongBuffer.wrap(brandIds), LongBuffer.wrap(brandGenerations), IntBuffer.wrap(brandCodes),
+                IntBuffer.wrap(brandNames), IntBuffer.wrap(groupCodes.stream().mapToInt(Integer::intValue).toArray()),
+                IntBuffer.wrap(groupStart), IntBuffer.wrap(vehicleIds), IntBuffer.wrap(vehicleCodes),
+                IntBuffer.wrap(models), IntBuffer.wrap(observations), LongBuffer.wrap(vehicleGenerations),
+                IntBuffer.wrap(idIndex[0]), IntBuffer.wrap(idIndex[1]));
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo} without copying it; the buffer is typically a read-only
+     * {@link java.nio.MappedByteBuffer} and must not change while the snapshot is in use.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a complete snapshot of this format version
+     */
+    public static CatalogSnapshot from(ByteBuffer buffer) {
+        long generation = readGeneration(buffer);
+        long revision = readRevision(buffer);
+        Sections in = new Sections(buffer.slice());
+        int brands = in.count(24);
+        int groups = in.count(28);
+        int rows = in.count(32);
+        int stringCount = in.count(36);
+        int stringBytes = in.count(40);
+
+        LongBuffer brandIds = in.longs(brands);
+        LongBuffer brandGenerations = in.longs(brands);
+        LongBuffer vehicleGenerations = in.longs(rows);
+        IntBuffer brandCodes = in.ints(brands);
+        IntBuffer brandNames = in.ints(brands);
+        IntBuffer groupCodes = in.ints(groups);
+        IntBuffer groupStart = in.ints(groups + 1);
+        IntBuffer vehicleIds = in.ints(rows);
+        IntBuffer vehicleCodes = in.ints(rows);
+        IntBuffer models = in.ints(rows);
+        IntBuffer observations = in.ints(rows);
+        IntBuffer sortedIds = in.ints(rows);
+        IntBuffer rowOfSortedId = in.ints(rows);
+        Strings strings = new Strings(in.ints(stringCount + 1), in.bytes(stringBytes));
+
+        return new CatalogSnapshot(generation, revision, strings, brandIds, brandGenerations, brandCodes, brandNames,
+                groupCodes, groupStart, vehicleIds, vehicleCodes, models, observations, vehicleGenerations,
+                sortedIds, rowOfSortedId);
+    }
+
+    /**
+     * The generation recorded in a snapshot header, read from at least {@link #HEADER_BYTES} remaining bytes.
+     *
+     * @throws IllegalArgumentException if the header is not one of this format version
+     */
+    public static long readGeneration(ByteBuffer header) {
+        int start = header.position();
+        if (header.remaining() < HEADER_BYTES || header.getInt(start) != MAGIC) {
+            throw new IllegalArgumentException("Not a catalog snapshot");
+        }
+        int version = header.getInt(start + 4);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported catalog snapshot version " + version);
+        }
+        return header.getLong(start + 8);
+    }
+
+    /**
+     * The revision recorded in a snapshot header, read like {@link #readGeneration}.
+     *
+     * @throws IllegalArgumentException if the header is not one of this format version
+     */
+    public static long readRevision(ByteBuffer header) {
+        readGeneration(header);
+        return header.getLong(header.position() + 16);
+    }
+
+    /**
+     * Writes the snapshot in the layout {@link #from} reads: the header, then every column in turn. Patched rows
+     * are written in place, in their current order.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        if (patchedRows.isEmpty()) {
+            write(channel, revision);
+            return;
+        }
+        List<Vehicle> vehicles = new ArrayList<>(vehicleCount());
+        for (int group = 0; group < groupCodes.limit(); group++) {
+            vehicles.addAll(rows(group, groupStart.get(group), groupStart.get(group + 1)));
+        }
+        build(generation, brands(), vehicles).write(channel, revision);
+    }
+
+    private void write(WritableByteChannel channel, long revision) throws IOException {
+        byte[][] encoded = new byte[strings.size()][];
+        int stringBytes = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            stringBytes += encoded[i].length;
+        }
+        int brands = brandCount();
+        int groups = groupCodes.limit();
+        int rows = vehicleCount();
+        long size = HEADER_BYTES
+                + (long) Long.BYTES * (2L * brands + rows)
+                + (long) Integer.BYTES * (2L * brands + 2L * groups + 1 + 6L * rows + encoded.length + 1)
+                + stringBytes;
+
+        ByteBuffer out = ByteBuffer.allocate(Math.toIntExact(size));
+        out.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(generation).putLong(revision)
+                .putInt(brands).putInt(groups).putInt(rows).putInt(encoded.length).putInt(stringBytes);
+        put(out, brandIds);
+        put(out, brandGenerations);
+        put(out, vehicleGenerations);
+        for (IntBuffer column : List.of(brandCodes, brandNames, groupCodes, groupStart, vehicleIds, vehicleCodes,
+                models, observations, sortedIds, rowOfSortedId)) {
+            put(out, column);
+        }
+        int offset = 0;
+        out.putInt(offset);
+        for (byte[] string : encoded) {
+            offset += string.length;
+            out.putInt(offset);
+        }
+        for (byte[] string : encoded) {
+            out.put(string);
+        }
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Patches applied since this generation was loaded.
+     */
+    public long revision() {
+        return revision;
+    }
+
+    public int brandCount() {
+        return brandIds.limit();
+    }
+
+    public int vehicleCount() {
+        return vehicleIds.limit();
+    }
+
+    public List<Brand> brands() {
+        List<Brand> brands = new ArrayList<>(brandCount());
+        for (int i = 0; i < brandCount(); i++) {
+            brands.add(new Brand(brandIds.get(i), strings.get(brandCodes.get(i)), strings.get(brandNames.get(i)),
+                    null, brandGenerations.get(i)));
+        }
+        return brands;
+    }
+
+    public boolean hasBrand(String brandName) {
+        return groupByNameKey.containsKey(Brand.normalizeName(brandName));
+    }
+
+    /**
+     * Vehicles of the brand in model order; empty for an unknown brand.
+     */
+    public List<Vehicle> vehiclesOf(String brandName) {
+        Integer group = groupByNameKey.get(Brand.normalizeName(brandName));
+        return group == null ? List.of() : rows(group, groupStart.get(group), groupStart.get(group + 1));
+    }
+
+    /**
+     * Up to {@code limit} vehicles of the brand after {@code after} (from the first one when null).
+     */
+    public List<Vehicle> pageOf(String brandName, VehicleCursor after, int limit) {
+        Integer group = groupByNameKey.get(Brand.normalizeName(brandName));
+        if (group == null) {
+            return List.of();
+        }
+        int end = groupStart.get(group + 1);
+        int start = after == null ? groupStart.get(group) : rowAfter(group, after);
+        return rows(group, start, (int) Math.min(end, (long) start + limit));
+    }
+
+    /**
+     * A snapshot with the vehicle's code, model and observations replaced, moved to its new place if the model
+     * changed (by {@link String#compareTo}, which matches the "C" collated model columns of V10). Rows this
+     * snapshot does not hold are ignored.
+     */
+    public CatalogSnapshot withVehicle(Vehicle updated) {
+        int row = rowOf(updated.getId());
+        if (row < 0) {
+            return this;
+        }
+        int group = groupOfRow(row);
+        Vehicle current = vehicleAt(row, strings.get(groupCodes.get(group)));
+        Vehicle patched = current.toBuilder()
+                .code(updated.getCode() != null ? updated.getCode() : current.getCode())
+                .model(updated.getModel() != null ? updated.getModel() : current.getModel())
+                .observations(updated.getObservations())
+                .build();
+        Map<Integer, Vehicle> rows = new HashMap<>(patchedRows);
+        rows.put(row, patched);
+        Map<Integer, int[]> orders = groupOrders;
+        if (!Objects.equals(patched.getModel(), current.getModel())) {
+            orders = new HashMap<>(groupOrders);
+            orders.put(group, reorder(group, row, rows));
+        }
+        return new CatalogSnapshot(this, Map.copyOf(rows), Map.copyOf(orders));
+    }
+
+    private List<Vehicle> rows(int group, int from, int to) {
+        if (from >= to) {
+            return List.of();
+        }
+        String brandCode = strings.get(groupCodes.get(group));
+        List<Vehicle> vehicles = new ArrayList<>(to - from);
+        for (int position = from; position < to; position++) {
+            vehicles.add(vehicleAt(rowAt(group, position), brandCode));
+        }
+        return vehicles;
+    }
+
+    private Vehicle vehicleAt(int row, String brandCode) {
+        Vehicle patched = patchedRows.get(row);
+        if (patched != null) {
+            return patched.toBuilder().build();
+        }
+        return Vehicle.builder()
+                .id((long) vehicleIds.get(row))
+                .code(strings.get(vehicleCodes.get(row)))
+                .brandCode(brandCode)
+                .model(strings.get(models.get(row)))
+                .observations(strings.get(observations.get(row)))
+                .generation(vehicleGenerations.get(row))
+                .build();
+    }
+
+    /**
+     * The row at a position of the group's range: the same row unless a patch reordered the group.
+     */
+    private int rowAt(int group, int position) {
+        int[] order = groupOrders.get(group);
+        return order == null ? position : order[position - groupStart.get(group)];
+    }
+
+    private String modelOf(int row) {
+        return modelOf(row, patchedRows);
+    }
+
+    private String modelOf(int row, Map<Integer, Vehicle> rows) {
+        Vehicle patched = rows.get(row);
+        return patched != null ? patched.getModel() : strings.get(models.get(row));
+    }
+
+    /**
+     * The row following the cursor. The cursor normally names a row of this brand, found by id; otherwise the
+     * rows are scanned for the first one past it.
+     */
+    private int rowAfter(int group, VehicleCursor after) {
+        int start = groupStart.get(group);
+        int end = groupStart.get(group + 1);
+        int row = rowOf(after.id());
+        if (row >= start && row < end && Objects.equals(modelOf(row), after.model())) {
+            int[] order = groupOrders.get(group);
+            return (order == null ? row : start + indexOf(order, row)) + 1;
+        }
+        for (int position = start; position < end; position++) {
+            int candidate = rowAt(group, position);
+            int byModel = modelOf(candidate).compareTo(after.model());
+            if (byModel > 0 || byModel == 0 && vehicleIds.get(candidate) > after.id()) {
+                return position;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * The group's rows in order after moving {@code row} to the place its patched model sorts to.
+     */
+    private int[] reorder(int group, int row, Map<Integer, Vehicle> rows) {
+        int start = groupStart.get(group);
+        int[] order = groupOrders.containsKey(group)
+                ? groupOrders.get(group).clone()
+                : IntStream.range(start, groupStart.get(group + 1)).toArray();
+        String model = modelOf(row, rows);
+        int id = vehicleIds.get(row);
+        int position = indexOf(order, row);
+        int target = position;
+        while (target > 0 && compare(modelOf(order[target - 1], rows), vehicleIds.get(order[target - 1]), model, id) > 0) {
+            target--;
+        }
+        while (target < order.length - 1
+                && compare(modelOf(order[target + 1], rows), vehicleIds.get(order[target + 1]), model, id) < 0) {
+            target++;
+        }
+        move(order, position, target);
+        return order;
+    }
+
+    private int rowOf(Long id) {
+        if (id == null || id > Integer.MAX_VALUE || id < Integer.MIN_VALUE) {
+            return -1;
+        }
+        int low = 0;
+        int high = sortedIds.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = sortedIds.get(mid);
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return rowOfSortedId.get(mid);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The last group starting at or before the row; an empty group shares its start with the next one.
+     */
+    private int groupOfRow(int row) {
+        int low = 0;
+        int high = groupCodes.limit() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (groupStart.get(mid) <= row) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Normalized brand name to group, keeping the brand of the oldest generation when a name appears in several.
+     */
+    private Map<String, Integer> indexNames() {
+        Map<Integer, Integer> groupOfCode = new HashMap<>();
+        for (int group = 0; group < groupCodes.limit(); group++) {
+            groupOfCode.put(groupCodes.get(group), group);
+        }
+        Map<String, Integer> index = new HashMap<>();
+        IntStream.range(0, brandCount())
+                .boxed()
+                .sorted(Comparator.comparingLong(brand -> brandGenerations.get(brand)))
+                .forEach(brand -> {
+                    String name = strings.get(brandNames.get(brand));
+                    Integer group = groupOfCode.get(brandCodes.get(brand));
+                    if (name != null && group != null) {
+                        index.putIfAbsent(Brand.normalizeName(name), group);
+                    }
+                });
+        return Map.copyOf(index);
+    }
+
+    /**
+     * Ids in ascending order, and the row of each.
+     */
+    private static int[][] indexIds(int[] ids) {
+        long[] packed = new long[ids.length];
+        for (int row = 0; row < ids.length; row++) {
+            packed[row] = ((long) ids[row] << 32) | row;
+        }
+        Arrays.sort(packed);
+        int[] sorted = new int[ids.length];
+        int[] rows = new int[ids.length];
+        for (int i = 0; i < packed.length; i++) {
+            sorted[i] = (int) (packed[i] >> 32);
+            rows[i] = (int) packed[i];
+        }
+        return new int[][]{sorted, rows};
+    }
+
+    private static int compare(String model, int id, String otherModel, int otherId) {
+        int byModel = model.compareTo(otherModel);
+        return byModel != 0 ? byModel : Integer.compare(id, otherId);
+    }
+
+    private static int indexOf(int[] array, int value) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void move(int[] array, int from, int to) {
+        int value = array[from];
+        if (from < to) {
+            System.arraycopy(array, from + 1, array, from, to - from);
+        } else {
+            System.arraycopy(array, to, array, to + 1, from - to);
+        }
+        array[to] = value;
+    }
+
+    private static void put(ByteBuffer out, IntBuffer column) {
+        for (int i = 0; i < column.limit(); i++) {
+            out.putInt(column.get(i));
+        }
+    }
+
+    private static void put(ByteBuffer out, LongBuffer column) {
+        for (int i = 0; i < column.limit(); i++) {
+            out.putLong(column.get(i));
+        }
+    }
+
+    private static long generationOf(Long generation) {
+        return Objects.requireNonNullElse(generation, 0L);
+    }
+
+    /**
+     * The string table: heap strings for built snapshots, UTF-8 bytes plus offsets for mapped ones.
+     */
+    private static final class Strings {
+
+        private final String[] values;
+        private final IntBuffer offsets;
+        private final ByteBuffer utf8;
+
+        Strings(String[] values) {
+            this.values = values;
+            this.offsets = null;
+            this.utf8 = null;
+        }
+
+        Strings(IntBuffer offsets, ByteBuffer utf8) {
+            this.values = null;
+            this.offsets = offsets;
+            this.utf8 = utf8;
+        }
+
+        int size() {
+            return values != null ? values.length : offsets.limit() - 1;
+        }
+
+        String get(int id) {
+            if (id == NO_STRING) {
+                return null;
+            }
+            if (values != null) {
+                return values[id];
+            }
+            byte[] bytes = new byte[offsets.get(id + 1) - offsets.get(id)];
+            utf8.get(offsets.get(id), bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Consecutive sections of a snapshot file, each a view over the same bytes.
+     */
+    private static final class Sections {
+
+        private final ByteBuffer in;
+        private int position = HEADER_BYTES;
+
+        Sections(ByteBuffer in) {
+            this.in = in;
+        }
+
+        int count(int headerOffset) {
+            int value = in.getInt(headerOffset);
+            if (value < 0) {
+                throw new IllegalArgumentException("Corrupt catalog snapshot header");
+            }
+            return value;
+        }
+
+        IntBuffer ints(int count) {
+            return slice((long) count * Integer.BYTES).asIntBuffer();
+        }
+
+        LongBuffer longs(int count) {
+            return slice((long) count * Long.BYTES).asLongBuffer();
+        }
+
+        ByteBuffer bytes(int count) {
+            return slice(count);
+        }
+
+        private ByteBuffer slice(long length) {
+            if (length > in.limit() - position) {
+                throw new IllegalArgumentException("Truncated catalog snapshot");
+            }
+            ByteBuffer section = in.slice(position, (int) length);
+            position += (int) length;
+            return section;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.fipe.processor.application.concurrency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shares one in-flight load per key: callers arriving while a load is running subscribe to it
+ * instead of starting their own. The key is released as soon as the load terminates.
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Flux<?>> inFlightStreams = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> (Mono<T>) inFlight.computeIfAbsent(key, k -> Mono.defer(loader)
+                .doFinally(signal -> inFlight.remove(k))
+                .cache()));
+    }
+
+    /**
+     * Streaming form of {@link #execute}: callers arriving while a stream is running get what it has emitted so
+     * far, then the rest as it arrives. The source is cancelled once every caller has cancelled.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> stream(String key, Supplier<Flux<T>> source) {
+        return Flux.defer(() -> (Flux<T>) inFlightStreams.computeIfAbsent(key, k -> Flux.defer(source)
+                .doFinally(signal -> inFlightStreams.remove(k))
+                .replay()
+                .refCount()));
+    }
+
+    public int inFlight() {
+        return inFlight.size() + inFlightStreams.size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.fipe.processor.application.ports;
+
+import reactor.core.publisher.Mono;
+
+public interface BrandCodeResolverPort {
+
+    /**
+     * Code of the brand whose name matches ignoring case and accents, or empty when there is none.
+     */
+    Mono<String> resolve(String brandName, Long generation);
+}
@@ -0,0 +1,11 @@
+package com.fipe.processor.application.ports;
+
+public interface BrandNameFilterPort {
+
+    /**
+     * Answers from memory only. False means the brand is certainly not in the published catalog.
+     */
+    boolean mightExist(String brandName);
+
+    void markMissing(String brandName);
+}
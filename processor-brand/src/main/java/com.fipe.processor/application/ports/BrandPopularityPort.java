@@ -0,0 +1,10 @@
+package com.fipe.processor.application.ports;
+
+import reactor.core.publisher.Flux;
+
+public interface BrandPopularityPort {
+
+    void record(String brandName);
+
+    Flux<String> top(int limit);
+}
@@ -0,0 +1,10 @@
+package com.fipe.processor.application.ports;
+
+import reactor.core.publisher.Mono;
+
+public interface CacheNamespacePort {
+
+    Mono<Long> version(String namespace);
+
+    Mono<Long> invalidate(String namespace);
+}
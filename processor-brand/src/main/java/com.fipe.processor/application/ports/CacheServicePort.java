@@ -1,14 +1,39 @@
 package com.fipe.processor.application.ports;
 
+import com.fipe.processor.domain.dto.CacheEnvelope;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import reactor.core.publisher.Mono;
 
 public interface CacheServicePort {
 
     <T> Mono<T> get(String key, Class<T> valueType);
 
+    <T> Mono<CacheEnvelope<T>> getEnvelope(String key, Class<T> valueType);
+
+    /**
+     * Reads many envelopes in one round trip; the result only holds the keys that were found.
+     */
+    <T> Mono<Map<String, CacheEnvelope<T>>> getEnvelopes(List<String> keys, Class<T> valueType);
+
     <T> Mono<Void> put(String key, T value, Duration ttl);
 
+    Mono<byte[]> getBytes(String key);
+
+    Mono<Void> putBytes(String key, byte[] value, Duration ttl);
+
+    /**
+     * Time left before {@code key} expires: {@link Duration#ZERO} for a key without expiry, empty once it is gone.
+     */
+    Mono<Duration> remainingTtl(String key);
+
+    /**
+     * When the envelope at {@code key} goes stale, in epoch millis, read without binding its value; empty when
+     * there is no envelope at {@code key}.
+     */
+    Mono<Long> softExpiresAt(String key);
+
     Mono<Void> delete(String key);
 
     Mono<Void> deleteByPattern(String pattern);
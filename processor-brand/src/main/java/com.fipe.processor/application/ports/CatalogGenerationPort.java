@@ -0,0 +1,23 @@
+package com.fipe.processor.application.ports;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CatalogGenerationPort {
+
+    Mono<Long> publishedGeneration();
+
+    /**
+     * Emits each generation this replica switches reads to after startup, whether published here or elsewhere.
+     */
+    Flux<Long> generationChanges();
+
+    /**
+     * Opens a new loading generation, first failing loads that were started too long ago to still be running.
+     */
+    Mono<Long> begin();
+
+    Mono<Boolean> seal(Long generation, int expectedBrands);
+
+    Mono<Void> fail(Long generation);
+}
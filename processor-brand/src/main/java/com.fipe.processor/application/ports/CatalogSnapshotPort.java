@@ -0,0 +1,10 @@
+package com.fipe.processor.application.ports;
+
+import com.fipe.processor.domain.dto.CatalogSnapshotEntry;
+import java.nio.file.Path;
+import reactor.core.publisher.Flux;
+
+public interface CatalogSnapshotPort {
+
+    Flux<CatalogSnapshotEntry> read(Path snapshot);
+}
@@ -0,0 +1,13 @@
+package com.fipe.processor.application.ports;
+
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+public interface CatalogWriterPort {
+
+    Mono<Long> insertBrands(List<Brand> brands);
+
+    Mono<Long> insertVehicles(List<Vehicle> vehicles);
+}
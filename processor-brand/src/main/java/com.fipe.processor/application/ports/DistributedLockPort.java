@@ -0,0 +1,11 @@
+package com.fipe.processor.application.ports;
+
+import java.time.Duration;
+import reactor.core.publisher.Mono;
+
+public interface DistributedLockPort {
+
+    Mono<String> tryLock(String key, Duration ttl);
+
+    Mono<Void> unlock(String key, String token);
+}
@@ -1,10 +1,14 @@
 package com.fipe.processor.application.ports;
 
+import com.fipe.processor.application.cache.CachePolicy;
 import com.fipe.processor.domain.entities.Brand;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface GetBrandsServicePort {
     Flux<Brand> execute();
+    Flux<Brand> stream();
+    Mono<String> cacheKey();
+    CachePolicy cachePolicy();
     Mono<Void> clearCache();
 }
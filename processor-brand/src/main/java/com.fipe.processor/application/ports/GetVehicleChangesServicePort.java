@@ -0,0 +1,8 @@
+package com.fipe.processor.application.ports;
+
+import com.fipe.processor.domain.dto.VehicleChangePage;
+import reactor.core.publisher.Mono;
+
+public interface GetVehicleChangesServicePort {
+    Mono<VehicleChangePage> changesSince(String since, Integer limit);
+}
@@ -0,0 +1,9 @@
+package com.fipe.processor.application.ports;
+
+import com.fipe.processor.domain.dto.VehicleBatchResult;
+import java.util.List;
+import reactor.core.publisher.Flux;
+
+public interface GetVehiclesBatchServicePort {
+    Flux<VehicleBatchResult> execute(List<String> brandNames, List<Long> ids, List<String> codes);
+}
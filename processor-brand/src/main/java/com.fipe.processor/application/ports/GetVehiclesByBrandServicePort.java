@@ -1,10 +1,19 @@
 package com.fipe.processor.application.ports;
 
+import com.fipe.processor.application.cache.CachePolicy;
+import com.fipe.processor.domain.dto.VehiclePage;
 import com.fipe.processor.domain.entities.Vehicle;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface GetVehiclesByBrandServicePort {
     Flux<Vehicle> execute(String brandCode);
+    Flux<Vehicle> stream(String brandName);
+    Mono<VehiclePage> page(String brandName, String cursor, Integer limit);
+    Mono<byte[]> renderJson(String brandName);
+    Mono<String> cacheKey(String brandName);
+    CachePolicy cachePolicy();
     Mono<Void> clearCacheByBrand(String brandName);
+    Mono<Void> clearCache();
+    Mono<Void> patchCachedVehicle(Vehicle vehicle);
 }
@@ -0,0 +1,18 @@
+package com.fipe.processor.application.ports;
+
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.util.Optional;
+
+public interface InMemoryCatalogPort {
+
+    /**
+     * The in-process copy of the catalog, only when it holds exactly {@code generation}.
+     */
+    Optional<CatalogSnapshot> snapshot(Long generation);
+
+    /**
+     * Applies an updated row here and on the other replicas.
+     */
+    void patch(Vehicle vehicle);
+}
@@ -0,0 +1,10 @@
+package com.fipe.processor.application.ports;
+
+import com.fipe.processor.domain.dto.CatalogSeedResult;
+import java.nio.file.Path;
+import reactor.core.publisher.Mono;
+
+public interface SeedCatalogPort {
+
+    Mono<CatalogSeedResult> execute(Path snapshot);
+}
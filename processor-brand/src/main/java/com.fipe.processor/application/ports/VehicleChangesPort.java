@@ -0,0 +1,15 @@
+package com.fipe.processor.application.ports;
+
+import com.fipe.processor.domain.dto.VehicleChange;
+import com.fipe.processor.domain.dto.VehicleChangeCursor;
+import reactor.core.publisher.Flux;
+
+public interface VehicleChangesPort {
+
+    /**
+     * Changes after {@code after}, in {@code (transaction, version)} order, made by transactions older than every
+     * transaction still running, so none that commits later can land before them. Vehicles of a generation after
+     * the published one are left out; publishing the generation changes them again.
+     */
+    Flux<VehicleChange> changesSince(VehicleChangeCursor after, int limit);
+}
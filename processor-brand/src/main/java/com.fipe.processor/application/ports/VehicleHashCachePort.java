@@ -0,0 +1,31 @@
+package com.fipe.processor.application.ports;
+
+import com.fipe.processor.domain.dto.VehicleCursor;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.time.Duration;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-brand vehicle storage addressed by vehicle id, with an index in {@code (model, id)} order, so single
+ * rows and pages can be read or replaced without touching the rest of the brand.
+ */
+public interface VehicleHashCachePort {
+
+    Mono<Void> putAll(String key, List<Vehicle> vehicles, Duration ttl);
+
+    Flux<Vehicle> getAll(String key);
+
+    /**
+     * Completes empty when the brand is not cached; an empty list means there is nothing after {@code after}.
+     */
+    Mono<List<Vehicle>> page(String key, VehicleCursor after, int limit);
+
+    /**
+     * Replaces one vehicle of an already cached brand. Returns {@code false} when the brand is not cached.
+     */
+    Mono<Boolean> put(String key, Vehicle vehicle);
+
+    Mono<Void> delete(String key);
+}
@@ -0,0 +1,17 @@
+package com.fipe.processor.application.ports;
+
+import reactor.core.publisher.Mono;
+
+public interface VehicleJsonPort {
+
+    /**
+     * UTF-8 JSON array of a brand's vehicles, in the same shape and order as the mapped response, or empty when
+     * the brand has none. {@code brandNameKey} is {@link com.fipe.processor.domain.entities.Brand#normalizeName}.
+     */
+    Mono<byte[]> renderByBrand(String brandNameKey, Long generation);
+
+    /**
+     * The same array read from {@code vehicles} by brand code, for when the read model is not in use.
+     */
+    Mono<byte[]> renderByBrandCode(String brandCode, Long generation);
+}
@@ -1,7 +1,13 @@
 package com.fipe.processor.application.usecases;
 
-import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.cache.CacheNamespace;
+import com.fipe.processor.application.cache.CachePolicy;
+import com.fipe.processor.application.cache.RefreshAheadCache;
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import com.fipe.processor.application.ports.CacheNamespacePort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
 import com.fipe.processor.application.ports.GetBrandsServicePort;
+import com.fipe.processor.application.ports.InMemoryCatalogPort;
 import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.repositories.BrandRepository;
 import java.time.Duration;
@@ -17,52 +23,78 @@ import reactor.core.publisher.Mono;
 public class GetBrandsUseCase implements GetBrandsServicePort {
 
     private final BrandRepository brandRepository;
-    private final CacheServicePort cacheService;
+    private final CatalogGenerationPort catalogGenerations;
+    private final CacheNamespacePort cacheNamespaces;
+    private final RefreshAheadCache refreshAheadCache;
+    private final InMemoryCatalogPort catalog;
 
-    private static final String CACHE_KEY = "brands:all";
-    private static final Duration CACHE_TTL = Duration.ofHours(1);
+    private static final String CACHE_KEY_SUFFIX = "all";
+    private static final CachePolicy CACHE_POLICY = new CachePolicy(Duration.ofHours(1), Duration.ofHours(6));
 
     @Override
     public Flux<Brand> execute() {
         log.debug("Retrieving all brands with cache aside strategy");
 
-        return getFromCache()
-                .switchIfEmpty(getFromDatabaseAndUpdateCache())
+        return fromMemory()
+                .switchIfEmpty(Flux.defer(() -> cacheScope()
+                        .flatMap(scope -> refreshAheadCache.get(scope.key(), Brand[].class,
+                                CACHE_POLICY, () -> loadFromDatabase(scope.generation())))
+                        .flatMapMany(Flux::fromArray)))
                 .doOnComplete(() -> log.debug("Brands retrieval completed"))
                 .doOnError(error -> log.error("Error retrieving brands: {}", error.getMessage()));
     }
 
+    @Override
+    public Flux<Brand> stream() {
+        log.debug("Streaming all brands");
+
+        return fromMemory()
+                .switchIfEmpty(Flux.defer(() -> cacheScope()
+                        .flatMapMany(scope -> refreshAheadCache.stream(scope.key(), Brand[].class, CACHE_POLICY,
+                                () -> loadFromDatabase(scope.generation()),
+                                () -> brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(scope.generation())))))
+                .doOnError(error -> log.error("Error streaming brands: {}", error.getMessage()));
+    }
+
+    @Override
+    public Mono<String> cacheKey() {
+        return cacheScope().map(CacheScope::key);
+    }
+
+    @Override
+    public CachePolicy cachePolicy() {
+        return CACHE_POLICY;
+    }
+
     @Override
     public Mono<Void> clearCache() {
         log.debug("Clearing brands cache");
-        return cacheService.delete(CACHE_KEY);
+        return cacheNamespaces.invalidate(CacheNamespace.BRANDS.prefix()).then();
     }
 
-    private Flux<Brand> getFromCache() {
-        return cacheService.get(CACHE_KEY, Brand[].class)
-                .flatMapMany(Flux::fromArray)
-                .doOnNext(brands -> log.debug("Cache hit for brands"))
-                .onErrorResume(error -> {
-                    log.warn("Error reading from cache, falling back to database: {}", error.getMessage());
-                    return Flux.empty();
-                });
+    /**
+     * Brands of the in-memory catalog when it holds the published generation; empty otherwise.
+     */
+    private Flux<Brand> fromMemory() {
+        return catalogGenerations.publishedGeneration()
+                .flatMap(generation -> Mono.justOrEmpty(catalog.snapshot(generation)))
+                .flatMapIterable(CatalogSnapshot::brands);
     }
 
-    private Flux<Brand> getFromDatabaseAndUpdateCache() {
-        return brandRepository.findAllByOrderByNameAsc()
+    private Mono<CacheScope> cacheScope() {
+        return Mono.zip(catalogGenerations.publishedGeneration(), cacheNamespaces.version(CacheNamespace.BRANDS.prefix()))
+                .map(tuple -> new CacheScope(tuple.getT1(),
+                        CacheNamespace.BRANDS.key(tuple.getT2(), tuple.getT1(), CACHE_KEY_SUFFIX)));
+    }
+
+    private Mono<Brand[]> loadFromDatabase(Long generation) {
+        return brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(generation)
                 .collectList()
-                .flatMap(brands -> {
-                    if (!brands.isEmpty()) {
-                        return cacheService.put(CACHE_KEY, brands, CACHE_TTL)
-                                .thenReturn(brands);
-                    }
-                    return Mono.just(brands);
-                })
-                .flatMapMany(Flux::fromIterable)
-                .doOnNext(brands -> log.debug("Retrieved brands from database and updated cache"))
-                .onErrorResume(error -> {
-                    log.error("Error updating cache, returning database results: {}", error.getMessage());
-                    return brandRepository.findAllByOrderByNameAsc();
-                });
+                .filter(brands -> !brands.isEmpty())
+                .map(brands -> brands.toArray(Brand[]::new))
+                .doOnNext(brands -> log.debug("Retrieved {} brands from database", brands.length));
+    }
+
+    private record CacheScope(Long generation, String key) {
     }
 }
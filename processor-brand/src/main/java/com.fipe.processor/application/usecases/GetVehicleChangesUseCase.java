@@ -0,0 +1,59 @@
+package com.fipe.processor.application.usecases;
+
+import com.fipe.processor.application.ports.GetVehicleChangesServicePort;
+import com.fipe.processor.application.ports.VehicleChangesPort;
+import com.fipe.processor.domain.dto.VehicleChange;
+import com.fipe.processor.domain.dto.VehicleChangeCursor;
+import com.fipe.processor.domain.dto.VehicleChangePage;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Delta sync for catalog mirrors: the vehicles inserted, updated or deleted after a given position, in commit
+ * order, limited to the published generation. A mirror starts without a cursor and keeps passing back
+ * {@code nextCursor}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetVehicleChangesUseCase implements GetVehicleChangesServicePort {
+
+    private final VehicleChangesPort vehicleChanges;
+
+    @Value("${vehicles.changes.default-limit:500}")
+    private int defaultLimit;
+
+    @Value("${vehicles.changes.max-limit:5000}")
+    private int maxLimit;
+
+    @Override
+    public Mono<VehicleChangePage> changesSince(final String since, final Integer limit) {
+        if (limit != null && limit < 1) {
+            return Mono.error(new IllegalArgumentException("limit must be positive"));
+        }
+        VehicleChangeCursor after;
+        try {
+            after = since == null || since.isBlank() ? VehicleChangeCursor.START : VehicleChangeCursor.decode(since);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        int pageSize = Math.min(limit == null ? defaultLimit : limit, maxLimit);
+
+        return vehicleChanges.changesSince(after, pageSize + 1)
+                .collectList()
+                .map(changes -> toPage(changes, after, pageSize))
+                .doOnNext(page -> log.debug("Read {} vehicle changes after {}", page.changes().size(), after))
+                .doOnError(error -> log.error("Error reading vehicle changes after {}: {}", after, error.getMessage()));
+    }
+
+    private static VehicleChangePage toPage(List<VehicleChange> changes, VehicleChangeCursor after, int pageSize) {
+        boolean hasMore = changes.size() > pageSize;
+        List<VehicleChange> page = hasMore ? List.copyOf(changes.subList(0, pageSize)) : changes;
+        VehicleChangeCursor next = page.isEmpty() ? after : VehicleChangeCursor.after(page.get(page.size() - 1));
+        return new VehicleChangePage(page, next.encode(), hasMore);
+    }
+}
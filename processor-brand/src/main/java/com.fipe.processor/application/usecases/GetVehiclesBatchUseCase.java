@@ -0,0 +1,132 @@
+package com.fipe.processor.application.usecases;
+
+import com.fipe.processor.application.cache.RefreshAheadCache;
+import com.fipe.processor.application.ports.BrandCodeResolverPort;
+import com.fipe.processor.application.ports.BrandNameFilterPort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.GetVehiclesBatchServicePort;
+import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
+import com.fipe.processor.domain.dto.VehicleBatchResult;
+import com.fipe.processor.domain.entities.Vehicle;
+import com.fipe.processor.domain.repositories.VehicleRepository;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves several lookups in one call: brand lists come from one multi-key cache read, with every miss
+ * loaded by a single {@code IN} query on brand codes; ids and FIPE codes go straight to one query each.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetVehiclesBatchUseCase implements GetVehiclesBatchServicePort {
+
+    private static final String BRAND_LOOKUP = "brand:";
+    private static final String ID_LOOKUP = "id:";
+    private static final String CODE_LOOKUP = "code:";
+
+    private final VehicleRepository vehicleRepository;
+    private final CatalogGenerationPort catalogGenerations;
+    private final GetVehiclesByBrandServicePort vehiclesByBrand;
+    private final RefreshAheadCache refreshAheadCache;
+    private final BrandNameFilterPort brandNames;
+    private final BrandCodeResolverPort brandCodes;
+
+    @Override
+    public Flux<VehicleBatchResult> execute(List<String> brandNames, List<Long> ids, List<String> codes) {
+        List<String> names = distinct(brandNames);
+        List<Long> vehicleIds = distinct(ids);
+        List<String> vehicleCodes = distinct(codes);
+        log.debug("Batch lookup of {} brands, {} ids and {} codes", names.size(), vehicleIds.size(), vehicleCodes.size());
+
+        return catalogGenerations.publishedGeneration()
+                .flatMapMany(generation -> Flux.concat(
+                        byBrandNames(names, generation),
+                        byIds(vehicleIds, generation),
+                        byCodes(vehicleCodes, generation)))
+                .doOnError(error -> log.error("Error in batch vehicle lookup: {}", error.getMessage()));
+    }
+
+    private Flux<VehicleBatchResult> byBrandNames(List<String> names, Long generation) {
+        if (names.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(names)
+                .filter(brandNames::mightExist)
+                .concatMap(name -> vehiclesByBrand.cacheKey(name).map(key -> Map.entry(name, key)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                .flatMap(keyByName -> {
+                    Map<String, String> nameByKey = new LinkedHashMap<>();
+                    keyByName.forEach((name, key) -> nameByKey.putIfAbsent(key, name));
+                    return (nameByKey.isEmpty()
+                            ? Mono.just(Map.<String, Vehicle[]>of())
+                            : refreshAheadCache.getAll(List.copyOf(nameByKey.keySet()), Vehicle[].class,
+                                    GetVehiclesByBrandUseCase.CACHE_POLICY, missing -> loadBrands(missing, nameByKey, generation)))
+                            .map(found -> names.stream()
+                                    .map(name -> {
+                                        String key = keyByName.get(name);
+                                        Vehicle[] vehicles = key == null ? null : found.get(key);
+                                        return new VehicleBatchResult(BRAND_LOOKUP + name,
+                                                vehicles == null ? List.of() : List.of(vehicles));
+                                    })
+                                    .toList());
+                })
+                .flatMapIterable(results -> results);
+    }
+
+    /**
+     * Names resolve to codes in memory, so a whole batch of misses still costs a single vehicle query.
+     */
+    private Mono<Map<String, Vehicle[]>> loadBrands(List<String> keys, Map<String, String> nameByKey, Long generation) {
+        return Flux.fromIterable(keys)
+                .concatMap(key -> brandCodes.resolve(nameByKey.get(key), generation).map(code -> Map.entry(code, key)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMap(keyByCode -> keyByCode.isEmpty()
+                        ? Mono.just(Map.<String, Vehicle[]>of())
+                        : vehicleRepository.findByBrandCodeInAndGenerationLessThanEqualOrderByModelAscIdAsc(keyByCode.keySet(), generation)
+                                .collectMultimap(Vehicle::getBrandCode)
+                                .map(byCode -> {
+                                    Map<String, Vehicle[]> loaded = new LinkedHashMap<>();
+                                    byCode.forEach((code, vehicles) -> loaded.put(keyByCode.get(code),
+                                            vehicles.toArray(Vehicle[]::new)));
+                                    return loaded;
+                                }))
+                .doOnNext(loaded -> log.debug("Loaded {} of {} brands from database", loaded.size(), keys.size()));
+    }
+
+    private Flux<VehicleBatchResult> byIds(List<Long> ids, Long generation) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return vehicleRepository.findByIdInAndGenerationLessThanEqual(ids, generation)
+                .collectMap(Vehicle::getId)
+                .flatMapIterable(byId -> ids.stream()
+                        .map(id -> new VehicleBatchResult(ID_LOOKUP + id,
+                                byId.containsKey(id) ? List.of(byId.get(id)) : List.of()))
+                        .toList());
+    }
+
+    private Flux<VehicleBatchResult> byCodes(List<String> codes, Long generation) {
+        if (codes.isEmpty()) {
+            return Flux.empty();
+        }
+        return vehicleRepository.findByCodeInAndGenerationLessThanEqualOrderByBrandCodeAsc(codes, generation)
+                .collectMultimap(Vehicle::getCode)
+                .flatMapIterable(byCode -> codes.stream()
+                        .map(code -> new VehicleBatchResult(CODE_LOOKUP + code,
+                                List.copyOf(byCode.getOrDefault(code, List.of()))))
+                        .toList());
+    }
+
+    private static <T> List<T> distinct(Collection<T> values) {
+        return values == null ? List.of() : values.stream().filter(Objects::nonNull).distinct().toList();
+    }
+}
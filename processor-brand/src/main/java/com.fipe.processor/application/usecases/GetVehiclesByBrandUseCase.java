@@ -1,14 +1,34 @@
 package com.fipe.processor.application.usecases;
 
+import com.fipe.processor.application.cache.BodyEncoding;
+import com.fipe.processor.application.cache.CacheNamespace;
+import com.fipe.processor.application.cache.CachePolicy;
+import com.fipe.processor.application.cache.RefreshAheadCache;
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import com.fipe.processor.application.concurrency.SingleFlight;
+import com.fipe.processor.application.ports.BrandCodeResolverPort;
+import com.fipe.processor.application.ports.BrandNameFilterPort;
+import com.fipe.processor.application.ports.CacheNamespacePort;
 import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
 import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
+import com.fipe.processor.application.ports.InMemoryCatalogPort;
+import com.fipe.processor.application.ports.VehicleHashCachePort;
+import com.fipe.processor.application.ports.VehicleJsonPort;
+import com.fipe.processor.domain.dto.VehicleCursor;
+import com.fipe.processor.domain.dto.VehiclePage;
+import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.entities.Vehicle;
 import com.fipe.processor.domain.repositories.BrandRepository;
 import com.fipe.processor.domain.repositories.VehicleRepository;
 import com.fipe.processor.presentation.exception.BrandNotFoundException;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,61 +41,328 @@ public class GetVehiclesByBrandUseCase implements GetVehiclesByBrandServicePort
     private final VehicleRepository vehicleRepository;
     private final BrandRepository brandRepository;
     private final CacheServicePort cacheService;
+    private final CatalogGenerationPort catalogGenerations;
+    private final CacheNamespacePort cacheNamespaces;
+    private final RefreshAheadCache refreshAheadCache;
+    private final VehicleHashCachePort vehicleHashCache;
+    private final SingleFlight singleFlight;
+    private final BrandNameFilterPort brandNames;
+    private final BrandCodeResolverPort brandCodes;
+    private final VehicleJsonPort vehicleJson;
+    private final InMemoryCatalogPort catalog;
 
-    private static final String CACHE_KEY_PREFIX = "vehicles:brand:";
-    private static final Duration CACHE_TTL = Duration.ofMinutes(30);
+    @Value("${cache.vehicles.hash.enabled:false}")
+    private boolean hashLayout;
+
+    @Value("${vehicles.read-model.enabled:true}")
+    private boolean readModel;
+
+    @Value("${vehicles.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${vehicles.page.max-size:200}")
+    private int maxPageSize;
+
+    private static final String CACHE_KEY_FORMAT = "brand:%s";
+    private static final String PAGE_NAMESPACE_FORMAT = "vehicles:pages:%s";
+    private static final String PAGE_KEY_FORMAT = "%s:page:p%d:%d:%s";
+    private static final String FIRST_PAGE = "first";
+    private static final String HASH_FLIGHT_SUFFIX = ":hash";
+    static final CachePolicy CACHE_POLICY = new CachePolicy(Duration.ofMinutes(30), Duration.ofHours(2));
 
     @Override
     public Flux<Vehicle> execute(final String brandName) {
         log.debug("Retrieving vehicles for brand: {} with cache aside strategy", brandName);
+        if (!brandNames.mightExist(brandName)) {
+            return Flux.error(notFound(brandName));
+        }
 
-        String cacheKey = buildCacheKey(brandName);
-
-        return getFromCache(cacheKey)
-                .switchIfEmpty(getFromDatabaseAndUpdateCache(brandName, cacheKey))
+        return fromMemory(brandName)
+                .switchIfEmpty(Flux.defer(() -> cacheScope(brandName)
+                        .flatMapMany(scope -> hashLayout
+                                ? readThroughHash(brandName, scope)
+                                : refreshAheadCache.get(scope.key(), Vehicle[].class,
+                                        CACHE_POLICY, () -> loadFromDatabase(brandName, scope.generation())).flatMapMany(Flux::fromArray))))
+                .switchIfEmpty(Mono.error(() -> missing(brandName)))
                 .doOnComplete(() -> log.debug("Vehicles retrieval completed for brand: {}", brandName))
                 .doOnError(error -> log.error("Error retrieving vehicles for brand {}: {}", brandName, error.getMessage()));
     }
 
+    @Override
+    public Flux<Vehicle> stream(final String brandName) {
+        log.debug("Streaming vehicles for brand: {}", brandName);
+        if (!brandNames.mightExist(brandName)) {
+            return Flux.error(notFound(brandName));
+        }
+
+        return fromMemory(brandName)
+                .switchIfEmpty(Flux.defer(() -> cacheScope(brandName)
+                        .flatMapMany(scope -> hashLayout
+                                ? readHash(scope).flatMapMany(Flux::fromIterable)
+                                        .switchIfEmpty(Flux.defer(() -> findByBrandName(brandName, scope.generation())))
+                                : refreshAheadCache.stream(scope.key(), Vehicle[].class, CACHE_POLICY,
+                                        () -> loadFromDatabase(brandName, scope.generation()),
+                                        () -> findByBrandName(brandName, scope.generation())))))
+                .switchIfEmpty(Mono.error(() -> missing(brandName)))
+                .doOnError(error -> log.error("Error streaming vehicles for brand {}: {}", brandName, error.getMessage()));
+    }
+
+    @Override
+    public Mono<VehiclePage> page(final String brandName, final String cursor, final Integer limit) {
+        if (limit != null && limit < 1) {
+            return Mono.error(new IllegalArgumentException("limit must be positive"));
+        }
+        if (!brandNames.mightExist(brandName)) {
+            return Mono.error(notFound(brandName));
+        }
+        int pageSize = Math.min(limit == null ? defaultPageSize : limit, maxPageSize);
+        VehicleCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : VehicleCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        Mono<VehiclePage> cached = Mono.zip(cacheScope(brandName), cacheNamespaces.version(pageNamespace(brandName)))
+                .flatMap(tuple -> {
+                    CacheScope scope = tuple.getT1();
+                    String pageKey = PAGE_KEY_FORMAT.formatted(scope.key(), tuple.getT2(), pageSize,
+                            after == null ? FIRST_PAGE : after.encode());
+                    Mono<VehiclePage> cachedPage = Mono.defer(() -> refreshAheadCache.get(pageKey, VehiclePage.class, CACHE_POLICY,
+                            () -> loadPage(brandName, scope.generation(), after, pageSize)));
+                    if (!hashLayout) {
+                        return cachedPage;
+                    }
+                    return vehicleHashCache.page(scope.key(), after, pageSize + 1)
+                            .onErrorResume(error -> {
+                                log.warn("Error paging cached vehicles for {}, falling back: {}", brandName, error.getMessage());
+                                return Mono.empty();
+                            })
+                            .map(vehicles -> toPage(vehicles, pageSize))
+                            .switchIfEmpty(cachedPage);
+                });
+        return memory()
+                .map(snapshot -> {
+                    if (!snapshot.hasBrand(brandName)) {
+                        throw missing(brandName);
+                    }
+                    return toPage(snapshot.pageOf(brandName, after, pageSize + 1), pageSize);
+                })
+                .switchIfEmpty(cached)
+                .doOnError(error -> log.error("Error retrieving vehicle page for brand {}: {}", brandName, error.getMessage()));
+    }
+
+    /**
+     * The brand's vehicles as a finished JSON array rendered by the database, for callers that cache and send the
+     * bytes as they are. Skips the entity cache, the DTO mapping and Jackson. Rendered from the read model, or from
+     * {@code vehicles} by brand code when {@code vehicles.read-model.enabled} is off.
+     */
+    @Override
+    public Mono<byte[]> renderJson(final String brandName) {
+        if (!brandNames.mightExist(brandName)) {
+            return Mono.error(notFound(brandName));
+        }
+
+        return catalogGenerations.publishedGeneration()
+                .flatMap(generation -> readModel
+                        ? vehicleJson.renderByBrand(Brand.normalizeName(brandName), generation)
+                        : brandCodes.resolve(brandName, generation)
+                                .flatMap(brandCode -> vehicleJson.renderByBrandCode(brandCode, generation)))
+                .switchIfEmpty(Mono.error(() -> missing(brandName)))
+                .doOnError(error -> log.error("Error rendering vehicles for brand {}: {}", brandName, error.getMessage()));
+    }
+
+    /**
+     * Fails with {@link BrandNotFoundException} for names the brand filter rules out, before any cache lookup.
+     */
+    @Override
+    public Mono<String> cacheKey(String brandName) {
+        if (!brandNames.mightExist(brandName)) {
+            return Mono.error(notFound(brandName));
+        }
+        return cacheScope(brandName).map(CacheScope::key);
+    }
+
+    @Override
+    public CachePolicy cachePolicy() {
+        return CACHE_POLICY;
+    }
+
     @Override
     public Mono<Void> clearCacheByBrand(String brandName) {
         log.debug("Clearing vehicles cache for brand: {}", brandName);
-        String cacheKey = buildCacheKey(brandName);
-        return cacheService.delete(cacheKey);
+        return cacheScope(brandName)
+                .map(CacheScope::key)
+                .flatMap(key -> Flux.fromIterable(BodyEncoding.keysWithBodies(key))
+                        .concatMap(cacheService::delete)
+                        .then(vehicleHashCache.delete(key))
+                        .then(cacheNamespaces.invalidate(pageNamespace(brandName)))
+                        .then());
+    }
+
+    @Override
+    public Mono<Void> clearCache() {
+        log.debug("Clearing vehicles cache for all brands");
+        return cacheNamespaces.invalidate(CacheNamespace.VEHICLES.prefix()).then();
+    }
+
+    /**
+     * Write-through for a single updated row: replaces it in the in-memory catalog and inside the cached brand
+     * list (or its hash field), drops the rendered bodies and ETags derived from that list and moves the brand's
+     * pages to a new version. If the patch fails the brand is evicted instead, so readers never keep the stale row
+     * until the TTL.
+     */
+    @Override
+    public Mono<Void> patchCachedVehicle(Vehicle vehicle) {
+        return Mono.fromRunnable(() -> catalog.patch(vehicle))
+                .then(catalogGenerations.publishedGeneration())
+                .filter(generation -> vehicle.getGeneration() == null || vehicle.getGeneration() <= generation)
+                .flatMap(generation -> brandRepository.findNameByCode(vehicle.getBrandCode(), generation))
+                .flatMap(brandName -> cacheScope(brandName)
+                        .map(CacheScope::key)
+                        .flatMap(key -> patchStored(key, vehicle)
+                                .onErrorResume(error -> {
+                                    log.warn("Error patching cached vehicles for {}, evicting: {}", brandName, error.getMessage());
+                                    return hashLayout ? vehicleHashCache.delete(key) : cacheService.delete(key);
+                                })
+                                .thenMany(Flux.fromIterable(BodyEncoding.renderedKeys(key)))
+                                .concatMap(cacheService::delete)
+                                .then(cacheNamespaces.invalidate(pageNamespace(brandName))))
+                        .doOnSuccess(version -> log.debug("Patched cached vehicle {} for brand: {}", vehicle.getId(), brandName)))
+                .then();
     }
 
-    private String buildCacheKey(String brandName) {
-        return CACHE_KEY_PREFIX + brandName.toLowerCase().replace(" ", "_");
+    private Mono<Void> patchStored(String key, Vehicle vehicle) {
+        return hashLayout
+                ? vehicleHashCache.put(key, vehicle).then(cacheService.delete(key))
+                : refreshAheadCache.patch(key, Vehicle[].class, CACHE_POLICY, cached -> replace(cached, vehicle));
     }
 
-    private Flux<Vehicle> getFromCache(String cacheKey) {
-        return cacheService.get(cacheKey, Vehicle[].class)
-                .flatMapMany(Flux::fromArray)
-                .doOnNext(vehicles -> log.debug("Cache hit for vehicles of brand: {}", cacheKey))
+    private static Vehicle[] replace(Vehicle[] cached, Vehicle updated) {
+        Vehicle[] patched = Arrays.stream(cached)
+                .map(vehicle -> updated.getId().equals(vehicle.getId()) ? updated : vehicle)
+                .toArray(Vehicle[]::new);
+        Arrays.sort(patched, Comparator.comparing(Vehicle::getModel).thenComparing(Vehicle::getId));
+        return patched;
+    }
+
+    private Mono<CacheScope> cacheScope(String brandName) {
+        return Mono.zip(catalogGenerations.publishedGeneration(), cacheNamespaces.version(CacheNamespace.VEHICLES.prefix()))
+                .map(tuple -> new CacheScope(tuple.getT1(), CacheNamespace.VEHICLES.key(tuple.getT2(), tuple.getT1(),
+                        CACHE_KEY_FORMAT.formatted(normalize(brandName)))));
+    }
+
+    private Mono<CatalogSnapshot> memory() {
+        return catalogGenerations.publishedGeneration()
+                .flatMap(generation -> Mono.justOrEmpty(catalog.snapshot(generation)));
+    }
+
+    /**
+     * The brand's vehicles from the in-memory catalog, failing for names it does not hold. Empty when the catalog
+     * is not loaded for the published generation, or the brand has no vehicles.
+     */
+    private Flux<Vehicle> fromMemory(String brandName) {
+        return memory().flatMapMany(snapshot -> snapshot.hasBrand(brandName)
+                ? Flux.fromIterable(snapshot.vehiclesOf(brandName))
+                : Flux.error(missing(brandName)));
+    }
+
+    private BrandNotFoundException missing(String brandName) {
+        brandNames.markMissing(brandName);
+        return notFound(brandName);
+    }
+
+    private static BrandNotFoundException notFound(String brandName) {
+        return new BrandNotFoundException("Brand not found: " + brandName);
+    }
+
+    private static String pageNamespace(String brandName) {
+        return PAGE_NAMESPACE_FORMAT.formatted(normalize(brandName));
+    }
+
+    private static String normalize(String brandName) {
+        return Brand.normalizeName(brandName).replace(" ", "_");
+    }
+
+    private Mono<VehiclePage> loadPage(String brandName, Long generation, VehicleCursor after, int pageSize) {
+        if (readModel) {
+            String nameKey = Brand.normalizeName(brandName);
+            return (after == null
+                    ? vehicleRepository.findFirstPageByBrandNameKey(nameKey, generation, pageSize + 1)
+                    : vehicleRepository.findPageAfterByBrandNameKey(nameKey, generation, after.model(), after.id(), pageSize + 1))
+                    .collectList()
+                    .flatMap(vehicles -> vehicles.isEmpty() && after == null
+                            ? brandCodes.resolve(brandName, generation)
+                                    .switchIfEmpty(Mono.error(() -> missing(brandName)))
+                                    .thenReturn(vehicles)
+                            : Mono.just(vehicles))
+                    .map(vehicles -> toPage(vehicles, pageSize));
+        }
+        return brandCodes.resolve(brandName, generation)
+                .switchIfEmpty(Mono.error(() -> missing(brandName)))
+                .flatMapMany(brandCode -> after == null
+                        ? vehicleRepository.findFirstPage(brandCode, generation, pageSize + 1)
+                        : vehicleRepository.findPageAfter(brandCode, generation, after.model(), after.id(), pageSize + 1))
+                .collectList()
+                .map(vehicles -> toPage(vehicles, pageSize));
+    }
+
+    private static VehiclePage toPage(List<Vehicle> vehicles, int pageSize) {
+        if (vehicles.size() <= pageSize) {
+            return new VehiclePage(vehicles, null);
+        }
+        List<Vehicle> page = vehicles.subList(0, pageSize);
+        return new VehiclePage(List.copyOf(page), VehicleCursor.after(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Hash layout: reads the whole brand from its hash, or loads it once and stores it field by field.
+     * There is no soft expiry here; entries live until their TTL or the next write-through.
+     */
+    private Flux<Vehicle> readThroughHash(String brandName, CacheScope scope) {
+        return readHash(scope)
+                .switchIfEmpty(Mono.defer(() -> singleFlight.execute(scope.key() + HASH_FLIGHT_SUFFIX,
+                        () -> loadFromDatabase(brandName, scope.generation())
+                                .map(Arrays::asList)
+                                .flatMap(vehicles -> vehicleHashCache.putAll(scope.key(), vehicles, CACHE_POLICY.hardTtl())
+                                        .onErrorResume(error -> {
+                                            log.error("Error caching vehicles hash for {}: {}", brandName, error.getMessage());
+                                            return Mono.empty();
+                                        })
+                                        .thenReturn(vehicles)))))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    private Mono<List<Vehicle>> readHash(CacheScope scope) {
+        return vehicleHashCache.getAll(scope.key())
+                .collectList()
+                .filter(vehicles -> !vehicles.isEmpty())
                 .onErrorResume(error -> {
-                    log.warn("Error reading from cache for key {}, falling back to database: {}",
-                            cacheKey, error.getMessage());
-                    return Flux.empty();
+                    log.warn("Error reading vehicles hash {}, falling back to database: {}", scope.key(), error.getMessage());
+                    return Mono.empty();
                 });
     }
 
-    private Flux<Vehicle> getFromDatabaseAndUpdateCache(String brandName, String cacheKey) {
-        return vehicleRepository.findByBrandName(brandName, brandRepository)
+    private Mono<Vehicle[]> loadFromDatabase(String brandName, Long generation) {
+        return findByBrandName(brandName, generation)
                 .collectList()
-                .flatMap(vehicles -> {
-                    if (!vehicles.isEmpty()) {
-                        return cacheService.put(cacheKey, vehicles, CACHE_TTL)
-                                .thenReturn(vehicles);
-                    }
-                    return Mono.just(vehicles);
-                })
-                .flatMapMany(Flux::fromIterable)
-                .doOnNext(vehicles -> log.debug("Retrieved vehicles from database and updated cache for brand: {}", brandName))
-                .onErrorResume(error -> {
-                    log.error("Error updating cache for brand {}, returning database results: {}",
-                            brandName, error.getMessage());
-                    return vehicleRepository.findByBrandName(brandName, brandRepository);
-                })
-                .switchIfEmpty(Mono.error(new BrandNotFoundException("Brand not found: " + brandName)));
+                .filter(vehicles -> !vehicles.isEmpty())
+                .map(vehicles -> vehicles.toArray(Vehicle[]::new))
+                .doOnNext(vehicles -> log.debug("Retrieved {} vehicles from database for brand: {}", vehicles.length, brandName));
+    }
+
+    /**
+     * One index-only query on the {@code vehicles_by_brand} read model, or a code lookup followed by a
+     * {@code brand_code} query when {@code vehicles.read-model.enabled} is off.
+     */
+    private Flux<Vehicle> findByBrandName(String brandName, Long generation) {
+        if (readModel) {
+            return vehicleRepository.findByBrandNameKey(Brand.normalizeName(brandName), generation);
+        }
+        return brandCodes.resolve(brandName, generation)
+                .flatMapMany(code -> vehicleRepository.findByBrandCodeAndGenerationLessThanEqualOrderByModelAscIdAsc(code, generation));
+    }
+
+    private record CacheScope(Long generation, String key) {
     }
 }
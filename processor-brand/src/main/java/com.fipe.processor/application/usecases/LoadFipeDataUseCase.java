@@ -1,10 +1,13 @@
 package com.fipe.processor.application.usecases;
 
+import com.fipe.processor.application.concurrency.IngestionConcurrency;
 import com.fipe.processor.application.ports.BrandMessagePublisherPort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
 import com.fipe.processor.application.ports.FipeServicePort;
 import com.fipe.processor.application.ports.LoadFipeDataPort;
 import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.repositories.BrandRepository;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +24,8 @@ public class LoadFipeDataUseCase  implements LoadFipeDataPort {
     private final FipeServicePort fipeService;
     private final BrandRepository brandRepository;
     private final BrandMessagePublisherPort messagePublisher;
+    private final CatalogGenerationPort catalogGenerations;
+    private final IngestionConcurrency concurrency;
 
     @Value("${kafka.topics.brands}")
     private String brandsTopic;
@@ -28,17 +33,31 @@ public class LoadFipeDataUseCase  implements LoadFipeDataPort {
     public Flux<Brand> execute() {
         log.info("Starting FIPE data load process");
 
-        return fipeService.fetchBrands()
-                .flatMap(this::saveBrand)
-                .flatMap(this::publishBrandMessage)
+        return catalogGenerations.begin()
+                .flatMapMany(this::loadGeneration)
                 .doOnComplete(() -> log.info("FIPE data load process completed"))
                 .doOnError(error -> log.error("Error during FIPE data load: {}", error.getMessage()));
     }
 
+    private Flux<Brand> loadGeneration(final Long generation) {
+        AtomicInteger published = new AtomicInteger();
+
+        Flux<Brand> brands = fipeService.fetchBrands()
+                .doOnNext(brand -> brand.setGeneration(generation));
+        Flux<Brand> saved = concurrency.stage(IngestionConcurrency.DB_WRITE).flatMap(brands, this::saveBrand);
+
+        return concurrency.stage(IngestionConcurrency.KAFKA_PUBLISH).flatMap(saved, this::publishBrandMessage)
+                .doOnNext(brand -> published.incrementAndGet())
+                .concatWith(Mono.defer(() -> catalogGenerations.seal(generation, published.get()))
+                        .then(Mono.empty()))
+                .onErrorResume(error -> catalogGenerations.fail(generation).then(Mono.error(error)));
+    }
+
     private Mono<Brand> saveBrand(final Brand brand) {
         log.debug("Saving brand: {} - {}", brand.getCode(), brand.getName());
         
-        return brandRepository.save(brand)
+        return brandRepository.saveForGeneration(brand.getCode(), brand.getName(), brand.getGeneration())
+                .thenReturn(brand)
                 .doOnSuccess(saved -> log.debug("Brand saved: {}", saved.getCode()))
                 .doOnError(error -> log.error("Error saving brand {}: {}", 
                         brand.getCode(), error.getMessage()));
@@ -0,0 +1,78 @@
+package com.fipe.processor.application.usecases;
+
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.CatalogSnapshotPort;
+import com.fipe.processor.application.ports.CatalogWriterPort;
+import com.fipe.processor.application.ports.SeedCatalogPort;
+import com.fipe.processor.domain.dto.CatalogSeedResult;
+import com.fipe.processor.domain.dto.CatalogSnapshotEntry;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeedCatalogUseCase implements SeedCatalogPort {
+
+    private final CatalogSnapshotPort snapshotReader;
+    private final CatalogWriterPort catalogWriter;
+    private final CatalogGenerationPort catalogGenerations;
+
+    @Value("${catalog.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public Mono<CatalogSeedResult> execute(final Path snapshot) {
+        log.info("Seeding catalog from snapshot: {}", snapshot);
+
+        return catalogGenerations.begin()
+                .flatMap(generation -> seed(snapshot, generation)
+                        .flatMap(result -> catalogGenerations.seal(generation, 0).thenReturn(result))
+                        .onErrorResume(error -> catalogGenerations.fail(generation).then(Mono.error(error))))
+                .doOnSuccess(result -> log.info("Catalog seed completed: {}", result))
+                .doOnError(error -> log.error("Error seeding catalog from {}: {}", snapshot, error.getMessage()));
+    }
+
+    private Mono<CatalogSeedResult> seed(final Path snapshot, final Long generation) {
+        AtomicLong skipped = new AtomicLong();
+
+        return snapshotReader.read(snapshot)
+                .filter(entry -> {
+                    if (entry.isValid()) {
+                        return true;
+                    }
+                    skipped.incrementAndGet();
+                    log.warn("Skipping invalid snapshot entry: {}", entry);
+                    return false;
+                })
+                .groupBy(CatalogSnapshotEntry::isBrand)
+                .flatMap(group -> group.buffer(batchSize)
+                        .concatMap(batch -> Boolean.TRUE.equals(group.key())
+                                ? writeBrands(batch, generation)
+                                : writeVehicles(batch, generation))
+                        .reduce(0L, Long::sum)
+                        .map(count -> Map.entry(group.key(), count)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(counts -> new CatalogSeedResult(
+                        counts.getOrDefault(Boolean.TRUE, 0L),
+                        counts.getOrDefault(Boolean.FALSE, 0L),
+                        skipped.get()));
+    }
+
+    private Mono<Long> writeBrands(final List<CatalogSnapshotEntry> batch, final Long generation) {
+        return catalogWriter.insertBrands(batch.stream().map(entry -> entry.toBrand(generation)).toList())
+                .doOnSuccess(inserted -> log.debug("Seeded {} of {} brands", inserted, batch.size()));
+    }
+
+    private Mono<Long> writeVehicles(final List<CatalogSnapshotEntry> batch, final Long generation) {
+        return catalogWriter.insertVehicles(batch.stream().map(entry -> entry.toVehicle(generation)).toList())
+                .doOnSuccess(inserted -> log.debug("Seeded {} of {} vehicles", inserted, batch.size()));
+    }
+}
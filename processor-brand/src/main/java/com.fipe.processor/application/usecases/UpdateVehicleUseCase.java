@@ -1,8 +1,10 @@
 package com.fipe.processor.application.usecases;
 
+import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
 import com.fipe.processor.application.ports.UpdateVehicleServicePort;
 import com.fipe.processor.domain.entities.Vehicle;
 import com.fipe.processor.domain.repositories.VehicleRepository;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,27 +16,24 @@ import reactor.core.publisher.Mono;
 public class UpdateVehicleUseCase implements UpdateVehicleServicePort {
 
     private final VehicleRepository vehicleRepository;
+    private final GetVehiclesByBrandServicePort vehiclesByBrand;
 
     public Mono<Vehicle> execute(Long vehicleId, String newModel, String newObservations) {
         log.debug("Updating vehicle: {}", vehicleId);
-        
-        return vehicleRepository.findById(vehicleId)
+        String model = newModel == null || newModel.isBlank() ? null : newModel;
+
+        return vehicleRepository.updateAndReturn(vehicleId, model, newObservations, LocalDateTime.now())
                 .switchIfEmpty(Mono.error(new IllegalArgumentException(
                         "Vehicle not found with id: " + vehicleId)))
-                .flatMap(vehicle -> updateVehicleData(vehicle, newModel, newObservations))
-                .flatMap(vehicleRepository::save)
+                .flatMap(updated -> vehiclesByBrand.patchCachedVehicle(updated)
+                        .onErrorResume(error -> {
+                            log.warn("Vehicle {} updated but its cached brand list was not patched: {}",
+                                    vehicleId, error.getMessage());
+                            return Mono.empty();
+                        })
+                        .thenReturn(updated))
                 .doOnSuccess(updated -> log.info("Vehicle updated: {}", updated.getId()))
                 .doOnError(error -> log.error("Error updating vehicle {}: {}", 
                         vehicleId, error.getMessage()));
     }
-
-    private Mono<Vehicle> updateVehicleData(Vehicle vehicle, String newModel, String newObservations) {
-        vehicle.update(newModel, newObservations);
-        
-        if (!vehicle.isValid()) {
-            return Mono.error(new IllegalArgumentException("Invalid vehicle data"));
-        }
-        
-        return Mono.just(vehicle);
-    }
 }
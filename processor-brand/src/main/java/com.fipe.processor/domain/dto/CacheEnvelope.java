@@ -0,0 +1,20 @@
+package com.fipe.processor.domain.dto;
+
+public record CacheEnvelope<T>(
+        T value,
+        long softExpiresAt,
+        long computeMillis
+) {
+
+    public boolean isStale(long now) {
+        return now >= softExpiresAt;
+    }
+
+    /**
+     * XFetch: the closer the entry is to its soft expiry and the longer it took to compute,
+     * the more likely a reader is picked to refresh it early. {@code random} must be in (0, 1].
+     */
+    public boolean shouldRefreshEarly(long now, double beta, double random) {
+        return now - computeMillis * beta * Math.log(random) >= softExpiresAt;
+    }
+}
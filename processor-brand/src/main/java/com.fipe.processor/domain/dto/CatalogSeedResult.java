@@ -0,0 +1,7 @@
+package com.fipe.processor.domain.dto;
+
+public record CatalogSeedResult(
+        long brandsInserted,
+        long vehiclesInserted,
+        long skippedEntries
+) {}
@@ -0,0 +1,42 @@
+package com.fipe.processor.domain.dto;
+
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+
+public record CatalogSnapshotEntry(
+        String type,
+        String code,
+        String brandCode,
+        String name
+) {
+
+    public static final String BRAND = "brand";
+    public static final String VEHICLE = "vehicle";
+
+    public boolean isBrand() {
+        return BRAND.equalsIgnoreCase(type);
+    }
+
+    public boolean isVehicle() {
+        return VEHICLE.equalsIgnoreCase(type);
+    }
+
+    public boolean isValid() {
+        if (code == null || code.isBlank() || name == null || name.isBlank()) {
+            return false;
+        }
+        return isBrand() || (isVehicle() && brandCode != null && !brandCode.isBlank());
+    }
+
+    public Brand toBrand(Long generation) {
+        Brand brand = Brand.create(code, name);
+        brand.setGeneration(generation);
+        return brand;
+    }
+
+    public Vehicle toVehicle(Long generation) {
+        Vehicle vehicle = Vehicle.create(code, brandCode, name);
+        vehicle.setGeneration(generation);
+        return vehicle;
+    }
+}
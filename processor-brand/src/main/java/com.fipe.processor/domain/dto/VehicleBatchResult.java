@@ -0,0 +1,13 @@
+package com.fipe.processor.domain.dto;
+
+import com.fipe.processor.domain.entities.Vehicle;
+import java.util.List;
+
+/**
+ * Vehicles matching one lookup of a batch request, e.g. {@code brand:Honda}, {@code id:42} or
+ * {@code code:001004-9}. Lookups that match nothing carry an empty list.
+ */
+public record VehicleBatchResult(
+        String lookup,
+        List<Vehicle> vehicles
+) {}
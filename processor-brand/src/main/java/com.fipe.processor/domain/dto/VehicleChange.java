@@ -0,0 +1,15 @@
+package com.fipe.processor.domain.dto;
+
+import com.fipe.processor.domain.entities.Vehicle;
+
+/**
+ * One entry of the changes feed: the vehicle as it is after change number {@code version}, or, when
+ * {@code deleted}, only its id, code and brand code. {@code transaction} is the id of the database transaction that
+ * made the change; the feed is ordered by it first.
+ */
+public record VehicleChange(
+        Long version,
+        long transaction,
+        boolean deleted,
+        Vehicle vehicle
+) {}
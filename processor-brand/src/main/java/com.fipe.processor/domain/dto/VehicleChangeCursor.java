@@ -0,0 +1,47 @@
+package com.fipe.processor.domain.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last change of a page, in {@code (transaction, version)} order. Clients only see it as an
+ * opaque token; a plain version number handed out before changes were ordered by transaction reads as the position
+ * after that version among the changes made until then.
+ */
+public record VehicleChangeCursor(
+        long transaction,
+        long version
+) {
+
+    public static final VehicleChangeCursor START = new VehicleChangeCursor(0L, 0L);
+
+    public static VehicleChangeCursor after(VehicleChange change) {
+        return new VehicleChangeCursor(change.transaction(), change.version());
+    }
+
+    public String encode() {
+        byte[] raw = (transaction + ":" + version).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static VehicleChangeCursor decode(String token) {
+        try {
+            if (token.chars().allMatch(Character::isDigit)) {
+                return new VehicleChangeCursor(0L, Long.parseLong(token));
+            }
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            VehicleChangeCursor cursor = new VehicleChangeCursor(Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+            if (cursor.transaction() < 0 || cursor.version() < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
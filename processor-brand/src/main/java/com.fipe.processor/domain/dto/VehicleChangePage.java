@@ -0,0 +1,13 @@
+package com.fipe.processor.domain.dto;
+
+import java.util.List;
+
+/**
+ * {@code nextCursor} is the position to ask for changes after next time; it is the requested one when nothing
+ * changed. {@code hasMore} tells whether changes after it can be read right away.
+ */
+public record VehicleChangePage(
+        List<VehicleChange> changes,
+        String nextCursor,
+        boolean hasMore
+) {}
@@ -0,0 +1,37 @@
+package com.fipe.processor.domain.dto;
+
+import com.fipe.processor.domain.entities.Vehicle;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last vehicle of a page, in {@code (model, id)} order. Clients only see it as an
+ * opaque token.
+ */
+public record VehicleCursor(
+        String model,
+        Long id
+) {
+
+    public static VehicleCursor after(Vehicle vehicle) {
+        return new VehicleCursor(vehicle.getModel(), vehicle.getId());
+    }
+
+    public String encode() {
+        byte[] raw = (id + ":" + model).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static VehicleCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new VehicleCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
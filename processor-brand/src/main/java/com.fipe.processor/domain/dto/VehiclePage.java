@@ -0,0 +1,9 @@
+package com.fipe.processor.domain.dto;
+
+import com.fipe.processor.domain.entities.Vehicle;
+import java.util.List;
+
+public record VehiclePage(
+        List<Vehicle> vehicles,
+        String nextCursor
+) {}
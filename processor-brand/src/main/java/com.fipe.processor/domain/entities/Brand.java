@@ -1,6 +1,8 @@
 package com.fipe.processor.domain.entities;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.regex.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,12 +11,15 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Table("brands")
 public class Brand {
 
+    private static final Pattern MARKS = Pattern.compile("[\\u0300-\\u036F]+");
+    private static final Pattern SPACES = Pattern.compile("[ \\t\\n\\x0B\\f\\r]+");
+
     @Id
     private Long id;
 
@@ -24,6 +29,9 @@ public class Brand {
 
     private LocalDateTime createdAt;
 
+    @Builder.Default
+    private Long generation = 0L;
+
     public static Brand create(String code, String name) {
         return Brand.builder()
                 .code(code)
@@ -32,6 +40,25 @@ public class Brand {
                 .build();
     }
 
+    /**
+     * Lookup key for a brand name: decomposed (NFD) with the combining diacritical marks U+0300..U+036F dropped,
+     * ASCII whitespace collapsed to single spaces and trimmed, and A-Z lower-cased. Nothing else changes, so other
+     * letters (ß, æ, ø, ...) and control characters stay as they are. The {@code brand_name_key} SQL function (V11)
+     * applies exactly these rules; {@code brand-name-keys.csv} holds the cases both are checked against.
+     */
+    public static String normalizeName(String name) {
+        String unaccented = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        String collapsed = SPACES.matcher(unaccented).replaceAll(" ");
+        int start = collapsed.startsWith(" ") ? 1 : 0;
+        int end = collapsed.length() > start && collapsed.endsWith(" ") ? collapsed.length() - 1 : collapsed.length();
+        StringBuilder key = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = collapsed.charAt(i);
+            key.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return key.toString();
+    }
+
     public boolean isValid() {
         return code != null && !code.isBlank() 
                 && name != null && !name.isBlank();
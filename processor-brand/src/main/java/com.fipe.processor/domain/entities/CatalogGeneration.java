@@ -0,0 +1,39 @@
+package com.fipe.processor.domain.entities;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("catalog_generations")
+public class CatalogGeneration {
+
+    public static final String LOADING = "LOADING";
+    public static final String PUBLISHED = "PUBLISHED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private Long id;
+
+    private String status;
+
+    private Integer expectedBrands;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime publishedAt;
+
+    public static CatalogGeneration start() {
+        return CatalogGeneration.builder()
+                .status(LOADING)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+}
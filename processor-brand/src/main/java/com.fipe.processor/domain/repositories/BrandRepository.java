@@ -1,6 +1,7 @@
 package com.fipe.processor.domain.repositories;
 
 import com.fipe.processor.domain.entities.Brand;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.data.repository.query.Param;
@@ -10,7 +11,28 @@ import reactor.core.publisher.Mono;
 
 @Repository
 public interface BrandRepository extends R2dbcRepository<Brand, Long> {
-    Flux<Brand> findAllByOrderByNameAsc();
-    @Query("SELECT code FROM brands WHERE name = :name")
-    Mono<String> findCodeByName(@Param("name") String name);
+    Flux<Brand> findAllByGenerationLessThanEqualOrderByNameAsc(Long generation);
+    @Query("SELECT code FROM brands WHERE brand_name_key(name) = :nameKey AND generation <= :generation ORDER BY generation LIMIT 1")
+    Mono<String> findCodeByNameKey(@Param("nameKey") String nameKey, @Param("generation") Long generation);
+    @Query("SELECT name FROM brands WHERE code = :code AND generation <= :generation ORDER BY generation DESC LIMIT 1")
+    Mono<String> findNameByCode(@Param("code") String code, @Param("generation") Long generation);
+
+    /**
+     * Inserts a brand first seen by {@code generation}, or stages its new name to be applied when the generation is
+     * published (V9). A brand whose name did not change is left alone.
+     */
+    @Modifying
+    @Query("""
+            WITH inserted AS (
+                INSERT INTO brands (code, name, created_at, generation) VALUES (:code, :name, NOW(), :generation)
+                ON CONFLICT (code) DO NOTHING
+                RETURNING id)
+            INSERT INTO pending_brand_updates (generation_id, code, name)
+            SELECT :generation, b.code, :name FROM brands b
+            WHERE b.code = :code AND b.generation < :generation AND b.name IS DISTINCT FROM :name
+              AND NOT EXISTS (SELECT 1 FROM inserted)
+            ON CONFLICT (generation_id, code) DO UPDATE SET name = EXCLUDED.name
+            """)
+    Mono<Long> saveForGeneration(@Param("code") String code, @Param("name") String name,
+                                 @Param("generation") Long generation);
 }
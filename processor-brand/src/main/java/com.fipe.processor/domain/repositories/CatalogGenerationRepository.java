@@ -0,0 +1,40 @@
+package com.fipe.processor.domain.repositories;
+
+import com.fipe.processor.domain.entities.CatalogGeneration;
+import java.time.LocalDateTime;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface CatalogGenerationRepository extends R2dbcRepository<CatalogGeneration, Long> {
+
+    @Query("SELECT COALESCE(MAX(id), 0) FROM catalog_generations WHERE status = 'PUBLISHED'")
+    Mono<Long> findPublishedGeneration();
+
+    @Modifying
+    @Query("UPDATE catalog_generations SET expected_brands = :expected WHERE id = :id AND status = 'LOADING'")
+    Mono<Long> seal(@Param("id") Long id, @Param("expected") int expected);
+
+    @Modifying
+    @Query("""
+            UPDATE catalog_generations SET status = 'PUBLISHED', published_at = NOW()
+            WHERE id = :id AND status = 'LOADING' AND expected_brands IS NOT NULL
+              AND expected_brands <= (SELECT COUNT(*) FROM catalog_generation_brands WHERE generation_id = :id)
+            """)
+    Mono<Long> publishIfComplete(@Param("id") Long id);
+
+    /**
+     * Discards a generation that is still loading; the V9 trigger deletes its rows and staged updates.
+     */
+    @Modifying
+    @Query("UPDATE catalog_generations SET status = 'FAILED' WHERE id = :id AND status = 'LOADING'")
+    Mono<Long> fail(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE catalog_generations SET status = 'FAILED' WHERE status = 'LOADING' AND started_at < :cutoff")
+    Mono<Long> failLoadingStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
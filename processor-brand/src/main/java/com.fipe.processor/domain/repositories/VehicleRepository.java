@@ -1,17 +1,88 @@
 package com.fipe.processor.domain.repositories;
 
 import com.fipe.processor.domain.entities.Vehicle;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Repository
 public interface VehicleRepository extends R2dbcRepository<Vehicle, Long> {
 
-    Flux<Vehicle> findByBrandCodeOrderByModelAsc(String brandCode);
+    Flux<Vehicle> findByBrandCodeAndGenerationLessThanEqualOrderByModelAscIdAsc(String brandCode, Long generation);
 
-    default Flux<Vehicle> findByBrandName(String brandName, BrandRepository brandRepository) {
-        return brandRepository.findCodeByName(brandName)
-                .flatMapMany(this::findByBrandCodeOrderByModelAsc);
-    }
+    Flux<Vehicle> findByBrandCodeInAndGenerationLessThanEqualOrderByModelAscIdAsc(Collection<String> brandCodes, Long generation);
+
+    Flux<Vehicle> findByIdInAndGenerationLessThanEqual(Collection<Long> ids, Long generation);
+
+    Flux<Vehicle> findByCodeInAndGenerationLessThanEqualOrderByBrandCodeAsc(Collection<String> codes, Long generation);
+
+    Flux<Vehicle> findByGenerationLessThanEqualOrderByBrandCodeAscModelAscIdAsc(Long generation);
+
+    @Query("""
+            SELECT * FROM vehicles
+            WHERE brand_code = :brandCode AND generation <= :generation
+            ORDER BY model, id
+            LIMIT :limit
+            """)
+    Flux<Vehicle> findFirstPage(@Param("brandCode") String brandCode, @Param("generation") Long generation,
+                                @Param("limit") int limit);
+
+    @Query("""
+            SELECT * FROM vehicles
+            WHERE brand_code = :brandCode AND generation <= :generation AND (model, id) > (:model, :id)
+            ORDER BY model, id
+            LIMIT :limit
+            """)
+    Flux<Vehicle> findPageAfter(@Param("brandCode") String brandCode, @Param("generation") Long generation,
+                                @Param("model") String model, @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Reads the {@code vehicles_by_brand} read model, which {@code idx_vehicles_by_brand_covering} serves with an
+     * index-only scan. {@code nameKey} is {@link com.fipe.processor.domain.entities.Brand#normalizeName}.
+     */
+    @Query("""
+            SELECT vehicle_id AS id, code, brand_code, model, observations, created_at, updated_at, generation
+            FROM vehicles_by_brand
+            WHERE brand_name_key = :nameKey AND visible_from <= :generation
+            ORDER BY model, vehicle_id
+            """)
+    Flux<Vehicle> findByBrandNameKey(@Param("nameKey") String nameKey, @Param("generation") Long generation);
+
+    @Query("""
+            SELECT vehicle_id AS id, code, brand_code, model, observations, created_at, updated_at, generation
+            FROM vehicles_by_brand
+            WHERE brand_name_key = :nameKey AND visible_from <= :generation
+            ORDER BY model, vehicle_id
+            LIMIT :limit
+            """)
+    Flux<Vehicle> findFirstPageByBrandNameKey(@Param("nameKey") String nameKey, @Param("generation") Long generation,
+                                              @Param("limit") int limit);
+
+    @Query("""
+            SELECT vehicle_id AS id, code, brand_code, model, observations, created_at, updated_at, generation
+            FROM vehicles_by_brand
+            WHERE brand_name_key = :nameKey AND visible_from <= :generation AND (model, vehicle_id) > (:model, :id)
+            ORDER BY model, vehicle_id
+            LIMIT :limit
+            """)
+    Flux<Vehicle> findPageAfterByBrandNameKey(@Param("nameKey") String nameKey, @Param("generation") Long generation,
+                                              @Param("model") String model, @Param("id") Long id,
+                                              @Param("limit") int limit);
+
+    /**
+     * Applies an update in one round trip. A null {@code model} keeps the current one.
+     */
+    @Query("""
+            UPDATE vehicles
+            SET model = COALESCE(:model, model), observations = :observations, updated_at = :updatedAt
+            WHERE id = :id
+            RETURNING *
+            """)
+    Mono<Vehicle> updateAndReturn(@Param("id") Long id, @Param("model") String model,
+                                  @Param("observations") String observations, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,49 @@
+package com.fipe.processor.infrastructure.actuator;
+
+import com.fipe.processor.application.concurrency.IngestionConcurrency;
+import com.fipe.processor.application.concurrency.StageLimiter;
+import com.fipe.processor.application.concurrency.StageStatus;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@Endpoint(id = "ingestion")
+@RequiredArgsConstructor
+public class IngestionEndpoint {
+
+    private final IngestionConcurrency concurrency;
+
+    @ReadOperation
+    public List<StageStatus> stages() {
+        return concurrency.stages().stream().map(StageStatus::of).toList();
+    }
+
+    @ReadOperation
+    public StageStatus stage(@Selector String stage) {
+        return concurrency.stages().stream()
+                .filter(limiter -> limiter.getStage().equals(stage))
+                .findFirst()
+                .map(StageStatus::of)
+                .orElse(null);
+    }
+
+    @WriteOperation
+    public StageStatus configure(@Selector String stage, int maxConcurrency) {
+        try {
+            StageLimiter limiter = concurrency.stage(stage);
+            limiter.setMaxConcurrency(maxConcurrency);
+            log.info("Ingestion stage {} concurrency set to {}", stage, maxConcurrency);
+            return StageStatus.of(limiter);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
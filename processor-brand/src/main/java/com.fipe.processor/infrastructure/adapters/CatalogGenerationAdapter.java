@@ -0,0 +1,129 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.domain.entities.CatalogGeneration;
+import com.fipe.processor.domain.repositories.CatalogGenerationRepository;
+import com.fipe.processor.infrastructure.cache.CatalogSnapshotFile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogGenerationAdapter implements CatalogGenerationPort {
+
+    private static final long UNKNOWN = -1L;
+
+    private final CatalogGenerationRepository generationRepository;
+    private final CatalogSnapshotFile snapshotFile;
+
+    private final AtomicLong published = new AtomicLong(UNKNOWN);
+    private final Sinks.Many<Long> changes = Sinks.many().multicast().directBestEffort();
+
+    @Value("${catalog.generation.refresh-interval:5s}")
+    private Duration refreshInterval;
+
+    @Value("${catalog.generation.abandon-after:12h}")
+    private Duration abandonAfter;
+
+    private Disposable refresher;
+
+    @PostConstruct
+    public void startRefreshing() {
+        refresher = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refresh()
+                        .onErrorResume(error -> {
+                            log.warn("Error refreshing published catalog generation: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public Mono<Long> publishedGeneration() {
+        long current = published.get();
+        if (current != UNKNOWN) {
+            return Mono.just(current);
+        }
+        return refresh();
+    }
+
+    @Override
+    public Flux<Long> generationChanges() {
+        return changes.asFlux();
+    }
+
+    @Override
+    public Mono<Long> begin() {
+        return generationRepository.failLoadingStartedBefore(LocalDateTime.now().minus(abandonAfter))
+                .doOnNext(abandoned -> {
+                    if (abandoned > 0) {
+                        log.warn("Abandoned {} catalog generation(s) still loading after {}", abandoned, abandonAfter);
+                    }
+                })
+                .then(generationRepository.save(CatalogGeneration.start()))
+                .map(CatalogGeneration::getId)
+                .doOnSuccess(id -> log.info("Started catalog generation {}", id));
+    }
+
+    @Override
+    public Mono<Boolean> seal(final Long generation, final int expectedBrands) {
+        return generationRepository.seal(generation, expectedBrands)
+                .then(generationRepository.publishIfComplete(generation))
+                .map(updated -> updated > 0)
+                .flatMap(publishedNow -> {
+                    if (!publishedNow) {
+                        log.info("Catalog generation {} sealed with {} brands, waiting for vehicles",
+                                generation, expectedBrands);
+                        return Mono.just(false);
+                    }
+                    log.info("Catalog generation {} published", generation);
+                    return refresh().thenReturn(true);
+                });
+    }
+
+    @Override
+    public Mono<Void> fail(final Long generation) {
+        return generationRepository.fail(generation)
+                .doOnNext(failed -> {
+                    if (failed > 0) {
+                        log.warn("Catalog generation {} failed and was discarded", generation);
+                    }
+                })
+                .then();
+    }
+
+    /**
+     * Re-reads the published generation, from the catalog snapshot file header on a read-only replica.
+     */
+    private Mono<Long> refresh() {
+        return (snapshotFile.readOnly() ? snapshotFile.generation() : generationRepository.findPublishedGeneration())
+                .doOnNext(generation -> {
+                    long previous = published.getAndUpdate(current -> Math.max(current, generation));
+                    if (previous != UNKNOWN && generation > previous) {
+                        log.info("Switched reads to catalog generation {}", generation);
+                        changes.emitNext(generation, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+                    }
+                })
+                .map(generation -> published.get());
+    }
+
+    @PreDestroy
+    public void stopRefreshing() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+        changes.tryEmitComplete();
+    }
+}
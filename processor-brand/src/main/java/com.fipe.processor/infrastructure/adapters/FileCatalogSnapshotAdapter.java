@@ -0,0 +1,114 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.application.ports.CatalogSnapshotPort;
+import com.fipe.processor.domain.dto.CatalogSnapshotEntry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileCatalogSnapshotAdapter implements CatalogSnapshotPort {
+
+    private static final String CSV_HEADER_FIRST_COLUMN = "type";
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Flux<CatalogSnapshotEntry> read(final Path snapshot) {
+        boolean csv = snapshot.getFileName().toString().toLowerCase().endsWith(".csv");
+        log.info("Reading {} catalog snapshot: {}", csv ? "CSV" : "NDJSON", snapshot);
+
+        return Flux.using(
+                        () -> Files.newBufferedReader(snapshot, StandardCharsets.UTF_8),
+                        reader -> Flux.fromStream(reader.lines()),
+                        this::closeQuietly)
+                .index()
+                .filter(line -> !line.getT2().isBlank())
+                .filter(line -> !(csv && line.getT1() == 0 && isCsvHeader(line.getT2())))
+                .map(line -> csv
+                        ? parseCsvLine(line.getT1() + 1, line.getT2())
+                        : parseJsonLine(line.getT1() + 1, line.getT2()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private CatalogSnapshotEntry parseJsonLine(final long lineNumber, final String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            String name = node.hasNonNull("name") ? node.get("name").asText() : text(node, "model");
+            return new CatalogSnapshotEntry(text(node, "type"), text(node, "code"), text(node, "brandCode"), name);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed snapshot line " + lineNumber, e);
+        }
+    }
+
+    private String text(final JsonNode node, final String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    private CatalogSnapshotEntry parseCsvLine(final long lineNumber, final String line) {
+        List<String> columns = splitCsv(line);
+        if (columns.size() < 4) {
+            throw new IllegalArgumentException("Malformed snapshot line " + lineNumber
+                    + ": expected type,code,brandCode,name");
+        }
+        return new CatalogSnapshotEntry(columns.get(0), columns.get(1), emptyToNull(columns.get(2)), columns.get(3));
+    }
+
+    private boolean isCsvHeader(final String line) {
+        return CSV_HEADER_FIRST_COLUMN.equalsIgnoreCase(splitCsv(line).get(0));
+    }
+
+    static List<String> splitCsv(final String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        columns.add(current.toString().trim());
+        return columns;
+    }
+
+    private String emptyToNull(final String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private void closeQuietly(final BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.warn("Error closing catalog snapshot: {}", e.getMessage());
+        }
+    }
+}
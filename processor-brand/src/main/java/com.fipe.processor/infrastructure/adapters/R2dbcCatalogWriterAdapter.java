@@ -0,0 +1,85 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fipe.processor.application.ports.CatalogWriterPort;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class R2dbcCatalogWriterAdapter implements CatalogWriterPort {
+
+    /**
+     * New codes are inserted; existing ones whose values changed are staged for the generation's publish (V9).
+     */
+    private static final String INSERT_BRANDS = """
+            WITH s AS (
+                SELECT DISTINCT ON (code) code, name, generation
+                FROM unnest(CAST(:codes AS varchar[]), CAST(:names AS varchar[]), CAST(:generations AS bigint[]))
+                    AS u(code, name, generation)),
+            staged AS (
+                INSERT INTO pending_brand_updates (generation_id, code, name)
+                SELECT s.generation, s.code, s.name FROM s JOIN brands b ON b.code = s.code
+                WHERE b.generation < s.generation AND b.name IS DISTINCT FROM s.name
+                ON CONFLICT (generation_id, code) DO UPDATE SET name = EXCLUDED.name)
+            INSERT INTO brands (code, name, created_at, generation)
+            SELECT s.code, s.name, NOW(), s.generation FROM s
+            ON CONFLICT (code) DO NOTHING
+            """;
+
+    private static final String INSERT_VEHICLES = """
+            WITH s AS (
+                SELECT DISTINCT ON (code, brand_code) code, brand_code, model, generation
+                FROM unnest(CAST(:codes AS varchar[]), CAST(:brandCodes AS varchar[]), CAST(:models AS varchar[]),
+                            CAST(:generations AS bigint[]))
+                    AS u(code, brand_code, model, generation)),
+            staged AS (
+                INSERT INTO pending_vehicle_updates (generation_id, code, brand_code, model)
+                SELECT s.generation, s.code, s.brand_code, s.model FROM s
+                JOIN vehicles v ON v.code = s.code AND v.brand_code = s.brand_code
+                WHERE v.generation < s.generation AND v.model IS DISTINCT FROM s.model
+                ON CONFLICT (generation_id, code, brand_code) DO UPDATE SET model = EXCLUDED.model)
+            INSERT INTO vehicles (code, brand_code, model, created_at, updated_at, generation)
+            SELECT s.code, s.brand_code, s.model, NOW(), NOW(), s.generation FROM s
+            ON CONFLICT (code, brand_code) DO NOTHING
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> insertBrands(final List<Brand> brands) {
+        if (brands.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql(INSERT_BRANDS)
+                .bind("codes", brands.stream().map(Brand::getCode).toArray(String[]::new))
+                .bind("names", brands.stream().map(Brand::getName).toArray(String[]::new))
+                .bind("generations", brands.stream().map(Brand::getGeneration).toArray(Long[]::new))
+                .fetch()
+                .rowsUpdated()
+                .doOnError(error -> log.error("Error inserting batch of {} brands: {}",
+                        brands.size(), error.getMessage()));
+    }
+
+    @Override
+    public Mono<Long> insertVehicles(final List<Vehicle> vehicles) {
+        if (vehicles.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql(INSERT_VEHICLES)
+                .bind("codes", vehicles.stream().map(Vehicle::getCode).toArray(String[]::new))
+                .bind("brandCodes", vehicles.stream().map(Vehicle::getBrandCode).toArray(String[]::new))
+                .bind("models", vehicles.stream().map(Vehicle::getModel).toArray(String[]::new))
+                .bind("generations", vehicles.stream().map(Vehicle::getGeneration).toArray(Long[]::new))
+                .fetch()
+                .rowsUpdated()
+                .doOnError(error -> log.error("Error inserting batch of {} vehicles: {}",
+                        vehicles.size(), error.getMessage()));
+    }
+}
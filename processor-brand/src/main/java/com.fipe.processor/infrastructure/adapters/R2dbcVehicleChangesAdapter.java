@@ -0,0 +1,78 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fipe.processor.application.ports.VehicleChangesPort;
+import com.fipe.processor.domain.dto.VehicleChange;
+import com.fipe.processor.domain.dto.VehicleChangeCursor;
+import com.fipe.processor.domain.entities.Vehicle;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reads the changes feed kept by the V8 and V13 triggers: live rows by {@code idx_vehicles_change_xid} and tombstones
+ * by {@code idx_vehicle_deletions_change_xid}, each limited before they are merged. The transaction watermark and the
+ * published generation are read in the same statement, from the same snapshot as the rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class R2dbcVehicleChangesAdapter implements VehicleChangesPort {
+
+    private static final String CHANGES_SINCE = """
+            WITH bounds AS (SELECT CAST(CAST(:transaction AS text) AS xid8) AS after_xid,
+                                   pg_snapshot_xmin(pg_current_snapshot()) AS before_xid,
+                                   (SELECT MAX(id) FROM catalog_generations WHERE status = 'PUBLISHED') AS generation)
+            SELECT CAST(CAST(c.change_xid AS text) AS bigint) AS transaction_id, c.change_seq, c.deleted, c.id, c.code,
+                   c.brand_code, c.model, c.observations, c.created_at, c.updated_at, c.generation
+            FROM ((SELECT v.change_xid, v.change_seq, FALSE AS deleted, CAST(v.id AS bigint) AS id, v.code,
+                          v.brand_code, v.model, v.observations, v.created_at, v.updated_at, v.generation
+                   FROM vehicles v, bounds b
+                   WHERE (v.change_xid, v.change_seq) > (b.after_xid, :version)
+                     AND v.change_xid < b.before_xid
+                     AND v.generation <= b.generation
+                   ORDER BY v.change_xid, v.change_seq
+                   LIMIT :limit)
+                  UNION ALL
+                  (SELECT d.change_xid, d.change_seq, TRUE, CAST(d.vehicle_id AS bigint), d.code, d.brand_code, NULL,
+                          NULL, NULL, NULL, NULL
+                   FROM vehicle_deletions d, bounds b
+                   WHERE (d.change_xid, d.change_seq) > (b.after_xid, :version)
+                     AND d.change_xid < b.before_xid
+                   ORDER BY d.change_xid, d.change_seq
+                   LIMIT :limit)) c
+            ORDER BY c.change_xid, c.change_seq
+            LIMIT :limit
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<VehicleChange> changesSince(final VehicleChangeCursor after, final int limit) {
+        return databaseClient.sql(CHANGES_SINCE)
+                .bind("transaction", after.transaction())
+                .bind("version", after.version())
+                .bind("limit", limit)
+                .map(R2dbcVehicleChangesAdapter::toChange)
+                .all()
+                .doOnError(error -> log.error("Error reading vehicle changes after {}: {}", after, error.getMessage()));
+    }
+
+    private static VehicleChange toChange(Readable row) {
+        Vehicle vehicle = Vehicle.builder()
+                .id(row.get("id", Long.class))
+                .code(row.get("code", String.class))
+                .brandCode(row.get("brand_code", String.class))
+                .model(row.get("model", String.class))
+                .observations(row.get("observations", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .generation(row.get("generation", Long.class))
+                .build();
+        return new VehicleChange(row.get("change_seq", Long.class), row.get("transaction_id", Long.class),
+                Boolean.TRUE.equals(row.get("deleted", Boolean.class)), vehicle);
+    }
+}
@@ -0,0 +1,62 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fipe.processor.application.ports.VehicleJsonPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lets Postgres build the response body from the {@code vehicles_by_brand} read model, or from {@code vehicles}
+ * by brand code when {@code vehicles.read-model.enabled} is off. Rows are rendered with
+ * {@code row_to_json} and joined with commas rather than {@code json_agg}, whose element separator adds a newline,
+ * so the bytes match what Jackson writes for {@code VehicleResponse}. The column aliases are its field names.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class R2dbcVehicleJsonAdapter implements VehicleJsonPort {
+
+    private static final String RENDER_BY_BRAND = """
+            SELECT convert_to('[' || string_agg(row_to_json(v)::text, ',' ORDER BY v.model, v.id) || ']', 'UTF8') AS body
+            FROM (SELECT vehicle_id AS id, code, brand_code AS "brandCode", model, observations
+                  FROM vehicles_by_brand
+                  WHERE brand_name_key = :nameKey AND visible_from <= :generation) v
+            HAVING COUNT(*) > 0
+            """;
+
+    private static final String RENDER_BY_BRAND_CODE = """
+            SELECT convert_to('[' || string_agg(row_to_json(v)::text, ',' ORDER BY v.model, v.id) || ']', 'UTF8') AS body
+            FROM (SELECT id, code, brand_code AS "brandCode", model, observations
+                  FROM vehicles
+                  WHERE brand_code = :brandCode AND generation <= :generation) v
+            HAVING COUNT(*) > 0
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<byte[]> renderByBrand(final String brandNameKey, final Long generation) {
+        return databaseClient.sql(RENDER_BY_BRAND)
+                .bind("nameKey", brandNameKey)
+                .bind("generation", generation)
+                .map(row -> row.get("body", byte[].class))
+                .one()
+                .doOnNext(body -> log.debug("Rendered {} bytes of vehicles for brand key {}", body.length, brandNameKey))
+                .doOnError(error -> log.error("Error rendering vehicles for brand key {}: {}",
+                        brandNameKey, error.getMessage()));
+    }
+
+    @Override
+    public Mono<byte[]> renderByBrandCode(final String brandCode, final Long generation) {
+        return databaseClient.sql(RENDER_BY_BRAND_CODE)
+                .bind("brandCode", brandCode)
+                .bind("generation", generation)
+                .map(row -> row.get("body", byte[].class))
+                .one()
+                .doOnNext(body -> log.debug("Rendered {} bytes of vehicles for brand code {}", body.length, brandCode))
+                .doOnError(error -> log.error("Error rendering vehicles for brand code {}: {}",
+                        brandCode, error.getMessage()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fipe.processor.application.ports.BrandPopularityPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts brand reads per day in Redis sorted sets so every replica, including freshly started ones, sees the same
+ * ranking. Reads are tallied in memory and flushed with {@code ZINCRBY} every {@code cache.warmup.popularity.flush-interval}.
+ */
+@Slf4j
+@Component
+public class RedisBrandPopularityAdapter implements BrandPopularityPort {
+
+    static final String KEY_PREFIX = "cache:popularity:brands:";
+    private static final Duration RETENTION = Duration.ofDays(2);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @Value("${cache.warmup.popularity.flush-interval:30s}")
+    private Duration flushInterval;
+
+    private Clock clock = Clock.systemUTC();
+
+    private Disposable flusher;
+
+    public RedisBrandPopularityAdapter(@Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @PostConstruct
+    public void startFlushing() {
+        flusher = Flux.interval(flushInterval, flushInterval)
+                .concatMap(tick -> flush()
+                        .onErrorResume(error -> {
+                            log.warn("Error flushing brand popularity: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void record(final String brandName) {
+        pending.computeIfAbsent(brandName, name -> new LongAdder()).increment();
+    }
+
+    /**
+     * Ranks brands by today's and yesterday's reads combined.
+     */
+    @Override
+    public Flux<String> top(final int limit) {
+        if (limit < 1) {
+            return Flux.empty();
+        }
+        LocalDate today = LocalDate.now(clock);
+        return Flux.just(key(today), key(today.minusDays(1)))
+                .concatMap(key -> redisTemplate.opsForZSet().reverseRangeWithScores(key, Range.closed(0L, limit - 1L)))
+                .collect(HashMap<String, Double>::new, (scores, tuple) -> scores.merge(tuple.getValue(), tuple.getScore(), Double::sum))
+                .flatMapMany(scores -> Flux.fromStream(scores.entrySet().stream()
+                        .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                        .limit(limit)
+                        .map(Map.Entry::getKey)));
+    }
+
+    Mono<Long> flush() {
+        if (pending.isEmpty()) {
+            return Mono.just(0L);
+        }
+        String key = key(LocalDate.now(clock));
+        return Flux.fromIterable(pending.entrySet())
+                .flatMap(entry -> {
+                    long count = entry.getValue().sumThenReset();
+                    return count == 0
+                            ? Mono.just(0L)
+                            : redisTemplate.opsForZSet().incrementScore(key, entry.getKey(), count).thenReturn(count);
+                })
+                .reduce(0L, Long::sum)
+                .flatMap(flushed -> redisTemplate.expire(key, RETENTION).thenReturn(flushed));
+    }
+
+    private static String key(LocalDate day) {
+        return KEY_PREFIX + day;
+    }
+
+    @PreDestroy
+    public void stopFlushing() {
+        if (flusher != null) {
+            flusher.dispose();
+        }
+        flush().onErrorResume(error -> Mono.empty()).block(Duration.ofSeconds(2));
+    }
+}
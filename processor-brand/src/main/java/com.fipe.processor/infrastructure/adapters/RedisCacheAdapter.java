@@ -1,12 +1,19 @@
 package com.fipe.processor.infrastructure.adapters;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.domain.dto.CacheEnvelope;
+import com.fipe.processor.infrastructure.cache.codec.CacheValueCodec;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
@@ -14,21 +21,27 @@ import reactor.core.publisher.Mono;
 @Component
 public class RedisCacheAdapter implements CacheServicePort {
 
+    private static final int SCAN_BATCH_SIZE = 500;
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final ReactiveRedisTemplate<String, byte[]> bytesTemplate;
+    private final CacheValueCodec codec;
 
-    public RedisCacheAdapter(@Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+    public RedisCacheAdapter(@Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
+                             @Qualifier("reactiveRedisBytesTemplate") ReactiveRedisTemplate<String, byte[]> bytesTemplate,
+                             CacheValueCodec codec) {
         this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.bytesTemplate = bytesTemplate;
+        this.codec = codec;
     }
 
     @Override
     public <T> Mono<T> get(final String key, final Class<T> valueType) {
         log.debug("Getting value from cache: {}", key);
 
-        return redisTemplate.opsForValue()
+        return bytesTemplate.opsForValue()
                 .get(key)
-                .flatMap(value -> deserialize(value, valueType))
+                .flatMap(value -> this.<T>deserialize(value, codec.type(valueType)))
                 .doOnSuccess(value -> {
                     if (value != null) {
                         log.debug("Cache hit: {}", key);
@@ -40,12 +53,49 @@ public class RedisCacheAdapter implements CacheServicePort {
                         key, error.getMessage()));
     }
 
+    @Override
+    public <T> Mono<CacheEnvelope<T>> getEnvelope(final String key, final Class<T> valueType) {
+        JavaType envelopeType = codec.envelopeType(valueType);
+        return bytesTemplate.opsForValue()
+                .get(key)
+                .flatMap(value -> this.<CacheEnvelope<T>>deserialize(value, envelopeType))
+                .doOnError(error -> log.error("Error getting envelope from cache {}: {}",
+                        key, error.getMessage()));
+    }
+
+    @Override
+    public <T> Mono<Map<String, CacheEnvelope<T>>> getEnvelopes(final List<String> keys, final Class<T> valueType) {
+        if (keys.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        JavaType envelopeType = codec.envelopeType(valueType);
+        return bytesTemplate.opsForValue()
+                .multiGet(keys)
+                .map(values -> {
+                    Map<String, CacheEnvelope<T>> found = new LinkedHashMap<>();
+                    for (int i = 0; i < keys.size(); i++) {
+                        byte[] value = values.get(i);
+                        if (value == null) {
+                            continue;
+                        }
+                        try {
+                            found.put(keys.get(i), codec.decode(value, envelopeType));
+                        } catch (IOException | RuntimeException e) {
+                            log.warn("Skipping undecodable cache value {}: {}", keys.get(i), e.getMessage());
+                        }
+                    }
+                    return found;
+                })
+                .doOnError(error -> log.error("Error getting {} envelopes from cache: {}",
+                        keys.size(), error.getMessage()));
+    }
+
     @Override
     public <T> Mono<Void> put(final String key, final T value, Duration ttl) {
         log.debug("Putting value in cache: {} with TTL: {}", key, ttl);
 
         return serialize(value)
-                .flatMap(serialized -> redisTemplate.opsForValue()
+                .flatMap(serialized -> bytesTemplate.opsForValue()
                         .set(key, serialized, ttl))
                 .then()
                 .doOnSuccess(v -> log.debug("Value cached successfully: {}", key))
@@ -53,6 +103,45 @@ public class RedisCacheAdapter implements CacheServicePort {
                         key, error.getMessage()));
     }
 
+    @Override
+    public Mono<byte[]> getBytes(final String key) {
+        return bytesTemplate.opsForValue()
+                .get(key)
+                .doOnError(error -> log.error("Error getting bytes from cache {}: {}",
+                        key, error.getMessage()));
+    }
+
+    @Override
+    public Mono<Void> putBytes(final String key, final byte[] value, final Duration ttl) {
+        return bytesTemplate.opsForValue()
+                .set(key, value, ttl)
+                .then()
+                .doOnError(error -> log.error("Error putting bytes in cache {}: {}",
+                        key, error.getMessage()));
+    }
+
+    @Override
+    public Mono<Duration> remainingTtl(final String key) {
+        return bytesTemplate.getExpire(key)
+                .doOnError(error -> log.error("Error getting TTL from cache {}: {}",
+                        key, error.getMessage()));
+    }
+
+    /**
+     * Other keys, such as hashes or plain values, have no soft expiry and complete empty.
+     */
+    @Override
+    public Mono<Long> softExpiresAt(final String key) {
+        return bytesTemplate.opsForValue()
+                .get(key)
+                .flatMap(value -> this.<SoftExpiry>deserialize(value, codec.type(SoftExpiry.class)))
+                .mapNotNull(SoftExpiry::softExpiresAt)
+                .onErrorResume(error -> {
+                    log.debug("No soft expiry for {}: {}", key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
     @Override
     public Mono<Void> delete(final String key) {
         log.debug("Deleting value from cache: {}", key);
@@ -68,30 +157,33 @@ public class RedisCacheAdapter implements CacheServicePort {
     public Mono<Void> deleteByPattern(final String pattern) {
         log.debug("Deleting values from cache by pattern: {}", pattern);
 
-        return redisTemplate.keys(pattern)
-                .flatMap(redisTemplate::delete)
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build())
+                .buffer(SCAN_BATCH_SIZE)
+                .concatMap(keys -> redisTemplate.unlink(keys.toArray(String[]::new)))
                 .then()
                 .doOnSuccess(v -> log.debug("Values deleted from cache by pattern: {}", pattern))
                 .doOnError(error -> log.error("Error deleting values from cache by pattern {}: {}",
                         pattern, error.getMessage()));
     }
 
-    private <T> Mono<String> serialize(final T value) {
+    private <T> Mono<byte[]> serialize(final T value) {
         try {
-            String json = objectMapper.writeValueAsString(value);
-            return Mono.just(json);
-        } catch (JsonProcessingException e) {
+            return Mono.just(codec.encode(value));
+        } catch (IOException e) {
             return Mono.error(new RuntimeException("Error serializing value", e));
         }
     }
 
-    private <T> Mono<T> deserialize(final String json, final Class<T> valueType) {
+    private <T> Mono<T> deserialize(final byte[] bytes, final JavaType valueType) {
         try {
-            T value = objectMapper.readValue(json, valueType);
+            T value = codec.decode(bytes, valueType);
             return Mono.just(value);
-        } catch (JsonProcessingException e) {
+        } catch (IOException | RuntimeException e) {
             return Mono.error(new RuntimeException("Error deserializing value", e));
         }
     }
-}
 
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record SoftExpiry(Long softExpiresAt) {
+    }
+}
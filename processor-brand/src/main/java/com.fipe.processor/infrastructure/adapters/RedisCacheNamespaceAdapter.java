@@ -0,0 +1,76 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fipe.processor.application.ports.CacheNamespacePort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Namespace versions live in Redis counters. Each replica memoizes them for {@code cache.namespace.local-ttl},
+ * so a bump made elsewhere is picked up within that window without a round trip per request. If Redis cannot be
+ * read, the last version seen (0 if none) is used for another window, so reads fall through to the next layer
+ * instead of failing.
+ */
+@Slf4j
+@Component
+public class RedisCacheNamespaceAdapter implements CacheNamespacePort {
+
+    static final String COUNTER_PREFIX = "cache:ns:";
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Cache<String, Long> versions;
+    private final Cache<String, Long> lastSeen;
+
+    public RedisCacheNamespaceAdapter(@Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
+                                      @Value("${cache.namespace.local-ttl:1s}") Duration localTtl) {
+        this.redisTemplate = redisTemplate;
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(localTtl)
+                .maximumSize(10_000)
+                .build();
+        this.lastSeen = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @Override
+    public Mono<Long> version(final String namespace) {
+        Long cached = versions.getIfPresent(namespace);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return redisTemplate.opsForValue()
+                .get(COUNTER_PREFIX + namespace)
+                .map(Long::parseLong)
+                .defaultIfEmpty(0L)
+                .map(version -> remember(namespace, version))
+                .onErrorResume(error -> {
+                    long fallback = lastSeen.asMap().getOrDefault(namespace, 0L);
+                    log.warn("Error reading cache namespace {}, using version {}: {}", namespace, fallback, error.getMessage());
+                    versions.put(namespace, fallback);
+                    return Mono.just(fallback);
+                });
+    }
+
+    @Override
+    public Mono<Long> invalidate(final String namespace) {
+        return redisTemplate.opsForValue()
+                .increment(COUNTER_PREFIX + namespace)
+                .doOnNext(version -> {
+                    remember(namespace, version);
+                    log.info("Cache namespace {} moved to version {}", namespace, version);
+                });
+    }
+
+    private long remember(final String namespace, final long version) {
+        long current = versions.asMap().merge(namespace, version, Math::max);
+        lastSeen.asMap().merge(namespace, current, Math::max);
+        return current;
+    }
+}
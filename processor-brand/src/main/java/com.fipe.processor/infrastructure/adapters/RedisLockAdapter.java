@@ -0,0 +1,56 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fipe.processor.application.ports.DistributedLockPort;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class RedisLockAdapter implements DistributedLockPort {
+
+    private static final RedisScript<Long> UNLOCK = RedisScript.of("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+
+    public RedisLockAdapter(@Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<String> tryLock(final String key, final Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        return redisTemplate.opsForValue()
+                .setIfAbsent(key, token, ttl)
+                .filter(Boolean::booleanValue)
+                .map(acquired -> token)
+                .doOnNext(acquired -> log.debug("Lock acquired: {}", key));
+    }
+
+    @Override
+    public Mono<Void> unlock(final String key, final String token) {
+        return redisTemplate.execute(UNLOCK, List.of(key), List.of(token))
+                .next()
+                .doOnNext(released -> {
+                    if (released == 0) {
+                        log.warn("Lock {} expired before it was released", key);
+                    }
+                })
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("Error releasing lock {}: {}", key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
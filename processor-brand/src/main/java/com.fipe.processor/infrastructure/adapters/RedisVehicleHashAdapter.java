@@ -0,0 +1,172 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.application.ports.VehicleHashCachePort;
+import com.fipe.processor.domain.dto.VehicleCursor;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores a brand as a HASH ({@code <key>:h}, field = vehicle id, value = JSON) plus a sorted set
+ * ({@code <key>:idx}) whose members all score 0 and are {@code model NUL zero-padded id}, so
+ * {@code ZRANGEBYLEX} walks them in {@code (model, id)} byte order, the order of the {@code "C"} collated
+ * {@code model} columns (V10), so page cursors mean the same position here and in the database. The index
+ * is what marks the brand as cached; a brand is written in one script, so readers never see it half written.
+ */
+@Slf4j
+@Component
+public class RedisVehicleHashAdapter implements VehicleHashCachePort {
+
+    static final String HASH_SUFFIX = ":h";
+    static final String INDEX_SUFFIX = ":idx";
+
+    /**
+     * KEYS = hash, index; ARGV = TTL in ms, then one (id, JSON, index member) triple per vehicle.
+     */
+    private static final RedisScript<Long> PUT_ALL = RedisScript.of("""
+            redis.call('del', KEYS[1], KEYS[2])
+            for i = 2, #ARGV, 3 do
+                redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1])
+                redis.call('zadd', KEYS[2], 0, ARGV[i + 2])
+            end
+            if #ARGV > 1 then
+                redis.call('pexpire', KEYS[1], ARGV[1])
+                redis.call('pexpire', KEYS[2], ARGV[1])
+            end
+            return (#ARGV - 1) / 3
+            """, Long.class);
+
+    /**
+     * KEYS = hash, index; ARGV = id, JSON, new index member, index member suffix ({@code NUL zero-padded id}).
+     * Replaces one row of a cached brand only while both keys still exist, so an expired brand is never
+     * recreated without a TTL, and moves its index member in the same step, so concurrent puts never
+     * leave two members for one row.
+     */
+    private static final RedisScript<Long> PUT = RedisScript.of("""
+            if redis.call('exists', KEYS[2]) == 0 then
+                return 0
+            end
+            local previous = redis.call('hget', KEYS[1], ARGV[1])
+            if not previous then
+                return 0
+            end
+            redis.call('hset', KEYS[1], ARGV[1], ARGV[2])
+            local model = cjson.decode(previous)['model']
+            if type(model) == 'string' then
+                redis.call('zrem', KEYS[2], model .. ARGV[4])
+            end
+            redis.call('zadd', KEYS[2], 0, ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisVehicleHashAdapter(@Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
+                                   ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> putAll(final String key, final List<Vehicle> vehicles, final Duration ttl) {
+        List<String> args = new ArrayList<>(1 + 3 * vehicles.size());
+        args.add(String.valueOf(ttl.toMillis()));
+        for (Vehicle vehicle : vehicles) {
+            args.add(String.valueOf(vehicle.getId()));
+            args.add(serialize(vehicle));
+            args.add(indexMember(vehicle.getModel(), vehicle.getId()));
+        }
+        return redisTemplate.execute(PUT_ALL, List.of(key + HASH_SUFFIX, key + INDEX_SUFFIX), args)
+                .next()
+                .doOnSuccess(done -> log.debug("Cached {} vehicles as hash under {}", vehicles.size(), key))
+                .then();
+    }
+
+    @Override
+    public Flux<Vehicle> getAll(final String key) {
+        return redisTemplate.opsForZSet()
+                .rangeByLex(key + INDEX_SUFFIX, Range.unbounded())
+                .collectList()
+                .flatMapMany(members -> readRows(key, members));
+    }
+
+    @Override
+    public Mono<List<Vehicle>> page(final String key, final VehicleCursor after, final int limit) {
+        Range<String> range = after == null
+                ? Range.unbounded()
+                : Range.rightUnbounded(Range.Bound.exclusive(indexMember(after.model(), after.id())));
+        return redisTemplate.opsForZSet()
+                .rangeByLex(key + INDEX_SUFFIX, range, Limit.limit().count(limit))
+                .collectList()
+                .flatMap(members -> members.isEmpty()
+                        ? redisTemplate.hasKey(key + INDEX_SUFFIX).filter(Boolean::booleanValue).map(cached -> List.<Vehicle>of())
+                        : readRows(key, members).collectList());
+    }
+
+    @Override
+    public Mono<Boolean> put(final String key, final Vehicle vehicle) {
+        String indexMember = indexMember(vehicle.getModel(), vehicle.getId());
+        List<String> args = List.of(String.valueOf(vehicle.getId()), serialize(vehicle), indexMember,
+                indexMember.substring(indexMember.lastIndexOf('\0')));
+        return redisTemplate.execute(PUT, List.of(key + HASH_SUFFIX, key + INDEX_SUFFIX), args)
+                .next()
+                .map(replaced -> replaced == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Void> delete(final String key) {
+        return redisTemplate.delete(key + INDEX_SUFFIX, key + HASH_SUFFIX).then();
+    }
+
+    private Flux<Vehicle> readRows(String key, List<String> members) {
+        if (members.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Object> ids = members.stream().map(RedisVehicleHashAdapter::idOf).collect(Collectors.toList());
+        return redisTemplate.<Object, String>opsForHash()
+                .multiGet(key + HASH_SUFFIX, ids)
+                .flatMapIterable(rows -> rows.stream().filter(Objects::nonNull).toList())
+                .concatMap(this::deserialize);
+    }
+
+    static String indexMember(String model, Long id) {
+        return "%s\0%019d".formatted(model, id);
+    }
+
+    private static String idOf(String member) {
+        return String.valueOf(Long.parseLong(member.substring(member.lastIndexOf('\0') + 1)));
+    }
+
+    private String serialize(Vehicle vehicle) {
+        try {
+            return objectMapper.writeValueAsString(vehicle);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing vehicle " + vehicle.getId(), e);
+        }
+    }
+
+    private Mono<Vehicle> deserialize(String json) {
+        try {
+            return Mono.just(objectMapper.readValue(json, Vehicle.class));
+        } catch (JsonProcessingException e) {
+            log.error("Error deserializing cached vehicle: {}", e.getMessage());
+            return Mono.error(e);
+        }
+    }
+}
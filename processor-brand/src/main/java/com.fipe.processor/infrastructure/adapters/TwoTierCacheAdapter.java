@@ -0,0 +1,475 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.domain.dto.CacheEnvelope;
+import com.fipe.processor.domain.dto.VehiclePage;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.retry.Retry;
+
+/**
+ * Caffeine L1 in front of {@link RedisCacheAdapter}. L1 keeps decoded values, so a hit costs neither
+ * a round trip nor a Jackson decode. Every write or delete is broadcast on a Redis channel so the
+ * other replicas drop their copy; the L1 TTL bounds staleness if a broadcast is missed.
+ * <p>
+ * Brands and vehicles are mutable, so L1 stores its own copy and hands out a fresh one on every hit;
+ * rendered bodies are shared as they are only ever written out. An entry filled from Redis never
+ * outlives the Redis key it came from.
+ */
+@Slf4j
+@Primary
+@Component
+public class TwoTierCacheAdapter implements CacheServicePort {
+
+    static final String L1 = "l1";
+    static final String L2 = "l2";
+
+    private final RedisCacheAdapter redisCache;
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> l1;
+    private final Duration l1Ttl;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    private Disposable subscription;
+
+    public TwoTierCacheAdapter(RedisCacheAdapter redisCache,
+                               @Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${cache.l1.max-weight:100000}") long maxWeight,
+                               @Value("${cache.l1.ttl:60s}") Duration l1Ttl,
+                               @Value("${cache.invalidation.channel:fipe:cache:invalidations}") String channel) {
+        this.redisCache = redisCache;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.l1Ttl = l1Ttl;
+        this.channel = channel;
+        this.l1 = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String key, Entry entry) -> entry.weight())
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "cache.l1");
+        this.l1Hits = tierCounter(meterRegistry, L1, "hit");
+        this.l1Misses = tierCounter(meterRegistry, L1, "miss");
+        this.l2Hits = tierCounter(meterRegistry, L2, "hit");
+        this.l2Misses = tierCounter(meterRegistry, L2, "miss");
+    }
+
+    @PostConstruct
+    public void subscribeToInvalidations() {
+        subscription = redisTemplate.listenToChannel(channel)
+                .map(ReactiveSubscription.Message::getMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(this::onInvalidation,
+                        error -> log.error("Cache invalidation subscription stopped: {}", error.getMessage()));
+    }
+
+    @Override
+    public <T> Mono<T> get(final String key, final Class<T> valueType) {
+        T local = getLocal(key, valueType);
+        if (local != null) {
+            l1Hits.increment();
+            return Mono.just(local);
+        }
+        l1Misses.increment();
+
+        return Mono.zip(redisCache.get(key, valueType), l1TtlFor(key))
+                .doOnSuccess(found -> {
+                    if (found == null) {
+                        l2Misses.increment();
+                        return;
+                    }
+                    l2Hits.increment();
+                    fill(key, found.getT1(), found.getT2());
+                })
+                .map(Tuple2::getT1);
+    }
+
+    @Override
+    public <T> Mono<CacheEnvelope<T>> getEnvelope(final String key, final Class<T> valueType) {
+        CacheEnvelope<T> local = getLocalEnvelope(key, valueType);
+        if (local != null) {
+            l1Hits.increment();
+            return Mono.just(local);
+        }
+        l1Misses.increment();
+
+        return Mono.zip(redisCache.getEnvelope(key, valueType), l1TtlFor(key))
+                .doOnSuccess(found -> {
+                    if (found == null) {
+                        l2Misses.increment();
+                        return;
+                    }
+                    l2Hits.increment();
+                    fill(key, found.getT1(), found.getT2());
+                })
+                .map(Tuple2::getT1);
+    }
+
+    @Override
+    public <T> Mono<Map<String, CacheEnvelope<T>>> getEnvelopes(final List<String> keys, final Class<T> valueType) {
+        Map<String, CacheEnvelope<T>> found = new LinkedHashMap<>();
+        List<String> remote = new ArrayList<>();
+        for (String key : keys) {
+            CacheEnvelope<T> local = getLocalEnvelope(key, valueType);
+            if (local != null) {
+                found.put(key, local);
+            } else {
+                remote.add(key);
+            }
+        }
+        l1Hits.increment(found.size());
+        l1Misses.increment(remote.size());
+        if (remote.isEmpty()) {
+            return Mono.just(found);
+        }
+
+        Mono<Map<String, Duration>> ttls = Flux.fromIterable(remote)
+                .flatMap(key -> l1TtlFor(key).map(ttl -> Map.entry(key, ttl)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+        return Mono.zip(redisCache.getEnvelopes(remote, valueType), ttls)
+                .map(results -> {
+                    Map<String, CacheEnvelope<T>> loaded = results.getT1();
+                    loaded.forEach((key, envelope) -> fill(key, envelope, results.getT2().getOrDefault(key, Duration.ZERO)));
+                    l2Hits.increment(loaded.size());
+                    l2Misses.increment(remote.size() - loaded.size());
+                    found.putAll(loaded);
+                    return found;
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CacheEnvelope<T> getLocalEnvelope(String key, Class<T> valueType) {
+        Entry cached = l1.getIfPresent(key);
+        if (cached != null && cached.value() instanceof CacheEnvelope<?> envelope && valueType.isInstance(envelope.value())) {
+            return (CacheEnvelope<T>) copy(envelope);
+        }
+        return null;
+    }
+
+    @Override
+    public <T> Mono<Void> put(final String key, final T value, final Duration ttl) {
+        return redisCache.put(key, value, ttl)
+                .then(Mono.fromRunnable(() -> l1.put(key, Entry.of(copy(value), min(ttl, l1Ttl)))))
+                .then(broadcast(CacheInvalidation.forKey(nodeId, key)));
+    }
+
+    @Override
+    public Mono<byte[]> getBytes(final String key) {
+        Entry cached = l1.getIfPresent(key);
+        if (cached != null && cached.value() instanceof byte[] bytes) {
+            l1Hits.increment();
+            return Mono.just(bytes);
+        }
+        l1Misses.increment();
+
+        return Mono.zip(redisCache.getBytes(key), l1TtlFor(key))
+                .doOnSuccess(found -> {
+                    if (found == null) {
+                        l2Misses.increment();
+                        return;
+                    }
+                    l2Hits.increment();
+                    fill(key, found.getT1(), found.getT2());
+                })
+                .map(Tuple2::getT1);
+    }
+
+    @Override
+    public Mono<Void> putBytes(final String key, final byte[] value, final Duration ttl) {
+        return redisCache.putBytes(key, value, ttl)
+                .then(Mono.fromRunnable(() -> l1.put(key, Entry.of(value, min(ttl, l1Ttl)))))
+                .then(broadcast(CacheInvalidation.forKey(nodeId, key)));
+    }
+
+    @Override
+    public Mono<Duration> remainingTtl(final String key) {
+        return redisCache.remainingTtl(key);
+    }
+
+    @Override
+    public Mono<Long> softExpiresAt(final String key) {
+        Entry cached = l1.getIfPresent(key);
+        if (cached != null && cached.value() instanceof CacheEnvelope<?> envelope) {
+            return Mono.just(envelope.softExpiresAt());
+        }
+        return redisCache.softExpiresAt(key);
+    }
+
+    @Override
+    public Mono<Void> delete(final String key) {
+        return redisCache.delete(key)
+                .then(Mono.fromRunnable(() -> l1.invalidate(key)))
+                .then(broadcast(CacheInvalidation.forKey(nodeId, key)));
+    }
+
+    @Override
+    public Mono<Void> deleteByPattern(final String pattern) {
+        return redisCache.deleteByPattern(pattern)
+                .then(Mono.fromRunnable(() -> invalidateLocalPattern(pattern)))
+                .then(broadcast(CacheInvalidation.forPattern(nodeId, pattern)));
+    }
+
+    private <T> T getLocal(final String key, final Class<T> valueType) {
+        Entry cached = l1.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        if (valueType.isInstance(cached.value())) {
+            return valueType.cast(copy(cached.value()));
+        }
+        try {
+            // Values are usually put as lists and read back as arrays; convert once and keep the converted copy.
+            T converted = toArray(cached.value(), valueType);
+            if (converted == null) {
+                converted = objectMapper.convertValue(cached.value(), valueType);
+            }
+            l1.asMap().replace(key, cached, new Entry(converted, cached.expiresAt()));
+            return valueType.cast(copy(converted));
+        } catch (IllegalArgumentException e) {
+            l1.invalidate(key);
+            return null;
+        }
+    }
+
+    /**
+     * L1 lifetime for a value just read from Redis: the configured TTL, capped at what the Redis key has left.
+     * {@link Duration#ZERO} when the key is already gone or its TTL cannot be read, so the value is not kept.
+     */
+    private Mono<Duration> l1TtlFor(final String key) {
+        return redisCache.remainingTtl(key)
+                .map(remaining -> remaining.isZero() ? l1Ttl : min(remaining, l1Ttl))
+                .defaultIfEmpty(Duration.ZERO)
+                .onErrorReturn(Duration.ZERO);
+    }
+
+    private void fill(final String key, final Object value, final Duration ttl) {
+        if (ttl.isPositive()) {
+            l1.put(key, Entry.of(copy(value), ttl));
+        }
+    }
+
+    /**
+     * Copies the mutable parts of a cached value. Rendered bodies, strings and numbers are returned as they are.
+     */
+    static Object copy(final Object value) {
+        if (value instanceof Brand brand) {
+            return brand.toBuilder().build();
+        }
+        if (value instanceof Vehicle vehicle) {
+            return vehicle.toBuilder().build();
+        }
+        if (value instanceof CacheEnvelope<?> envelope) {
+            return new CacheEnvelope<>(copy(envelope.value()), envelope.softExpiresAt(), envelope.computeMillis());
+        }
+        if (value instanceof VehiclePage page) {
+            return new VehiclePage(page.vehicles() == null ? null : copyList(page.vehicles()), page.nextCursor());
+        }
+        if (value instanceof Object[] array) {
+            Object[] copied = (Object[]) Array.newInstance(array.getClass().getComponentType(), array.length);
+            for (int i = 0; i < array.length; i++) {
+                copied[i] = copy(array[i]);
+            }
+            return copied;
+        }
+        if (value instanceof List<?> list) {
+            return copyList(list);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> List<E> copyList(final List<E> list) {
+        List<E> copied = new ArrayList<>(list.size());
+        for (E element : list) {
+            copied.add((E) copy(element));
+        }
+        return copied;
+    }
+
+    private static <T> T toArray(final Object value, final Class<T> valueType) {
+        if (!valueType.isArray() || !(value instanceof Collection<?> collection)) {
+            return null;
+        }
+        Class<?> componentType = valueType.getComponentType();
+        Object array = Array.newInstance(componentType, collection.size());
+        int index = 0;
+        for (Object element : collection) {
+            if (element != null && !componentType.isInstance(element)) {
+                return null;
+            }
+            Array.set(array, index++, element);
+        }
+        return valueType.cast(array);
+    }
+
+    void onInvalidation(final String payload) {
+        try {
+            CacheInvalidation invalidation = objectMapper.readValue(payload, CacheInvalidation.class);
+            if (nodeId.equals(invalidation.origin())) {
+                return;
+            }
+            if (invalidation.glob()) {
+                invalidateLocalPattern(invalidation.target());
+            } else {
+                l1.invalidate(invalidation.target());
+            }
+            log.debug("Dropped L1 entries for {} after invalidation from {}", invalidation.target(), invalidation.origin());
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", payload);
+        }
+    }
+
+    long l1Size() {
+        l1.cleanUp();
+        return l1.estimatedSize();
+    }
+
+    Optional<Duration> l1ExpiresAfter(final String key) {
+        return l1.policy().expireVariably().flatMap(policy -> policy.getExpiresAfter(key));
+    }
+
+    private Mono<Void> broadcast(final CacheInvalidation invalidation) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(invalidation))
+                .flatMap(message -> redisTemplate.convertAndSend(channel, message))
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("Error broadcasting cache invalidation for {}: {}", invalidation.target(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void invalidateLocalPattern(final String pattern) {
+        Pattern regex = globToRegex(pattern);
+        l1.asMap().keySet().removeIf(key -> regex.matcher(key).matches());
+    }
+
+    static Pattern globToRegex(final String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static Duration min(final Duration a, final Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Counter tierCounter(final MeterRegistry meterRegistry, final String tier, final String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("Cache lookups per tier and result")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    record Entry(Object value, long expiresAt) {
+
+        static Entry of(Object value, Duration ttl) {
+            return new Entry(value, System.nanoTime() + ttl.toNanos());
+        }
+
+        int weight() {
+            if (value instanceof byte[] bytes) {
+                // Rendered bodies count one unit per KiB, roughly the footprint of one decoded element.
+                return bytes.length / 1024 + 1;
+            }
+            Object payload = value instanceof CacheEnvelope<?> envelope ? envelope.value() : value;
+            if (payload instanceof Object[] array) {
+                return array.length + 1;
+            }
+            if (payload instanceof Collection<?> collection) {
+                return collection.size() + 1;
+            }
+            return 1;
+        }
+    }
+
+    record CacheInvalidation(String origin, String target, boolean glob) {
+
+        static CacheInvalidation forKey(String origin, String key) {
+            return new CacheInvalidation(origin, key, false);
+        }
+
+        static CacheInvalidation forPattern(String origin, String pattern) {
+            return new CacheInvalidation(origin, pattern, true);
+        }
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return Math.max(0, entry.expiresAt() - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return Math.max(0, entry.expiresAt() - currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.ports.BrandCodeResolverPort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.repositories.BrandRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves brand names to codes from an immutable in-memory map keyed by {@link Brand#normalizeName}. The map is
+ * replaced as a whole whenever reads switch to a new catalog generation, so readers never see a half-built one.
+ * Lookups for any other generation, or before the first load, fall back to the {@code idx_brands_name_key} index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BrandCodeResolver implements BrandCodeResolverPort {
+
+    private final BrandRepository brandRepository;
+    private final CatalogGenerationPort catalogGenerations;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private Disposable reloader;
+
+    @PostConstruct
+    public void startReloading() {
+        reloader = Flux.concat(catalogGenerations.publishedGeneration(), catalogGenerations.generationChanges())
+                .concatMap(generation -> reload(generation)
+                        .onErrorResume(error -> {
+                            log.warn("Error loading brand codes for generation {}, keeping the previous map: {}",
+                                    generation, error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public Mono<String> resolve(final String brandName, final Long generation) {
+        String key = Brand.normalizeName(brandName);
+        Snapshot current = snapshot.get();
+        if (current != null && current.generation().equals(generation)) {
+            return Mono.justOrEmpty(current.codes().get(key));
+        }
+        return brandRepository.findCodeByNameKey(key, generation);
+    }
+
+    public Mono<Integer> reload(Long generation) {
+        return brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(generation)
+                .sort(Comparator.comparing(Brand::getGeneration))
+                .collect(HashMap<String, String>::new,
+                        (codes, brand) -> codes.putIfAbsent(Brand.normalizeName(brand.getName()), brand.getCode()))
+                .map(codes -> {
+                    snapshot.set(new Snapshot(generation, Map.copyOf(codes)));
+                    log.info("Loaded {} brand codes for generation {}", codes.size(), generation);
+                    return codes.size();
+                });
+    }
+
+    @PreDestroy
+    public void stopReloading() {
+        if (reloader != null) {
+            reloader.dispose();
+        }
+    }
+
+    private record Snapshot(Long generation, Map<String, String> codes) {
+    }
+}
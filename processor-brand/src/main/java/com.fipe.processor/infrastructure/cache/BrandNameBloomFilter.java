@@ -0,0 +1,137 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.cache.BloomFilter;
+import com.fipe.processor.application.cache.CacheNamespace;
+import com.fipe.processor.application.ports.BrandNameFilterPort;
+import com.fipe.processor.application.ports.CacheNamespacePort;
+import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.repositories.BrandRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps a Bloom filter of the published brand names in memory so unknown names are rejected without I/O. Names are
+ * stored and checked in their {@link Brand#normalizeName} form, matching how brand lookups resolve them.
+ * The filter is rebuilt whenever reads switch to a new catalog generation and shared through Redis, so only the
+ * first replica to see a generation scans the brands table. Names that pass the filter but turn out not to exist
+ * are remembered for {@code cache.brands.negative-ttl}. Until the first filter is loaded every name is let through.
+ */
+@Slf4j
+@Component
+public class BrandNameBloomFilter implements BrandNameFilterPort {
+
+    private static final String FILTER_KEY = "names:bloom:keys";
+
+    private final BrandRepository brandRepository;
+    private final CatalogGenerationPort catalogGenerations;
+    private final CacheNamespacePort cacheNamespaces;
+    private final CacheServicePort cacheService;
+    private final Cache<String, Boolean> missing;
+
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+
+    @Value("${cache.brands.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${cache.ttl.brands:3600}")
+    private long brandsCacheTtl;
+
+    private Disposable rebuilder;
+
+    public BrandNameBloomFilter(BrandRepository brandRepository,
+                                CatalogGenerationPort catalogGenerations,
+                                CacheNamespacePort cacheNamespaces,
+                                CacheServicePort cacheService,
+                                @Value("${cache.brands.negative-ttl:60s}") Duration negativeTtl) {
+        this.brandRepository = brandRepository;
+        this.catalogGenerations = catalogGenerations;
+        this.cacheNamespaces = cacheNamespaces;
+        this.cacheService = cacheService;
+        this.missing = Caffeine.newBuilder()
+                .expireAfterWrite(negativeTtl)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @PostConstruct
+    public void startRebuilding() {
+        rebuilder = Flux.concat(Mono.just(0L), catalogGenerations.generationChanges())
+                .concatMap(trigger -> rebuild()
+                        .onErrorResume(error -> {
+                            log.warn("Error loading brand name filter, keeping the previous one: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public boolean mightExist(final String brandName) {
+        String key = Brand.normalizeName(brandName);
+        BloomFilter current = filter.get();
+        if (current != null && !current.mightContain(key)) {
+            return false;
+        }
+        return missing.getIfPresent(key) == null;
+    }
+
+    @Override
+    public void markMissing(final String brandName) {
+        missing.put(Brand.normalizeName(brandName), Boolean.TRUE);
+    }
+
+    public Mono<BloomFilter> rebuild() {
+        return Mono.zip(catalogGenerations.publishedGeneration(), cacheNamespaces.version(CacheNamespace.BRANDS.prefix()))
+                .flatMap(tuple -> {
+                    String key = CacheNamespace.BRANDS.key(tuple.getT2(), tuple.getT1(), FILTER_KEY);
+                    return cacheService.getBytes(key)
+                            .map(BloomFilter::fromBytes)
+                            .onErrorResume(error -> {
+                                log.warn("Error reading brand name filter {}, rebuilding it: {}", key, error.getMessage());
+                                return Mono.empty();
+                            })
+                            .switchIfEmpty(Mono.defer(() -> build(tuple.getT1())
+                                    .flatMap(built -> cacheService.putBytes(key, built.toBytes(), Duration.ofSeconds(brandsCacheTtl))
+                                            .onErrorResume(error -> {
+                                                log.warn("Error sharing brand name filter {}: {}", key, error.getMessage());
+                                                return Mono.empty();
+                                            })
+                                            .thenReturn(built))));
+                })
+                .doOnNext(loaded -> {
+                    filter.set(loaded);
+                    missing.invalidateAll();
+                });
+    }
+
+    private Mono<BloomFilter> build(Long generation) {
+        return brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(generation)
+                .map(brand -> Brand.normalizeName(brand.getName()))
+                .distinct()
+                .collectList()
+                .map(names -> {
+                    BloomFilter built = BloomFilter.create(names.size(), falsePositiveRate);
+                    names.forEach(built::put);
+                    log.info("Built brand name filter for generation {} with {} names", generation, names.size());
+                    return built;
+                });
+    }
+
+    @PreDestroy
+    public void stopRebuilding() {
+        if (rebuilder != null) {
+            rebuilder.dispose();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.ports.BrandPopularityPort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.GetBrandsServicePort;
+import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
+import com.fipe.processor.domain.entities.Brand;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Preloads {@code brands:all} and the vehicle lists of the configured and most requested brands, on startup and
+ * again whenever a new catalog generation is published. Until the startup pass has warmed
+ * {@code cache.warmup.readiness-threshold} of its targets this indicator reports OUT_OF_SERVICE, which keeps the
+ * readiness probe down; after {@code cache.warmup.max-wait} it reports UP regardless. It only counts towards the
+ * readiness group, never {@code /actuator/health} itself (see {@code HealthGroupsConfig}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheWarmer implements ApplicationRunner, HealthIndicator {
+
+    private final GetBrandsServicePort getBrandsUseCase;
+    private final GetVehiclesByBrandServicePort getVehiclesByBrandUseCase;
+    private final BrandPopularityPort brandPopularity;
+    private final CatalogGenerationPort catalogGenerations;
+
+    @Value("${cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.warmup.brands:}")
+    private List<String> configuredBrands;
+
+    @Value("${cache.warmup.top-brands:20}")
+    private int topBrands;
+
+    @Value("${cache.warmup.concurrency:4}")
+    private int concurrency;
+
+    @Value("${cache.warmup.readiness-threshold:0.8}")
+    private double readinessThreshold;
+
+    @Value("${cache.warmup.max-wait:45s}")
+    private Duration maxWait;
+
+    private final AtomicBoolean ready = new AtomicBoolean();
+    private final AtomicInteger targets = new AtomicInteger();
+    private final AtomicInteger warmed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private Disposable warming;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            ready.set(true);
+            return;
+        }
+        Mono.delay(maxWait).subscribe(tick -> {
+            if (ready.compareAndSet(false, true)) {
+                log.warn("Cache warm-up did not reach {}% within {}, accepting traffic anyway",
+                        Math.round(readinessThreshold * 100), maxWait);
+            }
+        });
+        warming = Flux.concat(Mono.just("startup"),
+                        catalogGenerations.generationChanges().map(generation -> "catalog generation " + generation))
+                .switchMap(this::warm)
+                .subscribe();
+    }
+
+    /**
+     * One warm-up pass. Failures are counted and logged, never propagated, so a pass always completes.
+     */
+    public Mono<Void> warm(String reason) {
+        return Mono.defer(() -> {
+            long start = System.currentTimeMillis();
+            warmed.set(0);
+            failed.set(0);
+            targets.set(1);
+            return getBrandsUseCase.execute()
+                    .collectList()
+                    .flatMap(brands -> brandsToWarm(brands)
+                            .doOnNext(names -> {
+                                targets.set(names.size() + 1);
+                                succeeded();
+                            })
+                            .flatMapMany(Flux::fromIterable)
+                            .flatMap(this::warmBrand, concurrency)
+                            .then())
+                    .onErrorResume(error -> {
+                        failed.incrementAndGet();
+                        log.warn("Cache warm-up ({}) could not load brands: {}", reason, error.getMessage());
+                        return Mono.empty();
+                    })
+                    .doOnSuccess(done -> log.info("Cache warm-up ({}) finished in {} ms: {} of {} entries warmed, {} failed",
+                            reason, System.currentTimeMillis() - start, warmed.get(), targets.get(), failed.get()));
+        });
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = ready.get() ? Health.up() : Health.outOfService();
+        return health.withDetail("warmed", warmed.get())
+                .withDetail("failed", failed.get())
+                .withDetail("targets", targets.get())
+                .build();
+    }
+
+    private Mono<List<String>> brandsToWarm(List<Brand> brands) {
+        Map<String, String> catalogNames = new LinkedHashMap<>();
+        brands.forEach(brand -> catalogNames.putIfAbsent(Brand.normalizeName(brand.getName()), brand.getName()));
+        return brandPopularity.top(topBrands)
+                .onErrorResume(error -> {
+                    log.warn("Could not read brand popularity, warming configured brands only: {}", error.getMessage());
+                    return Flux.empty();
+                })
+                .collectList()
+                .flatMap(popular -> Flux.concat(Flux.fromIterable(configuredBrands), Flux.fromIterable(popular))
+                        .mapNotNull(name -> catalogNames.get(Brand.normalizeName(name)))
+                        .distinct()
+                        .collectList());
+    }
+
+    private Mono<Void> warmBrand(String brandName) {
+        return getVehiclesByBrandUseCase.execute(brandName)
+                .then()
+                .doOnSuccess(done -> succeeded())
+                .onErrorResume(error -> {
+                    failed.incrementAndGet();
+                    log.warn("Cache warm-up could not load vehicles for brand {}: {}", brandName, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void succeeded() {
+        if (warmed.incrementAndGet() >= Math.ceil(targets.get() * readinessThreshold)
+                && ready.compareAndSet(false, true)) {
+            log.info("Cache warm-up reached {} entries, accepting traffic", warmed.get());
+        }
+    }
+
+    @PreDestroy
+    public void stopWarming() {
+        if (warming != null) {
+            warming.dispose();
+        }
+    }
+}
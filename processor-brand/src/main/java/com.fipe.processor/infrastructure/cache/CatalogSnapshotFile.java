@@ -0,0 +1,134 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The binary catalog snapshot at {@code catalog.memory.snapshot.path}: written after each in-memory catalog load
+ * and after patches, and memory-mapped on startup, so a restarted replica serves reads before its first load
+ * finishes. A new file is written beside the old one and moved over it, so readers never map a partial file and
+ * existing mappings stay valid. With {@code catalog.memory.snapshot.read-only} the file is the only source of the
+ * in-memory catalog: the replica never writes it, takes the published generation from its header instead of
+ * Postgres, and maps it again whenever the header's generation or revision changes.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotFile {
+
+    private final Path path;
+    private final boolean readOnly;
+
+    public CatalogSnapshotFile(@Value("${catalog.memory.snapshot.path:}") String path,
+                               @Value("${catalog.memory.snapshot.read-only:false}") boolean readOnly) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.readOnly = readOnly && this.path != null;
+    }
+
+    public boolean enabled() {
+        return path != null;
+    }
+
+    public boolean readOnly() {
+        return readOnly;
+    }
+
+    /**
+     * The generation in the file header; empty when there is no file.
+     */
+    public Mono<Long> generation() {
+        return header().map(Header::generation);
+    }
+
+    /**
+     * The generation and revision in the file header; empty when there is no file.
+     */
+    public Mono<Header> header() {
+        return Mono.fromCallable(() -> {
+                    if (!enabled() || !Files.exists(path)) {
+                        return null;
+                    }
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_BYTES);
+                        channel.read(header);
+                        header.flip();
+                        return new Header(CatalogSnapshot.readGeneration(header), CatalogSnapshot.readRevision(header));
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Maps the file read-only; empty when there is no file.
+     */
+    public Mono<CatalogSnapshot> map() {
+        return Mono.fromCallable(() -> {
+                    if (!enabled() || !Files.exists(path)) {
+                        return null;
+                    }
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        CatalogSnapshot snapshot = CatalogSnapshot.from(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                        log.info("Mapped catalog snapshot {} for generation {} with {} vehicles",
+                                path, snapshot.generation(), snapshot.vehicleCount());
+                        return snapshot;
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<Void> write(final CatalogSnapshot snapshot) {
+        return write(() -> snapshot);
+    }
+
+    /**
+     * Writes the snapshot the supplier returns when this write's turn comes. Writes run one at a time, so a writer
+     * that passes the current snapshot never replaces the file with an older one than a concurrent write left.
+     */
+    public Mono<Void> write(final Supplier<CatalogSnapshot> latest) {
+        if (!enabled() || readOnly) {
+            return Mono.empty();
+        }
+        return Mono.<Void>fromCallable(() -> {
+                    synchronized (this) {
+                        CatalogSnapshot snapshot = latest.get();
+                        if (snapshot != null) {
+                            replaceWith(snapshot);
+                        }
+                    }
+                    return null;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void replaceWith(CatalogSnapshot snapshot) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                snapshot.writeTo(channel);
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        log.info("Wrote catalog snapshot {} for generation {} at revision {}",
+                path, snapshot.generation(), snapshot.revision());
+    }
+
+    public record Header(long generation, long revision) {
+    }
+}
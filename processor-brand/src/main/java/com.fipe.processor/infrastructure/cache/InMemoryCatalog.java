@@ -0,0 +1,289 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.InMemoryCatalogPort;
+import com.fipe.processor.domain.entities.Vehicle;
+import com.fipe.processor.domain.repositories.BrandRepository;
+import com.fipe.processor.domain.repositories.VehicleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Holds the published catalog generation in memory as a {@link CatalogSnapshot} so brand and vehicle reads need
+ * neither Redis nor Postgres. The snapshot is rebuilt whenever reads switch to a new generation, and again every
+ * {@code catalog.memory.refresh-interval} in case a change event was missed. Updated rows are patched in place and
+ * broadcast on a Redis channel so the other replicas patch theirs; patches that arrive while a rebuild is running
+ * are replayed on the rebuilt snapshot before it is swapped in.
+ * <p>
+ * When a {@link CatalogSnapshotFile} is configured each load is also written to it, and again after patches (one
+ * write for any patches that arrive while a write is pending), and on startup the previous file is mapped and served
+ * until the first load completes. A read-only replica loads only from that file: it reads the file header every
+ * {@code catalog.memory.snapshot.poll-interval} and maps the file again when its generation or revision changed.
+ * <p>
+ * Off by default: while it is on, the Redis and L1 caches only back the reads the snapshot cannot answer.
+ */
+@Slf4j
+@Component
+public class InMemoryCatalog implements InMemoryCatalogPort {
+
+    private final BrandRepository brandRepository;
+    private final VehicleRepository vehicleRepository;
+    private final CatalogGenerationPort catalogGenerations;
+    private final CatalogSnapshotFile snapshotFile;
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final Duration pollInterval;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private final Object swapLock = new Object();
+    private final AtomicBoolean writePending = new AtomicBoolean();
+    private List<Vehicle> patchesDuringLoad;
+
+    private Disposable loader;
+    private Disposable subscription;
+
+    public InMemoryCatalog(BrandRepository brandRepository,
+                           VehicleRepository vehicleRepository,
+                           CatalogGenerationPort catalogGenerations,
+                           CatalogSnapshotFile snapshotFile,
+                           @Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
+                           ObjectMapper objectMapper,
+                           @Value("${catalog.memory.enabled:false}") boolean enabled,
+                           @Value("${catalog.memory.refresh-interval:15m}") Duration refreshInterval,
+                           @Value("${catalog.memory.snapshot.poll-interval:5s}") Duration pollInterval,
+                           @Value("${catalog.memory.channel:fipe:catalog:changes}") String channel) {
+        this.brandRepository = brandRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.catalogGenerations = catalogGenerations;
+        this.snapshotFile = snapshotFile;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+        this.pollInterval = pollInterval;
+        this.channel = channel;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (snapshotFile.readOnly()) {
+            loader = Flux.interval(Duration.ZERO, pollInterval)
+                    .concatMap(tick -> snapshotFile.header()
+                            .onErrorResume(error -> {
+                                log.warn("Error reading catalog snapshot header: {}", error.getMessage());
+                                return Mono.empty();
+                            }))
+                    .filter(this::changed)
+                    .concatMap(header -> loadOrKeep(header.generation()))
+                    .subscribe();
+            return;
+        }
+        Mono<Long> initial = Mono.defer(catalogGenerations::publishedGeneration)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Error reading published catalog generation, retrying: {}",
+                                signal.failure().getMessage())));
+        Flux<Long> triggers = Flux.concat(initial, catalogGenerations.generationChanges());
+        loader = restore()
+                .thenMany(Flux.merge(triggers, Flux.interval(refreshInterval, refreshInterval)
+                        .concatMap(tick -> catalogGenerations.publishedGeneration()
+                                .onErrorResume(error -> {
+                                    log.warn("Error reading published catalog generation: {}", error.getMessage());
+                                    return Mono.empty();
+                                }))))
+                .concatMap(this::loadOrKeep)
+                .subscribe(loaded -> { },
+                        error -> log.error("In-memory catalog loader stopped: {}", error.getMessage()));
+        subscription = redisTemplate.listenToChannel(channel)
+                .map(ReactiveSubscription.Message::getMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(this::onChange,
+                        error -> log.error("Catalog change subscription stopped: {}", error.getMessage()));
+    }
+
+    @Override
+    public Optional<CatalogSnapshot> snapshot(final Long generation) {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null || generation == null || current.generation() != generation) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    @Override
+    public void patch(final Vehicle vehicle) {
+        if (!enabled) {
+            return;
+        }
+        apply(vehicle);
+        Mono.fromCallable(() -> objectMapper.writeValueAsString(VehicleChange.of(nodeId, vehicle)))
+                .flatMap(message -> redisTemplate.convertAndSend(channel, message))
+                .subscribe(receivers -> { },
+                        error -> log.warn("Error broadcasting change of vehicle {}: {}", vehicle.getId(), error.getMessage()));
+    }
+
+    /**
+     * Loads the generation from Postgres, or maps the snapshot file on a read-only replica.
+     */
+    public Mono<CatalogSnapshot> load(final Long generation) {
+        if (snapshotFile.readOnly()) {
+            return snapshotFile.map().map(this::swap);
+        }
+        return Mono.fromRunnable(() -> {
+                    synchronized (swapLock) {
+                        patchesDuringLoad = new ArrayList<>();
+                    }
+                })
+                .then(Mono.zip(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(generation).collectList(),
+                        vehicleRepository.findByGenerationLessThanEqualOrderByBrandCodeAscModelAscIdAsc(generation).collectList()))
+                .map(tuple -> swap(CatalogSnapshot.build(generation, tuple.getT1(), tuple.getT2())))
+                .doOnNext(loaded -> log.info("Loaded in-memory catalog for generation {} with {} brands and {} vehicles",
+                        generation, loaded.brandCount(), loaded.vehicleCount()))
+                .flatMap(loaded -> snapshotFile.write(snapshot::get)
+                        .onErrorResume(error -> {
+                            log.warn("Error writing catalog snapshot file: {}", error.getMessage());
+                            return Mono.empty();
+                        })
+                        .thenReturn(loaded))
+                .doOnError(error -> {
+                    synchronized (swapLock) {
+                        patchesDuringLoad = null;
+                    }
+                });
+    }
+
+    private Mono<CatalogSnapshot> loadOrKeep(Long generation) {
+        return load(generation)
+                .onErrorResume(error -> {
+                    log.warn("Error loading in-memory catalog for generation {}, keeping the previous one: {}",
+                            generation, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Serves the snapshot file left by the previous run until the first load replaces it.
+     */
+    private Mono<Void> restore() {
+        return snapshotFile.map()
+                .doOnNext(mapped -> snapshot.compareAndSet(null, mapped))
+                .onErrorResume(error -> {
+                    log.warn("Ignoring unreadable catalog snapshot file: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    void onChange(final String payload) {
+        try {
+            VehicleChange change = objectMapper.readValue(payload, VehicleChange.class);
+            if (!nodeId.equals(change.origin())) {
+                apply(change.toVehicle());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring malformed catalog change: {}", e.getMessage());
+        }
+    }
+
+    private void apply(Vehicle vehicle) {
+        synchronized (swapLock) {
+            if (patchesDuringLoad != null) {
+                patchesDuringLoad.add(vehicle);
+            }
+            CatalogSnapshot current = snapshot.get();
+            if (current != null) {
+                snapshot.set(current.withVehicle(vehicle));
+            }
+        }
+        writeFile();
+    }
+
+    /**
+     * Rewrites the snapshot file with the current snapshot, unless a write that has not started yet will.
+     */
+    private void writeFile() {
+        if (!snapshotFile.enabled() || snapshotFile.readOnly() || !writePending.compareAndSet(false, true)) {
+            return;
+        }
+        snapshotFile.write(() -> {
+                    writePending.set(false);
+                    return snapshot.get();
+                })
+                .subscribe(done -> { },
+                        error -> log.warn("Error writing patched catalog snapshot file: {}", error.getMessage()));
+    }
+
+    private boolean changed(CatalogSnapshotFile.Header header) {
+        CatalogSnapshot current = snapshot.get();
+        return current == null || current.generation() != header.generation() || current.revision() != header.revision();
+    }
+
+    private CatalogSnapshot swap(CatalogSnapshot loaded) {
+        synchronized (swapLock) {
+            CatalogSnapshot patched = loaded;
+            if (patchesDuringLoad != null) {
+                for (Vehicle vehicle : patchesDuringLoad) {
+                    patched = patched.withVehicle(vehicle);
+                }
+            }
+            patchesDuringLoad = null;
+            snapshot.set(patched);
+            return patched;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (loader != null) {
+            loader.dispose();
+        }
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    record VehicleChange(String origin, Long id, String code, String brandCode, String model, String observations,
+                         Long generation) {
+
+        static VehicleChange of(String origin, Vehicle vehicle) {
+            return new VehicleChange(origin, vehicle.getId(), vehicle.getCode(), vehicle.getBrandCode(),
+                    vehicle.getModel(), vehicle.getObservations(), vehicle.getGeneration());
+        }
+
+        Vehicle toVehicle() {
+            return Vehicle.builder()
+                    .id(id)
+                    .code(code)
+                    .brandCode(brandCode)
+                    .model(model)
+                    .observations(observations)
+                    .generation(generation)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.cache.CacheNamespace;
+import com.fipe.processor.application.ports.CacheNamespacePort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Invalidation only bumps counters, so superseded keys are reclaimed here off the request path:
+ * an incremental {@code SCAN} per namespace that {@code UNLINK}s keys from older versions or generations.
+ */
+@Slf4j
+@Component
+public class RedisCacheJanitor {
+
+    private static final Pattern VERSIONED_KEY = Pattern.compile("^[^:]+:v(\\d+):g(\\d+):");
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final CacheNamespacePort cacheNamespaces;
+    private final CatalogGenerationPort catalogGenerations;
+
+    @Value("${cache.cleanup.interval:10m}")
+    private Duration interval;
+
+    @Value("${cache.cleanup.scan-count:500}")
+    private int scanCount;
+
+    private Disposable sweeper;
+
+    public RedisCacheJanitor(@Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
+                             CacheNamespacePort cacheNamespaces,
+                             CatalogGenerationPort catalogGenerations) {
+        this.redisTemplate = redisTemplate;
+        this.cacheNamespaces = cacheNamespaces;
+        this.catalogGenerations = catalogGenerations;
+    }
+
+    @PostConstruct
+    public void startSweeping() {
+        sweeper = Flux.interval(interval, interval)
+                .concatMap(tick -> sweep()
+                        .onErrorResume(error -> {
+                            log.warn("Error sweeping orphaned cache keys: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    public Mono<Long> sweep() {
+        return catalogGenerations.publishedGeneration()
+                .flatMap(generation -> Flux.fromArray(CacheNamespace.values())
+                        .concatMap(namespace -> sweep(namespace, generation))
+                        .reduce(0L, Long::sum))
+                .doOnNext(removed -> {
+                    if (removed > 0) {
+                        log.info("Removed {} orphaned cache keys", removed);
+                    }
+                });
+    }
+
+    private Mono<Long> sweep(CacheNamespace namespace, long generation) {
+        return cacheNamespaces.version(namespace.prefix())
+                .flatMap(version -> redisTemplate
+                        .scan(ScanOptions.scanOptions().match(namespace.prefix() + ":*").count(scanCount).build())
+                        .filter(key -> isOrphan(key, version, generation))
+                        .buffer(scanCount)
+                        .concatMap(keys -> redisTemplate.unlink(keys.toArray(String[]::new)))
+                        .reduce(0L, Long::sum));
+    }
+
+    static boolean isOrphan(String key, long version, long generation) {
+        Matcher matcher = VERSIONED_KEY.matcher(key);
+        if (!matcher.find()) {
+            return true;
+        }
+        return Long.parseLong(matcher.group(1)) < version || Long.parseLong(matcher.group(2)) < generation;
+    }
+
+    @PreDestroy
+    public void stopSweeping() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.fipe.processor.infrastructure.cache.codec;
+
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * Block compression applied to encoded values above the configured threshold. Compressed payloads are
+ * prefixed with their uncompressed length, which both codecs need to decompress in one allocation.
+ */
+public enum CacheCompression {
+
+    NONE(0) {
+        @Override
+        byte[] compress(byte[] raw) {
+            return raw;
+        }
+
+        @Override
+        byte[] decompress(byte[] source, int offset, int length, int rawLength) {
+            byte[] raw = new byte[length];
+            System.arraycopy(source, offset, raw, 0, length);
+            return raw;
+        }
+    },
+    LZ4(1) {
+        @Override
+        byte[] compress(byte[] raw) {
+            return LZ4_FACTORY.fastCompressor().compress(raw);
+        }
+
+        @Override
+        byte[] decompress(byte[] source, int offset, int length, int rawLength) {
+            byte[] raw = new byte[rawLength];
+            LZ4_FACTORY.fastDecompressor().decompress(source, offset, raw, 0, rawLength);
+            return raw;
+        }
+    },
+    ZSTD(2) {
+        @Override
+        byte[] compress(byte[] raw) {
+            return Zstd.compress(raw, ZSTD_LEVEL);
+        }
+
+        @Override
+        byte[] decompress(byte[] source, int offset, int length, int rawLength) {
+            byte[] raw = new byte[rawLength];
+            long written = Zstd.decompressByteArray(raw, 0, rawLength, source, offset, length);
+            if (Zstd.isError(written) || written != rawLength) {
+                throw new IllegalStateException("Corrupted zstd cache value");
+            }
+            return raw;
+        }
+    };
+
+    private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+    private static final int ZSTD_LEVEL = 3;
+
+    private final int id;
+
+    CacheCompression(int id) {
+        this.id = id;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    abstract byte[] compress(byte[] raw);
+
+    abstract byte[] decompress(byte[] source, int offset, int length, int rawLength);
+
+    public static CacheCompression fromId(int id) {
+        for (CacheCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache compression: " + id);
+    }
+}
@@ -0,0 +1,95 @@
+package com.fipe.processor.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fipe.processor.domain.dto.CacheEnvelope;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes cached values as {@code [header][uncompressed length, if compressed][payload]}. The header byte has
+ * its high bit set, which no JSON text starts with, so values written before the header existed are still
+ * read as plain JSON. Every replica decodes every combination; only the write side is configured, which lets
+ * a rolling upgrade ship readers first and switch formats afterwards.
+ */
+@Component
+public class CacheValueCodec {
+
+    private static final int HEADER_FLAG = 0x80;
+    private static final int COMPRESSION_SHIFT = 3;
+    private static final int FORMAT_MASK = 0x07;
+    private static final int COMPRESSION_MASK = 0x0F;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final CacheValueFormat format;
+    private final CacheCompression compression;
+    private final int compressionThreshold;
+
+    public CacheValueCodec(ObjectMapper objectMapper,
+                           @Value("${cache.codec.format:json}") CacheValueFormat format,
+                           @Value("${cache.codec.compression:none}") CacheCompression compression,
+                           @Value("${cache.codec.compression-threshold:1024}") int compressionThreshold) {
+        this.jsonMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.format = format;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public byte[] encode(Object value) throws IOException {
+        if (format == CacheValueFormat.JSON && compression == CacheCompression.NONE) {
+            return jsonMapper.writeValueAsBytes(value);
+        }
+        byte[] payload = mapper(format).writeValueAsBytes(value);
+        if (compression != CacheCompression.NONE && payload.length > compressionThreshold) {
+            byte[] compressed = compression.compress(payload);
+            if (compressed.length + Integer.BYTES < payload.length) {
+                return ByteBuffer.allocate(1 + Integer.BYTES + compressed.length)
+                        .put(header(format, compression))
+                        .putInt(payload.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+        return ByteBuffer.allocate(1 + payload.length)
+                .put(header(format, CacheCompression.NONE))
+                .put(payload)
+                .array();
+    }
+
+    public <T> T decode(byte[] bytes, JavaType valueType) throws IOException {
+        if (bytes.length == 0 || (bytes[0] & HEADER_FLAG) == 0) {
+            return jsonMapper.readValue(bytes, valueType);
+        }
+        CacheValueFormat storedFormat = CacheValueFormat.fromId(bytes[0] & FORMAT_MASK);
+        CacheCompression storedCompression = CacheCompression.fromId((bytes[0] >> COMPRESSION_SHIFT) & COMPRESSION_MASK);
+        ObjectMapper mapper = mapper(storedFormat);
+        if (storedCompression == CacheCompression.NONE) {
+            return mapper.readValue(bytes, 1, bytes.length - 1, valueType);
+        }
+        int rawLength = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+        int offset = 1 + Integer.BYTES;
+        byte[] raw = storedCompression.decompress(bytes, offset, bytes.length - offset, rawLength);
+        return mapper.readValue(raw, valueType);
+    }
+
+    public JavaType type(Class<?> valueType) {
+        return jsonMapper.constructType(valueType);
+    }
+
+    public JavaType envelopeType(Class<?> valueType) {
+        return jsonMapper.getTypeFactory().constructParametricType(CacheEnvelope.class, valueType);
+    }
+
+    private ObjectMapper mapper(CacheValueFormat valueFormat) {
+        return valueFormat == CacheValueFormat.SMILE ? smileMapper : jsonMapper;
+    }
+
+    private static byte header(CacheValueFormat valueFormat, CacheCompression valueCompression) {
+        return (byte) (HEADER_FLAG | valueCompression.id() << COMPRESSION_SHIFT | valueFormat.id());
+    }
+}
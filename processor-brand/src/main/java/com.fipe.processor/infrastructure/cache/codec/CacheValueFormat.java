@@ -0,0 +1,29 @@
+package com.fipe.processor.infrastructure.cache.codec;
+
+/**
+ * Serialization format of a cached value; its id occupies the low bits of the header byte.
+ */
+public enum CacheValueFormat {
+
+    JSON(1),
+    SMILE(2);
+
+    private final int id;
+
+    CacheValueFormat(int id) {
+        this.id = id;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public static CacheValueFormat fromId(int id) {
+        for (CacheValueFormat format : values()) {
+            if (format.id == id) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache value format: " + id);
+    }
+}
@@ -0,0 +1,69 @@
+package com.fipe.processor.infrastructure.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.health.AdditionalHealthEndpointPath;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+import org.springframework.boot.actuate.health.HealthEndpointGroupsPostProcessor;
+import org.springframework.boot.actuate.health.HttpCodeStatusMapper;
+import org.springframework.boot.actuate.health.StatusAggregator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps readiness-only indicators out of {@code /actuator/health}. The cache warm-up indicator reports
+ * OUT_OF_SERVICE until the cache is warm, which should hold back the readiness probe (it is listed in the
+ * readiness group) but not mark the whole instance as down.
+ */
+@Configuration
+public class HealthGroupsConfig {
+
+    static final Set<String> READINESS_ONLY = Set.of("cacheWarmer");
+
+    @Bean
+    public HealthEndpointGroupsPostProcessor readinessOnlyIndicators() {
+        return HealthGroupsConfig::withoutReadinessOnly;
+    }
+
+    static HealthEndpointGroups withoutReadinessOnly(HealthEndpointGroups groups) {
+        Map<String, HealthEndpointGroup> named = new LinkedHashMap<>();
+        groups.getNames().forEach(name -> named.put(name, groups.get(name)));
+        return HealthEndpointGroups.of(new PrimaryGroup(groups.getPrimary()), named);
+    }
+
+    private record PrimaryGroup(HealthEndpointGroup delegate) implements HealthEndpointGroup {
+
+        @Override
+        public boolean isMember(String name) {
+            return !READINESS_ONLY.contains(name) && delegate.isMember(name);
+        }
+
+        @Override
+        public boolean showComponents(SecurityContext securityContext) {
+            return delegate.showComponents(securityContext);
+        }
+
+        @Override
+        public boolean showDetails(SecurityContext securityContext) {
+            return delegate.showDetails(securityContext);
+        }
+
+        @Override
+        public StatusAggregator getStatusAggregator() {
+            return delegate.getStatusAggregator();
+        }
+
+        @Override
+        public HttpCodeStatusMapper getHttpCodeStatusMapper() {
+            return delegate.getHttpCodeStatusMapper();
+        }
+
+        @Override
+        public AdditionalHealthEndpointPath getAdditionalPath() {
+            return delegate.getAdditionalPath();
+        }
+    }
+}
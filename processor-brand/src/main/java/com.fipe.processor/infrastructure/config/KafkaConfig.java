@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fipe.processor.infrastructure.adapters.CustomJsonSerializerAdapter;
+import com.fipe.processor.infrastructure.adapters.CustomSmileSerializerAdapter;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -22,12 +23,15 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${kafka.producer.value-format:json}")
+    private String valueFormat;
+
     @Bean
     public KafkaSender<String, Object> kafkaSender() {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, CustomJsonSerializerAdapter.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer());
         props.put(ProducerConfig.ACKS_CONFIG, "all");
         props.put(ProducerConfig.RETRIES_CONFIG, 3);
         props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
@@ -37,6 +41,15 @@ public class KafkaConfig {
         return KafkaSender.create(senderOptions);
     }
 
+    private Class<?> valueSerializer() {
+        if ("smile".equalsIgnoreCase(valueFormat)) {
+            log.info("Publishing Kafka values as Smile");
+            return CustomSmileSerializerAdapter.class;
+        }
+        log.info("Publishing Kafka values as JSON");
+        return CustomJsonSerializerAdapter.class;
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
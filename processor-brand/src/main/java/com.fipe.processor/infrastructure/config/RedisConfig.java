@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -28,4 +29,17 @@ public class RedisConfig {
 
         return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
     }
+
+    @Bean(name = "reactiveRedisBytesTemplate")
+    public ReactiveRedisTemplate<String, byte[]> reactiveRedisBytesTemplate(
+            ReactiveRedisConnectionFactory connectionFactory) {
+
+        RedisSerializationContext<String, byte[]> serializationContext =
+                RedisSerializationContext.<String, byte[]>newSerializationContext(RedisSerializer.byteArray())
+                        .key(new StringRedisSerializer())
+                        .hashKey(new StringRedisSerializer())
+                        .build();
+
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
 }
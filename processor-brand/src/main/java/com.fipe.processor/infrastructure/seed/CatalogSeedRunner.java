@@ -0,0 +1,33 @@
+package com.fipe.processor.infrastructure.seed;
+
+import com.fipe.processor.application.ports.SeedCatalogPort;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "catalog.seed", name = "path")
+public class CatalogSeedRunner implements ApplicationRunner {
+
+    private final SeedCatalogPort seedCatalogUseCase;
+
+    @Value("${catalog.seed.path}")
+    private String snapshotPath;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path snapshot = Path.of(snapshotPath);
+        if (!Files.isReadable(snapshot)) {
+            throw new IllegalStateException("Catalog snapshot not readable: " + snapshot);
+        }
+        seedCatalogUseCase.execute(snapshot).block();
+    }
+}
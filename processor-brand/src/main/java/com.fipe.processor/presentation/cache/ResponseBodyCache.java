@@ -0,0 +1,279 @@
+package com.fipe.processor.presentation.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.application.cache.BodyEncoding;
+import com.fipe.processor.application.ports.CacheServicePort;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the final JSON body of list endpoints, optionally gzipped, and writes it back as a wrapped
+ * {@link DataBuffer}. A hit skips Jackson and the DTO mapping entirely. Each cached body carries a content-hash
+ * ETag, so clients that already hold it get a 304 without the body.
+ * <p>
+ * {@code maxTtl} is the hard TTL of the entry the body is rendered from; a body never outlives that entry's soft
+ * TTL, so a hit on the body never hides a refresh that entry is due for.
+ * <p>
+ * A read-only replica ({@code catalog.memory.snapshot.read-only}) serves its own snapshot file, which can lag
+ * behind the catalog the other replicas read, so it neither reads nor stores shared bodies: every body is rendered
+ * locally and still gets its ETag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseBodyCache {
+
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+    private final CacheServicePort cacheService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cache.response-body.gzip:true}")
+    private boolean gzipEnabled;
+
+    @Value("${catalog.memory.snapshot.read-only:false}")
+    private boolean readOnlyReplica;
+
+    private Clock clock = Clock.systemUTC();
+
+    public Mono<ResponseEntity<DataBuffer>> render(String cacheKey, String acceptEncoding, String ifNoneMatch,
+                                                   Duration maxTtl, Supplier<Flux<?>> body) {
+        return respond(cacheKey, acceptEncoding, ifNoneMatch,
+                (key, encoding) -> renderAndStore(key, encoding, maxTtl, body.get()));
+    }
+
+    /**
+     * Like {@link #render} for a body that is already serialized JSON, such as one built by the database.
+     * The bytes are cached and sent as they are; an empty source completes without a response.
+     */
+    public Mono<ResponseEntity<DataBuffer>> renderJson(String cacheKey, String acceptEncoding, String ifNoneMatch,
+                                                       Duration maxTtl, Supplier<Mono<byte[]>> json) {
+        return respond(cacheKey, acceptEncoding, ifNoneMatch,
+                (key, encoding) -> Mono.zip(freshFor(key), json.get())
+                        .flatMap(rendered -> store(key, encoding, encode(rendered.getT2(), encoding), maxTtl,
+                                rendered.getT1())));
+    }
+
+    /**
+     * A request whose {@code If-None-Match} holds the stored ETag is answered with 304 from that key alone, without
+     * reading the body or rendering it. Otherwise the body is served with its ETag, which is computed from the bytes
+     * only when they were cached before ETags were stored.
+     */
+    private Mono<ResponseEntity<DataBuffer>> respond(String cacheKey, String acceptEncoding, String ifNoneMatch,
+                                                     BiFunction<String, BodyEncoding, Mono<Rendered>> renderer) {
+        BodyEncoding encoding = gzipEnabled && acceptsGzip(acceptEncoding) ? BodyEncoding.GZIP : BodyEncoding.IDENTITY;
+        Mono<String> storedEtag = read(encoding.etagKeyFor(cacheKey))
+                .map(bytes -> new String(bytes, StandardCharsets.US_ASCII))
+                .cache();
+
+        Mono<ResponseEntity<DataBuffer>> full = Mono.defer(() -> Mono.zip(read(encoding.keyFor(cacheKey)),
+                        storedEtag.defaultIfEmpty("")))
+                .map(cached -> {
+                    byte[] bytes = cached.getT1();
+                    return new Rendered(bytes, cached.getT2().isEmpty() ? etagOf(bytes) : cached.getT2());
+                })
+                .switchIfEmpty(Mono.defer(() -> renderer.apply(cacheKey, encoding)))
+                .map(rendered -> matches(ifNoneMatch, rendered.etag())
+                        ? notModified(rendered.etag())
+                        : toResponse(rendered, encoding));
+        if (ifNoneMatch == null) {
+            return full;
+        }
+        return storedEtag
+                .filter(etag -> matches(ifNoneMatch, etag))
+                .map(ResponseBodyCache::notModified)
+                .switchIfEmpty(full);
+    }
+
+    private Mono<byte[]> read(String key) {
+        if (readOnlyReplica) {
+            return Mono.empty();
+        }
+        return cacheService.getBytes(key)
+                .onErrorResume(error -> {
+                    log.warn("Error reading rendered body {}, rendering it again: {}", key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Rendered> renderAndStore(String cacheKey, BodyEncoding encoding, Duration maxTtl, Flux<?> body) {
+        return Mono.zip(freshFor(cacheKey), body.collectList())
+                .flatMap(rendered -> {
+                    List<?> items = rendered.getT2();
+                    if (items.isEmpty()) {
+                        byte[] bytes = encode(EMPTY_ARRAY, encoding);
+                        return Mono.just(new Rendered(bytes, etagOf(bytes)));
+                    }
+                    return Mono.fromCallable(() -> encode(objectMapper.writeValueAsBytes(items), encoding))
+                            .flatMap(bytes -> store(cacheKey, encoding, bytes, maxTtl, rendered.getT1()));
+                });
+    }
+
+    /**
+     * Stores the body before its ETag, so a stored ETag always has a body to go with it. {@code freshBefore} is how
+     * long the source entry was still fresh when rendering started; the body never outlives it.
+     */
+    private Mono<Rendered> store(String cacheKey, BodyEncoding encoding, byte[] bytes, Duration maxTtl,
+                                 Optional<Duration> freshBefore) {
+        String key = encoding.keyFor(cacheKey);
+        String etag = etagOf(bytes);
+        if (readOnlyReplica) {
+            return Mono.just(new Rendered(bytes, etag));
+        }
+        byte[] etagBytes = etag.getBytes(StandardCharsets.US_ASCII);
+        return bodyTtl(cacheKey, maxTtl)
+                .map(ttl -> freshBefore.filter(before -> before.compareTo(ttl) < 0).orElse(ttl))
+                .filter(Duration::isPositive)
+                .flatMap(ttl -> cacheService.putBytes(key, bytes, ttl)
+                        .then(cacheService.putBytes(encoding.etagKeyFor(cacheKey), etagBytes, ttl)))
+                .onErrorResume(error -> {
+                    log.warn("Error caching rendered body {}: {}", key, error.getMessage());
+                    return Mono.empty();
+                })
+                .thenReturn(new Rendered(bytes, etag));
+    }
+
+    /**
+     * How long the source entry at {@code cacheKey} stays fresh, read alongside the render: a refresh that lands
+     * while rendering drops the bodies, and the body rendered from the previous value must not be stored again for
+     * the new entry's lifetime. Empty when there is no entry yet, or on a read-only replica, which stores nothing.
+     */
+    private Mono<Optional<Duration>> freshFor(String cacheKey) {
+        if (readOnlyReplica) {
+            return Mono.just(Optional.empty());
+        }
+        return cacheService.softExpiresAt(cacheKey)
+                .map(softExpiresAt -> Optional.of(Duration.ofMillis(softExpiresAt - clock.millis())))
+                .onErrorResume(error -> Mono.empty())
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * The time the source entry at {@code cacheKey} stays fresh, capped at {@code maxTtl}, so once it goes stale
+     * the next request misses the body and reads the entry, which serves it stale and refreshes it in the
+     * background. A body rendered from a stale entry is not stored. Sources without a soft expiry (the vehicle
+     * hash) cap the body at the time they have left; bodies rendered without a source entry in Redis (from the
+     * in-memory catalog, or by the database) get {@code maxTtl}.
+     */
+    private Mono<Duration> bodyTtl(String cacheKey, Duration maxTtl) {
+        return cacheService.softExpiresAt(cacheKey)
+                .map(softExpiresAt -> Duration.ofMillis(softExpiresAt - clock.millis()))
+                .switchIfEmpty(Mono.defer(() -> cacheService.remainingTtl(cacheKey)
+                        .filter(Duration::isPositive)
+                        .defaultIfEmpty(maxTtl)))
+                .onErrorReturn(maxTtl)
+                .map(ttl -> ttl.compareTo(maxTtl) < 0 ? ttl : maxTtl);
+    }
+
+    private static ResponseEntity<DataBuffer> toResponse(Rendered rendered, BodyEncoding encoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(rendered.bytes().length)
+                .eTag(rendered.etag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding == BodyEncoding.GZIP) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(DefaultDataBufferFactory.sharedInstance.wrap(rendered.bytes()));
+    }
+
+    private static ResponseEntity<DataBuffer> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    /**
+     * A strong validator: the first 128 bits of the SHA-256 of the bytes as sent, quoted.
+     */
+    static String etagOf(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Weak comparison, as {@code If-None-Match} requires: a {@code W/} prefix on either side is ignored.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static byte[] encode(byte[] json, BodyEncoding encoding) {
+        return encoding == BodyEncoding.GZIP ? gzip(json) : json;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            List<String> parts = List.of(coding.split(";"));
+            String name = parts.get(0).trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = parts.stream().skip(1)
+                    .map(String::trim)
+                    .anyMatch(param -> param.matches("q=0(\\.0{0,3})?"));
+            return !refused;
+        }
+        return false;
+    }
+
+    private record Rendered(byte[] bytes, String etag) {
+    }
+}
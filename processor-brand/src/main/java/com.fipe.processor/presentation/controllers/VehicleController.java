@@ -1,23 +1,37 @@
 package com.fipe.processor.presentation.controllers;
 
+import com.fipe.processor.application.ports.BrandPopularityPort;
 import com.fipe.processor.application.ports.GetBrandsServicePort;
+import com.fipe.processor.application.ports.GetVehicleChangesServicePort;
+import com.fipe.processor.application.ports.GetVehiclesBatchServicePort;
 import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
 import com.fipe.processor.application.ports.LoadFipeDataPort;
 import com.fipe.processor.application.ports.UpdateVehicleServicePort;
 import com.fipe.processor.presentation.dto.BrandResponse;
 import com.fipe.processor.presentation.dto.UpdateVehicleRequest;
+import com.fipe.processor.presentation.dto.VehicleBatchRequest;
+import com.fipe.processor.presentation.dto.VehicleBatchResponse;
+import com.fipe.processor.presentation.dto.VehicleChangePageResponse;
+import com.fipe.processor.presentation.dto.VehiclePageResponse;
 import com.fipe.processor.presentation.dto.VehicleResponse;
+import com.fipe.processor.presentation.cache.ResponseBodyCache;
 import com.fipe.processor.presentation.mappers.EntityMapper;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -34,14 +48,15 @@ public class VehicleController {
     private final LoadFipeDataPort loadFipeDataUseCase;
     private final GetBrandsServicePort getBrandsUseCase;
     private final GetVehiclesByBrandServicePort getVehiclesByBrandUseCase;
+    private final GetVehiclesBatchServicePort getVehiclesBatchUseCase;
+    private final GetVehicleChangesServicePort getVehicleChangesUseCase;
     private final UpdateVehicleServicePort updateVehicleUseCase;
     private final EntityMapper entityMapper;
+    private final ResponseBodyCache responseBodyCache;
+    private final BrandPopularityPort brandPopularity;
 
-    @Value("${cache.ttl.brands}")
-    private long brandsCacheTtl;
-
-    @Value("${cache.ttl.vehicles}")
-    private long vehiclesCacheTtl;
+    @Value("${vehicles.database-json.enabled:false}")
+    private boolean databaseJson;
 
     @PostMapping("/vehicles/load")
     @ResponseStatus(HttpStatus.ACCEPTED)
@@ -55,33 +70,102 @@ public class VehicleController {
                 .doOnError(error -> log.error("Error loading data: {}", error.getMessage()));
     }
 
-    @GetMapping("/brands")
-    @ResponseStatus(HttpStatus.OK)
-    public Flux<BrandResponse> getBrands() {
+    @GetMapping(value = "/brands", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<DataBuffer>> getBrands(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Retrieving all brands");
-        
-        return getBrandsUseCase.execute()
-                .map(entityMapper::toBrandResponse)
-                .collectList()
-                .flatMapMany(Flux::fromIterable)
-                .doOnComplete(() -> log.info("Brands retrieval completed"))
+
+        return getBrandsUseCase.cacheKey()
+                .flatMap(cacheKey -> responseBodyCache.render(cacheKey, acceptEncoding, ifNoneMatch,
+                        getBrandsUseCase.cachePolicy().hardTtl(),
+                        () -> getBrandsUseCase.execute().map(entityMapper::toBrandResponse)))
+                .doOnSuccess(response -> log.info("Brands retrieval completed"))
                 .doOnError(error -> log.error("Error retrieving brands: {}", error.getMessage()));
     }
 
-    @GetMapping("/vehicles")
-    @ResponseStatus(HttpStatus.OK)
-    public Flux<VehicleResponse> getVehiclesByBrand(@RequestParam String brandName) {
+    @GetMapping(value = "/brands", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BrandResponse> streamBrands() {
+        log.info("Streaming all brands");
+
+        return getBrandsUseCase.stream()
+                .map(entityMapper::toBrandResponse)
+                .doOnComplete(() -> log.info("Brands stream completed"))
+                .doOnError(error -> log.error("Error streaming brands: {}", error.getMessage()));
+    }
+
+    @GetMapping(value = "/vehicles", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<DataBuffer>> getVehiclesByBrand(
+            @RequestParam String brandName,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Retrieving vehicles for brand: {}", brandName);
-        
-        return getVehiclesByBrandUseCase.execute(brandName)
-                .map(entityMapper::toVehicleResponse)
-                .collectList()
-                .flatMapMany(Flux::fromIterable)
-                .doOnComplete(() -> log.info("Vehicles retrieval completed for brand: {}", brandName))
+
+        Duration ttl = getVehiclesByBrandUseCase.cachePolicy().hardTtl();
+        return getVehiclesByBrandUseCase.cacheKey(brandName)
+                .flatMap(cacheKey -> databaseJson
+                        ? responseBodyCache.renderJson(cacheKey, acceptEncoding, ifNoneMatch, ttl,
+                                () -> getVehiclesByBrandUseCase.renderJson(brandName))
+                        : responseBodyCache.render(cacheKey, acceptEncoding, ifNoneMatch, ttl,
+                                () -> getVehiclesByBrandUseCase.execute(brandName).map(entityMapper::toVehicleResponse)))
+                .doOnSuccess(response -> {
+                    brandPopularity.record(brandName);
+                    log.info("Vehicles retrieval completed for brand: {}", brandName);
+                })
                 .doOnError(error -> log.error("Error retrieving vehicles for brand {}: {}",
                         brandName, error.getMessage()));
     }
 
+    @GetMapping(value = "/vehicles", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<VehicleResponse> streamVehiclesByBrand(@RequestParam String brandName) {
+        log.info("Streaming vehicles for brand: {}", brandName);
+
+        return getVehiclesByBrandUseCase.stream(brandName)
+                .map(entityMapper::toVehicleResponse)
+                .doOnComplete(() -> {
+                    brandPopularity.record(brandName);
+                    log.info("Vehicles stream completed for brand: {}", brandName);
+                })
+                .doOnError(error -> log.error("Error streaming vehicles for brand {}: {}",
+                        brandName, error.getMessage()));
+    }
+
+    @GetMapping("/vehicles/page")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<VehiclePageResponse> getVehiclePage(
+            @RequestParam String brandName,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("Retrieving vehicle page for brand: {}", brandName);
+
+        return getVehiclesByBrandUseCase.page(brandName, cursor, limit)
+                .map(entityMapper::toVehiclePageResponse)
+                .doOnError(error -> log.error("Error retrieving vehicle page for brand {}: {}",
+                        brandName, error.getMessage()));
+    }
+
+    @GetMapping("/vehicles/changes")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<VehicleChangePageResponse> getVehicleChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Retrieving vehicle changes since: {}", since);
+
+        return getVehicleChangesUseCase.changesSince(since, limit)
+                .map(entityMapper::toVehicleChangePageResponse)
+                .doOnError(error -> log.error("Error retrieving vehicle changes since {}: {}", since, error.getMessage()));
+    }
+
+    @PostMapping("/vehicles/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public Flux<VehicleBatchResponse> getVehiclesBatch(@Valid @RequestBody VehicleBatchRequest request) {
+        log.info("Retrieving vehicles batch");
+
+        return getVehiclesBatchUseCase.execute(request.brandNames(), request.ids(), request.codes())
+                .map(entityMapper::toVehicleBatchResponse)
+                .doOnError(error -> log.error("Error retrieving vehicles batch: {}", error.getMessage()));
+    }
+
     @PutMapping("/vehicles/{id}")
     @ResponseStatus(HttpStatus.OK)
     public Mono<VehicleResponse> updateVehicle(
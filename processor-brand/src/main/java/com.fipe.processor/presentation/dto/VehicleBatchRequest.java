@@ -0,0 +1,13 @@
+package com.fipe.processor.presentation.dto;
+
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record VehicleBatchRequest(
+        @Size(max = 100, message = "At most 100 brand names per batch")
+        List<String> brandNames,
+        @Size(max = 500, message = "At most 500 vehicle ids per batch")
+        List<Long> ids,
+        @Size(max = 500, message = "At most 500 vehicle codes per batch")
+        List<String> codes
+) {}
@@ -0,0 +1,8 @@
+package com.fipe.processor.presentation.dto;
+
+import java.util.List;
+
+public record VehicleBatchResponse(
+        String lookup,
+        List<VehicleResponse> vehicles
+) {}
@@ -0,0 +1,9 @@
+package com.fipe.processor.presentation.dto;
+
+import java.util.List;
+
+public record VehicleChangePageResponse(
+        List<VehicleChangeResponse> items,
+        String nextCursor,
+        boolean hasMore
+) {}
@@ -0,0 +1,7 @@
+package com.fipe.processor.presentation.dto;
+
+public record VehicleChangeResponse(
+        Long version,
+        boolean deleted,
+        VehicleResponse vehicle
+) {}
@@ -1,8 +1,16 @@
 package com.fipe.processor.presentation.mappers;
 
+import com.fipe.processor.domain.dto.VehicleBatchResult;
+import com.fipe.processor.domain.dto.VehicleChange;
+import com.fipe.processor.domain.dto.VehicleChangePage;
+import com.fipe.processor.domain.dto.VehiclePage;
 import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.entities.Vehicle;
 import com.fipe.processor.presentation.dto.BrandResponse;
+import com.fipe.processor.presentation.dto.VehicleBatchResponse;
+import com.fipe.processor.presentation.dto.VehicleChangePageResponse;
+import com.fipe.processor.presentation.dto.VehicleChangeResponse;
+import com.fipe.processor.presentation.dto.VehiclePageResponse;
 import com.fipe.processor.presentation.dto.VehicleResponse;
 import org.springframework.stereotype.Component;
 
@@ -22,4 +30,34 @@ public class EntityMapper {
                 vehicle.getObservations()
         );
     }
+
+    public VehicleBatchResponse toVehicleBatchResponse(VehicleBatchResult result) {
+        return new VehicleBatchResponse(
+                result.lookup(),
+                result.vehicles().stream().map(this::toVehicleResponse).toList()
+        );
+    }
+
+    public VehiclePageResponse toVehiclePageResponse(VehiclePage page) {
+        return new VehiclePageResponse(
+                page.vehicles().stream().map(this::toVehicleResponse).toList(),
+                page.nextCursor()
+        );
+    }
+
+    public VehicleChangeResponse toVehicleChangeResponse(VehicleChange change) {
+        return new VehicleChangeResponse(
+                change.version(),
+                change.deleted(),
+                toVehicleResponse(change.vehicle())
+        );
+    }
+
+    public VehicleChangePageResponse toVehicleChangePageResponse(VehicleChangePage page) {
+        return new VehicleChangePageResponse(
+                page.changes().stream().map(this::toVehicleChangeResponse).toList(),
+                page.nextCursor(),
+                page.hasMore()
+        );
+    }
 }
@@ -0,0 +1,53 @@
+package com.fipe.processor.application.cache;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldContainEveryInsertedName() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.put("Brand " + i));
+
+        assertThat(IntStream.range(0, 1_000).allMatch(i -> filter.mightContain("Brand " + i))).isTrue();
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearConfiguredRate() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.put("Brand " + i));
+
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("Unknown " + i)).count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void shouldRoundTripThroughBytes() {
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+        filter.put("Fiat");
+        filter.put("VW - VolksWagen");
+
+        BloomFilter copy = BloomFilter.fromBytes(filter.toBytes());
+
+        assertThat(copy.mightContain("Fiat")).isTrue();
+        assertThat(copy.mightContain("VW - VolksWagen")).isTrue();
+        assertThat(copy.toBytes()).isEqualTo(filter.toBytes());
+    }
+
+    @Test
+    void shouldRejectEverythingWhenEmpty() {
+        BloomFilter filter = BloomFilter.create(0, 0.01);
+
+        assertThat(filter.mightContain("Fiat")).isFalse();
+    }
+
+    @Test
+    void shouldRejectInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1.0));
+    }
+}
@@ -0,0 +1,501 @@
+package com.fipe.processor.application.cache;
+
+import com.fipe.processor.application.concurrency.SingleFlight;
+import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.ports.DistributedLockPort;
+import com.fipe.processor.domain.dto.CacheEnvelope;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshAheadCacheTest {
+
+    private static final String KEY = "vehicles:g2:brand:honda";
+    private static final long NOW = 1_700_000_000_000L;
+    private static final CachePolicy POLICY = new CachePolicy(Duration.ofMinutes(30), Duration.ofHours(2));
+
+    @Mock
+    private CacheServicePort cacheService;
+
+    @Mock
+    private DistributedLockPort lockPort;
+
+    private RefreshAheadCache cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<Mono<String>> loader = () -> Mono.fromCallable(() -> "loaded-" + loads.incrementAndGet());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new RefreshAheadCache(cacheService, new SingleFlight(), lockPort);
+        ReflectionTestUtils.setField(cache, "beta", 1.0);
+        ReflectionTestUtils.setField(cache, "jitter", 0.0);
+        ReflectionTestUtils.setField(cache, "negativeTtl", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(cache, "clock", Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+        ReflectionTestUtils.setField(cache, "random", (DoubleSupplier) () -> 1.0);
+        when(cacheService.put(anyString(), any(), any())).thenReturn(Mono.empty());
+        when(cacheService.delete(anyString())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void get_ShouldReturnFreshValueWithoutLoading() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.just(envelope("cached", NOW + 60_000)));
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("cached")
+                .verifyComplete();
+
+        assertThat(loads).hasValue(0);
+        verify(cacheService, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void get_ShouldServeStaleValueAndRefreshInBackground() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.just(envelope("stale", NOW - 1)));
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("stale")
+                .verifyComplete();
+
+        CacheEnvelope<String> stored = capturePut(Duration.ofHours(2));
+        assertThat(stored.value()).isEqualTo("loaded-1");
+        assertThat(stored.softExpiresAt()).isEqualTo(NOW + Duration.ofMinutes(30).toMillis());
+    }
+
+    @Test
+    void get_ShouldRefreshEarlyWhenXFetchFires() {
+        ReflectionTestUtils.setField(cache, "random", (DoubleSupplier) () -> 1e-9);
+        when(cacheService.getEnvelope(KEY, String.class))
+                .thenReturn(Mono.just(new CacheEnvelope<>("cached", NOW + 1_000, 500)));
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("cached")
+                .verifyComplete();
+
+        assertThat(capturePut(Duration.ofHours(2)).value()).isEqualTo("loaded-1");
+    }
+
+    @Test
+    void get_ShouldNotRefreshEarlyWhenFarFromSoftExpiry() {
+        when(cacheService.getEnvelope(KEY, String.class))
+                .thenReturn(Mono.just(new CacheEnvelope<>("cached", NOW + 60_000, 500)));
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("cached")
+                .verifyComplete();
+
+        verify(cacheService, after(100).never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void get_ShouldLoadAndStoreEnvelopeOnMiss() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("loaded-1")
+                .verifyComplete();
+
+        CacheEnvelope<String> stored = capturePut(Duration.ofHours(2));
+        assertThat(stored.value()).isEqualTo("loaded-1");
+        assertThat(stored.softExpiresAt()).isEqualTo(NOW + Duration.ofMinutes(30).toMillis());
+    }
+
+    @Test
+    void get_ShouldDropRenderedBodiesAfterStoringLoadedValue() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("loaded-1")
+                .verifyComplete();
+
+        InOrder order = inOrder(cacheService);
+        order.verify(cacheService).put(eq(KEY), any(), any());
+        BodyEncoding.renderedKeys(KEY).forEach(key -> order.verify(cacheService).delete(key));
+    }
+
+    @Test
+    void get_ShouldJitterTtlsWithinConfiguredBounds() {
+        ReflectionTestUtils.setField(cache, "jitter", 0.1);
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("loaded-1")
+                .verifyComplete();
+
+        ArgumentCaptor<CacheEnvelope<String>> envelope = envelopeCaptor();
+        ArgumentCaptor<Duration> ttl = ArgumentCaptor.forClass(Duration.class);
+        verify(cacheService).put(eq(KEY), envelope.capture(), ttl.capture());
+        assertThat(ttl.getValue()).isBetween(Duration.ofMinutes(108), Duration.ofMinutes(132));
+        assertThat(envelope.getValue().softExpiresAt() - NOW)
+                .isBetween(Duration.ofMinutes(27).toMillis(), Duration.ofMinutes(33).toMillis());
+    }
+
+    @Test
+    void get_ShouldFallBackToLoaderWhenCacheReadFails() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.error(new RuntimeException("redis down")));
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("loaded-1")
+                .verifyComplete();
+    }
+
+    @Test
+    void get_ShouldReturnLoadedValueWhenCacheWriteFails() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+        when(cacheService.put(anyString(), any(), any())).thenReturn(Mono.error(new RuntimeException("redis down")));
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("loaded-1")
+                .verifyComplete();
+    }
+
+    @Test
+    void get_ShouldCacheEmptyLoaderResultForNegativeTtl() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, Mono::<String>empty))
+                .verifyComplete();
+
+        CacheEnvelope<String> stored = capturePut(Duration.ofSeconds(5));
+        assertThat(stored.value()).isNull();
+        assertThat(stored.softExpiresAt()).isEqualTo(NOW + 5_000);
+    }
+
+    @Test
+    void get_ShouldNotCacheEmptyLoaderResultWhenNegativeTtlIsZero() {
+        ReflectionTestUtils.setField(cache, "negativeTtl", Duration.ZERO);
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, Mono::<String>empty))
+                .verifyComplete();
+
+        verify(cacheService, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void get_ShouldServeNegativeEntryWithoutLoading() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.just(envelope(null, NOW + 5_000)));
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void stream_ShouldServeNegativeEntryWithoutQuerying() {
+        when(cacheService.getEnvelope(KEY, String[].class)).thenReturn(Mono.just(new CacheEnvelope<>(null, NOW + 5_000, 10)));
+
+        StepVerifier.create(cache.stream(KEY, String[].class, POLICY, arrayLoader(), () -> Flux.error(new AssertionError("should not query"))))
+                .verifyComplete();
+
+        verify(cacheService, after(100).never()).put(anyString(), any(), any());
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void stream_ShouldStreamCachedArrayWithoutQuerying() {
+        when(cacheService.getEnvelope(KEY, String[].class))
+                .thenReturn(Mono.just(new CacheEnvelope<>(new String[]{"a", "b"}, NOW + 60_000, 10)));
+
+        StepVerifier.create(cache.stream(KEY, String[].class, POLICY, arrayLoader(), () -> Flux.error(new AssertionError("should not query"))))
+                .expectNext("a", "b")
+                .verifyComplete();
+
+        verify(cacheService, after(100).never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void stream_ShouldCacheWhatTheSourceEmittedOnMiss() {
+        when(cacheService.getEnvelope(KEY, String[].class)).thenReturn(Mono.empty());
+        AtomicInteger queries = new AtomicInteger();
+
+        StepVerifier.create(cache.stream(KEY, String[].class, POLICY, arrayLoader(),
+                        () -> Flux.just("a", "b").doOnSubscribe(subscription -> queries.incrementAndGet())))
+                .expectNext("a", "b")
+                .verifyComplete();
+
+        ArgumentCaptor<CacheEnvelope<String[]>> stored = arrayEnvelopeCaptor();
+        verify(cacheService, timeout(1000)).put(eq(KEY), stored.capture(), eq(Duration.ofHours(2)));
+        assertThat(stored.getValue().value()).containsExactly("a", "b");
+        assertThat(queries).hasValue(1);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void stream_ShouldCacheNotFoundWhenSourceIsEmpty() {
+        when(cacheService.getEnvelope(KEY, String[].class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.stream(KEY, String[].class, POLICY, arrayLoader(), Flux::empty))
+                .verifyComplete();
+
+        ArgumentCaptor<CacheEnvelope<String[]>> stored = arrayEnvelopeCaptor();
+        verify(cacheService, timeout(1000)).put(eq(KEY), stored.capture(), eq(Duration.ofSeconds(5)));
+        assertThat(stored.getValue().value()).isNull();
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void stream_ShouldNotCacheCancelledStream() {
+        when(cacheService.getEnvelope(KEY, String[].class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.stream(KEY, String[].class, POLICY, arrayLoader(), () -> Flux.just("a", "b")), 1)
+                .expectNext("a")
+                .thenCancel()
+                .verify();
+
+        verify(cacheService, after(100).never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void stream_ShouldShareOneQueryBetweenConcurrentMisses() {
+        when(cacheService.getEnvelope(KEY, String[].class)).thenReturn(Mono.empty());
+        AtomicInteger queries = new AtomicInteger();
+        Sinks.Many<String> rows = Sinks.many().unicast().onBackpressureBuffer();
+        Supplier<Flux<String>> source = () -> {
+            queries.incrementAndGet();
+            return rows.asFlux();
+        };
+        List<String> second = new ArrayList<>();
+
+        StepVerifier.create(cache.stream(KEY, String[].class, POLICY, arrayLoader(), source))
+                .then(() -> cache.stream(KEY, String[].class, POLICY, arrayLoader(), source).subscribe(second::add))
+                .then(() -> rows.tryEmitNext("a"))
+                .then(rows::tryEmitComplete)
+                .expectNext("a")
+                .verifyComplete();
+
+        assertThat(second).containsExactly("a");
+        assertThat(queries).hasValue(1);
+        verify(cacheService, timeout(1000).times(1)).put(eq(KEY), any(), eq(Duration.ofHours(2)));
+    }
+
+    @Test
+    void stream_ShouldStreamUnderDistributedLockAndReleaseIt() {
+        enableDistributedSingleFlight();
+        when(cacheService.getEnvelope(KEY, String[].class)).thenReturn(Mono.empty());
+        when(lockPort.tryLock("lock:" + KEY, Duration.ofSeconds(5))).thenReturn(Mono.just("token"));
+        when(lockPort.unlock("lock:" + KEY, "token")).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.stream(KEY, String[].class, POLICY, arrayLoader(), () -> Flux.just("a", "b")))
+                .expectNext("a", "b")
+                .verifyComplete();
+
+        verify(cacheService, timeout(1000)).put(eq(KEY), any(), any());
+        verify(lockPort).unlock("lock:" + KEY, "token");
+    }
+
+    @Test
+    void stream_ShouldStreamPeerResultWhenLockIsHeldElsewhere() {
+        enableDistributedSingleFlight();
+        when(cacheService.getEnvelope(KEY, String[].class))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(new CacheEnvelope<>(new String[]{"from-peer"}, NOW + 60_000, 10)));
+        when(lockPort.tryLock("lock:" + KEY, Duration.ofSeconds(5))).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.stream(KEY, String[].class, POLICY, arrayLoader(),
+                        () -> Flux.error(new AssertionError("should not query"))))
+                .expectNext("from-peer")
+                .verifyComplete();
+
+        verify(cacheService, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void patch_ShouldRewriteValueKeepingSoftExpiry() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.just(envelope("cached", NOW + 60_000)));
+
+        StepVerifier.create(cache.patch(KEY, String.class, POLICY, value -> value + "-patched"))
+                .verifyComplete();
+
+        CacheEnvelope<String> stored = capturePut(Duration.ofHours(2));
+        assertThat(stored.value()).isEqualTo("cached-patched");
+        assertThat(stored.softExpiresAt()).isEqualTo(NOW + 60_000);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void patch_ShouldDoNothingOnMiss() {
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.patch(KEY, String.class, POLICY, value -> value + "-patched"))
+                .verifyComplete();
+
+        verify(cacheService, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void get_ShouldLoadUnderDistributedLockAndReleaseIt() {
+        enableDistributedSingleFlight();
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+        when(lockPort.tryLock("lock:" + KEY, Duration.ofSeconds(5))).thenReturn(Mono.just("token"));
+        when(lockPort.unlock("lock:" + KEY, "token")).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("loaded-1")
+                .verifyComplete();
+
+        verify(cacheService).put(eq(KEY), any(), any());
+        verify(lockPort).unlock("lock:" + KEY, "token");
+    }
+
+    @Test
+    void get_ShouldWaitForPeerWhenLockIsHeldElsewhere() {
+        enableDistributedSingleFlight();
+        when(cacheService.getEnvelope(KEY, String.class))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(envelope("from-peer", NOW + 60_000)));
+        when(lockPort.tryLock("lock:" + KEY, Duration.ofSeconds(5))).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("from-peer")
+                .verifyComplete();
+
+        assertThat(loads).hasValue(0);
+        verify(lockPort, never()).unlock(anyString(), anyString());
+    }
+
+    @Test
+    void get_ShouldStopWaitingWhenPeerFindsNothing() {
+        enableDistributedSingleFlight();
+        when(cacheService.getEnvelope(KEY, String.class))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(envelope(null, NOW + 5_000)));
+        when(lockPort.tryLock("lock:" + KEY, Duration.ofSeconds(5))).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectComplete()
+                .verify(Duration.ofMillis(500));
+
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void get_ShouldLoadLocallyWhenPeerDoesNotFillCacheInTime() {
+        enableDistributedSingleFlight();
+        ReflectionTestUtils.setField(cache, "lockWait", Duration.ofMillis(30));
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+        when(lockPort.tryLock("lock:" + KEY, Duration.ofSeconds(5))).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("loaded-1")
+                .verifyComplete();
+    }
+
+    @Test
+    void get_ShouldLoadLocallyWhenLockBackendFails() {
+        enableDistributedSingleFlight();
+        when(cacheService.getEnvelope(KEY, String.class)).thenReturn(Mono.empty());
+        when(lockPort.tryLock(anyString(), any())).thenReturn(Mono.error(new RuntimeException("redis down")));
+
+        StepVerifier.create(cache.get(KEY, String.class, POLICY, loader))
+                .expectNext("loaded-1")
+                .verifyComplete();
+
+        verify(lockPort, never()).unlock(anyString(), anyString());
+    }
+
+    @Test
+    void getAll_ShouldLoadOnlyMissingKeysInOneCall() {
+        String other = "vehicles:g2:brand:fiat";
+        when(cacheService.getEnvelopes(List.of(KEY, other), String.class))
+                .thenReturn(Mono.just(Map.of(KEY, envelope("cached", NOW + 60_000))));
+        List<List<String>> requested = new ArrayList<>();
+
+        StepVerifier.create(cache.getAll(List.of(KEY, other), String.class, POLICY, keys -> {
+                    requested.add(keys);
+                    return Mono.just(Map.of(other, "loaded"));
+                }))
+                .assertNext(values -> assertThat(values).containsExactly(Map.entry(KEY, "cached"), Map.entry(other, "loaded")))
+                .verifyComplete();
+
+        assertThat(requested).containsExactly(List.of(other));
+        verify(cacheService).put(eq(other), any(), eq(POLICY.hardTtl()));
+        verify(cacheService, never()).put(eq(KEY), any(), any());
+    }
+
+    @Test
+    void getAll_ShouldServeStaleValuesAndRefreshThemInBackground() {
+        when(cacheService.getEnvelopes(List.of(KEY), String.class))
+                .thenReturn(Mono.just(Map.of(KEY, envelope("stale", NOW - 1))));
+
+        StepVerifier.create(cache.getAll(List.of(KEY), String.class, POLICY, keys -> Mono.just(Map.of(KEY, "fresh"))))
+                .assertNext(values -> assertThat(values).containsEntry(KEY, "stale"))
+                .verifyComplete();
+
+        assertThat(capturePut(POLICY.hardTtl()).value()).isEqualTo("fresh");
+    }
+
+    @Test
+    void getAll_ShouldFallBackToLoaderWhenCacheReadFails() {
+        when(cacheService.getEnvelopes(List.of(KEY), String.class))
+                .thenReturn(Mono.error(new RuntimeException("Redis down")));
+
+        StepVerifier.create(cache.getAll(List.of(KEY), String.class, POLICY, keys -> Mono.just(Map.of(KEY, "loaded"))))
+                .assertNext(values -> assertThat(values).containsEntry(KEY, "loaded"))
+                .verifyComplete();
+    }
+
+    private void enableDistributedSingleFlight() {
+        ReflectionTestUtils.setField(cache, "distributedSingleFlight", true);
+        ReflectionTestUtils.setField(cache, "lockTtl", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(cache, "lockWait", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(cache, "lockPollInterval", Duration.ofMillis(5));
+    }
+
+    private static CacheEnvelope<String> envelope(String value, long softExpiresAt) {
+        return new CacheEnvelope<>(value, softExpiresAt, 10);
+    }
+
+    private CacheEnvelope<String> capturePut(Duration hardTtl) {
+        ArgumentCaptor<CacheEnvelope<String>> envelope = envelopeCaptor();
+        verify(cacheService, timeout(1000)).put(eq(KEY), envelope.capture(), eq(hardTtl));
+        return envelope.getValue();
+    }
+
+    private Supplier<Mono<String[]>> arrayLoader() {
+        return () -> Mono.fromCallable(() -> new String[]{"loaded-" + loads.incrementAndGet()});
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<CacheEnvelope<String[]>> arrayEnvelopeCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(CacheEnvelope.class);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<CacheEnvelope<String>> envelopeCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(CacheEnvelope.class);
+    }
+}
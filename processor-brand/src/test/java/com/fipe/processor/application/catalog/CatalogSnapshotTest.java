@@ -0,0 +1,146 @@
+package com.fipe.processor.application.catalog;
+
+import com.fipe.processor.domain.dto.VehicleCursor;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSnapshotTest {
+
+    private final List<Brand> brands = List.of(
+            new Brand(1L, "13", "Citroën", null, 1L),
+            new Brand(2L, "21", "Fiat", null, 1L),
+            new Brand(3L, "99", "Empty", null, 1L));
+
+    private final Vehicle c3 = vehicle(10L, "13", "C3");
+    private final Vehicle c4 = vehicle(11L, "13", "C4");
+    private final Vehicle argo = vehicle(20L, "21", "Argo");
+    private final Vehicle mobi = vehicle(21L, "21", "Mobi");
+    private final Vehicle uno = vehicle(22L, "21", "Uno");
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.build(1L, brands, List.of(c3, argo, c4, mobi, uno));
+
+    @Test
+    @DisplayName("Should group vehicles by brand, keep their order and resolve names ignoring case and accents")
+    void shouldServeVehiclesByNormalizedBrandName() {
+        assertThat(snapshot.vehiclesOf("CITROEN")).containsExactly(c3, c4);
+        assertThat(snapshot.vehiclesOf("fiat")).containsExactly(argo, mobi, uno);
+        assertThat(snapshot.vehiclesOf("Empty")).isEmpty();
+        assertThat(snapshot.hasBrand("Empty")).isTrue();
+        assertThat(snapshot.hasBrand("Fiatt")).isFalse();
+        assertThat(snapshot.vehiclesOf("Fiatt")).isEmpty();
+        assertThat(snapshot.vehicleCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should return brands in list order")
+    void shouldReturnBrandsInListOrder() {
+        assertThat(snapshot.brands()).containsExactlyElementsOf(brands);
+    }
+
+    @Test
+    @DisplayName("Should page after a cursor, including one that no longer names a row")
+    void shouldPageAfterCursor() {
+        assertThat(snapshot.pageOf("Fiat", null, 2)).containsExactly(argo, mobi);
+        assertThat(snapshot.pageOf("Fiat", VehicleCursor.after(mobi), 2)).containsExactly(uno);
+        assertThat(snapshot.pageOf("Fiat", new VehicleCursor("Bravo", 99L), 2)).containsExactly(mobi, uno);
+        assertThat(snapshot.pageOf("Fiat", VehicleCursor.after(uno), 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should move a patched row to its new model position without touching the original snapshot")
+    void shouldPatchCopyOnWrite() {
+        Vehicle renamed = vehicle(20L, "21", "Toro");
+
+        CatalogSnapshot patched = snapshot.withVehicle(renamed);
+
+        assertThat(patched.vehiclesOf("Fiat")).containsExactly(mobi, renamed, uno);
+        assertThat(patched.vehiclesOf("Citroen")).containsExactly(c3, c4);
+        assertThat(patched.pageOf("Fiat", VehicleCursor.after(renamed), 5)).containsExactly(uno);
+        assertThat(snapshot.vehiclesOf("Fiat")).containsExactly(argo, mobi, uno);
+    }
+
+    @Test
+    @DisplayName("Should apply patches on top of earlier ones, moving rows that were already moved")
+    void shouldStackPatches() {
+        Vehicle toro = vehicle(20L, "21", "Toro");
+        Vehicle zafira = vehicle(21L, "21", "Zafira");
+        Vehicle backToArgo = vehicle(20L, "21", "Argo");
+
+        CatalogSnapshot patched = snapshot.withVehicle(toro).withVehicle(zafira);
+        CatalogSnapshot restored = patched.withVehicle(backToArgo);
+
+        assertThat(patched.vehiclesOf("Fiat")).containsExactly(toro, uno, zafira);
+        assertThat(patched.pageOf("Fiat", VehicleCursor.after(toro), 1)).containsExactly(uno);
+        assertThat(patched.pageOf("Fiat", new VehicleCursor("Uzbek", 1L), 5)).containsExactly(zafira);
+        assertThat(restored.vehiclesOf("Fiat")).containsExactly(backToArgo, uno, zafira);
+        assertThat(restored.vehiclesOf("Citroen")).containsExactly(c3, c4);
+    }
+
+    @Test
+    @DisplayName("Should write patched rows in their new order")
+    void shouldWritePatchedRows() throws IOException {
+        CatalogSnapshot mapped = CatalogSnapshot.from(ByteBuffer.wrap(bytes(snapshot)).asReadOnlyBuffer());
+        Vehicle toro = vehicle(20L, "21", "Toro");
+
+        CatalogSnapshot read = CatalogSnapshot.from(ByteBuffer.wrap(bytes(mapped.withVehicle(toro))));
+
+        assertThat(read.vehiclesOf("Fiat")).containsExactly(mobi, toro, uno);
+        assertThat(read.vehiclesOf("Citroen")).containsExactly(c3, c4);
+        assertThat(read.revision()).isEqualTo(1L);
+        assertThat(CatalogSnapshot.readRevision(ByteBuffer.wrap(bytes(read)))).isEqualTo(1L);
+        assertThat(read.brands()).containsExactlyElementsOf(brands);
+        assertThat(mapped.vehiclesOf("Fiat")).containsExactly(argo, mobi, uno);
+    }
+
+    @Test
+    @DisplayName("Should ignore patches for rows it does not hold")
+    void shouldIgnoreUnknownRows() {
+        assertThat(snapshot.withVehicle(vehicle(99L, "21", "Strada"))).isSameAs(snapshot);
+    }
+
+    @Test
+    @DisplayName("Should read back a written snapshot in place, answering exactly as the built one")
+    void shouldRoundTripThroughSnapshotFormat() throws IOException {
+        CatalogSnapshot read = CatalogSnapshot.from(ByteBuffer.wrap(bytes(snapshot)).asReadOnlyBuffer());
+
+        assertThat(read.generation()).isEqualTo(1L);
+        assertThat(read.brands()).containsExactlyElementsOf(brands);
+        assertThat(read.vehiclesOf("citroen")).containsExactly(c3, c4);
+        assertThat(read.pageOf("Fiat", VehicleCursor.after(argo), 1)).containsExactly(mobi);
+        assertThat(read.hasBrand("Empty")).isTrue();
+        assertThat(read.withVehicle(vehicle(20L, "21", "Toro")).vehiclesOf("Fiat")).extracting(Vehicle::getModel)
+                .containsExactly("Mobi", "Toro", "Uno");
+        assertThat(CatalogSnapshot.readGeneration(ByteBuffer.wrap(bytes(read)))).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject buffers that are not a complete snapshot")
+    void shouldRejectTruncatedOrForeignBuffers() throws IOException {
+        byte[] written = bytes(snapshot);
+
+        assertThatThrownBy(() -> CatalogSnapshot.from(ByteBuffer.wrap(written, 0, written.length - 1).slice()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CatalogSnapshot.from(ByteBuffer.wrap(new byte[CatalogSnapshot.HEADER_BYTES])))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] bytes(CatalogSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.writeTo(Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static Vehicle vehicle(Long id, String brandCode, String model) {
+        return Vehicle.builder().id(id).code("c" + id).brandCode(brandCode).model(model).generation(1L).build();
+    }
+}
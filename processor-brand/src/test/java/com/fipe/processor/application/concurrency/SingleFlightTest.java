@@ -0,0 +1,114 @@
+package com.fipe.processor.application.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void execute_ShouldShareInFlightLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            return result.asMono();
+        });
+        Mono<String> second = singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            return Mono.just("other");
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> assertThat(singleFlight.inFlight()).isEqualTo(1))
+                .then(() -> result.tryEmitValue("value"))
+                .assertNext(pair -> {
+                    assertThat(pair.getT1()).isEqualTo("value");
+                    assertThat(pair.getT2()).isEqualTo("value");
+                })
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void execute_ShouldStartNewLoadAfterPreviousCompleted() {
+        AtomicInteger loads = new AtomicInteger();
+
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.just(loads.incrementAndGet()))).expectNext(1).verifyComplete();
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.just(loads.incrementAndGet()))).expectNext(2).verifyComplete();
+    }
+
+    @Test
+    void execute_ShouldReleaseKeyAfterError() {
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.error(new RuntimeException("Database error"))))
+                .expectErrorMessage("Database error")
+                .verify();
+
+        assertThat(singleFlight.inFlight()).isZero();
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.just("ok"))).expectNext("ok").verifyComplete();
+    }
+
+    @Test
+    void stream_ShouldShareInFlightStreamAndReplayWhatItEmitted() {
+        AtomicInteger queries = new AtomicInteger();
+        Sinks.Many<String> rows = Sinks.many().unicast().onBackpressureBuffer();
+        Flux<String> first = singleFlight.stream("key", () -> {
+            queries.incrementAndGet();
+            return rows.asFlux();
+        });
+        List<String> late = new ArrayList<>();
+
+        StepVerifier.create(first)
+                .then(() -> rows.tryEmitNext("a"))
+                .expectNext("a")
+                .then(() -> singleFlight.stream("key", () -> {
+                    queries.incrementAndGet();
+                    return Flux.just("other");
+                }).subscribe(late::add))
+                .then(() -> rows.tryEmitNext("b"))
+                .then(rows::tryEmitComplete)
+                .expectNext("b")
+                .verifyComplete();
+
+        assertThat(late).containsExactly("a", "b");
+        assertThat(queries).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void stream_ShouldCancelSourceOnceEveryCallerCancelled() {
+        AtomicInteger cancels = new AtomicInteger();
+        Flux<String> source = Flux.<String>never().doOnCancel(cancels::incrementAndGet);
+
+        Disposable first = singleFlight.stream("key", () -> source).subscribe();
+        Disposable second = singleFlight.stream("key", () -> source).subscribe();
+
+        first.dispose();
+        assertThat(cancels).hasValue(0);
+        second.dispose();
+
+        assertThat(cancels).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void execute_ShouldKeepKeysIndependent() {
+        Sinks.One<String> pending = Sinks.one();
+        singleFlight.execute("a", pending::asMono).subscribe();
+
+        StepVerifier.create(singleFlight.execute("b", () -> Mono.just("b"))).expectNext("b").verifyComplete();
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.fipe.processor.application.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StageLimiterTest {
+
+    @Test
+    void run_ShouldHoldBackWorkAboveTheLimit() {
+        StageLimiter limiter = new StageLimiter("db-write", 2);
+        List<Sinks.One<String>> tasks = startTasks(limiter, 5);
+
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isEqualTo(3);
+
+        tasks.get(0).tryEmitValue("done");
+
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isEqualTo(2);
+    }
+
+    @Test
+    void setMaxConcurrency_ShouldReleaseQueuedWorkWhenRaised() {
+        StageLimiter limiter = new StageLimiter("db-write", 1);
+        startTasks(limiter, 4);
+
+        limiter.setMaxConcurrency(3);
+
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+    }
+
+    @Test
+    void setMaxConcurrency_ShouldLetInFlightWorkFinishWhenLowered() {
+        StageLimiter limiter = new StageLimiter("db-write", 3);
+        List<Sinks.One<String>> tasks = startTasks(limiter, 4);
+
+        limiter.setMaxConcurrency(1);
+        tasks.get(0).tryEmitValue("done");
+        tasks.get(1).tryEmitValue("done");
+
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+    }
+
+    @Test
+    void run_ShouldReleasePermitOnErrorAndCancel() {
+        StageLimiter limiter = new StageLimiter("fipe-fetch", 1);
+
+        StepVerifier.create(limiter.run(Mono.error(new RuntimeException("API error"))))
+                .expectErrorMessage("API error")
+                .verify();
+        Disposable running = limiter.run(Mono.never()).subscribe();
+        Disposable queued = limiter.run(Mono.never()).subscribe();
+        queued.dispose();
+        running.dispose();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void run_ShouldHoldPermitUntilFluxCompletes() {
+        StageLimiter limiter = new StageLimiter("fipe-fetch", 1);
+        Sinks.Many<Integer> source = Sinks.many().unicast().onBackpressureBuffer();
+
+        StepVerifier.create(limiter.run(source.asFlux()))
+                .then(() -> assertThat(limiter.getInFlight()).isEqualTo(1))
+                .then(() -> source.tryEmitNext(1))
+                .expectNext(1)
+                .then(source::tryEmitComplete)
+                .verifyComplete();
+
+        assertThat(limiter.getInFlight()).isZero();
+        StepVerifier.create(limiter.run(Flux.just(1, 2))).expectNext(1, 2).verifyComplete();
+    }
+
+    @Test
+    void flatMap_ShouldOnlyRequestUpstreamAsPermitsFreeUp() {
+        StageLimiter limiter = new StageLimiter("db-write", 2);
+        List<Long> requested = new ArrayList<>();
+        List<Sinks.One<Integer>> tasks = new ArrayList<>();
+
+        limiter.flatMap(Flux.range(1, 10).doOnRequest(requested::add), item -> {
+            Sinks.One<Integer> task = Sinks.one();
+            tasks.add(task);
+            return task.asMono();
+        }).subscribe();
+
+        assertThat(requested).containsExactly(2L);
+        assertThat(tasks).hasSize(2);
+        assertThat(limiter.getQueued()).isZero();
+
+        tasks.get(0).tryEmitValue(1);
+
+        assertThat(tasks).hasSize(3);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void shouldRejectLimitBelowOne() {
+        assertThatThrownBy(() -> new StageLimiter("db-write", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StageLimiter("db-write", 1).setMaxConcurrency(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Sinks.One<String>> startTasks(StageLimiter limiter, int count) {
+        List<Sinks.One<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Sinks.One<String> task = Sinks.one();
+            tasks.add(task);
+            limiter.run(task.asMono()).subscribe();
+        }
+        return tasks;
+    }
+}
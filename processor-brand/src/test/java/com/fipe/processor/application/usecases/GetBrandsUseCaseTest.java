@@ -1,13 +1,20 @@
 package com.fipe.processor.application.usecases;
 
-import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.cache.CachePolicy;
+import com.fipe.processor.application.cache.RefreshAheadCache;
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import com.fipe.processor.application.ports.CacheNamespacePort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.InMemoryCatalogPort;
 import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.repositories.BrandRepository;
 import java.time.Duration;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -15,6 +22,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -25,16 +33,27 @@ import static org.mockito.Mockito.when;
 class GetBrandsUseCaseTest {
 
     @Mock
-    private CacheServicePort cacheService;
+    private CacheNamespacePort cacheNamespaces;
 
     @Mock
     private BrandRepository brandRepository;
 
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    @Mock
+    private RefreshAheadCache refreshAheadCache;
+
+    @Mock
+    private InMemoryCatalogPort catalog;
+
     @InjectMocks
     private GetBrandsUseCase getBrandsUseCase;
 
     GetBrandsUseCaseTest() {
         MockitoAnnotations.openMocks(this);
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(4L));
+        when(cacheNamespaces.version("brands")).thenReturn(Mono.just(1L));
     }
 
     @Test
@@ -42,8 +61,7 @@ class GetBrandsUseCaseTest {
     void shouldRetrieveBrandsFromCache() {
         Brand brand1 = Brand.create("001", "Brand A");
         Brand brand2 = Brand.create("002", "Brand B");
-        when(brandRepository.findAllByOrderByNameAsc()).thenReturn(Flux.fromIterable(Arrays.asList(brand1,brand2)));
-        when(cacheService.get(eq("brands:all"), eq(Brand[].class)))
+        when(refreshAheadCache.get(eq("brands:v1:g4:all"), eq(Brand[].class), any(), any()))
                 .thenReturn(Mono.just(new Brand[]{brand1, brand2}));
 
         Flux<Brand> result = getBrandsUseCase.execute();
@@ -51,62 +69,156 @@ class GetBrandsUseCaseTest {
         StepVerifier.create(result)
                 .expectNext(brand1, brand2)
                 .verifyComplete();
-        verify(cacheService, times(1)).get(eq("brands:all"), eq(Brand[].class));
+        verify(brandRepository, never()).findAllByGenerationLessThanEqualOrderByNameAsc(any());
     }
 
     @Test
-    @DisplayName("Should retrieve brands from database and update cache when cache is empty")
-    void shouldRetrieveBrandsFromDatabaseAndUpdateCache() {
+    @DisplayName("Should load brands from database through the refresh-ahead cache on a miss")
+    void shouldRetrieveBrandsFromDatabaseOnCacheMiss() {
         Brand brand1 = Brand.create("001", "Brand A");
         Brand brand2 = Brand.create("002", "Brand B");
-        List<Brand> brands = Arrays.asList(brand1, brand2);
-        when(cacheService.get(eq("brands:all"), eq(Brand[].class))).thenReturn(Mono.empty());
-        when(brandRepository.findAllByOrderByNameAsc()).thenReturn(Flux.fromIterable(brands));
-        when(cacheService.put(eq("brands:all"), eq(brands), eq(Duration.ofHours(1)))).thenReturn(Mono.empty());
+        loadThroughCache();
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(4L)).thenReturn(Flux.just(brand1, brand2));
 
         Flux<Brand> result = getBrandsUseCase.execute();
 
         StepVerifier.create(result)
                 .expectNext(brand1, brand2)
                 .verifyComplete();
-        verify(cacheService, times(1)).get(eq("brands:all"), eq(Brand[].class));
-        verify(brandRepository, times(1)).findAllByOrderByNameAsc();
-        verify(cacheService, times(1)).put(eq("brands:all"), eq(brands), eq(Duration.ofHours(1)));
+        verify(brandRepository, times(1)).findAllByGenerationLessThanEqualOrderByNameAsc(4L);
     }
 
     @Test
-    @DisplayName("Should handle error when retrieving data from cache and fallback to database")
-    void shouldHandleCacheErrorAndFallbackToDatabase() {
-        Brand brand1 = Brand.create("001", "Brand A");
-        Brand brand2 = Brand.create("002", "Brand B");
-        List<Brand> brands = Arrays.asList(brand1, brand2);
-        when(cacheService.get(eq("brands:all"), eq(Brand[].class)))
-                .thenReturn(Mono.error(new RuntimeException("Cache error")));
-        when(brandRepository.findAllByOrderByNameAsc()).thenReturn(Flux.fromIterable(brands));
-        when(cacheService.put(eq("brands:all"), eq(brands), eq(Duration.ofHours(1)))).thenReturn(Mono.empty());
+    @DisplayName("Should use a one hour soft TTL and a longer hard TTL")
+    void shouldUseBrandsCachePolicy() {
+        when(refreshAheadCache.get(eq("brands:v1:g4:all"), eq(Brand[].class), any(), any())).thenReturn(Mono.empty());
 
-        Flux<Brand> result = getBrandsUseCase.execute();
+        StepVerifier.create(getBrandsUseCase.execute()).verifyComplete();
 
-        StepVerifier.create(result)
-                .expectNext(brand1, brand2)
-                .verifyComplete();
-        verify(cacheService, times(1)).get(eq("brands:all"), eq(Brand[].class));
-        verify(brandRepository, times(1)).findAllByOrderByNameAsc();
-        verify(cacheService, times(1)).put(eq("brands:all"), eq(brands), eq(Duration.ofHours(1)));
+        ArgumentCaptor<CachePolicy> policy = ArgumentCaptor.forClass(CachePolicy.class);
+        verify(refreshAheadCache).get(eq("brands:v1:g4:all"), eq(Brand[].class), policy.capture(), any());
+        assertThat(policy.getValue().softTtl()).isEqualTo(Duration.ofHours(1));
+        assertThat(policy.getValue().hardTtl()).isGreaterThan(policy.getValue().softTtl());
     }
 
     @Test
     @DisplayName("Should return empty result when no brands are found in database")
     void shouldReturnEmptyResultWhenNoBrandsFound() {
-        when(cacheService.get(eq("brands:all"), eq(Brand[].class))).thenReturn(Mono.empty());
-        when(brandRepository.findAllByOrderByNameAsc()).thenReturn(Flux.empty());
+        loadThroughCache();
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(4L)).thenReturn(Flux.empty());
 
         Flux<Brand> result = getBrandsUseCase.execute();
 
         StepVerifier.create(result)
                 .verifyComplete();
-        verify(cacheService, times(1)).get(eq("brands:all"), eq(Brand[].class));
-        verify(brandRepository, times(1)).findAllByOrderByNameAsc();
-        verify(cacheService, never()).put(any(), any(), any());
+        verify(brandRepository, times(1)).findAllByGenerationLessThanEqualOrderByNameAsc(4L);
+    }
+
+    @Test
+    @DisplayName("Should propagate database errors")
+    void shouldPropagateDatabaseErrors() {
+        loadThroughCache();
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(4L))
+                .thenReturn(Flux.error(new RuntimeException("Database error")));
+
+        StepVerifier.create(getBrandsUseCase.execute())
+                .expectErrorMessage("Database error")
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should switch cache namespace when a new catalog generation is published")
+    void shouldSwitchCacheNamespaceWhenNewGenerationIsPublished() {
+        Brand brand = Brand.builder().code("001").name("Brand A").generation(5L).build();
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(5L));
+        loadThroughCache();
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(5L)).thenReturn(Flux.just(brand));
+
+        StepVerifier.create(getBrandsUseCase.execute())
+                .expectNext(brand)
+                .verifyComplete();
+        verify(refreshAheadCache).get(eq("brands:v1:g5:all"), eq(Brand[].class), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stream brands from the cached array when present")
+    void shouldStreamBrandsFromCache() {
+        Brand brand1 = Brand.create("001", "Brand A");
+        Brand brand2 = Brand.create("002", "Brand B");
+        when(refreshAheadCache.stream(eq("brands:v1:g4:all"), eq(Brand[].class), any(), any(), any()))
+                .thenReturn(Flux.just(brand1, brand2));
+
+        StepVerifier.create(getBrandsUseCase.stream())
+                .expectNext(brand1, brand2)
+                .verifyComplete();
+
+        verify(brandRepository, never()).findAllByGenerationLessThanEqualOrderByNameAsc(any());
+    }
+
+    @Test
+    @DisplayName("Should stream brands straight from the database on a cache miss")
+    void shouldStreamBrandsFromDatabaseOnCacheMiss() {
+        Brand brand1 = Brand.create("001", "Brand A");
+        Brand brand2 = Brand.create("002", "Brand B");
+        when(refreshAheadCache.stream(eq("brands:v1:g4:all"), eq(Brand[].class), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Flux<Brand>>>getArgument(4).get());
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(4L)).thenReturn(Flux.just(brand1, brand2));
+
+        StepVerifier.create(getBrandsUseCase.stream(), 1)
+                .expectNext(brand1)
+                .thenRequest(1)
+                .expectNext(brand2)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should clear the cache by bumping the brands namespace version")
+    void shouldClearCacheByBumpingNamespaceVersion() {
+        when(cacheNamespaces.invalidate("brands")).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(getBrandsUseCase.clearCache()).verifyComplete();
+
+        verify(cacheNamespaces).invalidate("brands");
+    }
+
+    @Test
+    @DisplayName("Should key entries by namespace version as well as generation")
+    void shouldKeyEntriesByNamespaceVersion() {
+        when(cacheNamespaces.version("brands")).thenReturn(Mono.just(7L));
+
+        StepVerifier.create(getBrandsUseCase.cacheKey())
+                .expectNext("brands:v7:g4:all")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should expose the cache key of the published generation")
+    void shouldExposeCacheKeyOfPublishedGeneration() {
+        StepVerifier.create(getBrandsUseCase.cacheKey())
+                .expectNext("brands:v1:g4:all")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should answer from the in-memory catalog when it holds the published generation")
+    void shouldServeBrandsFromMemory() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(4L,
+                List.of(new Brand(1L, "1", "Acura", null, 4L), new Brand(2L, "2", "Audi", null, 4L)), List.of());
+        when(catalog.snapshot(4L)).thenReturn(Optional.of(snapshot));
+
+        StepVerifier.create(getBrandsUseCase.execute())
+                .expectNext(new Brand(1L, "1", "Acura", null, 4L), new Brand(2L, "2", "Audi", null, 4L))
+                .verifyComplete();
+        StepVerifier.create(getBrandsUseCase.stream())
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(refreshAheadCache, never()).get(any(), any(), any(), any());
+        verify(brandRepository, never()).findAllByGenerationLessThanEqualOrderByNameAsc(any());
+    }
+
+    private void loadThroughCache() {
+        when(refreshAheadCache.get(any(), eq(Brand[].class), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<Brand[]>>>getArgument(3).get());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.fipe.processor.application.usecases;
+
+import com.fipe.processor.application.ports.VehicleChangesPort;
+import com.fipe.processor.domain.dto.VehicleChange;
+import com.fipe.processor.domain.dto.VehicleChangeCursor;
+import com.fipe.processor.domain.dto.VehicleChangePage;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetVehicleChangesUseCaseTest {
+
+    @Mock
+    private VehicleChangesPort vehicleChanges;
+
+    @InjectMocks
+    private GetVehicleChangesUseCase useCase;
+
+    private final VehicleChange civic = change(11L, 700L, false, Vehicle.builder().id(1L).code("1").brandCode("25").model("Civic").build());
+    private final VehicleChange fit = change(9L, 701L, false, Vehicle.builder().id(2L).code("2").brandCode("25").model("Fit").build());
+    private final VehicleChange removed = change(13L, 701L, true, Vehicle.builder().id(3L).code("3").brandCode("25").build());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(useCase, "defaultLimit", 500);
+        ReflectionTestUtils.setField(useCase, "maxLimit", 2);
+    }
+
+    @Test
+    void changesSince_ShouldReturnChangesAfterCursorWithNextCursor() {
+        VehicleChangeCursor since = new VehicleChangeCursor(699L, 10L);
+        when(vehicleChanges.changesSince(since, 3)).thenReturn(Flux.just(civic, removed));
+
+        StepVerifier.create(useCase.changesSince(since.encode(), null))
+                .expectNext(new VehicleChangePage(List.of(civic, removed), new VehicleChangeCursor(701L, 13L).encode(), false))
+                .verifyComplete();
+    }
+
+    @Test
+    void changesSince_ShouldStartFromTheBeginningClampLimitAndReportMore() {
+        when(vehicleChanges.changesSince(VehicleChangeCursor.START, 3)).thenReturn(Flux.just(civic, fit, removed));
+
+        StepVerifier.create(useCase.changesSince(null, 50))
+                .expectNext(new VehicleChangePage(List.of(civic, fit), new VehicleChangeCursor(701L, 9L).encode(), true))
+                .verifyComplete();
+    }
+
+    @Test
+    void changesSince_ShouldKeepCursorWhenNothingChanged() {
+        VehicleChangeCursor since = new VehicleChangeCursor(701L, 13L);
+        when(vehicleChanges.changesSince(since, 2)).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.changesSince(since.encode(), 1))
+                .expectNext(new VehicleChangePage(List.of(), since.encode(), false))
+                .verifyComplete();
+    }
+
+    @Test
+    void changesSince_ShouldReadPlainVersionAsPositionBeforeTransactionOrder() {
+        when(vehicleChanges.changesSince(new VehicleChangeCursor(0L, 42L), 2)).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.changesSince("42", 1))
+                .assertNext(page -> assertThat(VehicleChangeCursor.decode(page.nextCursor()))
+                        .isEqualTo(new VehicleChangeCursor(0L, 42L)))
+                .verifyComplete();
+    }
+
+    @Test
+    void changesSince_ShouldRejectInvalidCursorAndLimit() {
+        StepVerifier.create(useCase.changesSince("-1", null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(useCase.changesSince("not a cursor", null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(useCase.changesSince(null, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(vehicleChanges, never()).changesSince(any(), anyInt());
+    }
+
+    private static VehicleChange change(Long version, long transaction, boolean deleted, Vehicle vehicle) {
+        return new VehicleChange(version, transaction, deleted, vehicle);
+    }
+}
@@ -0,0 +1,149 @@
+package com.fipe.processor.application.usecases;
+
+import com.fipe.processor.application.cache.RefreshAheadCache;
+import com.fipe.processor.application.ports.BrandCodeResolverPort;
+import com.fipe.processor.application.ports.BrandNameFilterPort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
+import com.fipe.processor.domain.dto.VehicleBatchResult;
+import com.fipe.processor.domain.entities.Vehicle;
+import com.fipe.processor.domain.repositories.VehicleRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GetVehiclesBatchUseCaseTest {
+
+    private static final String ACURA_KEY = "vehicles:v1:g2:brand:acura";
+    private static final String FIAT_KEY = "vehicles:v1:g2:brand:fiat";
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    @Mock
+    private GetVehiclesByBrandServicePort vehiclesByBrand;
+
+    @Mock
+    private RefreshAheadCache refreshAheadCache;
+
+    @Mock
+    private BrandNameFilterPort brandNames;
+
+    @Mock
+    private BrandCodeResolverPort brandCodes;
+
+    @InjectMocks
+    private GetVehiclesBatchUseCase useCase;
+
+    private final Vehicle integra = Vehicle.builder().id(1L).code("001").brandCode("1").model("Integra").build();
+    private final Vehicle uno = Vehicle.builder().id(2L).code("002").brandCode("21").model("Uno").build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(2L));
+        when(vehiclesByBrand.cacheKey("Acura")).thenReturn(Mono.just(ACURA_KEY));
+        when(vehiclesByBrand.cacheKey("Fiat")).thenReturn(Mono.just(FIAT_KEY));
+        when(brandNames.mightExist(anyString())).thenReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void execute_ShouldServeCachedBrandsAndLoadMissesWithOneQuery() {
+        when(refreshAheadCache.getAll(eq(List.of(ACURA_KEY, FIAT_KEY)), eq(Vehicle[].class), any(), any()))
+                .thenAnswer(invocation -> {
+                    Function<List<String>, Mono<Map<String, Vehicle[]>>> loader = invocation.getArgument(3);
+                    return loader.apply(List.of(FIAT_KEY)).map(loaded -> {
+                        assertThat(loaded).containsOnlyKeys(FIAT_KEY);
+                        return Map.of(ACURA_KEY, new Vehicle[]{integra}, FIAT_KEY, loaded.get(FIAT_KEY));
+                    });
+                });
+        when(brandCodes.resolve("Fiat", 2L)).thenReturn(Mono.just("21"));
+        when(vehicleRepository.findByBrandCodeInAndGenerationLessThanEqualOrderByModelAscIdAsc(Set.of("21"), 2L))
+                .thenReturn(Flux.just(uno));
+
+        StepVerifier.create(useCase.execute(List.of("Acura", "Fiat"), null, null))
+                .expectNext(new VehicleBatchResult("brand:Acura", List.of(integra)))
+                .expectNext(new VehicleBatchResult("brand:Fiat", List.of(uno)))
+                .verifyComplete();
+
+        verify(brandCodes, never()).resolve(eq("Acura"), anyLong());
+        verify(vehicleRepository, times(1)).findByBrandCodeInAndGenerationLessThanEqualOrderByModelAscIdAsc(anyCollection(), anyLong());
+    }
+
+    @Test
+    void execute_ShouldReturnEmptyListForUnknownBrand() {
+        when(refreshAheadCache.getAll(eq(List.of(ACURA_KEY)), eq(Vehicle[].class), any(), any()))
+                .thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(useCase.execute(List.of("Acura"), List.of(), List.of()))
+                .expectNext(new VehicleBatchResult("brand:Acura", List.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_ShouldAnswerCaseVariantsOfOneBrandFromOneCacheEntry() {
+        when(vehiclesByBrand.cacheKey("FIAT")).thenReturn(Mono.just(FIAT_KEY));
+        when(refreshAheadCache.getAll(eq(List.of(FIAT_KEY)), eq(Vehicle[].class), any(), any()))
+                .thenReturn(Mono.just(Map.of(FIAT_KEY, new Vehicle[]{uno})));
+
+        StepVerifier.create(useCase.execute(List.of("Fiat", "FIAT"), null, null))
+                .expectNext(new VehicleBatchResult("brand:Fiat", List.of(uno)))
+                .expectNext(new VehicleBatchResult("brand:FIAT", List.of(uno)))
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_ShouldAnswerNamesRuledOutByFilterWithoutCacheLookup() {
+        when(brandNames.mightExist("Fiatt")).thenReturn(false);
+        when(refreshAheadCache.getAll(eq(List.of(ACURA_KEY)), eq(Vehicle[].class), any(), any()))
+                .thenReturn(Mono.just(Map.of(ACURA_KEY, new Vehicle[]{integra})));
+
+        StepVerifier.create(useCase.execute(List.of("Fiatt", "Acura"), null, null))
+                .expectNext(new VehicleBatchResult("brand:Fiatt", List.of()))
+                .expectNext(new VehicleBatchResult("brand:Acura", List.of(integra)))
+                .verifyComplete();
+
+        verify(vehiclesByBrand, never()).cacheKey("Fiatt");
+    }
+
+    @Test
+    void execute_ShouldResolveIdsAndCodesWithOneQueryEach() {
+        Vehicle unoOtherBrand = Vehicle.builder().id(3L).code("002").brandCode("22").model("Uno").build();
+        when(vehicleRepository.findByIdInAndGenerationLessThanEqual(List.of(1L, 9L), 2L))
+                .thenReturn(Flux.just(integra));
+        when(vehicleRepository.findByCodeInAndGenerationLessThanEqualOrderByBrandCodeAsc(List.of("002"), 2L))
+                .thenReturn(Flux.just(uno, unoOtherBrand));
+
+        StepVerifier.create(useCase.execute(null, List.of(1L, 9L, 1L), List.of("002")))
+                .expectNext(new VehicleBatchResult("id:1", List.of(integra)))
+                .expectNext(new VehicleBatchResult("id:9", List.of()))
+                .expectNext(new VehicleBatchResult("code:002", List.of(uno, unoOtherBrand)))
+                .verifyComplete();
+
+        verify(refreshAheadCache, never()).getAll(any(), any(), any(), any());
+    }
+}
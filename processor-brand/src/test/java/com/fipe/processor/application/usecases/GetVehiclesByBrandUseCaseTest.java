@@ -1,29 +1,53 @@
 package com.fipe.processor.application.usecases;
 
+import com.fipe.processor.application.cache.RefreshAheadCache;
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import com.fipe.processor.application.concurrency.SingleFlight;
+import com.fipe.processor.application.ports.BrandCodeResolverPort;
+import com.fipe.processor.application.ports.BrandNameFilterPort;
+import com.fipe.processor.application.ports.CacheNamespacePort;
 import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.InMemoryCatalogPort;
+import com.fipe.processor.application.ports.VehicleHashCachePort;
+import com.fipe.processor.application.ports.VehicleJsonPort;
+import com.fipe.processor.domain.dto.VehicleCursor;
+import com.fipe.processor.domain.dto.VehiclePage;
+import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.entities.Vehicle;
 import com.fipe.processor.domain.repositories.BrandRepository;
 import com.fipe.processor.domain.repositories.VehicleRepository;
 import com.fipe.processor.presentation.exception.BrandNotFoundException;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class GetVehiclesByBrandUseCaseTest {
 
+    private static final String BRAND_CODE = "25";
+
     @Mock
     private VehicleRepository vehicleRepository;
 
@@ -33,116 +57,630 @@ public class GetVehiclesByBrandUseCaseTest {
     @Mock
     private CacheServicePort cacheService;
 
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    @Mock
+    private CacheNamespacePort cacheNamespaces;
+
+    @Mock
+    private RefreshAheadCache refreshAheadCache;
+
+    @Mock
+    private VehicleHashCachePort vehicleHashCache;
+
+    @Mock
+    private BrandNameFilterPort brandNames;
+
+    @Mock
+    private BrandCodeResolverPort brandCodes;
+
+    @Mock
+    private VehicleJsonPort vehicleJson;
+
+    @Mock
+    private InMemoryCatalogPort catalog;
+
     @InjectMocks
     private GetVehiclesByBrandUseCase useCase;
 
     public GetVehiclesByBrandUseCaseTest() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(useCase, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(useCase, "maxPageSize", 200);
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(2L));
+        when(cacheNamespaces.version(anyString())).thenReturn(Mono.just(0L));
+        when(cacheNamespaces.version("vehicles")).thenReturn(Mono.just(1L));
+        when(vehicleHashCache.delete(anyString())).thenReturn(Mono.empty());
+        when(brandNames.mightExist(anyString())).thenReturn(true);
     }
 
     @Test
     void testExecute_ReturnsVehiclesFromCache() {
         String brandName = "Toyota";
-        String cacheKey = "vehicles:brand:toyota";
+        String cacheKey = "vehicles:v1:g2:brand:toyota";
 
         List<Vehicle> vehicleList = new ArrayList<>();
         vehicleList.add(Vehicle.builder().id(1L).build());
         vehicleList.add(Vehicle.builder().id(2L).build());
 
-        when(cacheService.get(eq(cacheKey), eq(Vehicle[].class)))
+        when(refreshAheadCache.get(eq(cacheKey), eq(Vehicle[].class), any(), any()))
                 .thenReturn(Mono.just(vehicleList.toArray(new Vehicle[0])));
 
-        when(vehicleRepository.findByBrandName(anyString(), any(BrandRepository.class)))
-                .thenReturn(Flux.empty());
-
         StepVerifier.create(useCase.execute(brandName))
                 .expectNextSequence(vehicleList)
                 .verifyComplete();
 
-        verify(cacheService).get(eq(cacheKey), eq(Vehicle[].class));
+        verify(brandCodes, never()).resolve(anyString(), any());
     }
 
     @Test
-    void testExecute_RetrievesFromDatabaseAndCachesResults_WhenCacheIsEmpty() {
+    void testExecute_RetrievesFromDatabase_WhenCacheIsEmpty() {
         String brandName = "Honda";
-        String cacheKey = "vehicles:brand:honda";
+        String cacheKey = "vehicles:v1:g2:brand:honda";
 
         List<Vehicle> vehicleList = new ArrayList<>();
         vehicleList.add(Vehicle.builder().id(3L).build());
         vehicleList.add(Vehicle.builder().id(4L).build());
 
-        when(cacheService.get(eq(cacheKey), eq(Vehicle[].class)))
-                .thenReturn(Mono.empty());
-        when(vehicleRepository.findByBrandName(eq(brandName), eq(brandRepository)))
+        loadThroughCache(cacheKey);
+        whenLoadingBrand(brandName, 2L)
                 .thenReturn(Flux.fromIterable(vehicleList));
-        when(cacheService.put(eq(cacheKey), eq(vehicleList), eq(Duration.ofMinutes(30))))
-                .thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.execute(brandName))
                 .expectNextSequence(vehicleList)
                 .verifyComplete();
 
-        verify(cacheService).get(eq(cacheKey), eq(Vehicle[].class));
-        verify(vehicleRepository).findByBrandName(eq(brandName), eq(brandRepository));
-        verify(cacheService).put(eq(cacheKey), eq(vehicleList), eq(Duration.ofMinutes(30)));
+        verify(vehicleRepository).findByBrandCodeAndGenerationLessThanEqualOrderByModelAscIdAsc(BRAND_CODE, 2L);
     }
 
     @Test
     void testExecute_ThrowsBrandNotFoundException_WhenNoResultsFromCacheOrDatabase() {
         String brandName = "NonExistentBrand";
-        String cacheKey = "vehicles:brand:nonexistentbrand";
+        String cacheKey = "vehicles:v1:g2:brand:nonexistentbrand";
 
-        when(cacheService.get(eq(cacheKey), eq(Vehicle[].class)))
-                .thenReturn(Mono.empty());
-        when(vehicleRepository.findByBrandName(eq(brandName), eq(brandRepository)))
+        loadThroughCache(cacheKey);
+        whenLoadingBrand(brandName, 2L)
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(useCase.execute(brandName))
                 .expectError(BrandNotFoundException.class)
                 .verify();
 
-        verify(cacheService).get(eq(cacheKey), eq(Vehicle[].class));
-        verify(vehicleRepository).findByBrandName(eq(brandName), eq(brandRepository));
+        verify(vehicleRepository).findByBrandCodeAndGenerationLessThanEqualOrderByModelAscIdAsc(BRAND_CODE, 2L);
+        verify(brandNames).markMissing(brandName);
     }
 
     @Test
-    void testExecute_HandlesCacheErrorAndRetrievesFromDatabase() {
-        String brandName = "Ford";
-        String cacheKey = "vehicles:brand:ford";
+    void testExecute_SharesCacheEntryAcrossCaseAndAccentVariants() {
+        List<Vehicle> vehicleList = List.of(Vehicle.builder().id(5L).build());
 
-        List<Vehicle> vehicleList = new ArrayList<>();
-        vehicleList.add(Vehicle.builder().id(5L).build());
-
-        when(cacheService.get(eq(cacheKey), eq(Vehicle[].class)))
-                .thenReturn(Mono.error(new RuntimeException("Cache error")));
-        when(vehicleRepository.findByBrandName(eq(brandName), eq(brandRepository)))
+        loadThroughCache("vehicles:v1:g2:brand:citroen");
+        whenLoadingBrand(" CITROËN ", 2L)
                 .thenReturn(Flux.fromIterable(vehicleList));
-        when(cacheService.put(eq(cacheKey), eq(vehicleList), eq(Duration.ofMinutes(30))))
-                .thenReturn(Mono.empty());
 
-        StepVerifier.create(useCase.execute(brandName))
+        StepVerifier.create(useCase.execute(" CITROËN "))
                 .expectNextSequence(vehicleList)
                 .verifyComplete();
+    }
+
+    @Test
+    void testExecute_SkipsVehicleQueryWhenNameDoesNotResolve() {
+        loadThroughCache("vehicles:v1:g2:brand:nope");
+        when(brandCodes.resolve("Nope", 2L)).thenReturn(Mono.empty());
 
-        verify(cacheService).get(eq(cacheKey), eq(Vehicle[].class));
-        verify(vehicleRepository).findByBrandName(eq(brandName), eq(brandRepository));
-        verify(cacheService).put(eq(cacheKey), eq(vehicleList), eq(Duration.ofMinutes(30)));
+        StepVerifier.create(useCase.execute("Nope"))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+
+        verify(vehicleRepository, never()).findByBrandCodeAndGenerationLessThanEqualOrderByModelAscIdAsc(anyString(), any());
     }
 
     @Test
     void testExecute_HandlesDatabaseError() {
         String brandName = "Chevrolet";
-        String cacheKey = "vehicles:brand:chevrolet";
+        String cacheKey = "vehicles:v1:g2:brand:chevrolet";
 
-        when(cacheService.get(eq(cacheKey), eq(Vehicle[].class)))
-                .thenReturn(Mono.empty());
-        when(vehicleRepository.findByBrandName(eq(brandName), eq(brandRepository)))
+        loadThroughCache(cacheKey);
+        whenLoadingBrand(brandName, 2L)
                 .thenReturn(Flux.error(new RuntimeException("Database error")));
 
         StepVerifier.create(useCase.execute(brandName))
                 .expectError(RuntimeException.class)
                 .verify();
+    }
+
+    @Test
+    void testExecute_UsesCacheNamespaceOfPublishedGeneration() {
+        String brandName = "Fiat";
+        List<Vehicle> vehicleList = List.of(Vehicle.builder().id(6L).generation(3L).build());
+
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(3L));
+        loadThroughCache("vehicles:v1:g3:brand:fiat");
+        whenLoadingBrand(brandName, 3L)
+                .thenReturn(Flux.fromIterable(vehicleList));
+
+        StepVerifier.create(useCase.execute(brandName))
+                .expectNextSequence(vehicleList)
+                .verifyComplete();
+    }
+
+    @Test
+    void testStream_EmitsCachedVehiclesWithoutQuerying() {
+        Vehicle vehicle = Vehicle.builder().id(7L).build();
+        when(refreshAheadCache.stream(eq("vehicles:v1:g2:brand:honda"), eq(Vehicle[].class), any(), any(), any()))
+                .thenReturn(Flux.just(vehicle));
+
+        StepVerifier.create(useCase.stream("Honda"))
+                .expectNext(vehicle)
+                .verifyComplete();
+
+        verify(brandCodes, never()).resolve(anyString(), any());
+    }
+
+    @Test
+    void testExecute_RejectsNameRuledOutByFilterWithoutCacheOrDatabase() {
+        when(brandNames.mightExist("Hondda")).thenReturn(false);
+
+        StepVerifier.create(useCase.execute("Hondda"))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+        StepVerifier.create(useCase.cacheKey("Hondda"))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+
+        verify(catalogGenerations, never()).publishedGeneration();
+        verify(refreshAheadCache, never()).get(anyString(), any(), any(), any());
+        verify(brandCodes, never()).resolve(anyString(), any());
+    }
+
+    @Test
+    void testStream_StreamsFromDatabaseOnCacheMiss() {
+        List<Vehicle> vehicleList = List.of(Vehicle.builder().id(8L).build(), Vehicle.builder().id(9L).build());
+        when(refreshAheadCache.stream(eq("vehicles:v1:g2:brand:honda"), eq(Vehicle[].class), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Flux<Vehicle>>>getArgument(4).get());
+        whenLoadingBrand("Honda", 2L)
+                .thenReturn(Flux.fromIterable(vehicleList));
+
+        StepVerifier.create(useCase.stream("Honda"))
+                .expectNextSequence(vehicleList)
+                .verifyComplete();
+
+        verify(brandCodes, times(1)).resolve(anyString(), any());
+    }
+
+    @Test
+    void testStream_ThrowsBrandNotFoundExceptionWhenNothingIsFound() {
+        when(refreshAheadCache.stream(any(), eq(Vehicle[].class), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Flux<Vehicle>>>getArgument(4).get());
+        whenLoadingBrand("Nope", 2L).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.stream("Nope"))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void testClearCacheByBrand_DeletesKeyAndRenderedBodiesOfPublishedGeneration() {
+        when(cacheService.delete(anyString())).thenReturn(Mono.empty());
+        when(cacheNamespaces.invalidate(anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(useCase.clearCacheByBrand("VW VolksWagen")).verifyComplete();
+
+        verify(cacheService).delete("vehicles:v1:g2:brand:vw_volkswagen");
+        verify(cacheService).delete("vehicles:v1:g2:brand:vw_volkswagen:body");
+        verify(cacheService).delete("vehicles:v1:g2:brand:vw_volkswagen:body:gzip");
+        verify(cacheService).delete("vehicles:v1:g2:brand:vw_volkswagen:body:etag");
+        verify(cacheService).delete("vehicles:v1:g2:brand:vw_volkswagen:body:gzip:etag");
+        verify(cacheNamespaces).invalidate("vehicles:pages:vw_volkswagen");
+        verify(cacheService, never()).deleteByPattern(anyString());
+    }
+
+    @Test
+    void testPatchCachedVehicle_ReplacesRowDropsBodiesAndBumpsPageVersion() {
+        Vehicle civic = Vehicle.builder().id(1L).code("1").brandCode("25").model("Civic").build();
+        Vehicle fit = Vehicle.builder().id(2L).code("2").brandCode("25").model("Fit").build();
+        Vehicle renamed = Vehicle.builder().id(2L).code("2").brandCode("25").model("Accord").build();
+        when(brandRepository.findNameByCode("25", 2L)).thenReturn(Mono.just("Honda"));
+        when(refreshAheadCache.patch(eq("vehicles:v1:g2:brand:honda"), eq(Vehicle[].class), any(), any()))
+                .thenReturn(Mono.empty());
+        when(cacheService.delete(anyString())).thenReturn(Mono.empty());
+        when(cacheNamespaces.invalidate(anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(useCase.patchCachedVehicle(renamed)).verifyComplete();
+
+        ArgumentCaptor<UnaryOperator<Vehicle[]>> patcher = ArgumentCaptor.forClass(UnaryOperator.class);
+        verify(refreshAheadCache).patch(eq("vehicles:v1:g2:brand:honda"), eq(Vehicle[].class), any(), patcher.capture());
+        assertThat(patcher.getValue().apply(new Vehicle[]{civic, fit})).containsExactly(renamed, civic);
+        verify(cacheService).delete("vehicles:v1:g2:brand:honda:body");
+        verify(cacheService).delete("vehicles:v1:g2:brand:honda:body:gzip");
+        verify(cacheService).delete("vehicles:v1:g2:brand:honda:body:etag");
+        verify(cacheService).delete("vehicles:v1:g2:brand:honda:body:gzip:etag");
+        verify(cacheService, never()).delete("vehicles:v1:g2:brand:honda");
+        verify(cacheNamespaces).invalidate("vehicles:pages:honda");
+    }
+
+    @Test
+    void testPatchCachedVehicle_KeepsModelAndIdOrderForSameModel() {
+        Vehicle first = Vehicle.builder().id(1L).code("1").brandCode("25").model("Civic").build();
+        Vehicle third = Vehicle.builder().id(3L).code("3").brandCode("25").model("Civic").build();
+        Vehicle fit = Vehicle.builder().id(2L).code("2").brandCode("25").model("Fit").build();
+        Vehicle renamed = Vehicle.builder().id(2L).code("2").brandCode("25").model("Civic").build();
+        when(brandRepository.findNameByCode("25", 2L)).thenReturn(Mono.just("Honda"));
+        when(refreshAheadCache.patch(eq("vehicles:v1:g2:brand:honda"), eq(Vehicle[].class), any(), any()))
+                .thenReturn(Mono.empty());
+        when(cacheService.delete(anyString())).thenReturn(Mono.empty());
+        when(cacheNamespaces.invalidate(anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(useCase.patchCachedVehicle(renamed)).verifyComplete();
+
+        ArgumentCaptor<UnaryOperator<Vehicle[]>> patcher = ArgumentCaptor.forClass(UnaryOperator.class);
+        verify(refreshAheadCache).patch(eq("vehicles:v1:g2:brand:honda"), eq(Vehicle[].class), any(), patcher.capture());
+        assertThat(patcher.getValue().apply(new Vehicle[]{first, third, fit})).containsExactly(first, renamed, third);
+    }
+
+    @Test
+    void testPatchCachedVehicle_EvictsListWhenPatchFails() {
+        Vehicle vehicle = Vehicle.builder().id(2L).code("2").brandCode("25").model("Fit").build();
+        when(brandRepository.findNameByCode("25", 2L)).thenReturn(Mono.just("Honda"));
+        when(refreshAheadCache.patch(anyString(), eq(Vehicle[].class), any(), any()))
+                .thenReturn(Mono.error(new RuntimeException("Redis error")));
+        when(cacheService.delete(anyString())).thenReturn(Mono.empty());
+        when(cacheNamespaces.invalidate(anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(useCase.patchCachedVehicle(vehicle)).verifyComplete();
+
+        verify(cacheService).delete("vehicles:v1:g2:brand:honda");
+        verify(cacheService).delete("vehicles:v1:g2:brand:honda:body");
+    }
+
+    @Test
+    void testPatchCachedVehicle_SkipsRowsFromUnpublishedGeneration() {
+        Vehicle staged = Vehicle.builder().id(2L).code("2").brandCode("25").model("Fit").generation(3L).build();
+
+        StepVerifier.create(useCase.patchCachedVehicle(staged)).verifyComplete();
+
+        verify(brandRepository, never()).findNameByCode(anyString(), any());
+        verify(refreshAheadCache, never()).patch(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testClearCache_BumpsVehiclesNamespaceVersion() {
+        when(cacheNamespaces.invalidate("vehicles")).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(useCase.clearCache()).verifyComplete();
+
+        verify(cacheNamespaces).invalidate("vehicles");
+    }
+
+    @Test
+    void testPage_KeysPagesByBrandPageVersion() {
+        when(cacheNamespaces.version("vehicles:pages:honda")).thenReturn(Mono.just(3L));
+        when(refreshAheadCache.get(anyString(), eq(VehiclePage.class), any(), any()))
+                .thenReturn(Mono.just(new VehiclePage(List.of(), null)));
+
+        StepVerifier.create(useCase.page("Honda", null, 2)).expectNextCount(1).verifyComplete();
+
+        verify(refreshAheadCache).get(eq("vehicles:v1:g2:brand:honda:page:p3:2:first"), eq(VehiclePage.class), any(), any());
+    }
+
+    @Test
+    void testPage_ReturnsFirstPageWithCursorAfterLastRow() {
+        loadPageThroughCache();
+        when(brandCodes.resolve("Honda", 2L)).thenReturn(Mono.just("25"));
+        when(vehicleRepository.findFirstPage("25", 2L, 3)).thenReturn(Flux.just(
+                vehicle(1L, "Accord"), vehicle(5L, "City"), vehicle(3L, "Civic")));
+
+        StepVerifier.create(useCase.page("Honda", null, 2))
+                .assertNext(page -> {
+                    assertThat(page.vehicles()).extracting(Vehicle::getId).containsExactly(1L, 5L);
+                    assertThat(VehicleCursor.decode(page.nextCursor())).isEqualTo(new VehicleCursor("City", 5L));
+                })
+                .verifyComplete();
+
+        verify(refreshAheadCache).get(eq("vehicles:v1:g2:brand:honda:page:p0:2:first"), eq(VehiclePage.class), any(), any());
+    }
+
+    @Test
+    void testPage_ContinuesAfterCursorAndEndsWithoutNextCursor() {
+        String cursor = new VehicleCursor("City: Sport", 5L).encode();
+        loadPageThroughCache();
+        when(brandCodes.resolve("Honda", 2L)).thenReturn(Mono.just("25"));
+        when(vehicleRepository.findPageAfter("25", 2L, "City: Sport", 5L, 3))
+                .thenReturn(Flux.just(vehicle(3L, "Civic")));
+
+        StepVerifier.create(useCase.page("Honda", cursor, 2))
+                .assertNext(page -> {
+                    assertThat(page.vehicles()).extracting(Vehicle::getId).containsExactly(3L);
+                    assertThat(page.nextCursor()).isNull();
+                })
+                .verifyComplete();
+
+        verify(refreshAheadCache).get(eq("vehicles:v1:g2:brand:honda:page:p0:2:" + cursor), eq(VehiclePage.class), any(), any());
+    }
+
+    @Test
+    void testPage_UsesDefaultSizeAndClampsToMaximum() {
+        loadPageThroughCache();
+        when(brandCodes.resolve("Honda", 2L)).thenReturn(Mono.just("25"));
+        when(vehicleRepository.findFirstPage(eq("25"), eq(2L), anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.page("Honda", null, null)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(useCase.page("Honda", null, 10_000)).expectNextCount(1).verifyComplete();
+
+        verify(vehicleRepository).findFirstPage("25", 2L, 51);
+        verify(vehicleRepository).findFirstPage("25", 2L, 201);
+    }
+
+    @Test
+    void testPage_RejectsInvalidCursorAndLimit() {
+        StepVerifier.create(useCase.page("Honda", "not a cursor!", 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(useCase.page("Honda", null, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(refreshAheadCache, never()).get(any(), any(), any(), any());
+    }
+
+    @Test
+    void testPage_ThrowsBrandNotFoundExceptionForUnknownBrand() {
+        loadPageThroughCache();
+        when(brandCodes.resolve("Nope", 2L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.page("Nope", null, 10))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void testExecute_ReadModelLoadsBrandWithSingleQuery() {
+        ReflectionTestUtils.setField(useCase, "readModel", true);
+        List<Vehicle> vehicleList = List.of(vehicle(5L, "C3"), vehicle(6L, "C4"));
+        loadThroughCache("vehicles:v1:g2:brand:citroen");
+        when(vehicleRepository.findByBrandNameKey("citroen", 2L)).thenReturn(Flux.fromIterable(vehicleList));
+
+        StepVerifier.create(useCase.execute("Citroën"))
+                .expectNextSequence(vehicleList)
+                .verifyComplete();
+
+        verify(brandCodes, never()).resolve(anyString(), any());
+    }
+
+    @Test
+    void testPage_ReadModelPagesByNameKey() {
+        ReflectionTestUtils.setField(useCase, "readModel", true);
+        String cursor = new VehicleCursor("City", 5L).encode();
+        loadPageThroughCache();
+        when(vehicleRepository.findPageAfterByBrandNameKey("honda", 2L, "City", 5L, 3))
+                .thenReturn(Flux.just(vehicle(3L, "Civic"), vehicle(7L, "Fit"), vehicle(8L, "HR-V")));
+
+        StepVerifier.create(useCase.page("Honda", cursor, 2))
+                .assertNext(page -> {
+                    assertThat(page.vehicles()).extracting(Vehicle::getId).containsExactly(3L, 7L);
+                    assertThat(VehicleCursor.decode(page.nextCursor())).isEqualTo(new VehicleCursor("Fit", 7L));
+                })
+                .verifyComplete();
+
+        verify(brandCodes, never()).resolve(anyString(), any());
+    }
+
+    @Test
+    void testPage_ReadModelTellsEmptyBrandFromUnknownBrand() {
+        ReflectionTestUtils.setField(useCase, "readModel", true);
+        loadPageThroughCache();
+        when(vehicleRepository.findFirstPageByBrandNameKey(anyString(), eq(2L), anyInt())).thenReturn(Flux.empty());
+        when(brandCodes.resolve("Honda", 2L)).thenReturn(Mono.just("25"));
+        when(brandCodes.resolve("Nope", 2L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.page("Honda", null, 10))
+                .assertNext(page -> assertThat(page.vehicles()).isEmpty())
+                .verifyComplete();
+        StepVerifier.create(useCase.page("Nope", null, 10))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void testRenderJson_ReturnsDatabaseRenderedBytesForNormalizedName() {
+        ReflectionTestUtils.setField(useCase, "readModel", true);
+        byte[] json = "[{\"id\":5}]".getBytes();
+        when(vehicleJson.renderByBrand("citroen", 2L)).thenReturn(Mono.just(json));
+
+        StepVerifier.create(useCase.renderJson("Citroën"))
+                .expectNext(json)
+                .verifyComplete();
+
+        verify(refreshAheadCache, never()).get(any(), any(), any(), any());
+    }
+
+    @Test
+    void testRenderJson_ThrowsBrandNotFoundExceptionWhenBrandHasNoRows() {
+        ReflectionTestUtils.setField(useCase, "readModel", true);
+        when(vehicleJson.renderByBrand("nope", 2L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.renderJson("Nope"))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+
+        verify(brandNames).markMissing("Nope");
+    }
+
+    @Test
+    void testRenderJson_RendersByBrandCodeWhenReadModelIsDisabled() {
+        byte[] json = "[{\"id\":5}]".getBytes();
+        when(brandCodes.resolve("Honda", 2L)).thenReturn(Mono.just("25"));
+        when(brandCodes.resolve("Nope", 2L)).thenReturn(Mono.empty());
+        when(vehicleJson.renderByBrandCode("25", 2L)).thenReturn(Mono.just(json));
+
+        StepVerifier.create(useCase.renderJson("Honda"))
+                .expectNext(json)
+                .verifyComplete();
+        StepVerifier.create(useCase.renderJson("Nope"))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+
+        verify(vehicleJson, never()).renderByBrand(any(), any());
+    }
+
+    @Test
+    void testExecute_ServesLoadedGenerationFromMemory() {
+        Vehicle civic = Vehicle.builder().id(1L).code("001").brandCode(BRAND_CODE).model("Civic").generation(2L).build();
+        Vehicle fit = Vehicle.builder().id(2L).code("002").brandCode(BRAND_CODE).model("Fit").generation(2L).build();
+        whenInMemory(List.of(civic, fit));
+
+        StepVerifier.create(useCase.execute("HONDA"))
+                .expectNext(civic, fit)
+                .verifyComplete();
+        StepVerifier.create(useCase.stream("Honda"))
+                .expectNext(civic, fit)
+                .verifyComplete();
+
+        verify(refreshAheadCache, never()).get(anyString(), any(), any(), any());
+        verify(brandCodes, never()).resolve(anyString(), any());
+    }
+
+    @Test
+    void testExecute_RejectsBrandMissingFromMemoryWithoutCacheOrDatabase() {
+        whenInMemory(List.of());
+
+        StepVerifier.create(useCase.execute("Hondda"))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+
+        verify(brandNames).markMissing("Hondda");
+        verify(refreshAheadCache, never()).get(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testPage_PagesFromMemory() {
+        Vehicle accord = Vehicle.builder().id(3L).code("003").brandCode(BRAND_CODE).model("Accord").generation(2L).build();
+        Vehicle civic = Vehicle.builder().id(1L).code("001").brandCode(BRAND_CODE).model("Civic").generation(2L).build();
+        Vehicle fit = Vehicle.builder().id(2L).code("002").brandCode(BRAND_CODE).model("Fit").generation(2L).build();
+        whenInMemory(List.of(accord, civic, fit));
+
+        StepVerifier.create(useCase.page("Honda", null, 2))
+                .expectNext(new VehiclePage(List.of(accord, civic), VehicleCursor.after(civic).encode()))
+                .verifyComplete();
+        StepVerifier.create(useCase.page("Honda", VehicleCursor.after(civic).encode(), 2))
+                .expectNext(new VehiclePage(List.of(fit), null))
+                .verifyComplete();
+        StepVerifier.create(useCase.page("Hondda", null, 2))
+                .expectError(BrandNotFoundException.class)
+                .verify();
+
+        verify(refreshAheadCache, never()).get(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testPatchCachedVehicle_PatchesInMemoryCatalog() {
+        Vehicle updated = Vehicle.builder().id(1L).brandCode(BRAND_CODE).model("Civic Si").generation(5L).build();
+
+        StepVerifier.create(useCase.patchCachedVehicle(updated)).verifyComplete();
+
+        verify(catalog).patch(updated);
+    }
+
+    @Test
+    void testExecute_HashLayoutReadsWholeBrandFromHash() {
+        useHashLayout();
+        when(vehicleHashCache.getAll("vehicles:v1:g2:brand:honda")).thenReturn(Flux.just(vehicle(1L, "City"), vehicle(2L, "Civic")));
+
+        StepVerifier.create(useCase.execute("Honda"))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(refreshAheadCache, never()).get(anyString(), any(), any(), any());
+        verify(brandCodes, never()).resolve(anyString(), any());
+    }
+
+    @Test
+    void testExecute_HashLayoutLoadsAndStoresOnMiss() {
+        useHashLayout();
+        Vehicle city = vehicle(1L, "City");
+        when(vehicleHashCache.getAll("vehicles:v1:g2:brand:honda")).thenReturn(Flux.empty());
+        whenLoadingBrand("Honda", 2L).thenReturn(Flux.just(city));
+        when(vehicleHashCache.putAll(anyString(), any(), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.execute("Honda"))
+                .expectNext(city)
+                .verifyComplete();
+
+        verify(vehicleHashCache).putAll(eq("vehicles:v1:g2:brand:honda"), eq(List.of(city)), any());
+    }
+
+    @Test
+    void testPage_HashLayoutPagesFromIndexWithoutCachingPages() {
+        useHashLayout();
+        when(vehicleHashCache.page("vehicles:v1:g2:brand:honda", null, 3))
+                .thenReturn(Mono.just(List.of(vehicle(1L, "City"), vehicle(2L, "Civic"), vehicle(3L, "Fit"))));
+
+        StepVerifier.create(useCase.page("Honda", null, 2))
+                .assertNext(page -> {
+                    assertThat(page.vehicles()).extracting(Vehicle::getId).containsExactly(1L, 2L);
+                    assertThat(page.nextCursor()).isEqualTo(new VehicleCursor("Civic", 2L).encode());
+                })
+                .verifyComplete();
+
+        verify(refreshAheadCache, never()).get(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testPage_HashLayoutFallsBackWhenBrandIsNotInHash() {
+        useHashLayout();
+        loadPageThroughCache();
+        when(vehicleHashCache.page(anyString(), any(), anyInt())).thenReturn(Mono.empty());
+        when(brandCodes.resolve("Honda", 2L)).thenReturn(Mono.just("25"));
+        when(vehicleRepository.findFirstPage("25", 2L, 3)).thenReturn(Flux.just(vehicle(1L, "City")));
+
+        StepVerifier.create(useCase.page("Honda", null, 2))
+                .assertNext(page -> assertThat(page.nextCursor()).isNull())
+                .verifyComplete();
+    }
+
+    @Test
+    void testPatchCachedVehicle_HashLayoutReplacesSingleField() {
+        useHashLayout();
+        Vehicle renamed = Vehicle.builder().id(2L).code("2").brandCode("25").model("Accord").build();
+        when(brandRepository.findNameByCode("25", 2L)).thenReturn(Mono.just("Honda"));
+        when(vehicleHashCache.put("vehicles:v1:g2:brand:honda", renamed)).thenReturn(Mono.just(true));
+        when(cacheService.delete(anyString())).thenReturn(Mono.empty());
+        when(cacheNamespaces.invalidate(anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(useCase.patchCachedVehicle(renamed)).verifyComplete();
+
+        verify(vehicleHashCache).put("vehicles:v1:g2:brand:honda", renamed);
+        verify(refreshAheadCache, never()).patch(anyString(), any(), any(), any());
+        verify(cacheService).delete("vehicles:v1:g2:brand:honda:body");
+    }
+
+    private OngoingStubbing<Flux<Vehicle>> whenLoadingBrand(String brandName, Long generation) {
+        when(brandCodes.resolve(brandName, generation)).thenReturn(Mono.just(BRAND_CODE));
+        return when(vehicleRepository.findByBrandCodeAndGenerationLessThanEqualOrderByModelAscIdAsc(BRAND_CODE, generation));
+    }
+
+    private void useHashLayout() {
+        ReflectionTestUtils.setField(useCase, "hashLayout", true);
+        ReflectionTestUtils.setField(useCase, "singleFlight", new SingleFlight());
+    }
+
+    private static Vehicle vehicle(Long id, String model) {
+        return Vehicle.builder().id(id).model(model).build();
+    }
+
+    private void loadPageThroughCache() {
+        when(refreshAheadCache.get(any(), eq(VehiclePage.class), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<VehiclePage>>>getArgument(3).get());
+    }
+
+    private void loadThroughCache(String cacheKey) {
+        when(refreshAheadCache.get(eq(cacheKey), eq(Vehicle[].class), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Mono<Vehicle[]>>>getArgument(3).get());
+    }
 
-        verify(cacheService).get(eq(cacheKey), eq(Vehicle[].class));
+    private void whenInMemory(List<Vehicle> vehicles) {
+        when(catalog.snapshot(2L)).thenReturn(Optional.of(CatalogSnapshot.build(2L,
+                List.of(new Brand(1L, BRAND_CODE, "Honda", null, 1L)), vehicles)));
     }
-}
\ No newline at end of file
+}
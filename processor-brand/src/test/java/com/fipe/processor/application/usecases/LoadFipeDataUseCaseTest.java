@@ -1,19 +1,26 @@
 package com.fipe.processor.application.usecases;
 
+import com.fipe.processor.application.concurrency.IngestionConcurrency;
 import com.fipe.processor.application.ports.BrandMessagePublisherPort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
 import com.fipe.processor.application.ports.FipeServicePort;
 import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.repositories.BrandRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -31,9 +38,19 @@ class LoadFipeDataUseCaseTest {
     @Mock
     private BrandMessagePublisherPort messagePublisher;
 
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    @Spy
+    private IngestionConcurrency concurrency = new IngestionConcurrency(8, 8);
+
     @InjectMocks
     private LoadFipeDataUseCase loadFipeDataUseCase;
 
+    @BeforeEach
+    void setUp() {
+        when(catalogGenerations.begin()).thenReturn(Mono.just(9L));
+    }
     
     @Test
     void shouldSuccessfullyLoadSaveAndPublishBrands() {
@@ -42,8 +59,9 @@ class LoadFipeDataUseCaseTest {
         Brand brand2 = Brand.create("002", "Brand Two");
 
         when(fipeService.fetchBrands()).thenReturn(Flux.just(brand1, brand2));
-        when(brandRepository.save(any(Brand.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(brandRepository.saveForGeneration(any(), any(), any())).thenReturn(Mono.just(0L));
         when(messagePublisher.publish(any(), any(), any())).thenReturn(Mono.empty());
+        when(catalogGenerations.seal(9L, 2)).thenReturn(Mono.just(false));
 
         
         StepVerifier.create(loadFipeDataUseCase.execute())
@@ -52,8 +70,13 @@ class LoadFipeDataUseCaseTest {
 
         
         verify(fipeService).fetchBrands();
-        verify(brandRepository, times(2)).save(any(Brand.class));
+        verify(brandRepository).saveForGeneration("001", "Brand One", 9L);
+        verify(brandRepository).saveForGeneration("002", "Brand Two", 9L);
+        verify(catalogGenerations, never()).fail(any());
         verify(messagePublisher, times(2)).publish(any(), any(), any());
+        verify(catalogGenerations).seal(9L, 2);
+        assertEquals(9L, brand1.getGeneration());
+        assertEquals(9L, brand2.getGeneration());
     }
 
     @Test
@@ -62,7 +85,8 @@ class LoadFipeDataUseCaseTest {
         Brand brand1 = Brand.create("001", "Brand One");
 
         when(fipeService.fetchBrands()).thenReturn(Flux.just(brand1));
-        when(brandRepository.save(any(Brand.class))).thenReturn(Mono.error(new RuntimeException("Save error")));
+        when(brandRepository.saveForGeneration(any(), any(), any())).thenReturn(Mono.error(new RuntimeException("Save error")));
+        when(catalogGenerations.fail(9L)).thenReturn(Mono.empty());
 
         
         StepVerifier.create(loadFipeDataUseCase.execute())
@@ -72,8 +96,10 @@ class LoadFipeDataUseCaseTest {
 
         
         verify(fipeService).fetchBrands();
-        verify(brandRepository).save(any(Brand.class));
+        verify(brandRepository).saveForGeneration("001", "Brand One", 9L);
         verifyNoInteractions(messagePublisher);
+        verify(catalogGenerations, never()).seal(any(), anyInt());
+        verify(catalogGenerations).fail(9L);
     }
 
     @Test
@@ -82,8 +108,9 @@ class LoadFipeDataUseCaseTest {
         Brand brand1 = Brand.create("001", "Brand One");
 
         when(fipeService.fetchBrands()).thenReturn(Flux.just(brand1));
-        when(brandRepository.save(any(Brand.class))).thenReturn(Mono.just(brand1));
+        when(brandRepository.saveForGeneration(any(), any(), any())).thenReturn(Mono.just(0L));
         when(messagePublisher.publish(any(), any(), any())).thenReturn(Mono.error(new RuntimeException("Publish error")));
+        when(catalogGenerations.fail(9L)).thenReturn(Mono.empty());
 
         
         StepVerifier.create(loadFipeDataUseCase.execute())
@@ -93,14 +120,17 @@ class LoadFipeDataUseCaseTest {
 
         
         verify(fipeService).fetchBrands();
-        verify(brandRepository).save(any(Brand.class));
+        verify(brandRepository).saveForGeneration("001", "Brand One", 9L);
         verify(messagePublisher).publish(any(), any(), any());
+        verify(catalogGenerations, never()).seal(any(), anyInt());
+        verify(catalogGenerations).fail(9L);
     }
 
     @Test
     void shouldHandleEmptyBrandList() {
         
         when(fipeService.fetchBrands()).thenReturn(Flux.empty());
+        when(catalogGenerations.seal(9L, 0)).thenReturn(Mono.just(true));
 
         
         StepVerifier.create(loadFipeDataUseCase.execute())
@@ -116,6 +146,7 @@ class LoadFipeDataUseCaseTest {
     void shouldHandleFipeServiceError() {
         
         when(fipeService.fetchBrands()).thenReturn(Flux.error(new RuntimeException("Service unavailable")));
+        when(catalogGenerations.fail(9L)).thenReturn(Mono.empty());
 
         
         StepVerifier.create(loadFipeDataUseCase.execute())
@@ -127,5 +158,6 @@ class LoadFipeDataUseCaseTest {
         verify(fipeService).fetchBrands();
         verifyNoInteractions(brandRepository);
         verifyNoInteractions(messagePublisher);
+        verify(catalogGenerations).fail(9L);
     }
 }
\ No newline at end of file
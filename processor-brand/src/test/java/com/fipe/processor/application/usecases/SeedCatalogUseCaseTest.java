@@ -0,0 +1,123 @@
+package com.fipe.processor.application.usecases;
+
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.CatalogSnapshotPort;
+import com.fipe.processor.application.ports.CatalogWriterPort;
+import com.fipe.processor.domain.dto.CatalogSeedResult;
+import com.fipe.processor.domain.dto.CatalogSnapshotEntry;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeedCatalogUseCaseTest {
+
+    private static final Path SNAPSHOT = Path.of("catalog.ndjson");
+
+    @Mock
+    private CatalogSnapshotPort snapshotReader;
+
+    @Mock
+    private CatalogWriterPort catalogWriter;
+
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    @InjectMocks
+    private SeedCatalogUseCase seedCatalogUseCase;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seedCatalogUseCase, "batchSize", 2);
+    }
+
+    @Test
+    void shouldWriteBrandsAndVehiclesInBatchesIntoNewGenerationAndPublishIt() {
+        when(catalogGenerations.begin()).thenReturn(Mono.just(7L));
+        when(snapshotReader.read(SNAPSHOT)).thenReturn(Flux.just(
+                new CatalogSnapshotEntry("brand", "1", null, "Acura"),
+                new CatalogSnapshotEntry("vehicle", "10", "1", "Integra GS 1.8"),
+                new CatalogSnapshotEntry("vehicle", "11", "1", "Legend 3.2/3.5"),
+                new CatalogSnapshotEntry("vehicle", "12", "1", "NSX 3.0"),
+                new CatalogSnapshotEntry("brand", "2", null, "Agrale")));
+        when(catalogWriter.insertBrands(anyList())).thenAnswer(inv -> Mono.just((long) inv.<List<?>>getArgument(0).size()));
+        when(catalogWriter.insertVehicles(anyList())).thenAnswer(inv -> Mono.just((long) inv.<List<?>>getArgument(0).size()));
+        when(catalogGenerations.seal(7L, 0)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(seedCatalogUseCase.execute(SNAPSHOT))
+                .expectNext(new CatalogSeedResult(2, 3, 0))
+                .verifyComplete();
+
+        ArgumentCaptor<List<Vehicle>> vehicles = ArgumentCaptor.forClass(List.class);
+        verify(catalogWriter, times(2)).insertVehicles(vehicles.capture());
+        assertThat(vehicles.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(vehicles.getAllValues().get(0).get(0).getBrandCode()).isEqualTo("1");
+        assertThat(vehicles.getAllValues().get(0)).extracting(Vehicle::getGeneration).containsOnly(7L);
+        verify(catalogWriter, times(1)).insertBrands(anyList());
+        verify(catalogGenerations).seal(7L, 0);
+    }
+
+    @Test
+    void shouldSkipInvalidEntries() {
+        when(catalogGenerations.begin()).thenReturn(Mono.just(7L));
+        when(snapshotReader.read(SNAPSHOT)).thenReturn(Flux.just(
+                new CatalogSnapshotEntry("brand", "1", null, "Acura"),
+                new CatalogSnapshotEntry("vehicle", "10", null, "Missing brand"),
+                new CatalogSnapshotEntry("unknown", "99", "1", "Unknown type")));
+        when(catalogWriter.insertBrands(anyList())).thenReturn(Mono.just(1L));
+        when(catalogGenerations.seal(7L, 0)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(seedCatalogUseCase.execute(SNAPSHOT))
+                .expectNext(new CatalogSeedResult(1, 0, 2))
+                .verifyComplete();
+
+        verify(catalogWriter, never()).insertVehicles(anyList());
+    }
+
+    @Test
+    void shouldPropagateWriterErrors() {
+        when(catalogGenerations.begin()).thenReturn(Mono.just(7L));
+        when(snapshotReader.read(SNAPSHOT)).thenReturn(Flux.just(new CatalogSnapshotEntry("brand", "1", null, "Acura")));
+        when(catalogWriter.insertBrands(anyList())).thenReturn(Mono.error(new RuntimeException("Database error")));
+        when(catalogGenerations.fail(7L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(seedCatalogUseCase.execute(SNAPSHOT))
+                .expectErrorMessage("Database error")
+                .verify();
+
+        verify(catalogGenerations, never()).seal(any(), anyInt());
+        verify(catalogGenerations).fail(7L);
+    }
+
+    @Test
+    void shouldMapEntriesToDomain() {
+        Brand brand = new CatalogSnapshotEntry("brand", "1", null, "Acura").toBrand(3L);
+        Vehicle vehicle = new CatalogSnapshotEntry("vehicle", "10", "1", "Integra").toVehicle(3L);
+
+        assertThat(brand.getName()).isEqualTo("Acura");
+        assertThat(brand.getGeneration()).isEqualTo(3L);
+        assertThat(vehicle.getModel()).isEqualTo("Integra");
+        assertThat(vehicle.getGeneration()).isEqualTo(3L);
+    }
+}
@@ -1,5 +1,6 @@
 package com.fipe.processor.application.usecases;
 
+import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
 import com.fipe.processor.domain.entities.Vehicle;
 import com.fipe.processor.domain.repositories.VehicleRepository;
 import java.time.LocalDateTime;
@@ -11,7 +12,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -22,6 +28,9 @@ class UpdateVehicleUseCaseTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private GetVehiclesByBrandServicePort vehiclesByBrand;
+
     @InjectMocks
     private UpdateVehicleUseCase updateVehicleUseCase;
 
@@ -32,36 +41,28 @@ class UpdateVehicleUseCaseTest {
         String newModel = "New Model";
         String newObservations = "New observations";
 
-        Vehicle existingVehicle = Vehicle.builder()
-                .id(vehicleId)
-                .code("V001")
-                .brandCode("BRAND01")
-                .model("Old Model")
-                .observations("Old observations")
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .updatedAt(LocalDateTime.now().minusDays(1))
-                .build();
-
         Vehicle updatedVehicle = Vehicle.builder()
                 .id(vehicleId)
                 .code("V001")
                 .brandCode("BRAND01")
                 .model(newModel)
                 .observations(newObservations)
-                .createdAt(existingVehicle.getCreatedAt())
+                .createdAt(LocalDateTime.now().minusDays(1))
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(vehicleRepository.findById(vehicleId)).thenReturn(Mono.just(existingVehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(Mono.just(updatedVehicle));
+        when(vehicleRepository.updateAndReturn(eq(vehicleId), eq(newModel), eq(newObservations), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(updatedVehicle));
+        when(vehiclesByBrand.patchCachedVehicle(updatedVehicle)).thenReturn(Mono.empty());
 
         
         StepVerifier.create(updateVehicleUseCase.execute(vehicleId, newModel, newObservations))
                 .expectNext(updatedVehicle)
                 .verifyComplete();
 
-        verify(vehicleRepository).findById(vehicleId);
-        verify(vehicleRepository).save(any(Vehicle.class));
+        verify(vehicleRepository).updateAndReturn(eq(vehicleId), eq(newModel), eq(newObservations), any(LocalDateTime.class));
+        verify(vehiclesByBrand).patchCachedVehicle(updatedVehicle);
+        verifyNoMoreInteractions(vehicleRepository);
     }
 
     @Test
@@ -71,7 +72,8 @@ class UpdateVehicleUseCaseTest {
         String newModel = "New Model";
         String newObservations = "New observations";
 
-        when(vehicleRepository.findById(vehicleId)).thenReturn(Mono.empty());
+        when(vehicleRepository.updateAndReturn(eq(vehicleId), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Mono.empty());
 
         
         StepVerifier.create(updateVehicleUseCase.execute(vehicleId, newModel, newObservations))
@@ -79,113 +81,78 @@ class UpdateVehicleUseCaseTest {
                         throwable.getMessage().equals("Vehicle not found with id: " + vehicleId))
                 .verify();
 
-        verify(vehicleRepository).findById(vehicleId);
-        verifyNoMoreInteractions(vehicleRepository);
+        verify(vehiclesByBrand, never()).patchCachedVehicle(any(Vehicle.class));
     }
 
     @Test
-    void execute_shouldUpdateOnlyObservationsWhenModelIsNull() {
+    void execute_shouldKeepModelWhenModelIsNull() {
         
         Long vehicleId = 1L;
-        String nullModel = null;
         String newObservations = "Updated observations";
+        Vehicle updatedVehicle = Vehicle.builder().id(vehicleId).code("V001").brandCode("BRAND01")
+                .model("Original Model").observations(newObservations).build();
 
-        Vehicle existingVehicle = Vehicle.builder()
-                .id(vehicleId)
-                .code("V001")
-                .brandCode("BRAND01")
-                .model("Original Model")
-                .observations("Old observations")
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .updatedAt(LocalDateTime.now().minusDays(1))
-                .build();
-
-        when(vehicleRepository.findById(vehicleId)).thenReturn(Mono.just(existingVehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenAnswer(invocation -> {
-            Vehicle savedVehicle = invocation.getArgument(0);
-            return Mono.just(savedVehicle);
-        });
+        when(vehicleRepository.updateAndReturn(eq(vehicleId), isNull(), eq(newObservations), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(updatedVehicle));
+        when(vehiclesByBrand.patchCachedVehicle(updatedVehicle)).thenReturn(Mono.empty());
 
         
-        StepVerifier.create(updateVehicleUseCase.execute(vehicleId, nullModel, newObservations))
-                .expectNextMatches(vehicle ->
-                        vehicle.getId().equals(vehicleId) &&
-                                vehicle.getModel().equals("Original Model") && // Model não deve mudar
-                                vehicle.getObservations().equals(newObservations) &&
-                                vehicle.getUpdatedAt() != null
-                )
+        StepVerifier.create(updateVehicleUseCase.execute(vehicleId, null, newObservations))
+                .expectNextMatches(vehicle -> vehicle.getModel().equals("Original Model") // Model não deve mudar
+                        && vehicle.getObservations().equals(newObservations))
                 .verifyComplete();
-
-        verify(vehicleRepository).findById(vehicleId);
-        verify(vehicleRepository).save(any(Vehicle.class));
     }
 
     @Test
-    void execute_shouldUpdateOnlyObservationsWhenModelIsBlank() {
+    void execute_shouldKeepModelWhenModelIsBlank() {
         
         Long vehicleId = 1L;
-        String blankModel = "   ";
         String newObservations = "Updated observations";
+        Vehicle updatedVehicle = Vehicle.builder().id(vehicleId).code("V001").brandCode("BRAND01")
+                .model("Original Model").observations(newObservations).build();
 
-        Vehicle existingVehicle = Vehicle.builder()
-                .id(vehicleId)
-                .code("V001")
-                .brandCode("BRAND01")
-                .model("Original Model")
-                .observations("Old observations")
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .updatedAt(LocalDateTime.now().minusDays(1))
-                .build();
-
-        when(vehicleRepository.findById(vehicleId)).thenReturn(Mono.just(existingVehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenAnswer(invocation -> {
-            Vehicle savedVehicle = invocation.getArgument(0);
-            return Mono.just(savedVehicle);
-        });
+        when(vehicleRepository.updateAndReturn(eq(vehicleId), isNull(), eq(newObservations), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(updatedVehicle));
+        when(vehiclesByBrand.patchCachedVehicle(updatedVehicle)).thenReturn(Mono.empty());
 
         
-        StepVerifier.create(updateVehicleUseCase.execute(vehicleId, blankModel, newObservations))
-                .expectNextMatches(vehicle ->
-                        vehicle.getId().equals(vehicleId) &&
-                                vehicle.getModel().equals("Original Model") && // Model não deve mudar
-                                vehicle.getObservations().equals(newObservations) &&
-                                vehicle.getUpdatedAt() != null
-                )
+        StepVerifier.create(updateVehicleUseCase.execute(vehicleId, "   ", newObservations))
+                .expectNext(updatedVehicle)
                 .verifyComplete();
 
-        verify(vehicleRepository).findById(vehicleId);
-        verify(vehicleRepository).save(any(Vehicle.class));
+        verify(vehicleRepository).updateAndReturn(eq(vehicleId), isNull(), eq(newObservations), any(LocalDateTime.class));
     }
 
     @Test
     void execute_shouldHandleRepositoryError() {
         
         Long vehicleId = 1L;
-        String newModel = "New Model";
-        String newObservations = "New observations";
-
-        Vehicle existingVehicle = Vehicle.builder()
-                .id(vehicleId)
-                .code("V001")
-                .brandCode("BRAND01")
-                .model("Old Model")
-                .observations("Old observations")
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .updatedAt(LocalDateTime.now().minusDays(1))
-                .build();
-
         RuntimeException repositoryError = new RuntimeException("Database error");
 
-        when(vehicleRepository.findById(vehicleId)).thenReturn(Mono.just(existingVehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(Mono.error(repositoryError));
+        when(vehicleRepository.updateAndReturn(anyLong(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Mono.error(repositoryError));
 
         
-        StepVerifier.create(updateVehicleUseCase.execute(vehicleId, newModel, newObservations))
+        StepVerifier.create(updateVehicleUseCase.execute(vehicleId, "New Model", "New observations"))
                 .expectErrorMatches(throwable -> throwable instanceof RuntimeException &&
                         throwable.getMessage().equals("Database error"))
                 .verify();
 
-        verify(vehicleRepository).findById(vehicleId);
-        verify(vehicleRepository).save(any(Vehicle.class));
+        verify(vehiclesByBrand, never()).patchCachedVehicle(any(Vehicle.class));
+    }
+
+    @Test
+    void execute_shouldReturnUpdatedVehicleWhenCachePatchFails() {
+        
+        Vehicle updatedVehicle = Vehicle.builder().id(1L).code("V001").brandCode("BRAND01").model("New Model").build();
+
+        when(vehicleRepository.updateAndReturn(eq(1L), eq("New Model"), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(updatedVehicle));
+        when(vehiclesByBrand.patchCachedVehicle(updatedVehicle)).thenReturn(Mono.error(new RuntimeException("Redis down")));
+
+        
+        StepVerifier.create(updateVehicleUseCase.execute(1L, "New Model", null))
+                .expectNext(updatedVehicle)
+                .verifyComplete();
     }
-}
\ No newline at end of file
+}
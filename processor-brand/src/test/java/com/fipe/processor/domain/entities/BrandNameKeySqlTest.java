@@ -0,0 +1,50 @@
+package com.fipe.processor.domain.entities;
+
+import com.fipe.processor.support.CatalogDatabase;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the {@code brand_name_key} SQL function against the same cases as {@link Brand#normalizeName}.
+ */
+class BrandNameKeySqlTest {
+
+    private static EmbeddedPostgres postgres;
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        postgres = CatalogDatabase.start();
+        connection = postgres.getPostgresDatabase().getConnection();
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (connection != null) {
+            connection.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/brand-name-keys.csv")
+    void brandNameKey_ShouldMatchBrandNameKeyCases(String name, String expected) throws Exception {
+        try (PreparedStatement query = connection.prepareStatement("SELECT brand_name_key(?)")) {
+            query.setString(1, BrandTest.unescape(name));
+            try (ResultSet result = query.executeQuery()) {
+                assertThat(result.next()).isTrue();
+                assertThat(result.getString(1)).isEqualTo(BrandTest.unescape(expected));
+            }
+        }
+    }
+}
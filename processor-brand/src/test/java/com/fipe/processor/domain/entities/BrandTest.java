@@ -0,0 +1,29 @@
+package com.fipe.processor.domain.entities;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BrandTest {
+
+    private static final Pattern ESCAPE = Pattern.compile("\\\\u([0-9A-Fa-f]{4})");
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/brand-name-keys.csv")
+    void normalizeName_ShouldMatchBrandNameKeyCases(String name, String expected) {
+        assertThat(Brand.normalizeName(unescape(name))).isEqualTo(unescape(expected));
+    }
+
+    static String unescape(String value) {
+        Matcher escape = ESCAPE.matcher(value);
+        StringBuilder result = new StringBuilder();
+        while (escape.find()) {
+            escape.appendReplacement(result, Matcher.quoteReplacement(
+                    String.valueOf((char) Integer.parseInt(escape.group(1), 16))));
+        }
+        return escape.appendTail(result).toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.fipe.processor.infrastructure.actuator;
+
+import com.fipe.processor.application.concurrency.IngestionConcurrency;
+import com.fipe.processor.application.concurrency.StageStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestionEndpointTest {
+
+    private final IngestionConcurrency concurrency = new IngestionConcurrency(8, 4);
+    private final IngestionEndpoint endpoint = new IngestionEndpoint(concurrency);
+
+    @Test
+    void stages_ShouldListEveryStage() {
+        assertThat(endpoint.stages())
+                .extracting(StageStatus::stage)
+                .containsExactly("db-write", "kafka-publish");
+        assertThat(endpoint.stage("kafka-publish")).isEqualTo(new StageStatus("kafka-publish", 4, 0, 0));
+        assertThat(endpoint.stage("unknown")).isNull();
+    }
+
+    @Test
+    void configure_ShouldChangeLimitAtRuntime() {
+        StageStatus status = endpoint.configure("db-write", 16);
+
+        assertThat(status.maxConcurrency()).isEqualTo(16);
+        assertThat(concurrency.stage("db-write").getMaxConcurrency()).isEqualTo(16);
+    }
+
+    @Test
+    void configure_ShouldRejectUnknownStageAndInvalidLimit() {
+        assertThatThrownBy(() -> endpoint.configure("unknown", 4))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.configure("db-write", 0))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+    }
+}
@@ -0,0 +1,142 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fipe.processor.domain.entities.CatalogGeneration;
+import com.fipe.processor.domain.repositories.CatalogGenerationRepository;
+import com.fipe.processor.infrastructure.cache.CatalogSnapshotFile;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogGenerationAdapterTest {
+
+    @Mock
+    private CatalogGenerationRepository generationRepository;
+
+    @Mock
+    private CatalogSnapshotFile snapshotFile;
+
+    @InjectMocks
+    private CatalogGenerationAdapter adapter;
+
+    @Test
+    void publishedGeneration_shouldQueryOnceAndReuseKnownValue() {
+        when(generationRepository.findPublishedGeneration()).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(adapter.publishedGeneration()).expectNext(3L).verifyComplete();
+        StepVerifier.create(adapter.publishedGeneration()).expectNext(3L).verifyComplete();
+
+        verify(generationRepository, times(1)).findPublishedGeneration();
+    }
+
+    @Test
+    void publishedGeneration_shouldComeFromSnapshotFileOnReadOnlyReplica() {
+        when(snapshotFile.readOnly()).thenReturn(true);
+        when(snapshotFile.generation()).thenReturn(Mono.just(6L));
+
+        StepVerifier.create(adapter.publishedGeneration()).expectNext(6L).verifyComplete();
+
+        verify(generationRepository, never()).findPublishedGeneration();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(adapter, "abandonAfter", Duration.ofHours(12));
+    }
+
+    @Test
+    void begin_shouldInsertLoadingGeneration() {
+        when(generationRepository.failLoadingStartedBefore(any())).thenReturn(Mono.just(0L));
+        when(generationRepository.save(any(CatalogGeneration.class)))
+                .thenAnswer(inv -> {
+                    CatalogGeneration generation = inv.getArgument(0);
+                    generation.setId(4L);
+                    return Mono.just(generation);
+                });
+
+        StepVerifier.create(adapter.begin()).expectNext(4L).verifyComplete();
+
+        ArgumentCaptor<CatalogGeneration> captor = ArgumentCaptor.forClass(CatalogGeneration.class);
+        verify(generationRepository).save(captor.capture());
+        assertEquals(CatalogGeneration.LOADING, captor.getValue().getStatus());
+    }
+
+    @Test
+    void begin_shouldFailLoadsStartedBeforeAbandonCutoff() {
+        when(generationRepository.failLoadingStartedBefore(any())).thenReturn(Mono.just(1L));
+        when(generationRepository.save(any(CatalogGeneration.class))).thenAnswer(inv -> {
+            CatalogGeneration generation = inv.getArgument(0);
+            generation.setId(5L);
+            return Mono.just(generation);
+        });
+        LocalDateTime before = LocalDateTime.now();
+
+        StepVerifier.create(adapter.begin()).expectNext(5L).verifyComplete();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(generationRepository).failLoadingStartedBefore(cutoff.capture());
+        assertFalse(cutoff.getValue().isAfter(before.minusHours(12).plusSeconds(5)));
+        assertTrue(cutoff.getValue().isAfter(before.minusHours(12).minusSeconds(5)));
+    }
+
+    @Test
+    void fail_shouldMarkLoadingGenerationFailed() {
+        when(generationRepository.fail(4L)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(adapter.fail(4L)).verifyComplete();
+
+        verify(generationRepository).fail(4L);
+    }
+
+    @Test
+    void seal_shouldSwitchReadsWhenGenerationIsComplete() {
+        when(generationRepository.findPublishedGeneration()).thenReturn(Mono.just(3L), Mono.just(4L));
+        when(generationRepository.seal(4L, 2)).thenReturn(Mono.just(1L));
+        when(generationRepository.publishIfComplete(4L)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(adapter.publishedGeneration()).expectNext(3L).verifyComplete();
+        StepVerifier.create(adapter.seal(4L, 2)).expectNext(true).verifyComplete();
+        StepVerifier.create(adapter.publishedGeneration()).expectNext(4L).verifyComplete();
+    }
+
+    @Test
+    void generationChanges_shouldEmitWhenReadsSwitchToNewerGeneration() {
+        when(generationRepository.findPublishedGeneration()).thenReturn(Mono.just(3L), Mono.just(4L));
+        when(generationRepository.seal(4L, 2)).thenReturn(Mono.just(1L));
+        when(generationRepository.publishIfComplete(4L)).thenReturn(Mono.just(1L));
+        StepVerifier.create(adapter.publishedGeneration()).expectNext(3L).verifyComplete();
+
+        StepVerifier.create(adapter.generationChanges().take(1))
+                .then(() -> adapter.seal(4L, 2).block())
+                .expectNext(4L)
+                .verifyComplete();
+    }
+
+    @Test
+    void seal_shouldKeepPreviousGenerationWhileBrandsAreStillLoading() {
+        when(generationRepository.seal(4L, 2)).thenReturn(Mono.just(1L));
+        when(generationRepository.publishIfComplete(4L)).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(adapter.seal(4L, 2)).expectNext(false).verifyComplete();
+
+        verify(generationRepository, never()).findPublishedGeneration();
+    }
+}
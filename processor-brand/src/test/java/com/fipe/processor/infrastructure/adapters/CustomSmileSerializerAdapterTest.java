@@ -0,0 +1,60 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fipe.processor.domain.entities.Brand;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class CustomSmileSerializerAdapterTest {
+
+    private CustomSmileSerializerAdapter<Object> serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new CustomSmileSerializerAdapter<>();
+    }
+
+    @Test
+    void shouldWriteSmileMagicHeader() {
+        byte[] result = serializer.serialize("test-topic", Brand.create("1", "Acura"));
+
+        assertNotNull(result);
+        assertArrayEquals(new byte[]{':', ')', '\n'}, new byte[]{result[0], result[1], result[2]});
+    }
+
+    @Test
+    void shouldAddContentTypeAndSchemaVersionHeaders() {
+        RecordHeaders headers = new RecordHeaders();
+
+        serializer.serialize("test-topic", headers, Brand.create("1", "Acura"));
+        serializer.serialize("test-topic", headers, Brand.create("1", "Acura"));
+
+        assertEquals("application/x-jackson-smile",
+                new String(headers.lastHeader("content-type").value(), StandardCharsets.UTF_8));
+        assertEquals("1", new String(headers.lastHeader("schema-version").value(), StandardCharsets.UTF_8));
+        assertEquals(1, headers.toArray().length / 2);
+    }
+
+    @Test
+    void shouldRoundTripBrand() throws Exception {
+        Brand brand = new Brand(1L, "59", "VW - VolksWagen", LocalDateTime.of(2024, 1, 15, 10, 30), 3L);
+
+        byte[] result = serializer.serialize("test-topic", brand);
+
+        Brand decoded = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readValue(result, Brand.class);
+        assertEquals(brand, decoded);
+    }
+}
@@ -0,0 +1,72 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.domain.dto.CatalogSnapshotEntry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileCatalogSnapshotAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileCatalogSnapshotAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new FileCatalogSnapshotAdapter(new ObjectMapper());
+    }
+
+    @Test
+    void shouldReadNdjsonSnapshot() throws IOException {
+        Path snapshot = Files.writeString(tempDir.resolve("catalog.ndjson"), """
+                {"type":"brand","code":"1","name":"Acura"}
+
+                {"type":"vehicle","code":"10","brandCode":"1","model":"Integra GS 1.8"}
+                """);
+
+        StepVerifier.create(adapter.read(snapshot))
+                .expectNext(new CatalogSnapshotEntry("brand", "1", null, "Acura"))
+                .expectNext(new CatalogSnapshotEntry("vehicle", "10", "1", "Integra GS 1.8"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReadCsvSnapshotWithHeaderAndQuotedValues() throws IOException {
+        Path snapshot = Files.writeString(tempDir.resolve("catalog.csv"),
+                "type,code,brandCode,name\n"
+                        + "brand,1,,Acura\n"
+                        + "vehicle,10,1,\"Legend 3.2/3.5, \"\"Special\"\"\"\n");
+
+        StepVerifier.create(adapter.read(snapshot))
+                .expectNext(new CatalogSnapshotEntry("brand", "1", null, "Acura"))
+                .expectNext(new CatalogSnapshotEntry("vehicle", "10", "1", "Legend 3.2/3.5, \"Special\""))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailOnMalformedLineWithLineNumber() throws IOException {
+        Path snapshot = Files.writeString(tempDir.resolve("catalog.jsonl"), """
+                {"type":"brand","code":"1","name":"Acura"}
+                {not json
+                """);
+
+        StepVerifier.create(adapter.read(snapshot))
+                .expectNextCount(1)
+                .expectErrorMatches(error -> error instanceof IllegalArgumentException
+                        && error.getMessage().equals("Malformed snapshot line 2"))
+                .verify();
+    }
+
+    @Test
+    void shouldSplitCsvColumns() {
+        assertThat(FileCatalogSnapshotAdapter.splitCsv("a, b ,\"c,d\",")).containsExactly("a", "b", "c,d", "");
+    }
+}
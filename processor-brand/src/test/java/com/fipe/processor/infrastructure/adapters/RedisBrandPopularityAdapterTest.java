@@ -0,0 +1,98 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisBrandPopularityAdapterTest {
+
+    private static final String TODAY = "cache:popularity:brands:2024-01-15";
+    private static final String YESTERDAY = "cache:popularity:brands:2024-01-14";
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ReactiveZSetOperations<String, String> zSetOperations;
+
+    private RedisBrandPopularityAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new RedisBrandPopularityAdapter(redisTemplate);
+        ReflectionTestUtils.setField(adapter, "clock",
+                Clock.fixed(Instant.parse("2024-01-15T10:30:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should flush locally tallied reads with one ZINCRBY per brand")
+    void shouldFlushTalliedReads() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.incrementScore(TODAY, "Fiat", 2)).thenReturn(Mono.just(2.0));
+        when(zSetOperations.incrementScore(TODAY, "Honda", 1)).thenReturn(Mono.just(5.0));
+        when(redisTemplate.expire(TODAY, Duration.ofDays(2))).thenReturn(Mono.just(true));
+
+        adapter.record("Fiat");
+        adapter.record("Fiat");
+        adapter.record("Honda");
+
+        StepVerifier.create(adapter.flush()).expectNext(3L).verifyComplete();
+        StepVerifier.create(adapter.flush()).expectNext(0L).verifyComplete();
+
+        verify(zSetOperations).incrementScore(TODAY, "Fiat", 2);
+        verify(zSetOperations).incrementScore(TODAY, "Honda", 1);
+    }
+
+    @Test
+    @DisplayName("Should not touch Redis when nothing was read")
+    void shouldSkipEmptyFlush() {
+        StepVerifier.create(adapter.flush()).expectNext(0L).verifyComplete();
+
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    @DisplayName("Should rank brands by today's and yesterday's reads combined")
+    void shouldRankAcrossTwoDays() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeWithScores(TODAY, Range.closed(0L, 1L))).thenReturn(Flux.just(
+                new DefaultTypedTuple<>("Fiat", 10.0), new DefaultTypedTuple<>("Honda", 4.0)));
+        when(zSetOperations.reverseRangeWithScores(YESTERDAY, Range.closed(0L, 1L))).thenReturn(Flux.just(
+                new DefaultTypedTuple<>("Honda", 9.0), new DefaultTypedTuple<>("Audi", 3.0)));
+
+        StepVerifier.create(adapter.top(2))
+                .expectNext("Honda", "Fiat")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return nothing for a non-positive limit instead of reading the whole set")
+    void shouldReturnEmptyForZeroLimit() {
+        StepVerifier.create(adapter.top(0)).verifyComplete();
+
+        verify(zSetOperations, never()).incrementScore(anyString(), anyString(), anyDouble());
+        verify(redisTemplate, never()).opsForZSet();
+    }
+}
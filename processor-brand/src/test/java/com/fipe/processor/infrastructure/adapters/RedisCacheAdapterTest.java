@@ -1,28 +1,44 @@
 package com.fipe.processor.infrastructure.adapters;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.infrastructure.cache.codec.CacheCompression;
+import com.fipe.processor.infrastructure.cache.codec.CacheValueCodec;
+import com.fipe.processor.infrastructure.cache.codec.CacheValueFormat;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,25 +52,35 @@ class RedisCacheAdapterTest {
     private ReactiveValueOperations<String, String> valueOperations;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private ReactiveRedisTemplate<String, byte[]> bytesTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, byte[]> bytesOperations;
+
+    @Mock
+    private CacheValueCodec codec;
+
+    private final JavaType testObjectType = TypeFactory.defaultInstance().constructType(TestObject.class);
 
-    @InjectMocks
     private RedisCacheAdapter redisCacheAdapter;
 
     @BeforeEach
     void setUp() {
+        redisCacheAdapter = new RedisCacheAdapter(redisTemplate, bytesTemplate, codec);
+        when(codec.type(TestObject.class)).thenReturn(testObjectType);
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(bytesTemplate.opsForValue()).thenReturn(bytesOperations);
     }
 
     @Test
     @DisplayName("Should get value from cache successfully")
-    void shouldGetValueFromCacheSuccessfully() throws JsonProcessingException {
+    void shouldGetValueFromCacheSuccessfully() throws IOException {
         String key = "test:key";
-        String cachedJson = "{\"id\":\"1\",\"name\":\"Test\"}";
+        byte[] cached = "{\"id\":\"1\",\"name\":\"Test\"}".getBytes(StandardCharsets.UTF_8);
         TestObject expectedObject = new TestObject("1", "Test");
 
-        when(valueOperations.get(key)).thenReturn(Mono.just(cachedJson));
-        when(objectMapper.readValue(cachedJson, TestObject.class)).thenReturn(expectedObject);
+        when(bytesOperations.get(key)).thenReturn(Mono.just(cached));
+        when(codec.decode(cached, testObjectType)).thenReturn(expectedObject);
 
         Mono<TestObject> result = redisCacheAdapter.get(key, TestObject.class);
 
@@ -62,8 +88,8 @@ class RedisCacheAdapterTest {
                 .expectNext(expectedObject)
                 .verifyComplete();
 
-        verify(valueOperations, times(1)).get(key);
-        verify(objectMapper, times(1)).readValue(cachedJson, TestObject.class);
+        verify(bytesOperations, times(1)).get(key);
+        verify(codec, times(1)).decode(cached, testObjectType);
     }
 
     @Test
@@ -71,25 +97,25 @@ class RedisCacheAdapterTest {
     void shouldReturnEmptyMonoWhenKeyNotFound() {
         String key = "test:key";
 
-        when(valueOperations.get(key)).thenReturn(Mono.empty());
+        when(bytesOperations.get(key)).thenReturn(Mono.empty());
 
         Mono<TestObject> result = redisCacheAdapter.get(key, TestObject.class);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(valueOperations, times(1)).get(key);
+        verify(bytesOperations, times(1)).get(key);
     }
 
     @Test
     @DisplayName("Should handle deserialization error")
-    void shouldHandleDeserializationError() throws JsonProcessingException {
+    void shouldHandleDeserializationError() throws IOException {
         String key = "test:key";
-        String cachedJson = "invalid-json";
+        byte[] cached = "invalid-json".getBytes(StandardCharsets.UTF_8);
         JsonProcessingException jsonException = new JsonProcessingException("Invalid JSON") {};
 
-        when(valueOperations.get(key)).thenReturn(Mono.just(cachedJson));
-        when(objectMapper.readValue(cachedJson, TestObject.class)).thenThrow(jsonException);
+        when(bytesOperations.get(key)).thenReturn(Mono.just(cached));
+        when(codec.decode(cached, testObjectType)).thenThrow(jsonException);
 
         Mono<TestObject> result = redisCacheAdapter.get(key, TestObject.class);
 
@@ -100,39 +126,39 @@ class RedisCacheAdapterTest {
                                 throwable.getCause() == jsonException)
                 .verify();
 
-        verify(valueOperations, times(1)).get(key);
-        verify(objectMapper, times(1)).readValue(cachedJson, TestObject.class);
+        verify(bytesOperations, times(1)).get(key);
+        verify(codec, times(1)).decode(cached, testObjectType);
     }
 
     @Test
     @DisplayName("Should put value in cache successfully")
-    void shouldPutValueInCacheSuccessfully() throws JsonProcessingException {
+    void shouldPutValueInCacheSuccessfully() throws IOException {
         String key = "test:key";
         TestObject value = new TestObject("1", "Test");
         Duration ttl = Duration.ofMinutes(30);
-        String serializedJson = "{\"id\":\"1\",\"name\":\"Test\"}";
+        byte[] serialized = "{\"id\":\"1\",\"name\":\"Test\"}".getBytes(StandardCharsets.UTF_8);
 
-        when(objectMapper.writeValueAsString(value)).thenReturn(serializedJson);
-        when(valueOperations.set(key, serializedJson, ttl)).thenReturn(Mono.just(true));
+        when(codec.encode(value)).thenReturn(serialized);
+        when(bytesOperations.set(key, serialized, ttl)).thenReturn(Mono.just(true));
 
         Mono<Void> result = redisCacheAdapter.put(key, value, ttl);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(objectMapper, times(1)).writeValueAsString(value);
-        verify(valueOperations, times(1)).set(key, serializedJson, ttl);
+        verify(codec, times(1)).encode(value);
+        verify(bytesOperations, times(1)).set(key, serialized, ttl);
     }
 
     @Test
     @DisplayName("Should handle serialization error when putting value")
-    void shouldHandleSerializationErrorWhenPuttingValue() throws JsonProcessingException {
+    void shouldHandleSerializationErrorWhenPuttingValue() throws IOException {
         String key = "test:key";
         TestObject value = new TestObject("1", "Test");
         Duration ttl = Duration.ofMinutes(30);
         JsonProcessingException jsonException = new JsonProcessingException("Serialization error") {};
 
-        when(objectMapper.writeValueAsString(value)).thenThrow(jsonException);
+        when(codec.encode(value)).thenThrow(jsonException);
 
         Mono<Void> result = redisCacheAdapter.put(key, value, ttl);
 
@@ -143,21 +169,21 @@ class RedisCacheAdapterTest {
                                 throwable.getCause() == jsonException)
                 .verify();
 
-        verify(objectMapper, times(1)).writeValueAsString(value);
-        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+        verify(codec, times(1)).encode(value);
+        verify(bytesOperations, never()).set(anyString(), any(byte[].class), any(Duration.class));
     }
 
     @Test
     @DisplayName("Should handle Redis error when putting value")
-    void shouldHandleRedisErrorWhenPuttingValue() throws JsonProcessingException {
+    void shouldHandleRedisErrorWhenPuttingValue() throws IOException {
         String key = "test:key";
         TestObject value = new TestObject("1", "Test");
         Duration ttl = Duration.ofMinutes(30);
-        String serializedJson = "{\"id\":\"1\",\"name\":\"Test\"}";
+        byte[] serialized = "{\"id\":\"1\",\"name\":\"Test\"}".getBytes(StandardCharsets.UTF_8);
         RuntimeException redisError = new RuntimeException("Redis connection failed");
 
-        when(objectMapper.writeValueAsString(value)).thenReturn(serializedJson);
-        when(valueOperations.set(key, serializedJson, ttl)).thenReturn(Mono.error(redisError));
+        when(codec.encode(value)).thenReturn(serialized);
+        when(bytesOperations.set(key, serialized, ttl)).thenReturn(Mono.error(redisError));
 
         Mono<Void> result = redisCacheAdapter.put(key, value, ttl);
 
@@ -165,8 +191,8 @@ class RedisCacheAdapterTest {
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(objectMapper, times(1)).writeValueAsString(value);
-        verify(valueOperations, times(1)).set(key, serializedJson, ttl);
+        verify(codec, times(1)).encode(value);
+        verify(bytesOperations, times(1)).set(key, serialized, ttl);
     }
 
     @Test
@@ -208,18 +234,17 @@ class RedisCacheAdapterTest {
         String key1 = "test:1";
         String key2 = "test:2";
 
-        when(redisTemplate.keys(pattern)).thenReturn(Flux.just(key1, key2));
-        when(redisTemplate.delete(key1)).thenReturn(Mono.just(1L));
-        when(redisTemplate.delete(key2)).thenReturn(Mono.just(1L));
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(Flux.just(key1, key2));
+        when(redisTemplate.unlink(key1, key2)).thenReturn(Mono.just(2L));
 
         Mono<Void> result = redisCacheAdapter.deleteByPattern(pattern);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(redisTemplate, times(1)).keys(pattern);
-        verify(redisTemplate, times(1)).delete(key1);
-        verify(redisTemplate, times(1)).delete(key2);
+        verify(redisTemplate, times(1)).scan(any(ScanOptions.class));
+        verify(redisTemplate, times(1)).unlink(key1, key2);
+        verify(redisTemplate, never()).keys(anyString());
     }
 
     @Test
@@ -227,15 +252,15 @@ class RedisCacheAdapterTest {
     void shouldHandleEmptyKeysWhenDeletingByPattern() {
         String pattern = "test:*";
 
-        when(redisTemplate.keys(pattern)).thenReturn(Flux.empty());
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(Flux.empty());
 
         Mono<Void> result = redisCacheAdapter.deleteByPattern(pattern);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(redisTemplate, times(1)).keys(pattern);
-        verify(redisTemplate, never()).delete(anyString());
+        verify(redisTemplate, times(1)).scan(any(ScanOptions.class));
+        verify(redisTemplate, never()).unlink(any(String[].class));
     }
 
     @Test
@@ -245,8 +270,8 @@ class RedisCacheAdapterTest {
         String key = "test:1";
         RuntimeException redisError = new RuntimeException("Redis connection failed");
 
-        when(redisTemplate.keys(pattern)).thenReturn(Flux.just(key));
-        when(redisTemplate.delete(key)).thenReturn(Mono.error(redisError));
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(Flux.just(key));
+        when(redisTemplate.unlink(key)).thenReturn(Mono.error(redisError));
 
         Mono<Void> result = redisCacheAdapter.deleteByPattern(pattern);
 
@@ -254,8 +279,7 @@ class RedisCacheAdapterTest {
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(redisTemplate, times(1)).keys(pattern);
-        verify(redisTemplate, times(1)).delete(key);
+        verify(redisTemplate, times(1)).unlink(key);
     }
 
     @Test
@@ -263,53 +287,130 @@ class RedisCacheAdapterTest {
     void shouldHandleNullValueWhenGettingFromCache() {
         String key = "test:key";
 
-        when(valueOperations.get(key)).thenReturn(Mono.empty());
+        when(bytesOperations.get(key)).thenReturn(Mono.empty());
 
         Mono<TestObject> result = redisCacheAdapter.get(key, TestObject.class);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(valueOperations, times(1)).get(key);
+        verify(bytesOperations, times(1)).get(key);
     }
 
     @Test
     @DisplayName("Should put null value in cache")
-    void shouldPutNullValueInCache() throws JsonProcessingException {
+    void shouldPutNullValueInCache() throws IOException {
         String key = "test:key";
         Duration ttl = Duration.ofMinutes(30);
-        String serializedJson = "null";
+        byte[] serialized = "null".getBytes(StandardCharsets.UTF_8);
 
-        when(objectMapper.writeValueAsString(null)).thenReturn(serializedJson);
-        when(valueOperations.set(key, serializedJson, ttl)).thenReturn(Mono.just(true));
+        when(codec.encode(null)).thenReturn(serialized);
+        when(bytesOperations.set(key, serialized, ttl)).thenReturn(Mono.just(true));
 
         Mono<Void> result = redisCacheAdapter.put(key, null, ttl);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(objectMapper, times(1)).writeValueAsString(null);
-        verify(valueOperations, times(1)).set(key, serializedJson, ttl);
+        verify(codec, times(1)).encode(null);
+        verify(bytesOperations, times(1)).set(key, serialized, ttl);
     }
 
     @Test
-    @DisplayName("Should handle complex object serialization")
-    void shouldHandleComplexObjectSerialization() throws JsonProcessingException {
-        String key = "test:key";
-        ComplexObject complexObject = new ComplexObject("parent", new TestObject("1", "child"));
+    @DisplayName("Should round-trip complex objects through the configured codec")
+    void shouldRoundTripComplexObjectThroughCodec() {
+        RedisCacheAdapter adapter = new RedisCacheAdapter(redisTemplate, bytesTemplate,
+                new CacheValueCodec(mapper(), CacheValueFormat.SMILE, CacheCompression.LZ4, 0));
+        Brand[] brands = {Brand.create("1", "Acura"), Brand.create("2", "Agrale")};
         Duration ttl = Duration.ofMinutes(30);
-        String serializedJson = "{\"parentName\":\"parent\",\"child\":{\"id\":\"1\",\"name\":\"child\"}}";
+        ArgumentCaptor<byte[]> stored = ArgumentCaptor.forClass(byte[].class);
 
-        when(objectMapper.writeValueAsString(complexObject)).thenReturn(serializedJson);
-        when(valueOperations.set(key, serializedJson, ttl)).thenReturn(Mono.just(true));
+        when(bytesOperations.set(eq("test:key"), stored.capture(), eq(ttl))).thenReturn(Mono.just(true));
+        StepVerifier.create(adapter.put("test:key", brands, ttl)).verifyComplete();
+        when(bytesOperations.get("test:key")).thenReturn(Mono.just(stored.getValue()));
 
-        Mono<Void> result = redisCacheAdapter.put(key, complexObject, ttl);
+        StepVerifier.create(adapter.get("test:key", Brand[].class))
+                .assertNext(read -> assertThat(read).extracting(Brand::getName).containsExactly("Acura", "Agrale"))
+                .verifyComplete();
+    }
 
-        StepVerifier.create(result)
+    @Test
+    @DisplayName("Should read a typed envelope written by the refresh-ahead cache")
+    void shouldGetEnvelopeWithTypedPayload() {
+        RedisCacheAdapter adapter = new RedisCacheAdapter(redisTemplate, bytesTemplate,
+                new CacheValueCodec(mapper(), CacheValueFormat.SMILE, CacheCompression.NONE, 1024));
+        String json = "{\"value\":[{\"code\":\"1\",\"name\":\"Acura\"}],\"softExpiresAt\":1000,\"computeMillis\":12}";
+
+        when(bytesOperations.get("brands:g1:all")).thenReturn(Mono.just(json.getBytes(StandardCharsets.UTF_8)));
+
+        StepVerifier.create(adapter.getEnvelope("brands:g1:all", Brand[].class))
+                .assertNext(envelope -> {
+                    assertThat(envelope.value()).extracting(Brand::getName).containsExactly("Acura");
+                    assertThat(envelope.softExpiresAt()).isEqualTo(1000L);
+                    assertThat(envelope.computeMillis()).isEqualTo(12L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should read the soft expiry of an envelope and nothing for other values")
+    void shouldReadSoftExpiryWithoutValue() {
+        RedisCacheAdapter adapter = new RedisCacheAdapter(redisTemplate, bytesTemplate,
+                new CacheValueCodec(mapper(), CacheValueFormat.SMILE, CacheCompression.NONE, 1024));
+        String json = "{\"value\":[{\"code\":\"1\",\"name\":\"Acura\"}],\"softExpiresAt\":1000,\"computeMillis\":12}";
+
+        when(bytesOperations.get("brands:g1:all")).thenReturn(Mono.just(json.getBytes(StandardCharsets.UTF_8)));
+        when(bytesOperations.get("brands:g1:all:body")).thenReturn(Mono.just("[{\"code\":\"1\"}]".getBytes(StandardCharsets.UTF_8)));
+        when(bytesOperations.get("vehicles:g1:brand:acura")).thenReturn(Mono.error(new RuntimeException("WRONGTYPE")));
+
+        StepVerifier.create(adapter.softExpiresAt("brands:g1:all"))
+                .expectNext(1000L)
                 .verifyComplete();
+        StepVerifier.create(adapter.softExpiresAt("brands:g1:all:body")).verifyComplete();
+        StepVerifier.create(adapter.softExpiresAt("vehicles:g1:brand:acura")).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should read several envelopes with one MGET and skip missing or undecodable values")
+    void shouldGetEnvelopesWithSingleMultiGet() {
+        RedisCacheAdapter adapter = new RedisCacheAdapter(redisTemplate, bytesTemplate,
+                new CacheValueCodec(mapper(), CacheValueFormat.SMILE, CacheCompression.NONE, 1024));
+        String json = "{\"value\":[{\"code\":\"1\",\"name\":\"Acura\"}],\"softExpiresAt\":1000,\"computeMillis\":12}";
+        List<String> keys = List.of("vehicles:g1:brand:acura", "vehicles:g1:brand:fiat", "vehicles:g1:brand:audi");
+
+        when(bytesOperations.multiGet(keys)).thenReturn(Mono.just(Arrays.asList(
+                json.getBytes(StandardCharsets.UTF_8), null, "not json".getBytes(StandardCharsets.UTF_8))));
+
+        StepVerifier.create(adapter.getEnvelopes(keys, Brand[].class))
+                .assertNext(envelopes -> {
+                    assertThat(envelopes).containsOnlyKeys("vehicles:g1:brand:acura");
+                    assertThat(envelopes.get("vehicles:g1:brand:acura").value())
+                            .extracting(Brand::getName).containsExactly("Acura");
+                })
+                .verifyComplete();
+        verify(bytesOperations, times(1)).multiGet(keys);
+    }
+
+    @Test
+    @DisplayName("Should store and read raw bytes without touching the codec")
+    void shouldPutAndGetBytes() {
+        byte[] body = "[{\"code\":\"1\"}]".getBytes();
+        Duration ttl = Duration.ofMinutes(30);
+
+        when(bytesOperations.set("brands:g1:all:body", body, ttl)).thenReturn(Mono.just(true));
+        when(bytesOperations.get("brands:g1:all:body")).thenReturn(Mono.just(body));
+
+        StepVerifier.create(redisCacheAdapter.putBytes("brands:g1:all:body", body, ttl)).verifyComplete();
+        StepVerifier.create(redisCacheAdapter.getBytes("brands:g1:all:body")).expectNext(body).verifyComplete();
+
+        verify(bytesOperations).set("brands:g1:all:body", body, ttl);
+        verifyNoInteractions(codec);
+    }
 
-        verify(objectMapper, times(1)).writeValueAsString(complexObject);
-        verify(valueOperations, times(1)).set(key, serializedJson, ttl);
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     }
 
     static class TestObject {
@@ -0,0 +1,92 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheNamespaceAdapterTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private RedisCacheNamespaceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new RedisCacheNamespaceAdapter(redisTemplate, Duration.ofMinutes(1));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("Should start a namespace at version zero")
+    void shouldStartAtVersionZero() {
+        when(valueOperations.get("cache:ns:brands")).thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.version("brands"))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reuse the version read from Redis within the local window")
+    void shouldMemoizeVersionLocally() {
+        when(valueOperations.get("cache:ns:brands")).thenReturn(Mono.just("3"));
+
+        StepVerifier.create(adapter.version("brands")).expectNext(3L).verifyComplete();
+        StepVerifier.create(adapter.version("brands")).expectNext(3L).verifyComplete();
+
+        verify(valueOperations, times(1)).get("cache:ns:brands");
+    }
+
+    @Test
+    @DisplayName("Should bump the counter and see the new version immediately")
+    void shouldInvalidateWithIncrement() {
+        when(valueOperations.increment("cache:ns:vehicles")).thenReturn(Mono.just(5L));
+
+        StepVerifier.create(adapter.invalidate("vehicles")).expectNext(5L).verifyComplete();
+        StepVerifier.create(adapter.version("vehicles")).expectNext(5L).verifyComplete();
+
+        verify(valueOperations, never()).get("cache:ns:vehicles");
+    }
+
+    @Test
+    @DisplayName("Should fall back to version zero when Redis fails before any version was seen")
+    void shouldFallBackToZeroWhenRedisFails() {
+        when(valueOperations.get("cache:ns:brands")).thenReturn(Mono.error(new RuntimeException("Redis down")));
+
+        StepVerifier.create(adapter.version("brands"))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the last version seen when Redis fails after the local window")
+    void shouldFallBackToLastSeenVersionWhenRedisFails() {
+        adapter = new RedisCacheNamespaceAdapter(redisTemplate, Duration.ZERO);
+        when(valueOperations.get("cache:ns:brands"))
+                .thenReturn(Mono.just("3"))
+                .thenReturn(Mono.error(new RuntimeException("Redis down")));
+
+        StepVerifier.create(adapter.version("brands")).expectNext(3L).verifyComplete();
+        StepVerifier.create(adapter.version("brands")).expectNext(3L).verifyComplete();
+
+        verify(valueOperations, times(2)).get("cache:ns:brands");
+    }
+}
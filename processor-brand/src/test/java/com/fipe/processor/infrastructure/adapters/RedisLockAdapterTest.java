@@ -0,0 +1,63 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisLockAdapterTest {
+
+    private static final Duration TTL = Duration.ofSeconds(5);
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private RedisLockAdapter lockAdapter;
+
+    @BeforeEach
+    void setUp() {
+        lockAdapter = new RedisLockAdapter(redisTemplate);
+    }
+
+    @Test
+    void tryLock_ShouldReturnTokenWhenAcquired() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("lock:key"), anyString(), eq(TTL))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(lockAdapter.tryLock("lock:key", TTL))
+                .expectNextMatches(token -> !token.isBlank())
+                .verifyComplete();
+    }
+
+    @Test
+    void tryLock_ShouldCompleteEmptyWhenHeldElsewhere() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("lock:key"), anyString(), eq(TTL))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(lockAdapter.tryLock("lock:key", TTL)).verifyComplete();
+    }
+
+    @Test
+    void unlock_ShouldIgnoreRedisErrors() {
+        when(redisTemplate.execute(any(), anyList(), anyList())).thenReturn(Flux.error(new RuntimeException("Redis down")));
+
+        StepVerifier.create(lockAdapter.unlock("lock:key", "token")).verifyComplete();
+    }
+}
@@ -0,0 +1,181 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fipe.processor.domain.dto.VehicleCursor;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RedisVehicleHashAdapterTest {
+
+    private static final String KEY = "vehicles:v1:g2:brand:honda";
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ReactiveHashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ReactiveZSetOperations<String, String> zSetOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private RedisVehicleHashAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new RedisVehicleHashAdapter(redisTemplate, objectMapper);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("Index members sort lexicographically in (model, id) order")
+    void indexMembersSortByModelThenId() {
+        List<String> members = Arrays.asList(
+                RedisVehicleHashAdapter.indexMember("Civic Si", 1L),
+                RedisVehicleHashAdapter.indexMember("Civic", 10L),
+                RedisVehicleHashAdapter.indexMember("Civic", 9L));
+
+        members.sort(String::compareTo);
+
+        assertThat(members).containsExactly(
+                RedisVehicleHashAdapter.indexMember("Civic", 9L),
+                RedisVehicleHashAdapter.indexMember("Civic", 10L),
+                RedisVehicleHashAdapter.indexMember("Civic Si", 1L));
+    }
+
+    @Test
+    @DisplayName("Should write rows, index and expiry of a brand in one script")
+    @SuppressWarnings("unchecked")
+    void shouldPutAllRowsAndIndexInOneScript() throws Exception {
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any(List.class))).thenReturn(Flux.just(2L));
+
+        StepVerifier.create(adapter.putAll(KEY, List.of(vehicle(1L, "City"), vehicle(2L, "Civic")), Duration.ofHours(2)))
+                .verifyComplete();
+
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY + ":h", KEY + ":idx")), args.capture());
+        List<String> values = args.getValue();
+        assertThat(values).hasSize(7);
+        assertThat(values.get(0)).isEqualTo("7200000");
+        assertThat(List.of(values.get(1), values.get(3), values.get(4), values.get(6)))
+                .containsExactly("1", RedisVehicleHashAdapter.indexMember("City", 1L), "2", RedisVehicleHashAdapter.indexMember("Civic", 2L));
+        assertThat(objectMapper.readValue(values.get(5), Vehicle.class).getModel()).isEqualTo("Civic");
+        verify(redisTemplate, never()).delete(any(String[].class));
+        verify(hashOperations, never()).putAll(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should read a page after the cursor with one range and one HMGET")
+    @SuppressWarnings("unchecked")
+    void shouldReadPageAfterCursor() throws Exception {
+        when(zSetOperations.rangeByLex(eq(KEY + ":idx"), any(Range.class), any(Limit.class)))
+                .thenReturn(Flux.just(RedisVehicleHashAdapter.indexMember("Fit", 3L)));
+        when(hashOperations.multiGet(KEY + ":h", List.of("3")))
+                .thenReturn(Mono.just(List.of(objectMapper.writeValueAsString(vehicle(3L, "Fit")))));
+
+        StepVerifier.create(adapter.page(KEY, new VehicleCursor("Civic", 2L), 10))
+                .assertNext(page -> assertThat(page).extracting(Vehicle::getModel).containsExactly("Fit"))
+                .verifyComplete();
+
+        ArgumentCaptor<Range<String>> range = ArgumentCaptor.forClass(Range.class);
+        verify(zSetOperations).rangeByLex(eq(KEY + ":idx"), range.capture(), any(Limit.class));
+        assertThat(range.getValue().getLowerBound().isInclusive()).isFalse();
+        assertThat(range.getValue().getLowerBound().getValue()).contains(RedisVehicleHashAdapter.indexMember("Civic", 2L));
+    }
+
+    @Test
+    @DisplayName("Should complete empty when the brand is not cached")
+    @SuppressWarnings("unchecked")
+    void shouldCompleteEmptyPageWhenBrandIsNotCached() {
+        when(zSetOperations.rangeByLex(eq(KEY + ":idx"), any(Range.class), any(Limit.class))).thenReturn(Flux.empty());
+        when(redisTemplate.hasKey(KEY + ":idx")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(adapter.page(KEY, null, 10)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return an empty page past the end of a cached brand")
+    @SuppressWarnings("unchecked")
+    void shouldReturnEmptyPagePastTheEnd() {
+        when(zSetOperations.rangeByLex(eq(KEY + ":idx"), any(Range.class), any(Limit.class))).thenReturn(Flux.empty());
+        when(redisTemplate.hasKey(KEY + ":idx")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(adapter.page(KEY, new VehicleCursor("Zafira", 99L), 10))
+                .expectNext(List.of())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should replace one field and move its index entry in one script")
+    @SuppressWarnings("unchecked")
+    void shouldPutSingleVehicleAndReindexInOneScript() throws Exception {
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any(List.class))).thenReturn(Flux.just(1L));
+
+        StepVerifier.create(adapter.put(KEY, vehicle(2L, "Accord")))
+                .expectNext(true)
+                .verifyComplete();
+
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY + ":h", KEY + ":idx")), args.capture());
+        List<String> values = args.getValue();
+        assertThat(values.get(0)).isEqualTo("2");
+        assertThat(objectMapper.readValue(values.get(1), Vehicle.class).getModel()).isEqualTo("Accord");
+        assertThat(values.get(2)).isEqualTo(RedisVehicleHashAdapter.indexMember("Accord", 2L));
+        assertThat("Fit" + values.get(3)).isEqualTo(RedisVehicleHashAdapter.indexMember("Fit", 2L));
+        verify(hashOperations, never()).put(anyString(), any(), any());
+        verify(zSetOperations, never()).add(anyString(), anyString(), any(Double.class));
+    }
+
+    @Test
+    @DisplayName("Should not create a partial hash for a brand that is not cached")
+    @SuppressWarnings("unchecked")
+    void shouldNotPutIntoMissingHash() {
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any(List.class))).thenReturn(Flux.just(0L));
+
+        StepVerifier.create(adapter.put(KEY, vehicle(2L, "Accord")))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(hashOperations, never()).put(anyString(), any(), any());
+    }
+
+    private static Vehicle vehicle(Long id, String model) {
+        return Vehicle.builder().id(id).code(String.valueOf(id)).brandCode("25").model(model).build();
+    }
+}
@@ -0,0 +1,312 @@
+package com.fipe.processor.infrastructure.adapters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fipe.processor.domain.dto.CacheEnvelope;
+import com.fipe.processor.domain.entities.Brand;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheAdapterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @Mock
+    private RedisCacheAdapter redisCache;
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TwoTierCacheAdapter cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TwoTierCacheAdapter(redisCache, redisTemplate, objectMapper, meterRegistry,
+                1_000, Duration.ofSeconds(60), "test:invalidations");
+        lenient().when(redisTemplate.convertAndSend(eq("test:invalidations"), anyString())).thenReturn(Mono.just(1L));
+        lenient().when(redisCache.remainingTtl(anyString())).thenReturn(Mono.just(TTL));
+    }
+
+    @Test
+    void get_ShouldServeRepeatedReadsFromL1() {
+        Brand[] brands = {Brand.create("1", "Acura")};
+        when(redisCache.get("brands:g1:all", Brand[].class)).thenReturn(Mono.just(brands));
+
+        StepVerifier.create(cache.get("brands:g1:all", Brand[].class)).expectNext(brands).verifyComplete();
+        StepVerifier.create(cache.get("brands:g1:all", Brand[].class))
+                .assertNext(array -> assertThat(array).containsExactly(brands))
+                .verifyComplete();
+
+        verify(redisCache, times(1)).get("brands:g1:all", Brand[].class);
+        assertThat(count("l1", "hit")).isEqualTo(1);
+        assertThat(count("l1", "miss")).isEqualTo(1);
+        assertThat(count("l2", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldCountMissOnBothTiers() {
+        when(redisCache.get("missing", Brand[].class)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get("missing", Brand[].class)).verifyComplete();
+
+        assertThat(count("l1", "miss")).isEqualTo(1);
+        assertThat(count("l2", "miss")).isEqualTo(1);
+        assertThat(cache.l1Size()).isZero();
+    }
+
+    @Test
+    void put_ShouldWriteThroughAndServeListAsArrayFromL1() {
+        List<Brand> brands = List.of(Brand.create("1", "Acura"), Brand.create("2", "Agrale"));
+        when(redisCache.put("brands:g1:all", brands, TTL)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.put("brands:g1:all", brands, TTL)).verifyComplete();
+
+        StepVerifier.create(cache.get("brands:g1:all", Brand[].class))
+                .assertNext(array -> assertThat(array).containsExactlyElementsOf(brands))
+                .verifyComplete();
+        verify(redisCache, never()).get(anyString(), any());
+        verify(redisTemplate).convertAndSend(eq("test:invalidations"), anyString());
+    }
+
+    @Test
+    void softExpiresAt_ShouldReadEnvelopeInL1WithoutRedis() {
+        CacheEnvelope<Brand[]> acura = new CacheEnvelope<>(new Brand[]{Brand.create("1", "Acura")}, 1_000L, 5L);
+        when(redisCache.put("acura", acura, TTL)).thenReturn(Mono.empty());
+        when(redisCache.softExpiresAt("fiat")).thenReturn(Mono.just(2_000L));
+        StepVerifier.create(cache.put("acura", acura, TTL)).verifyComplete();
+
+        StepVerifier.create(cache.softExpiresAt("acura")).expectNext(1_000L).verifyComplete();
+        StepVerifier.create(cache.softExpiresAt("fiat")).expectNext(2_000L).verifyComplete();
+
+        verify(redisCache, never()).softExpiresAt("acura");
+    }
+
+    @Test
+    void getEnvelopes_ShouldOnlyAskRedisForKeysMissingFromL1() {
+        CacheEnvelope<Brand[]> acura = new CacheEnvelope<>(new Brand[]{Brand.create("1", "Acura")}, 1_000L, 5L);
+        CacheEnvelope<Brand[]> fiat = new CacheEnvelope<>(new Brand[]{Brand.create("21", "Fiat")}, 1_000L, 5L);
+        when(redisCache.getEnvelope("acura", Brand[].class)).thenReturn(Mono.just(acura));
+        when(redisCache.getEnvelopes(List.of("fiat", "audi"), Brand[].class)).thenReturn(Mono.just(Map.of("fiat", fiat)));
+        StepVerifier.create(cache.getEnvelope("acura", Brand[].class)).expectNext(acura).verifyComplete();
+
+        StepVerifier.create(cache.getEnvelopes(List.of("acura", "fiat", "audi"), Brand[].class))
+                .assertNext(envelopes -> {
+                    assertThat(envelopes).containsOnlyKeys("acura", "fiat");
+                    assertSameContent(envelopes.get("acura"), acura);
+                    assertThat(envelopes.get("fiat")).isSameAs(fiat);
+                })
+                .verifyComplete();
+        StepVerifier.create(cache.getEnvelope("fiat", Brand[].class))
+                .assertNext(envelope -> assertSameContent(envelope, fiat))
+                .verifyComplete();
+
+        verify(redisCache, times(1)).getEnvelopes(List.of("fiat", "audi"), Brand[].class);
+        verify(redisCache, never()).getEnvelope("fiat", Brand[].class);
+    }
+
+    @Test
+    void getEnvelope_ShouldServeRepeatedReadsFromL1() {
+        CacheEnvelope<Brand[]> envelope = new CacheEnvelope<>(new Brand[]{Brand.create("1", "Acura")}, 1_000L, 5L);
+        when(redisCache.getEnvelope("brands:g1:all", Brand[].class)).thenReturn(Mono.just(envelope));
+
+        StepVerifier.create(cache.getEnvelope("brands:g1:all", Brand[].class)).expectNext(envelope).verifyComplete();
+        StepVerifier.create(cache.getEnvelope("brands:g1:all", Brand[].class))
+                .assertNext(cached -> assertSameContent(cached, envelope))
+                .verifyComplete();
+
+        verify(redisCache, times(1)).getEnvelope("brands:g1:all", Brand[].class);
+        assertThat(count("l1", "hit")).isEqualTo(1);
+        assertThat(count("l2", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void put_ShouldServeWrittenEnvelopeFromL1() {
+        CacheEnvelope<Brand[]> envelope = new CacheEnvelope<>(new Brand[]{Brand.create("1", "Acura")}, 1_000L, 5L);
+        when(redisCache.put("brands:g1:all", envelope, TTL)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.put("brands:g1:all", envelope, TTL)).verifyComplete();
+
+        StepVerifier.create(cache.getEnvelope("brands:g1:all", Brand[].class))
+                .assertNext(cached -> assertSameContent(cached, envelope))
+                .verifyComplete();
+        verify(redisCache, never()).getEnvelope(anyString(), any());
+    }
+
+    @Test
+    void get_ShouldNotLetCallersChangeL1Values() {
+        Brand[] brands = {Brand.create("1", "Acura")};
+        when(redisCache.get("brands:g1:all", Brand[].class)).thenReturn(Mono.just(brands));
+
+        cache.get("brands:g1:all", Brand[].class).block()[0].setName("Changed by first caller");
+        cache.get("brands:g1:all", Brand[].class).block()[0].setName("Changed by second caller");
+
+        StepVerifier.create(cache.get("brands:g1:all", Brand[].class))
+                .assertNext(array -> assertThat(array[0].getName()).isEqualTo("Acura"))
+                .verifyComplete();
+        verify(redisCache, times(1)).get("brands:g1:all", Brand[].class);
+    }
+
+    @Test
+    void put_ShouldKeepCopyOfWrittenValue() {
+        CacheEnvelope<Brand[]> envelope = new CacheEnvelope<>(new Brand[]{Brand.create("1", "Acura")}, 1_000L, 5L);
+        when(redisCache.put("brands:g1:all", envelope, TTL)).thenReturn(Mono.empty());
+        cache.put("brands:g1:all", envelope, TTL).block();
+
+        envelope.value()[0].setName("Changed after put");
+
+        StepVerifier.create(cache.getEnvelope("brands:g1:all", Brand[].class))
+                .assertNext(cached -> assertThat(cached.value()[0].getName()).isEqualTo("Acura"))
+                .verifyComplete();
+    }
+
+    @Test
+    void get_ShouldCapL1TtlAtRemainingRedisTtl() {
+        when(redisCache.get("brands:g1:all", Brand[].class)).thenReturn(Mono.just(new Brand[0]));
+        when(redisCache.remainingTtl("brands:g1:all")).thenReturn(Mono.just(Duration.ofSeconds(5)));
+
+        StepVerifier.create(cache.get("brands:g1:all", Brand[].class)).expectNextCount(1).verifyComplete();
+
+        assertThat(cache.l1ExpiresAfter("brands:g1:all")).hasValueSatisfying(
+                expiresAfter -> assertThat(expiresAfter).isLessThanOrEqualTo(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void get_ShouldUseL1TtlForRedisKeyWithoutExpiry() {
+        when(redisCache.get("brands:g1:all", Brand[].class)).thenReturn(Mono.just(new Brand[0]));
+        when(redisCache.remainingTtl("brands:g1:all")).thenReturn(Mono.just(Duration.ZERO));
+
+        StepVerifier.create(cache.get("brands:g1:all", Brand[].class)).expectNextCount(1).verifyComplete();
+
+        assertThat(cache.l1ExpiresAfter("brands:g1:all")).hasValueSatisfying(
+                expiresAfter -> assertThat(expiresAfter).isGreaterThan(Duration.ofSeconds(55)));
+    }
+
+    @Test
+    void getBytes_ShouldNotKeepValueWhoseRedisKeyExpired() {
+        byte[] body = "[]".getBytes();
+        when(redisCache.getBytes("brands:g1:all:body")).thenReturn(Mono.just(body));
+        when(redisCache.remainingTtl("brands:g1:all:body")).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.getBytes("brands:g1:all:body")).expectNext(body).verifyComplete();
+
+        assertThat(cache.l1Size()).isZero();
+    }
+
+    @Test
+    void putBytes_ShouldWriteThroughAndServeBytesFromL1() {
+        byte[] body = "[]".getBytes();
+        when(redisCache.putBytes("brands:g1:all:body", body, TTL)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.putBytes("brands:g1:all:body", body, TTL)).verifyComplete();
+
+        StepVerifier.create(cache.getBytes("brands:g1:all:body")).expectNext(body).verifyComplete();
+        verify(redisCache, never()).getBytes(anyString());
+        verify(redisTemplate).convertAndSend(eq("test:invalidations"), anyString());
+    }
+
+    @Test
+    void getBytes_ShouldFillL1FromRedis() {
+        byte[] body = "[]".getBytes();
+        when(redisCache.getBytes("brands:g1:all:body")).thenReturn(Mono.just(body));
+
+        StepVerifier.create(cache.getBytes("brands:g1:all:body")).expectNext(body).verifyComplete();
+        StepVerifier.create(cache.getBytes("brands:g1:all:body")).expectNext(body).verifyComplete();
+
+        verify(redisCache, times(1)).getBytes("brands:g1:all:body");
+        assertThat(count("l1", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void delete_ShouldDropL1EntryAndBroadcast() {
+        when(redisCache.put("key", "value", TTL)).thenReturn(Mono.empty());
+        when(redisCache.delete("key")).thenReturn(Mono.empty());
+        cache.put("key", "value", TTL).block();
+
+        StepVerifier.create(cache.delete("key")).verifyComplete();
+
+        assertThat(cache.l1Size()).isZero();
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq("test:invalidations"), message.capture());
+        assertThat(message.getValue()).contains("\"target\":\"key\"");
+    }
+
+    @Test
+    void onInvalidation_ShouldDropEntriesBroadcastByOtherNodes() {
+        when(redisCache.put(anyString(), any(), eq(TTL))).thenReturn(Mono.empty());
+        cache.put("vehicles:g1:brand:acura", "a", TTL).block();
+        cache.put("vehicles:g1:brand:fiat", "b", TTL).block();
+        cache.put("brands:g1:all", "c", TTL).block();
+
+        cache.onInvalidation("{\"origin\":\"other\",\"target\":\"brands:g1:all\",\"glob\":false}");
+        assertThat(cache.l1Size()).isEqualTo(2);
+
+        cache.onInvalidation("{\"origin\":\"other\",\"target\":\"vehicles:g1:brand:*\",\"glob\":true}");
+        assertThat(cache.l1Size()).isZero();
+
+        cache.onInvalidation("not json");
+    }
+
+    @Test
+    void onInvalidation_ShouldIgnoreOwnBroadcasts() {
+        when(redisCache.put("key", "value", TTL)).thenReturn(Mono.empty());
+        cache.put("key", "value", TTL).block();
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("test:invalidations"), message.capture());
+
+        cache.onInvalidation(message.getValue());
+
+        assertThat(cache.l1Size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_ShouldNotFailWhenBroadcastFails() {
+        when(redisCache.put("key", "value", TTL)).thenReturn(Mono.empty());
+        when(redisTemplate.convertAndSend(eq("test:invalidations"), anyString()))
+                .thenReturn(Mono.error(new RuntimeException("Redis down")));
+
+        StepVerifier.create(cache.put("key", "value", TTL)).verifyComplete();
+    }
+
+    @Test
+    void globToRegex_ShouldMatchRedisStylePatterns() {
+        assertThat(TwoTierCacheAdapter.globToRegex("vehicles:brand:*").matcher("vehicles:brand:vw_-_volkswagen").matches()).isTrue();
+        assertThat(TwoTierCacheAdapter.globToRegex("brands:g?:all").matcher("brands:g1:all").matches()).isTrue();
+        assertThat(TwoTierCacheAdapter.globToRegex("a.b*").matcher("axb").matches()).isFalse();
+    }
+
+    private static void assertSameContent(CacheEnvelope<Brand[]> actual, CacheEnvelope<Brand[]> expected) {
+        assertThat(actual).isNotSameAs(expected);
+        assertThat(actual.value()).containsExactly(expected.value());
+        assertThat(actual.softExpiresAt()).isEqualTo(expected.softExpiresAt());
+        assertThat(actual.computeMillis()).isEqualTo(expected.computeMillis());
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.tier.requests").tag("tier", tier).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,110 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.repositories.BrandRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BrandCodeResolverTest {
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    private BrandCodeResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new BrandCodeResolver(brandRepository, catalogGenerations);
+    }
+
+    @Test
+    @DisplayName("Should resolve names ignoring case, accents and extra whitespace without querying")
+    void shouldResolveNormalizedNamesFromMemory() {
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(2L)).thenReturn(Flux.just(
+                new Brand(1L, "13", "Citroën", null, 1L), new Brand(2L, "59", "VW - VolksWagen", null, 2L)));
+
+        StepVerifier.create(resolver.reload(2L)).expectNext(2).verifyComplete();
+
+        StepVerifier.create(resolver.resolve("CITROEN", 2L)).expectNext("13").verifyComplete();
+        StepVerifier.create(resolver.resolve("  vw  -  volkswagen ", 2L)).expectNext("59").verifyComplete();
+        StepVerifier.create(resolver.resolve("Fiat", 2L)).verifyComplete();
+        verify(brandRepository, never()).findCodeByNameKey(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should keep the code of the oldest generation when a name appears in several")
+    void shouldPreferOldestGeneration() {
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(3L)).thenReturn(Flux.just(
+                new Brand(2L, "99", "Fiat", null, 3L), new Brand(1L, "21", "FIAT", null, 1L)));
+
+        StepVerifier.create(resolver.reload(3L)).expectNext(1).verifyComplete();
+
+        StepVerifier.create(resolver.resolve("fiat", 3L)).expectNext("21").verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the indexed query for a generation the map was not built for")
+    void shouldFallBackForOtherGenerations() {
+        when(brandRepository.findCodeByNameKey("citroen", 5L)).thenReturn(Mono.just("13"));
+
+        StepVerifier.create(resolver.resolve("Citroën", 5L)).expectNext("13").verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should load the published generation on startup and reload on each catalog change")
+    void shouldReloadOnGenerationChange() {
+        Sinks.Many<Long> changes = Sinks.many().multicast().directBestEffort();
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(1L));
+        when(catalogGenerations.generationChanges()).thenReturn(changes.asFlux());
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(1L))
+                .thenReturn(Flux.just(new Brand(1L, "21", "Fiat", null, 1L)));
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(2L))
+                .thenReturn(Flux.just(new Brand(1L, "21", "Fiat", null, 1L), new Brand(2L, "25", "Honda", null, 2L)));
+
+        resolver.startReloading();
+        changes.tryEmitNext(2L);
+
+        verify(brandRepository, timeout(1000)).findAllByGenerationLessThanEqualOrderByNameAsc(2L);
+        assertThat(resolver.resolve("honda", 2L).block()).isEqualTo("25");
+        resolver.stopReloading();
+    }
+
+    @Test
+    @DisplayName("Should keep the previous map when a reload fails")
+    void shouldKeepPreviousMapOnFailure() {
+        Sinks.Many<Long> changes = Sinks.many().multicast().directBestEffort();
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(1L));
+        when(catalogGenerations.generationChanges()).thenReturn(changes.asFlux());
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(1L))
+                .thenReturn(Flux.just(new Brand(1L, "21", "Fiat", null, 1L)))
+                .thenReturn(Flux.error(new RuntimeException("Database error")));
+
+        resolver.startReloading();
+        changes.tryEmitNext(1L);
+
+        verify(brandRepository, timeout(1000).times(2)).findAllByGenerationLessThanEqualOrderByNameAsc(1L);
+        assertThat(resolver.resolve("Fiat", 1L).block()).isEqualTo("21");
+        resolver.stopReloading();
+    }
+}
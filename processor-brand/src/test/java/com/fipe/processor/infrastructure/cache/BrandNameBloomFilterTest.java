@@ -0,0 +1,139 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.cache.BloomFilter;
+import com.fipe.processor.application.ports.CacheNamespacePort;
+import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.repositories.BrandRepository;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BrandNameBloomFilterTest {
+
+    private static final String KEY = "brands:v2:g4:names:bloom:keys";
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    @Mock
+    private CacheNamespacePort cacheNamespaces;
+
+    @Mock
+    private CacheServicePort cacheService;
+
+    private BrandNameBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new BrandNameBloomFilter(brandRepository, catalogGenerations, cacheNamespaces, cacheService, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(filter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(filter, "brandsCacheTtl", 3600L);
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(4L));
+        when(cacheNamespaces.version("brands")).thenReturn(Mono.just(2L));
+        when(cacheService.putBytes(any(), any(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("Should let every name through until a filter is loaded")
+    void shouldFailOpenBeforeFirstLoad() {
+        assertThat(filter.mightExist("Anything")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should build the filter from the brands table and share it through Redis")
+    void shouldBuildAndShareFilter() {
+        when(cacheService.getBytes(KEY)).thenReturn(Mono.empty());
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(4L)).thenReturn(Flux.just(
+                new Brand(1L, "21", "Fiat", null, 4L), new Brand(2L, "25", "Honda", null, 4L)));
+
+        StepVerifier.create(filter.rebuild()).expectNextCount(1).verifyComplete();
+
+        assertThat(filter.mightExist("Fiat")).isTrue();
+        assertThat(filter.mightExist("Honda")).isTrue();
+        assertThat(filter.mightExist("Hondda")).isFalse();
+        ArgumentCaptor<byte[]> shared = ArgumentCaptor.forClass(byte[].class);
+        verify(cacheService).putBytes(eq(KEY), shared.capture(), eq(Duration.ofHours(1)));
+        assertThat(BloomFilter.fromBytes(shared.getValue()).mightContain("fiat")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should match names regardless of case, accents and surrounding whitespace")
+    void shouldMatchNormalizedNames() {
+        when(cacheService.getBytes(KEY)).thenReturn(Mono.empty());
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(4L))
+                .thenReturn(Flux.just(new Brand(1L, "13", "Citroën", null, 4L)));
+
+        StepVerifier.create(filter.rebuild()).expectNextCount(1).verifyComplete();
+
+        assertThat(filter.mightExist("citroen")).isTrue();
+        assertThat(filter.mightExist(" CITROËN ")).isTrue();
+        filter.markMissing("CITROEN");
+        assertThat(filter.mightExist("Citroën")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reuse a filter another replica already shared")
+    void shouldLoadSharedFilter() {
+        BloomFilter shared = BloomFilter.create(10, 0.01);
+        shared.put("audi");
+        when(cacheService.getBytes(KEY)).thenReturn(Mono.just(shared.toBytes()));
+
+        StepVerifier.create(filter.rebuild()).expectNextCount(1).verifyComplete();
+
+        assertThat(filter.mightExist("Audi")).isTrue();
+        assertThat(filter.mightExist("Fiat")).isFalse();
+        verify(brandRepository, never()).findAllByGenerationLessThanEqualOrderByNameAsc(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should remember false positives until the next rebuild")
+    void shouldRememberMissingNamesUntilRebuild() {
+        filter.markMissing("Fiatt");
+        assertThat(filter.mightExist("Fiatt")).isFalse();
+
+        BloomFilter shared = BloomFilter.create(10, 0.01);
+        shared.put("fiatt");
+        when(cacheService.getBytes(KEY)).thenReturn(Mono.just(shared.toBytes()));
+        StepVerifier.create(filter.rebuild()).expectNextCount(1).verifyComplete();
+
+        assertThat(filter.mightExist("Fiatt")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the database when Redis cannot be read")
+    void shouldRebuildWhenRedisFails() {
+        when(cacheService.getBytes(KEY)).thenReturn(Mono.error(new RuntimeException("Redis down")));
+        when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(4L))
+                .thenReturn(Flux.just(new Brand(1L, "21", "Fiat", null, 4L)));
+
+        StepVerifier.create(filter.rebuild()).expectNextCount(1).verifyComplete();
+
+        assertThat(filter.mightExist("Fiat")).isTrue();
+    }
+}
@@ -0,0 +1,151 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.ports.BrandPopularityPort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.application.ports.GetBrandsServicePort;
+import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CacheWarmerTest {
+
+    @Mock
+    private GetBrandsServicePort getBrandsUseCase;
+
+    @Mock
+    private GetVehiclesByBrandServicePort getVehiclesByBrandUseCase;
+
+    @Mock
+    private BrandPopularityPort brandPopularity;
+
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    private CacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        warmer = new CacheWarmer(getBrandsUseCase, getVehiclesByBrandUseCase, brandPopularity, catalogGenerations);
+        ReflectionTestUtils.setField(warmer, "enabled", true);
+        ReflectionTestUtils.setField(warmer, "configuredBrands", List.of("fiat"));
+        ReflectionTestUtils.setField(warmer, "topBrands", 5);
+        ReflectionTestUtils.setField(warmer, "concurrency", 2);
+        ReflectionTestUtils.setField(warmer, "readinessThreshold", 1.0);
+        ReflectionTestUtils.setField(warmer, "maxWait", Duration.ofMinutes(5));
+        when(getBrandsUseCase.execute()).thenAnswer(invocation -> Flux.just(
+                new Brand(1L, "21", "Fiat", null, 1L),
+                new Brand(2L, "25", "Honda", null, 1L),
+                new Brand(3L, "59", "VW - VolksWagen", null, 1L)));
+        when(brandPopularity.top(5)).thenReturn(Flux.just("Honda", "Fiat", "Unknown"));
+        when(getVehiclesByBrandUseCase.execute(anyString())).thenReturn(Flux.just(Vehicle.builder().id(1L).build()));
+        when(catalogGenerations.generationChanges()).thenReturn(Flux.never());
+    }
+
+    @Test
+    @DisplayName("Should warm brands plus configured and popular brands that exist in the catalog")
+    void shouldWarmConfiguredAndPopularBrands() {
+        StepVerifier.create(warmer.warm("test")).verifyComplete();
+
+        verify(getBrandsUseCase, times(1)).execute();
+        verify(getVehiclesByBrandUseCase).execute("Fiat");
+        verify(getVehiclesByBrandUseCase).execute("Honda");
+        verify(getVehiclesByBrandUseCase, never()).execute("VW - VolksWagen");
+        verify(getVehiclesByBrandUseCase, never()).execute("Unknown");
+        assertThat(warmer.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(warmer.health().getDetails()).containsEntry("warmed", 3).containsEntry("targets", 3);
+    }
+
+    @Test
+    @DisplayName("Should stay out of service while fewer entries than the threshold are warm")
+    void shouldStayOutOfServiceBelowThreshold() {
+        when(getVehiclesByBrandUseCase.execute("Honda")).thenReturn(Flux.error(new RuntimeException("Database error")));
+
+        StepVerifier.create(warmer.warm("test")).verifyComplete();
+
+        assertThat(warmer.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(warmer.health().getDetails()).containsEntry("failed", 1);
+    }
+
+    @Test
+    @DisplayName("Should never run more brand loads at once than the configured concurrency")
+    void shouldBoundConcurrency() {
+        ReflectionTestUtils.setField(warmer, "concurrency", 1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(getVehiclesByBrandUseCase.execute(anyString())).thenAnswer(invocation -> Flux.<Vehicle>empty()
+                .delaySubscription(Duration.ofMillis(20))
+                .doOnSubscribe(subscription -> peak.accumulateAndGet(running.incrementAndGet(), Math::max))
+                .doOnTerminate(running::decrementAndGet));
+
+        StepVerifier.create(warmer.warm("test")).verifyComplete();
+
+        assertThat(peak).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should report ready at once when warm-up is disabled")
+    void shouldBeReadyWhenDisabled() {
+        ReflectionTestUtils.setField(warmer, "enabled", false);
+
+        warmer.run(null);
+
+        assertThat(warmer.health().getStatus()).isEqualTo(Status.UP);
+        verify(getBrandsUseCase, never()).execute();
+    }
+
+    @Test
+    @DisplayName("Should warm again when a new catalog generation is published")
+    void shouldRewarmOnGenerationChange() {
+        Sinks.Many<Long> changes = Sinks.many().multicast().directBestEffort();
+        when(catalogGenerations.generationChanges()).thenReturn(changes.asFlux());
+
+        warmer.run(null);
+        verify(getBrandsUseCase, timeout(1000).times(1)).execute();
+        changes.tryEmitNext(2L);
+
+        verify(getBrandsUseCase, timeout(1000).times(2)).execute();
+        assertThat(warmer.health().getStatus()).isEqualTo(Status.UP);
+        warmer.stopWarming();
+    }
+
+    @Test
+    @DisplayName("Should accept traffic after the maximum wait even if warm-up is stuck")
+    void shouldBecomeReadyAfterMaxWait() {
+        ReflectionTestUtils.setField(warmer, "maxWait", Duration.ofMillis(50));
+        when(getBrandsUseCase.execute()).thenReturn(Flux.never());
+
+        warmer.run(null);
+
+        assertThat(warmer.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        Mono.delay(Duration.ofMillis(200)).block();
+        assertThat(warmer.health().getStatus()).isEqualTo(Status.UP);
+        warmer.stopWarming();
+    }
+}
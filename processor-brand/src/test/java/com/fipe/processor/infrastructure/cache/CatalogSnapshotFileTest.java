@@ -0,0 +1,61 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    private Path directory;
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.build(3L,
+            List.of(new Brand(1L, "25", "Honda", null, 1L)),
+            List.of(Vehicle.builder().id(1L).code("001").brandCode("25").model("Civic").generation(1L).build()));
+
+    @Test
+    @DisplayName("Should write the snapshot atomically and map it back with its generation")
+    void shouldWriteAndMap() {
+        CatalogSnapshotFile file = new CatalogSnapshotFile(directory.resolve("data/catalog.snap").toString(), false);
+
+        StepVerifier.create(file.write(snapshot)).verifyComplete();
+
+        StepVerifier.create(file.generation()).expectNext(3L).verifyComplete();
+        StepVerifier.create(file.header()).expectNext(new CatalogSnapshotFile.Header(3L, 0L)).verifyComplete();
+        StepVerifier.create(file.map())
+                .assertNext(mapped -> assertThat(mapped.vehiclesOf("honda")).extracting(Vehicle::getModel).containsExactly("Civic"))
+                .verifyComplete();
+        assertThat(directory.resolve("data").toFile().list()).containsExactly("catalog.snap");
+    }
+
+    @Test
+    @DisplayName("Should be empty when the file does not exist or no path is configured")
+    void shouldBeEmptyWithoutFile() {
+        StepVerifier.create(new CatalogSnapshotFile(directory.resolve("missing.snap").toString(), false).map())
+                .verifyComplete();
+        CatalogSnapshotFile disabled = new CatalogSnapshotFile("", true);
+
+        assertThat(disabled.enabled()).isFalse();
+        assertThat(disabled.readOnly()).isFalse();
+        StepVerifier.create(disabled.generation()).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should never write on a read-only replica")
+    void shouldNotWriteWhenReadOnly() {
+        Path path = directory.resolve("catalog.snap");
+
+        StepVerifier.create(new CatalogSnapshotFile(path.toString(), true).write(snapshot)).verifyComplete();
+
+        assertThat(Files.exists(path)).isFalse();
+    }
+}
@@ -0,0 +1,250 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.application.catalog.CatalogSnapshot;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.domain.entities.Vehicle;
+import com.fipe.processor.domain.repositories.BrandRepository;
+import com.fipe.processor.domain.repositories.VehicleRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryCatalogTest {
+
+    private static final String CHANNEL = "test:catalog";
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Vehicle civic = Vehicle.builder().id(1L).code("001").brandCode("25").model("Civic").generation(1L).build();
+
+    @TempDir
+    private Path directory;
+
+    private CatalogSnapshotFile snapshotFile;
+
+    private InMemoryCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = new CatalogSnapshotFile(directory.resolve("catalog.snap").toString(), false);
+        catalog = catalog(snapshotFile, true);
+        lenient().when(redisTemplate.convertAndSend(eq(CHANNEL), anyString())).thenReturn(Mono.just(1L));
+        lenient().when(brandRepository.findAllByGenerationLessThanEqualOrderByNameAsc(2L))
+                .thenReturn(Flux.just(new Brand(1L, "25", "Honda", null, 1L)));
+        lenient().when(vehicleRepository.findByGenerationLessThanEqualOrderByBrandCodeAscModelAscIdAsc(2L))
+                .thenReturn(Flux.just(civic));
+    }
+
+    @Test
+    @DisplayName("Should expose the loaded snapshot only for its own generation")
+    void shouldExposeSnapshotOfLoadedGeneration() {
+        assertThat(catalog.snapshot(2L)).isEmpty();
+
+        StepVerifier.create(catalog.load(2L)).expectNextCount(1).verifyComplete();
+
+        assertThat(catalog.snapshot(2L)).get().extracting(snapshot -> snapshot.vehiclesOf("honda"))
+                .asList().containsExactly(civic);
+        assertThat(catalog.snapshot(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should patch locally and broadcast the change to other replicas")
+    void shouldPatchAndBroadcast() throws Exception {
+        StepVerifier.create(catalog.load(2L)).expectNextCount(1).verifyComplete();
+        Vehicle updated = Vehicle.builder().id(1L).code("001").brandCode("25").model("Civic Si").generation(1L).build();
+
+        catalog.patch(updated);
+
+        assertThat(models(catalog.snapshot(2L).orElseThrow())).containsExactly("Civic Si");
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        InMemoryCatalog.VehicleChange change = objectMapper.readValue(message.getValue(), InMemoryCatalog.VehicleChange.class);
+        assertThat(change.model()).isEqualTo("Civic Si");
+    }
+
+    @Test
+    @DisplayName("Should apply changes from other replicas and skip its own")
+    void shouldApplyRemoteChanges() throws Exception {
+        StepVerifier.create(catalog.load(2L)).expectNextCount(1).verifyComplete();
+
+        catalog.onChange(objectMapper.writeValueAsString(
+                new InMemoryCatalog.VehicleChange("other-node", 1L, "001", "25", "Civic EX", null, 1L)));
+        assertThat(models(catalog.snapshot(2L).orElseThrow())).containsExactly("Civic EX");
+
+        catalog.onChange("not json");
+        assertThat(models(catalog.snapshot(2L).orElseThrow())).containsExactly("Civic EX");
+    }
+
+    @Test
+    @DisplayName("Should replay patches that arrive while a rebuild is loading")
+    void shouldReplayPatchesReceivedDuringLoad() {
+        Sinks.One<Vehicle> slowRow = Sinks.one();
+        when(vehicleRepository.findByGenerationLessThanEqualOrderByBrandCodeAscModelAscIdAsc(2L))
+                .thenReturn(slowRow.asMono().flux());
+        Vehicle updated = Vehicle.builder().id(1L).code("001").brandCode("25").model("Civic Si").generation(1L).build();
+
+        StepVerifier.create(catalog.load(2L))
+                .then(() -> {
+                    catalog.patch(updated);
+                    slowRow.tryEmitValue(civic);
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(models(catalog.snapshot(2L).orElseThrow())).containsExactly("Civic Si");
+    }
+
+    @Test
+    @DisplayName("Should stay empty and silent when disabled")
+    void shouldDoNothingWhenDisabled() {
+        InMemoryCatalog disabled = catalog(snapshotFile, false);
+
+        disabled.start();
+        disabled.patch(civic);
+
+        assertThat(disabled.snapshot(2L)).isEmpty();
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should write each load to the snapshot file and serve it on the next start")
+    void shouldRestoreFromSnapshotFileOnStart() {
+        StepVerifier.create(catalog.load(2L)).expectNextCount(1).verifyComplete();
+        assertThat(Files.exists(directory.resolve("catalog.snap"))).isTrue();
+
+        InMemoryCatalog restarted = catalog(snapshotFile, true);
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.never());
+        when(catalogGenerations.generationChanges()).thenReturn(Flux.never());
+        when(redisTemplate.listenToChannel(CHANNEL)).thenReturn(Flux.never());
+        restarted.start();
+
+        StepVerifier.create(Mono.fromSupplier(() -> restarted.snapshot(2L))
+                        .flatMap(Mono::justOrEmpty)
+                        .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(10)))
+                        .timeout(Duration.ofSeconds(2)))
+                .assertNext(restored -> assertThat(restored.vehiclesOf("Honda")).containsExactly(civic))
+                .verifyComplete();
+        restarted.stop();
+    }
+
+    @Test
+    @DisplayName("Should keep retrying the published generation when reading it fails on start")
+    void shouldRetryPublishedGenerationAfterError() {
+        when(catalogGenerations.publishedGeneration())
+                .thenReturn(Mono.error(new RuntimeException("Database error")), Mono.just(2L));
+        when(catalogGenerations.generationChanges()).thenReturn(Flux.never());
+        when(redisTemplate.listenToChannel(CHANNEL)).thenReturn(Flux.never());
+        catalog.start();
+
+        StepVerifier.create(Mono.fromSupplier(() -> catalog.snapshot(2L))
+                        .flatMap(Mono::justOrEmpty)
+                        .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(10)))
+                        .timeout(Duration.ofSeconds(5)))
+                .assertNext(loaded -> assertThat(models(loaded)).containsExactly("Civic"))
+                .verifyComplete();
+        catalog.stop();
+        verify(catalogGenerations, times(2)).publishedGeneration();
+    }
+
+    @Test
+    @DisplayName("Should load only from the snapshot file on a read-only replica")
+    void shouldLoadFromSnapshotFileWhenReadOnly() {
+        StepVerifier.create(catalog.load(2L)).expectNextCount(1).verifyComplete();
+        InMemoryCatalog edge = catalog(new CatalogSnapshotFile(directory.resolve("catalog.snap").toString(), true), true);
+
+        StepVerifier.create(edge.load(2L)).expectNextCount(1).verifyComplete();
+
+        assertThat(models(edge.snapshot(2L).orElseThrow())).containsExactly("Civic");
+        verify(vehicleRepository, times(1)).findByGenerationLessThanEqualOrderByBrandCodeAscModelAscIdAsc(2L);
+    }
+
+    @Test
+    @DisplayName("Should rewrite the snapshot file after a patch at the next revision")
+    void shouldRewriteSnapshotFileAfterPatch() {
+        StepVerifier.create(catalog.load(2L)).expectNextCount(1).verifyComplete();
+
+        catalog.patch(Vehicle.builder().id(1L).code("001").brandCode("25").model("Civic Si").generation(1L).build());
+
+        StepVerifier.create(snapshotFile.header()
+                        .filter(header -> header.revision() == 1L)
+                        .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(10)))
+                        .timeout(Duration.ofSeconds(2)))
+                .expectNext(new CatalogSnapshotFile.Header(2L, 1L))
+                .verifyComplete();
+        StepVerifier.create(snapshotFile.map())
+                .assertNext(mapped -> assertThat(models(mapped)).containsExactly("Civic Si"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should map the file again on a read-only replica when a patch changes it")
+    void shouldRemapSnapshotFileWhenItChanges() {
+        StepVerifier.create(catalog.load(2L)).expectNextCount(1).verifyComplete();
+        InMemoryCatalog edge = catalog(new CatalogSnapshotFile(directory.resolve("catalog.snap").toString(), true), true);
+        edge.start();
+        awaitModels(edge, "Civic");
+
+        catalog.patch(Vehicle.builder().id(1L).code("001").brandCode("25").model("Civic Si").generation(1L).build());
+
+        awaitModels(edge, "Civic Si");
+        edge.stop();
+        verify(catalogGenerations, never()).publishedGeneration();
+    }
+
+    private void awaitModels(InMemoryCatalog edge, String... expected) {
+        StepVerifier.create(Mono.fromSupplier(() -> edge.snapshot(2L))
+                        .flatMap(Mono::justOrEmpty)
+                        .filter(snapshot -> models(snapshot).equals(List.of(expected)))
+                        .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(10)))
+                        .timeout(Duration.ofSeconds(2)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    private InMemoryCatalog catalog(CatalogSnapshotFile file, boolean enabled) {
+        return new InMemoryCatalog(brandRepository, vehicleRepository, catalogGenerations, file, redisTemplate,
+                objectMapper, enabled, Duration.ofMinutes(15), Duration.ofMillis(20), CHANNEL);
+    }
+
+    private static List<String> models(CatalogSnapshot snapshot) {
+        return snapshot.vehiclesOf("Honda").stream().map(Vehicle::getModel).toList();
+    }
+}
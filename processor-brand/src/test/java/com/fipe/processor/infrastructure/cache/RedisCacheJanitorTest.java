@@ -0,0 +1,87 @@
+package com.fipe.processor.infrastructure.cache;
+
+import com.fipe.processor.application.ports.CacheNamespacePort;
+import com.fipe.processor.application.ports.CatalogGenerationPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RedisCacheJanitorTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private CacheNamespacePort cacheNamespaces;
+
+    @Mock
+    private CatalogGenerationPort catalogGenerations;
+
+    private RedisCacheJanitor janitor;
+
+    @BeforeEach
+    void setUp() {
+        janitor = new RedisCacheJanitor(redisTemplate, cacheNamespaces, catalogGenerations);
+        ReflectionTestUtils.setField(janitor, "scanCount", 500);
+        when(catalogGenerations.publishedGeneration()).thenReturn(Mono.just(4L));
+        when(cacheNamespaces.version("brands")).thenReturn(Mono.just(2L));
+        when(cacheNamespaces.version("vehicles")).thenReturn(Mono.just(1L));
+    }
+
+    @Test
+    @DisplayName("Should unlink keys from older namespace versions and generations")
+    void shouldUnlinkOrphanedKeys() {
+        when(redisTemplate.scan(argThat(options -> options != null && "brands:*".equals(options.getPattern()))))
+                .thenReturn(Flux.just("brands:v2:g4:all", "brands:v1:g4:all", "brands:v2:g4:all:body"));
+        when(redisTemplate.scan(argThat(options -> options != null && "vehicles:*".equals(options.getPattern()))))
+                .thenReturn(Flux.just("vehicles:v1:g3:brand:honda", "vehicles:g2:brand:fiat", "vehicles:v1:g4:brand:honda"));
+        when(redisTemplate.unlink(any(String[].class))).thenAnswer(invocation -> Mono.just((long) invocation.getArguments().length));
+
+        StepVerifier.create(janitor.sweep())
+                .expectNext(3L)
+                .verifyComplete();
+
+        verify(redisTemplate).unlink("brands:v1:g4:all");
+        verify(redisTemplate).unlink("vehicles:v1:g3:brand:honda", "vehicles:g2:brand:fiat");
+    }
+
+    @Test
+    @DisplayName("Should not unlink anything when every key is current")
+    void shouldKeepCurrentKeys() {
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(Flux.just("brands:v2:g4:all"), Flux.just("vehicles:v1:g4:brand:honda"));
+
+        StepVerifier.create(janitor.sweep())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(redisTemplate, never()).unlink(any(String[].class));
+    }
+
+    @Test
+    @DisplayName("Should treat keys without a version segment as orphans")
+    void shouldTreatLegacyKeysAsOrphans() {
+        assertThat(RedisCacheJanitor.isOrphan("vehicles:g4:brand:honda", 0, 4)).isTrue();
+        assertThat(RedisCacheJanitor.isOrphan("vehicles:v0:g4:brand:honda:page:p1:50:first", 0, 4)).isFalse();
+        assertThat(RedisCacheJanitor.isOrphan("brands:v3:g5:all", 2, 4)).isFalse();
+    }
+}
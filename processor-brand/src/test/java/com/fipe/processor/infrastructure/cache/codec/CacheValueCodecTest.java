@@ -0,0 +1,131 @@
+package com.fipe.processor.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fipe.processor.domain.dto.CacheEnvelope;
+import com.fipe.processor.domain.entities.Vehicle;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValueCodecTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final Vehicle[] vehicles = IntStream.range(0, 500)
+            .mapToObj(i -> Vehicle.builder().id((long) i).code(String.valueOf(i)).brandCode("59")
+                    .model("Gol 1.0 Mi Total Flex 8V 4p " + i).createdAt(CREATED_AT).updatedAt(CREATED_AT).build())
+            .toArray(Vehicle[]::new);
+
+    @Test
+    void shouldRoundTripEnvelopeInEveryConfiguration() throws Exception {
+        for (CacheValueFormat format : CacheValueFormat.values()) {
+            for (CacheCompression compression : CacheCompression.values()) {
+                CacheValueCodec codec = codec(format, compression, 1024);
+                CacheEnvelope<Vehicle[]> envelope = new CacheEnvelope<>(vehicles, 1000L, 12L);
+
+                CacheEnvelope<Vehicle[]> decoded = codec.decode(codec.encode(envelope), codec.envelopeType(Vehicle[].class));
+
+                assertThat(decoded.value()).containsExactly(vehicles);
+                assertThat(decoded.softExpiresAt()).isEqualTo(1000L);
+            }
+        }
+    }
+
+    @Test
+    void shouldWritePlainJsonWithoutHeaderForJsonUncompressed() throws Exception {
+        byte[] encoded = codec(CacheValueFormat.JSON, CacheCompression.NONE, 1024).encode(vehicles[0]);
+
+        assertThat(encoded).isEqualTo(objectMapper.writeValueAsBytes(vehicles[0]));
+    }
+
+    @Test
+    void shouldReadLegacyJsonWithAnyWriteConfiguration() throws Exception {
+        byte[] legacy = objectMapper.writeValueAsBytes(vehicles);
+        CacheValueCodec codec = codec(CacheValueFormat.SMILE, CacheCompression.ZSTD, 0);
+
+        Vehicle[] decoded = codec.decode(legacy, codec.type(Vehicle[].class));
+
+        assertThat(decoded).containsExactly(vehicles);
+    }
+
+    @Test
+    void shouldReadValuesWrittenWithAnotherConfiguration() throws Exception {
+        CacheValueCodec writer = codec(CacheValueFormat.SMILE, CacheCompression.LZ4, 0);
+        CacheValueCodec reader = codec(CacheValueFormat.JSON, CacheCompression.NONE, 1024);
+
+        Vehicle[] decoded = reader.decode(writer.encode(vehicles), reader.type(Vehicle[].class));
+
+        assertThat(decoded).containsExactly(vehicles);
+    }
+
+    @Test
+    void shouldNotCompressBelowThreshold() throws Exception {
+        byte[] encoded = codec(CacheValueFormat.SMILE, CacheCompression.LZ4, 1024).encode(vehicles[0]);
+
+        assertThat(encoded[0] & 0xFF).isEqualTo(0x80 | CacheValueFormat.SMILE.id());
+    }
+
+    @Test
+    void shouldCompressAboveThreshold() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(vehicles);
+        byte[] encoded = codec(CacheValueFormat.SMILE, CacheCompression.LZ4, 1024).encode(vehicles);
+
+        assertThat(encoded[0] & 0xFF).isEqualTo(0x80 | CacheCompression.LZ4.id() << 3 | CacheValueFormat.SMILE.id());
+        assertThat(encoded.length).isLessThan(json.length / 4);
+    }
+
+    /**
+     * Run with {@code mvn test -Dtest=CacheValueCodecTest -Dbenchmark=true}.
+     * Reports the stored size of a 500-vehicle brand list and encode/decode cost per configuration.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_FormatsAndCompression() throws Exception {
+        int warmup = 2_000;
+        int iterations = 10_000;
+        int jsonBytes = objectMapper.writeValueAsBytes(vehicles).length;
+
+        for (CacheValueFormat format : CacheValueFormat.values()) {
+            for (CacheCompression compression : CacheCompression.values()) {
+                CacheValueCodec codec = codec(format, compression, 1024);
+                JavaType type = codec.type(Vehicle[].class);
+                byte[] encoded = codec.encode(vehicles);
+                for (int i = 0; i < warmup; i++) {
+                    codec.decode(codec.encode(vehicles), type);
+                }
+
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    codec.encode(vehicles);
+                }
+                long encodeNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    codec.decode(encoded, type);
+                }
+                long decodeNanos = System.nanoTime() - start;
+
+                System.out.printf("%-5s %-4s: %7d bytes (%5.1f%% saved) | encode %8.1f us | decode %8.1f us%n",
+                        format, compression, encoded.length, 100.0 * (jsonBytes - encoded.length) / jsonBytes,
+                        encodeNanos / 1_000.0 / iterations, decodeNanos / 1_000.0 / iterations);
+            }
+        }
+    }
+
+    private CacheValueCodec codec(CacheValueFormat format, CacheCompression compression, int threshold) {
+        return new CacheValueCodec(objectMapper, format, compression, threshold);
+    }
+}
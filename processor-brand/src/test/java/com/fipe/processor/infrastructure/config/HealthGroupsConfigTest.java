@@ -0,0 +1,32 @@
+package com.fipe.processor.infrastructure.config;
+
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HealthGroupsConfigTest {
+
+    @Test
+    @DisplayName("Should keep the cache warm-up indicator in the readiness group only")
+    void shouldKeepCacheWarmerOutOfPrimaryGroup() {
+        HealthEndpointGroup primary = mock(HealthEndpointGroup.class);
+        HealthEndpointGroup readiness = mock(HealthEndpointGroup.class);
+        when(primary.isMember(anyString())).thenReturn(true);
+        when(readiness.isMember("cacheWarmer")).thenReturn(true);
+
+        HealthEndpointGroups groups = new HealthGroupsConfig().readinessOnlyIndicators()
+                .postProcessHealthEndpointGroups(HealthEndpointGroups.of(primary, Map.of("readiness", readiness)));
+
+        assertThat(groups.getPrimary().isMember("cacheWarmer")).isFalse();
+        assertThat(groups.getPrimary().isMember("redis")).isTrue();
+        assertThat(groups.getNames()).containsExactly("readiness");
+        assertThat(groups.get("readiness").isMember("cacheWarmer")).isTrue();
+    }
+}
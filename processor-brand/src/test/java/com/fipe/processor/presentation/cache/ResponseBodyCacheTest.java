@@ -0,0 +1,471 @@
+package com.fipe.processor.presentation.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.application.cache.CachePolicy;
+import com.fipe.processor.application.cache.RefreshAheadCache;
+import com.fipe.processor.application.concurrency.SingleFlight;
+import com.fipe.processor.application.ports.CacheServicePort;
+import com.fipe.processor.application.ports.DistributedLockPort;
+import com.fipe.processor.domain.dto.CacheEnvelope;
+import com.fipe.processor.presentation.dto.BrandResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseBodyCacheTest {
+
+    private static final String KEY = "brands:g1:all";
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final String JSON = "[{\"code\":\"1\",\"name\":\"Acura\"}]";
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private CacheServicePort cacheService;
+
+    private ResponseBodyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBodyCache(cacheService, new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "gzipEnabled", true);
+        lenient().when(cacheService.putBytes(anyString(), any(), any())).thenReturn(Mono.empty());
+        lenient().when(cacheService.getBytes(endsWith(":etag"))).thenReturn(Mono.empty());
+        lenient().when(cacheService.remainingTtl(KEY)).thenReturn(Mono.empty());
+        lenient().when(cacheService.softExpiresAt(KEY)).thenReturn(Mono.empty());
+        ReflectionTestUtils.setField(cache, "clock", Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    @Test
+    void render_ShouldNotKeepBodyPastItsSourceSoftExpiry() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+        when(cacheService.softExpiresAt(KEY)).thenReturn(Mono.just(NOW + Duration.ofMinutes(5).toMillis()));
+        lenient().when(cacheService.remainingTtl(KEY)).thenReturn(Mono.just(Duration.ofMinutes(50)));
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(cacheService).putBytes(eq(KEY + ":body"), any(), eq(Duration.ofMinutes(5)));
+        verify(cacheService).putBytes(eq(KEY + ":body:etag"), any(), eq(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void render_ShouldServeButNotStoreBodyRenderedFromStaleSource() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+        when(cacheService.softExpiresAt(KEY)).thenReturn(Mono.just(NOW - 1));
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(JSON))
+                .verifyComplete();
+
+        verify(cacheService, never()).putBytes(anyString(), any(), any());
+    }
+
+    @Test
+    void render_ShouldServeBodyReplacedByBackgroundRefresh() {
+        MutableClock clock = new MutableClock(NOW);
+        InMemoryCacheService redis = new InMemoryCacheService(clock);
+        RefreshAheadCache source = new RefreshAheadCache(redis, new SingleFlight(), mock(DistributedLockPort.class));
+        ReflectionTestUtils.setField(source, "clock", clock);
+        ReflectionTestUtils.setField(source, "negativeTtl", Duration.ofSeconds(5));
+        ResponseBodyCache bodies = new ResponseBodyCache(redis, new ObjectMapper());
+        ReflectionTestUtils.setField(bodies, "clock", clock);
+        CachePolicy policy = new CachePolicy(Duration.ofMinutes(30), Duration.ofHours(2));
+        AtomicReference<String> name = new AtomicReference<>("Acura");
+        Supplier<Flux<?>> brands = () -> source.get(KEY, BrandResponse[].class, policy,
+                        () -> Mono.just(new BrandResponse[]{new BrandResponse("1", name.get())}))
+                .flatMapMany(Flux::fromArray);
+
+        assertThat(bodyOf(bodies.render(KEY, null, null, TTL, brands).block())).contains("\"Acura\"");
+        name.set("Acura Motors");
+        clock.advance(Duration.ofMinutes(20));
+        assertThat(bodyOf(bodies.render(KEY, null, null, TTL, brands).block())).contains("\"Acura\"");
+
+        clock.advance(Duration.ofMinutes(11));
+        assertThat(bodyOf(bodies.render(KEY, null, null, TTL, brands).block()))
+                .as("served stale once the body expires with the entry's soft TTL, refreshing it in the background")
+                .contains("\"Acura\"");
+        assertThat(bodyOf(bodies.render(KEY, null, null, TTL, brands).block())).contains("\"Acura Motors\"");
+        assertThat(redis.remainingTtl(KEY + ":body").block()).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    void render_ShouldNotKeepBodyLongerThanItsSourceEntry() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+        when(cacheService.remainingTtl(KEY)).thenReturn(Mono.just(Duration.ofMinutes(10)));
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(cacheService).putBytes(eq(KEY + ":body"), any(), eq(Duration.ofMinutes(10)));
+        verify(cacheService).putBytes(eq(KEY + ":body:etag"), any(), eq(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void render_ShouldCapBodyTtlAtMaxTtl() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+        when(cacheService.remainingTtl(KEY)).thenReturn(Mono.just(Duration.ZERO));
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(cacheService).putBytes(eq(KEY + ":body"), any(), eq(TTL));
+    }
+
+    @Test
+    void render_ShouldServeCachedBytesWithoutRendering() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.just(JSON.getBytes(StandardCharsets.UTF_8)));
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, () -> Flux.error(new AssertionError("should not render"))))
+                .assertNext(response -> {
+                    assertThat(bodyOf(response)).isEqualTo(JSON);
+                    assertThat(response.getHeaders().getContentLength()).isEqualTo(JSON.length());
+                    assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+                })
+                .verifyComplete();
+
+        verify(cacheService, never()).putBytes(anyString(), any(), any());
+    }
+
+    @Test
+    void render_ShouldRenderAndStoreIdentityBodyOnMiss() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.render(KEY, "identity", null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(JSON))
+                .verifyComplete();
+
+        ArgumentCaptor<byte[]> stored = ArgumentCaptor.forClass(byte[].class);
+        verify(cacheService).putBytes(eq(KEY + ":body"), stored.capture(), eq(TTL));
+        assertThat(new String(stored.getValue(), StandardCharsets.UTF_8)).isEqualTo(JSON);
+    }
+
+    @Test
+    void render_ShouldNeitherReadNorStoreSharedBodiesOnReadOnlyReplica() {
+        ReflectionTestUtils.setField(cache, "readOnlyReplica", true);
+        String etag = ResponseBodyCache.etagOf(JSON.getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(cache.render(KEY, "identity", null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .assertNext(response -> {
+                    assertThat(bodyOf(response)).isEqualTo(JSON);
+                    assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+                })
+                .verifyComplete();
+        StepVerifier.create(cache.render(KEY, "identity", etag, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED))
+                .verifyComplete();
+
+        verify(cacheService, never()).getBytes(anyString());
+        verify(cacheService, never()).putBytes(anyString(), any(), any());
+    }
+
+    @Test
+    void render_ShouldStoreAndServeGzippedBodyWhenAccepted() throws Exception {
+        when(cacheService.getBytes(KEY + ":body:gzip")).thenReturn(Mono.empty());
+
+        ResponseEntity<DataBuffer> response = cache.render(KEY, "gzip, deflate, br", null, TTL,
+                () -> Flux.just(new BrandResponse("1", "Acura"))).block();
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        byte[] compressed = new byte[response.getBody().readableByteCount()];
+        response.getBody().read(compressed);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(JSON);
+        }
+        verify(cacheService).putBytes(eq(KEY + ":body:gzip"), eq(compressed), eq(TTL));
+    }
+
+    @Test
+    void render_ShouldNotGzipWhenDisabled() {
+        ReflectionTestUtils.setField(cache, "gzipEnabled", false);
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.render(KEY, "gzip", null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(JSON))
+                .verifyComplete();
+    }
+
+    @Test
+    void render_ShouldRenderWhenCacheReadFails() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.error(new RuntimeException("redis down")));
+        when(cacheService.putBytes(anyString(), any(), any())).thenReturn(Mono.error(new RuntimeException("redis down")));
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(JSON))
+                .verifyComplete();
+    }
+
+    @Test
+    void render_ShouldNotCacheEmptyList() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, Flux::empty))
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo("[]"))
+                .verifyComplete();
+
+        verify(cacheService, never()).putBytes(anyString(), any(), any());
+    }
+
+    @Test
+    void render_ShouldPropagateRenderingErrors() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, () -> Flux.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void renderJson_ShouldStoreAndServePreRenderedBytesAsTheyAre() throws Exception {
+        byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+        when(cacheService.getBytes(KEY + ":body:gzip")).thenReturn(Mono.empty());
+
+        ResponseEntity<DataBuffer> response = cache.renderJson(KEY, "gzip", null, TTL, () -> Mono.just(json)).block();
+
+        byte[] compressed = new byte[response.getBody().readableByteCount()];
+        response.getBody().read(compressed);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(json);
+        }
+        verify(cacheService).putBytes(eq(KEY + ":body:gzip"), eq(compressed), eq(TTL));
+    }
+
+    @Test
+    void renderJson_ShouldServeCachedBytesWithoutRendering() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.just(JSON.getBytes(StandardCharsets.UTF_8)));
+
+        StepVerifier.create(cache.renderJson(KEY, null, null, TTL, () -> Mono.error(new AssertionError("should not render"))))
+                .assertNext(response -> assertThat(bodyOf(response)).isEqualTo(JSON))
+                .verifyComplete();
+    }
+
+    @Test
+    void render_ShouldStoreEtagBesideRenderedBody() {
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.empty());
+        String etag = ResponseBodyCache.etagOf(JSON.getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(cache.render(KEY, null, null, TTL, () -> Flux.just(new BrandResponse("1", "Acura"))))
+                .assertNext(response -> assertThat(response.getHeaders().getETag()).isEqualTo(etag))
+                .verifyComplete();
+
+        verify(cacheService).putBytes(KEY + ":body:etag", etag.getBytes(StandardCharsets.US_ASCII), TTL);
+    }
+
+    @Test
+    void render_ShouldAnswerNotModifiedFromStoredEtagWithoutReadingBody() {
+        when(cacheService.getBytes(KEY + ":body:gzip:etag"))
+                .thenReturn(Mono.just("\"abc\"".getBytes(StandardCharsets.US_ASCII)));
+
+        StepVerifier.create(cache.render(KEY, "gzip", "\"old\", W/\"abc\"", TTL,
+                        () -> Flux.error(new AssertionError("should not render"))))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                    assertThat(response.getHeaders().getETag()).isEqualTo("\"abc\"");
+                    assertThat(response.getBody()).isNull();
+                })
+                .verifyComplete();
+
+        verify(cacheService, never()).getBytes(KEY + ":body:gzip");
+    }
+
+    @Test
+    void render_ShouldServeBodyWithStoredEtagWhenItDoesNotMatch() {
+        when(cacheService.getBytes(KEY + ":body:etag"))
+                .thenReturn(Mono.just("\"abc\"".getBytes(StandardCharsets.US_ASCII)));
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.just(JSON.getBytes(StandardCharsets.UTF_8)));
+
+        StepVerifier.create(cache.render(KEY, null, "\"old\"", TTL, () -> Flux.error(new AssertionError("should not render"))))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getHeaders().getETag()).isEqualTo("\"abc\"");
+                    assertThat(bodyOf(response)).isEqualTo(JSON);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void render_ShouldHashBodiesCachedWithoutEtagAndNotStoreIt() {
+        byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+        when(cacheService.getBytes(KEY + ":body")).thenReturn(Mono.just(json));
+
+        StepVerifier.create(cache.render(KEY, null, ResponseBodyCache.etagOf(json), TTL,
+                        () -> Flux.error(new AssertionError("should not render"))))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED))
+                .verifyComplete();
+
+        verify(cacheService, never()).putBytes(anyString(), any(), any());
+    }
+
+    @Test
+    void matches_ShouldUseWeakComparison() {
+        assertThat(ResponseBodyCache.matches("\"abc\"", "\"abc\"")).isTrue();
+        assertThat(ResponseBodyCache.matches("W/\"abc\"", "\"abc\"")).isTrue();
+        assertThat(ResponseBodyCache.matches("\"x\", \"abc\"", "\"abc\"")).isTrue();
+        assertThat(ResponseBodyCache.matches("*", "\"abc\"")).isTrue();
+        assertThat(ResponseBodyCache.matches("\"abd\"", "\"abc\"")).isFalse();
+        assertThat(ResponseBodyCache.matches(null, "\"abc\"")).isFalse();
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonourQualityValues() {
+        assertThat(ResponseBodyCache.acceptsGzip("gzip")).isTrue();
+        assertThat(ResponseBodyCache.acceptsGzip("deflate, GZIP;q=0.8")).isTrue();
+        assertThat(ResponseBodyCache.acceptsGzip("*")).isTrue();
+        assertThat(ResponseBodyCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseBodyCache.acceptsGzip("br, deflate")).isFalse();
+        assertThat(ResponseBodyCache.acceptsGzip(null)).isFalse();
+    }
+
+    private static String bodyOf(ResponseEntity<DataBuffer> response) {
+        return response.getBody().toString(StandardCharsets.UTF_8);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    /**
+     * Just enough of Redis for a rendered body and the entry it is rendered from, expiring keys on the test clock.
+     */
+    private static final class InMemoryCacheService implements CacheServicePort {
+
+        private final Map<String, Object> values = new HashMap<>();
+        private final Map<String, Long> expiresAt = new HashMap<>();
+        private final Clock clock;
+
+        private InMemoryCacheService(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public <T> Mono<T> get(String key, Class<T> valueType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<CacheEnvelope<T>> getEnvelope(String key, Class<T> valueType) {
+            return Mono.justOrEmpty((CacheEnvelope<T>) live(key));
+        }
+
+        @Override
+        public <T> Mono<Map<String, CacheEnvelope<T>>> getEnvelopes(List<String> keys, Class<T> valueType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> Mono<Void> put(String key, T value, Duration ttl) {
+            return Mono.fromRunnable(() -> {
+                values.put(key, value);
+                expiresAt.put(key, clock.millis() + ttl.toMillis());
+            });
+        }
+
+        @Override
+        public Mono<byte[]> getBytes(String key) {
+            return Mono.justOrEmpty((byte[]) live(key));
+        }
+
+        @Override
+        public Mono<Void> putBytes(String key, byte[] value, Duration ttl) {
+            return put(key, value, ttl);
+        }
+
+        @Override
+        public Mono<Duration> remainingTtl(String key) {
+            return Mono.justOrEmpty(live(key)).map(value -> Duration.ofMillis(expiresAt.get(key) - clock.millis()));
+        }
+
+        @Override
+        public Mono<Long> softExpiresAt(String key) {
+            return Mono.justOrEmpty(live(key))
+                    .filter(CacheEnvelope.class::isInstance)
+                    .map(value -> ((CacheEnvelope<?>) value).softExpiresAt());
+        }
+
+        @Override
+        public Mono<Void> delete(String key) {
+            return Mono.fromRunnable(() -> {
+                values.remove(key);
+                expiresAt.remove(key);
+            });
+        }
+
+        @Override
+        public Mono<Void> deleteByPattern(String pattern) {
+            throw new UnsupportedOperationException();
+        }
+
+        private Object live(String key) {
+            Long expiry = expiresAt.get(key);
+            if (expiry != null && expiry <= clock.millis()) {
+                values.remove(key);
+                expiresAt.remove(key);
+            }
+            return values.get(key);
+        }
+    }
+}
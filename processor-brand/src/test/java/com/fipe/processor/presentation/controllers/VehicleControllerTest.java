@@ -1,16 +1,31 @@
 package com.fipe.processor.presentation.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fipe.processor.application.cache.CachePolicy;
+import com.fipe.processor.application.ports.BrandPopularityPort;
+import com.fipe.processor.application.ports.CacheServicePort;
 import com.fipe.processor.application.ports.GetBrandsServicePort;
+import com.fipe.processor.application.ports.GetVehicleChangesServicePort;
+import com.fipe.processor.application.ports.GetVehiclesBatchServicePort;
 import com.fipe.processor.application.ports.GetVehiclesByBrandServicePort;
 import com.fipe.processor.application.ports.LoadFipeDataPort;
 import com.fipe.processor.application.ports.UpdateVehicleServicePort;
+import com.fipe.processor.domain.dto.VehicleBatchResult;
+import com.fipe.processor.domain.dto.VehicleChangePage;
+import com.fipe.processor.domain.dto.VehiclePage;
 import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.entities.Vehicle;
+import com.fipe.processor.presentation.cache.ResponseBodyCache;
 import com.fipe.processor.presentation.dto.BrandResponse;
 import com.fipe.processor.presentation.dto.UpdateVehicleRequest;
+import com.fipe.processor.presentation.dto.VehicleBatchRequest;
+import com.fipe.processor.presentation.dto.VehicleBatchResponse;
+import com.fipe.processor.presentation.dto.VehicleChangePageResponse;
+import com.fipe.processor.presentation.dto.VehiclePageResponse;
 import com.fipe.processor.presentation.dto.VehicleResponse;
 import com.fipe.processor.presentation.mappers.EntityMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,16 +33,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class VehicleControllerTest {
 
+    private static final String BRANDS_KEY = "brands:g1:all";
+    private static final String VEHICLES_KEY = "vehicles:g1:brand:acura";
+
     @Mock
     private LoadFipeDataPort loadFipeDataUseCase;
 
@@ -37,27 +67,59 @@ class VehicleControllerTest {
     @Mock
     private GetVehiclesByBrandServicePort getVehiclesByBrandUseCase;
 
+    @Mock
+    private GetVehiclesBatchServicePort getVehiclesBatchUseCase;
+
+    @Mock
+    private GetVehicleChangesServicePort getVehicleChangesUseCase;
+
     @Mock
     private UpdateVehicleServicePort updateVehicleUseCase;
 
     @Mock
     private EntityMapper entityMapper;
 
+    @Mock
+    private CacheServicePort cacheService;
+
+    @Mock
+    private BrandPopularityPort brandPopularity;
+
     private VehicleController controller;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+
+        ResponseBodyCache responseBodyCache = new ResponseBodyCache(cacheService, objectMapper);
+        ReflectionTestUtils.setField(responseBodyCache, "gzipEnabled", true);
+
         controller = new VehicleController(
                 loadFipeDataUseCase,
                 getBrandsUseCase,
                 getVehiclesByBrandUseCase,
+                getVehiclesBatchUseCase,
+                getVehicleChangesUseCase,
                 updateVehicleUseCase,
-                entityMapper
+                entityMapper,
+                responseBodyCache,
+                brandPopularity
         );
 
-        objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules();
+        lenient().when(getBrandsUseCase.cachePolicy()).thenReturn(new CachePolicy(Duration.ofHours(1), Duration.ofHours(6)));
+        lenient().when(getVehiclesByBrandUseCase.cachePolicy()).thenReturn(new CachePolicy(Duration.ofMinutes(30), Duration.ofHours(2)));
+        lenient().when(getBrandsUseCase.cacheKey()).thenReturn(Mono.just(BRANDS_KEY));
+        lenient().when(getVehiclesByBrandUseCase.cacheKey(anyString())).thenReturn(Mono.just(VEHICLES_KEY));
+        lenient().when(cacheService.getBytes(anyString())).thenReturn(Mono.empty());
+        lenient().when(cacheService.putBytes(anyString(), any(), any())).thenReturn(Mono.empty());
+        lenient().when(cacheService.remainingTtl(anyString())).thenReturn(Mono.empty());
+        lenient().when(cacheService.softExpiresAt(anyString())).thenReturn(Mono.empty());
+    }
+
+    private static String bodyOf(ResponseEntity<DataBuffer> response) {
+        return response.getBody().toString(StandardCharsets.UTF_8);
     }
 
     @Test
@@ -80,7 +142,7 @@ class VehicleControllerTest {
     @Test
     void getBrands_ShouldReturnBrandsList() {
         
-        Brand testBrand = new Brand(1L, "1", "Acura", LocalDateTime.now());
+        Brand testBrand = new Brand(1L, "1", "Acura", LocalDateTime.now(), 0L);
         BrandResponse testBrandResponse = new BrandResponse("1", "Acura");
 
         List<Brand> brands = List.of(testBrand);
@@ -88,15 +150,36 @@ class VehicleControllerTest {
         when(entityMapper.toBrandResponse(testBrand)).thenReturn(testBrandResponse);
 
         
-        Flux<BrandResponse> result = controller.getBrands();
+        Mono<ResponseEntity<DataBuffer>> result = controller.getBrands(null, null);
 
         
         StepVerifier.create(result)
-                .expectNext(testBrandResponse)
+                .assertNext(response -> {
+                    assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+                    assertEquals("[{\"code\":\"1\",\"name\":\"Acura\"}]", bodyOf(response));
+                })
                 .verifyComplete();
 
         verify(getBrandsUseCase).execute();
         verify(entityMapper).toBrandResponse(testBrand);
+        verify(cacheService).putBytes(eq(BRANDS_KEY + ":body"), any(), eq(Duration.ofHours(6)));
+    }
+
+    @Test
+    void getBrands_ShouldServeCachedBodyWithoutLoadingBrands() {
+
+        when(cacheService.getBytes(BRANDS_KEY + ":body:gzip")).thenReturn(Mono.just(new byte[]{1, 2, 3}));
+
+
+        Mono<ResponseEntity<DataBuffer>> result = controller.getBrands("gzip, deflate", null);
+
+
+        StepVerifier.create(result)
+                .assertNext(response -> assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)))
+                .verifyComplete();
+
+        verify(getBrandsUseCase, never()).execute();
+        verify(entityMapper, never()).toBrandResponse(any());
     }
 
     @Test
@@ -105,10 +188,11 @@ class VehicleControllerTest {
         when(getBrandsUseCase.execute()).thenReturn(Flux.empty());
 
         
-        Flux<BrandResponse> result = controller.getBrands();
+        Mono<ResponseEntity<DataBuffer>> result = controller.getBrands(null, null);
 
         
         StepVerifier.create(result)
+                .assertNext(response -> assertEquals("[]", bodyOf(response)))
                 .verifyComplete();
 
         verify(getBrandsUseCase).execute();
@@ -120,7 +204,7 @@ class VehicleControllerTest {
         when(getBrandsUseCase.execute()).thenReturn(Flux.error(new RuntimeException("Database error")));
 
         
-        Flux<BrandResponse> result = controller.getBrands();
+        Mono<ResponseEntity<DataBuffer>> result = controller.getBrands(null, null);
 
         
         StepVerifier.create(result)
@@ -134,7 +218,7 @@ class VehicleControllerTest {
     void getVehiclesByBrand_ShouldReturnVehicles() {
         
         String brandName = "Acura";
-        Vehicle testVehicle = new Vehicle(1L, "1", "1", "Integra GS 1.8", null, LocalDateTime.now(), null);
+        Vehicle testVehicle = new Vehicle(1L, "1", "1", "Integra GS 1.8", null, LocalDateTime.now(), null, 0L);
         VehicleResponse testVehicleResponse = new VehicleResponse(1L, "001004-1", "1", "Integra GS 1.8", "Imported vehicle");
 
         List<Vehicle> vehicles = List.of(testVehicle);
@@ -142,15 +226,50 @@ class VehicleControllerTest {
         when(entityMapper.toVehicleResponse(testVehicle)).thenReturn(testVehicleResponse);
 
         
-        Flux<VehicleResponse> result = controller.getVehiclesByBrand(brandName);
+        Mono<ResponseEntity<DataBuffer>> result = controller.getVehiclesByBrand(brandName, null, null);
 
         
         StepVerifier.create(result)
-                .expectNext(testVehicleResponse)
+                .assertNext(response -> assertEquals(
+                        "[{\"id\":1,\"code\":\"001004-1\",\"brandCode\":\"1\",\"model\":\"Integra GS 1.8\",\"observations\":\"Imported vehicle\"}]",
+                        bodyOf(response)))
                 .verifyComplete();
 
         verify(getVehiclesByBrandUseCase).execute(brandName);
         verify(entityMapper).toVehicleResponse(testVehicle);
+        verify(cacheService).putBytes(eq(VEHICLES_KEY + ":body"), any(), eq(Duration.ofHours(2)));
+        verify(brandPopularity).record(brandName);
+    }
+
+    @Test
+    void getVehiclesByBrand_ShouldAnswerNotModifiedWithoutLoadingVehicles() {
+        when(cacheService.getBytes(VEHICLES_KEY + ":body:etag"))
+                .thenReturn(Mono.just("\"abc\"".getBytes(StandardCharsets.US_ASCII)));
+
+        StepVerifier.create(controller.getVehiclesByBrand("Acura", null, "\"abc\""))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+                    assertEquals("\"abc\"", response.getHeaders().getETag());
+                })
+                .verifyComplete();
+
+        verify(getVehiclesByBrandUseCase, never()).execute(anyString());
+        verify(cacheService, never()).getBytes(VEHICLES_KEY + ":body");
+    }
+
+    @Test
+    void getVehiclesByBrand_ShouldSendDatabaseRenderedJsonWhenEnabled() {
+        ReflectionTestUtils.setField(controller, "databaseJson", true);
+        String json = "[{\"id\":1,\"code\":\"001004-1\",\"brandCode\":\"1\",\"model\":\"Integra GS 1.8\",\"observations\":null}]";
+        when(getVehiclesByBrandUseCase.renderJson("Acura")).thenReturn(Mono.just(json.getBytes(StandardCharsets.UTF_8)));
+
+        StepVerifier.create(controller.getVehiclesByBrand("Acura", null, null))
+                .assertNext(response -> assertEquals(json, bodyOf(response)))
+                .verifyComplete();
+
+        verify(getVehiclesByBrandUseCase, never()).execute(anyString());
+        verify(cacheService).putBytes(eq(VEHICLES_KEY + ":body"), any(), eq(Duration.ofHours(2)));
+        verify(brandPopularity).record("Acura");
     }
 
     @Test
@@ -160,13 +279,15 @@ class VehicleControllerTest {
         when(getVehiclesByBrandUseCase.execute(brandName)).thenReturn(Flux.empty());
 
         
-        Flux<VehicleResponse> result = controller.getVehiclesByBrand(brandName);
+        Mono<ResponseEntity<DataBuffer>> result = controller.getVehiclesByBrand(brandName, null, null);
 
         
         StepVerifier.create(result)
+                .assertNext(response -> assertEquals("[]", bodyOf(response)))
                 .verifyComplete();
 
         verify(getVehiclesByBrandUseCase).execute(brandName);
+        verify(cacheService, never()).putBytes(any(), any(), any());
     }
 
     @Test
@@ -176,7 +297,7 @@ class VehicleControllerTest {
         when(getVehiclesByBrandUseCase.execute(brandName)).thenReturn(Flux.error(new RuntimeException("Brand not found")));
 
         
-        Flux<VehicleResponse> result = controller.getVehiclesByBrand(brandName);
+        Mono<ResponseEntity<DataBuffer>> result = controller.getVehiclesByBrand(brandName, null, null);
 
         
         StepVerifier.create(result)
@@ -184,6 +305,78 @@ class VehicleControllerTest {
                 .verify();
 
         verify(getVehiclesByBrandUseCase).execute(brandName);
+        verify(brandPopularity, never()).record(anyString());
+    }
+
+    @Test
+    void streamBrands_ShouldEmitMappedBrandsWithoutRenderingBody() {
+
+        Brand testBrand = new Brand(1L, "1", "Acura", LocalDateTime.now(), 0L);
+        BrandResponse testBrandResponse = new BrandResponse("1", "Acura");
+        when(getBrandsUseCase.stream()).thenReturn(Flux.just(testBrand));
+        when(entityMapper.toBrandResponse(testBrand)).thenReturn(testBrandResponse);
+
+
+        StepVerifier.create(controller.streamBrands())
+                .expectNext(testBrandResponse)
+                .verifyComplete();
+
+        verify(getBrandsUseCase, never()).execute();
+        verify(cacheService, never()).getBytes(anyString());
+    }
+
+    @Test
+    void streamVehiclesByBrand_ShouldEmitMappedVehicles() {
+
+        Vehicle testVehicle = new Vehicle(1L, "1", "1", "Integra GS 1.8", null, LocalDateTime.now(), null, 0L);
+        VehicleResponse testVehicleResponse = new VehicleResponse(1L, "1", "1", "Integra GS 1.8", null);
+        when(getVehiclesByBrandUseCase.stream("Acura")).thenReturn(Flux.just(testVehicle));
+        when(entityMapper.toVehicleResponse(testVehicle)).thenReturn(testVehicleResponse);
+
+
+        StepVerifier.create(controller.streamVehiclesByBrand("Acura"))
+                .expectNext(testVehicleResponse)
+                .verifyComplete();
+
+        verify(getVehiclesByBrandUseCase, never()).execute(anyString());
+        verify(brandPopularity).record("Acura");
+    }
+
+    @Test
+    void streamVehiclesByBrand_ShouldPropagateServiceError() {
+
+        when(getVehiclesByBrandUseCase.stream("Acura")).thenReturn(Flux.error(new RuntimeException("Brand not found")));
+
+
+        StepVerifier.create(controller.streamVehiclesByBrand("Acura"))
+                .expectError(RuntimeException.class)
+                .verify();
+    }
+
+    @Test
+    void getVehiclePage_ShouldMapPage() {
+
+        VehiclePage page = new VehiclePage(List.of(), "cursor");
+        VehiclePageResponse pageResponse = new VehiclePageResponse(List.of(), "cursor");
+        when(getVehiclesByBrandUseCase.page("Acura", null, 20)).thenReturn(Mono.just(page));
+        when(entityMapper.toVehiclePageResponse(page)).thenReturn(pageResponse);
+
+
+        StepVerifier.create(controller.getVehiclePage("Acura", 20, null))
+                .expectNext(pageResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    void getVehicleChanges_ShouldMapPage() {
+        VehicleChangePage page = new VehicleChangePage(List.of(), "NDI6Nw", false);
+        VehicleChangePageResponse pageResponse = new VehicleChangePageResponse(List.of(), "NDI6Nw", false);
+        when(getVehicleChangesUseCase.changesSince("NDI6Nw", 100)).thenReturn(Mono.just(page));
+        when(entityMapper.toVehicleChangePageResponse(page)).thenReturn(pageResponse);
+
+        StepVerifier.create(controller.getVehicleChanges("NDI6Nw", 100))
+                .expectNext(pageResponse)
+                .verifyComplete();
     }
 
     @Test
@@ -191,7 +384,7 @@ class VehicleControllerTest {
         
         Long vehicleId = 1L;
         UpdateVehicleRequest request = new UpdateVehicleRequest("Integra GS 1.8 Special Edition", "Imported with custom modifications");
-        Vehicle updatedVehicle = new Vehicle(vehicleId, "001004-1", "1", "Integra GS 1.8 Special Edition", "Imported with custom modifications", LocalDateTime.now(), LocalDateTime.now());
+        Vehicle updatedVehicle = new Vehicle(vehicleId, "001004-1", "1", "Integra GS 1.8 Special Edition", "Imported with custom modifications", LocalDateTime.now(), LocalDateTime.now(), 0L);
         VehicleResponse updatedResponse = new VehicleResponse(vehicleId, "001004-1", "1", "Integra GS 1.8 Special Edition", "Imported with custom modifications");
 
         when(updateVehicleUseCase.execute(vehicleId, request.model(), request.observations()))
@@ -265,4 +458,39 @@ class VehicleControllerTest {
 
         verify(updateVehicleUseCase).execute(vehicleId, request.model(), request.observations());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getVehiclesBatch_ShouldStreamOneResponsePerLookup() {
+
+        Vehicle vehicle = new Vehicle(1L, "001", "1", "Integra", null, LocalDateTime.now(), null, 0L);
+        VehicleBatchResult byBrand = new VehicleBatchResult("brand:Acura", List.of(vehicle));
+        VehicleBatchResult byId = new VehicleBatchResult("id:1", List.of(vehicle));
+        VehicleBatchRequest request = new VehicleBatchRequest(List.of("Acura"), List.of(1L), null);
+        when(getVehiclesBatchUseCase.execute(request.brandNames(), request.ids(), request.codes()))
+                .thenReturn(Flux.just(byBrand, byId));
+        when(entityMapper.toVehicleBatchResponse(any(VehicleBatchResult.class)))
+                .thenAnswer(invocation -> {
+                    VehicleBatchResult result = invocation.getArgument(0);
+                    return new VehicleBatchResponse(result.lookup(), List.of());
+                });
+
+
+        StepVerifier.create(controller.getVehiclesBatch(request))
+                .expectNextMatches(response -> response.lookup().equals("brand:Acura"))
+                .expectNextMatches(response -> response.lookup().equals("id:1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void getVehiclesBatch_ShouldPropagateServiceError() {
+
+        VehicleBatchRequest request = new VehicleBatchRequest(List.of("Acura"), null, null);
+        when(getVehiclesBatchUseCase.execute(request.brandNames(), null, null))
+                .thenReturn(Flux.error(new RuntimeException("Database error")));
+
+
+        StepVerifier.create(controller.getVehiclesBatch(request))
+                .expectError(RuntimeException.class)
+                .verify();
+    }
+}
@@ -1,7 +1,13 @@
 package com.fipe.processor.presentation.mappers;
 
+import com.fipe.processor.domain.dto.VehicleChange;
+import com.fipe.processor.domain.dto.VehicleChangePage;
+import com.fipe.processor.domain.dto.VehiclePage;
 import com.fipe.processor.domain.entities.Vehicle;
+import com.fipe.processor.presentation.dto.VehicleChangePageResponse;
+import com.fipe.processor.presentation.dto.VehiclePageResponse;
 import com.fipe.processor.presentation.dto.VehicleResponse;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -10,6 +16,7 @@ import org.mockito.MockitoAnnotations;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 class EntityMapperTest {
@@ -77,4 +84,32 @@ class EntityMapperTest {
         assertNull(response.model());
         assertEquals(mockVehicle.getObservations(), response.observations());
     }
-}
\ No newline at end of file
+
+    @Test
+    void toVehiclePageResponse_shouldMapItemsAndKeepCursor() {
+        Vehicle vehicle = Vehicle.builder().id(1L).code("X123").brandCode("BR456").model("Test Model").build();
+
+        VehiclePageResponse response = entityMapper.toVehiclePageResponse(new VehiclePage(List.of(vehicle), "next"));
+
+        assertEquals(1, response.items().size());
+        assertEquals("Test Model", response.items().get(0).model());
+        assertEquals("next", response.nextCursor());
+    }
+
+    @Test
+    void toVehicleChangePageResponse_shouldMapChangesAndKeepCursor() {
+        Vehicle updated = Vehicle.builder().id(1L).code("X123").brandCode("BR456").model("Test Model").build();
+        Vehicle deleted = Vehicle.builder().id(2L).code("X124").brandCode("BR456").build();
+
+        VehicleChangePageResponse response = entityMapper.toVehicleChangePageResponse(new VehicleChangePage(
+                List.of(new VehicleChange(7L, 700L, false, updated), new VehicleChange(9L, 701L, true, deleted)), "NzAxOjk", true));
+
+        assertEquals(2, response.items().size());
+        assertEquals(7L, response.items().get(0).version());
+        assertEquals("Test Model", response.items().get(0).vehicle().model());
+        assertTrue(response.items().get(1).deleted());
+        assertEquals(2L, response.items().get(1).vehicle().id());
+        assertEquals("NzAxOjk", response.nextCursor());
+        assertTrue(response.hasMore());
+    }
+}
@@ -0,0 +1,53 @@
+package com.fipe.processor.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Embedded Postgres with the gateway's Flyway migrations applied in version order. Tests that use it are skipped
+ * when the gateway module is not checked out next to processor-brand.
+ */
+public final class CatalogDatabase {
+
+    private static final Path MIGRATIONS = Path.of("../gateway/src/main/resources/db/migration");
+
+    private CatalogDatabase() {
+    }
+
+    public static EmbeddedPostgres start() throws Exception {
+        assumeTrue(Files.isDirectory(MIGRATIONS), "gateway migrations are not checked out next to processor-brand");
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (Path migration : migrations()) {
+                statement.execute(Files.readString(migration));
+            }
+        } catch (Exception e) {
+            postgres.close();
+            throw e;
+        }
+        return postgres;
+    }
+
+    private static List<Path> migrations() throws IOException {
+        try (Stream<Path> files = Files.list(MIGRATIONS)) {
+            return files.filter(file -> file.getFileName().toString().matches("V\\d+__.*\\.sql"))
+                    .sorted(Comparator.comparingInt(CatalogDatabase::version))
+                    .toList();
+        }
+    }
+
+    private static int version(Path migration) {
+        String name = migration.getFileName().toString();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
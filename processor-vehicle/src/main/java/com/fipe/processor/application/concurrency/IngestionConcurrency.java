@@ -0,0 +1,34 @@
+package com.fipe.processor.application.concurrency;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IngestionConcurrency {
+
+    public static final String FIPE_FETCH = "fipe-fetch";
+    public static final String DB_WRITE = "db-write";
+
+    private final Map<String, StageLimiter> stages = new LinkedHashMap<>();
+
+    public IngestionConcurrency(@Value("${fipe.ingestion.concurrency.fipe-fetch:2}") int fipeFetch,
+                                @Value("${fipe.ingestion.concurrency.db-write:8}") int dbWrite) {
+        stages.put(FIPE_FETCH, new StageLimiter(FIPE_FETCH, fipeFetch));
+        stages.put(DB_WRITE, new StageLimiter(DB_WRITE, dbWrite));
+    }
+
+    public StageLimiter stage(String name) {
+        StageLimiter limiter = stages.get(name);
+        if (limiter == null) {
+            throw new IllegalArgumentException("Unknown ingestion stage: " + name);
+        }
+        return limiter;
+    }
+
+    public Collection<StageLimiter> stages() {
+        return stages.values();
+    }
+}
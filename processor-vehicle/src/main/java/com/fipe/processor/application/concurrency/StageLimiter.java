@@ -0,0 +1,162 @@
+package com.fipe.processor.application.concurrency;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Permit gate whose limit can be changed while work is running. Lowering the limit lets in-flight
+ * work finish and holds new work back; raising it releases queued work immediately.
+ *
+ * <p>The same class lives in processor-brand: the processors are built and deployed independently and share
+ * no library, so keep the two copies in step.
+ */
+public class StageLimiter {
+
+    private final String stage;
+    private final Deque<Permit> waiting = new ArrayDeque<>();
+    private int maxConcurrency;
+    private int inFlight;
+
+    public StageLimiter(String stage, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency for stage " + stage + " must be at least 1");
+        }
+        this.stage = stage;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public <T> Mono<T> run(Mono<T> task) {
+        return Mono.usingWhen(acquire(), permit -> task,
+                Permit::release, (permit, error) -> permit.release(), Permit::release);
+    }
+
+    public <T> Flux<T> run(Flux<T> task) {
+        return Flux.usingWhen(acquire(), permit -> task,
+                Permit::release, (permit, error) -> permit.release(), Permit::release);
+    }
+
+    /**
+     * {@code flatMap} that runs each task under a permit and passes the stage limit as its concurrency, so upstream
+     * is only requested as permits free up instead of piling subscriptions into the queue. A limit raised while the
+     * flux runs applies from its next subscription; a lowered one applies at once.
+     */
+    public <T, R> Flux<R> flatMap(Flux<T> source, Function<? super T, Mono<R>> task) {
+        return Flux.defer(() -> source.flatMap(item -> run(task.apply(item)), getMaxConcurrency()));
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public synchronized int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiting.size();
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency for stage " + stage + " must be at least 1");
+        }
+        synchronized (this) {
+            this.maxConcurrency = maxConcurrency;
+        }
+        drain();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit permit = new Permit(sink);
+            sink.onCancel(permit::cancel);
+            boolean granted;
+            synchronized (this) {
+                granted = inFlight < maxConcurrency && waiting.isEmpty();
+                if (granted) {
+                    inFlight++;
+                } else {
+                    waiting.add(permit);
+                }
+            }
+            if (granted && !permit.grant()) {
+                freeSlot();
+            }
+        });
+    }
+
+    private void freeSlot() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            Permit next;
+            synchronized (this) {
+                if (inFlight >= maxConcurrency || waiting.isEmpty()) {
+                    return;
+                }
+                next = waiting.poll();
+                inFlight++;
+            }
+            if (!next.grant()) {
+                synchronized (this) {
+                    inFlight--;
+                }
+            }
+        }
+    }
+
+    private synchronized void forget(Permit permit) {
+        waiting.remove(permit);
+    }
+
+    private final class Permit {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int DONE = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Permit(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        private boolean grant() {
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            sink.success(this);
+            return true;
+        }
+
+        private void cancel() {
+            if (state.compareAndSet(WAITING, DONE)) {
+                forget(this);
+            } else {
+                release();
+            }
+        }
+
+        private Mono<Void> release() {
+            if (state.compareAndSet(GRANTED, DONE)) {
+                freeSlot();
+            }
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.fipe.processor.application.concurrency;
+
+public record StageStatus(
+        String stage,
+        int maxConcurrency,
+        int inFlight,
+        int queued
+) {
+
+    public static StageStatus of(StageLimiter limiter) {
+        return new StageStatus(limiter.getStage(), limiter.getMaxConcurrency(),
+                limiter.getInFlight(), limiter.getQueued());
+    }
+}
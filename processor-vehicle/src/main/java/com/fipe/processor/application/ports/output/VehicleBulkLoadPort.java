@@ -0,0 +1,10 @@
+package com.fipe.processor.application.ports.output;
+
+import com.fipe.processor.domain.entities.Vehicle;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface VehicleBulkLoadPort {
+
+    Mono<Long> load(Flux<Vehicle> vehicles);
+}
@@ -1,12 +1,16 @@
 package com.fipe.processor.application.usecases;
 
+import com.fipe.processor.application.concurrency.IngestionConcurrency;
 import com.fipe.processor.application.ports.output.FipeServicePort;
+import com.fipe.processor.application.ports.output.VehicleBulkLoadPort;
 import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.entities.Vehicle;
+import com.fipe.processor.domain.repositories.CatalogGenerationRepository;
 import com.fipe.processor.domain.repositories.VehicleRepository;
 import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,28 +25,99 @@ public class ProcessBrandUseCase {
 
     private final FipeServicePort fipeService;
     private final VehicleRepository vehicleRepository;
+    private final VehicleBulkLoadPort vehicleBulkLoader;
+    private final CatalogGenerationRepository catalogGenerationRepository;
+    private final IngestionConcurrency concurrency;
+
+    @Value("${fipe.ingestion.bulk-load.enabled:false}")
+    private boolean bulkLoadEnabled;
+
+    public Mono<Long> process(Brand brandMessage) {
+        Mono<Long> stored = bulkLoadEnabled ? bulkLoad(brandMessage) : execute(brandMessage).count();
+        return stored.flatMap(count -> completeBrand(brandMessage).thenReturn(count));
+    }
 
     public Flux<Vehicle> execute(Brand brandMessage) {
         log.info("Processing brand: {} - {}", brandMessage.getCode(), brandMessage.getName());
 
-        return fipeService.fetchVehiclesByBrand(brandMessage.getCode())
-                .flatMap(this::saveVehicleIfNotExists)
+        return concurrency.stage(IngestionConcurrency.DB_WRITE)
+                .flatMap(fetchVehicles(brandMessage), this::saveVehicleIfNotExists)
                 .doOnComplete(() -> log.info("Completed processing brand: {}", brandMessage.getCode()))
                 .doOnError(error -> log.error("Error processing brand {}: {}", 
                         brandMessage.getCode(), error.getMessage()));
     }
 
+    public Mono<Long> bulkLoad(Brand brandMessage) {
+        log.info("Bulk loading brand: {} - {}", brandMessage.getCode(), brandMessage.getName());
+
+        return vehicleBulkLoader.load(fetchVehicles(brandMessage))
+                .doOnSuccess(inserted -> log.info("Completed bulk load of brand {}: {} new vehicles",
+                        brandMessage.getCode(), inserted))
+                .doOnError(error -> log.error("Error bulk loading brand {}: {}",
+                        brandMessage.getCode(), error.getMessage()));
+    }
+
+    private Flux<Vehicle> fetchVehicles(Brand brandMessage) {
+        return concurrency.stage(IngestionConcurrency.FIPE_FETCH).run(fipeService.fetchVehiclesByBrand(brandMessage.getCode()))
+                .doOnNext(vehicle -> vehicle.setGeneration(generationOf(brandMessage)));
+    }
+
+    private Mono<Void> completeBrand(Brand brandMessage) {
+        Long generation = generationOf(brandMessage);
+        if (generation == 0L) {
+            return Mono.empty();
+        }
+        return catalogGenerationRepository.isFailed(generation)
+                .defaultIfEmpty(false)
+                .flatMap(failed -> failed
+                        ? discardBrand(generation, brandMessage)
+                        : catalogGenerationRepository.markBrandCompleted(generation, brandMessage.getCode())
+                                .then(catalogGenerationRepository.publishIfComplete(generation))
+                                .doOnNext(published -> {
+                                    if (published > 0) {
+                                        log.info("Catalog generation {} published after brand {}",
+                                                generation, brandMessage.getCode());
+                                    }
+                                }))
+                .then();
+    }
+
+    private Mono<Long> discardBrand(Long generation, Brand brandMessage) {
+        return catalogGenerationRepository.discardBrand(generation, brandMessage.getCode())
+                .doOnNext(discarded -> log.warn("Catalog generation {} failed while loading brand {}: "
+                        + "discarded {} vehicles", generation, brandMessage.getCode(), discarded));
+    }
+
+    private Long generationOf(Brand brandMessage) {
+        return nonNull(brandMessage.getGeneration()) ? brandMessage.getGeneration() : 0L;
+    }
+
     private Mono<Vehicle> saveVehicleIfNotExists(Vehicle vehicle) {
         return vehicleRepository.existsByCodeAndBrandCode(vehicle.getCode(), vehicle.getBrandCode())
                 .flatMap(exists -> {
                     if (exists) {
                         log.debug("Vehicle already exists: {} - {}", vehicle.getCode(), vehicle.getModel());
-                        return Mono.empty();
+                        return stageUpdate(vehicle);
                     }
                     return saveVehicle(vehicle);
                 });
     }
 
+    private Mono<Vehicle> stageUpdate(Vehicle vehicle) {
+        if (vehicle.getGeneration() == null || vehicle.getGeneration() == 0L) {
+            return Mono.empty();
+        }
+        return vehicleRepository.stageUpdate(vehicle.getCode(), vehicle.getBrandCode(), vehicle.getModel(),
+                        vehicle.getGeneration())
+                .doOnNext(staged -> {
+                    if (staged > 0) {
+                        log.debug("Staged update of vehicle {} for generation {}",
+                                vehicle.getCode(), vehicle.getGeneration());
+                    }
+                })
+                .then(Mono.empty());
+    }
+
     private Mono<Vehicle> saveVehicle(Vehicle vehicle) {
         log.debug("Saving vehicle: {} - {} - {}", 
                 vehicle.getBrandCode(), vehicle.getCode(), vehicle.getModel());
@@ -52,6 +127,7 @@ public class ProcessBrandUseCase {
                         .code(vehicle.getCode())
                         .model(vehicle.getModel())
                         .createdAt(nonNull(vehicle.getCreatedAt()) ?vehicle.getCreatedAt() : LocalDateTime.now() )
+                        .generation(vehicle.getGeneration())
                         .build())
                 .doOnSuccess(saved -> log.debug("Vehicle saved: {}", saved.getId()))
                 .doOnError(error -> log.error("Error saving vehicle {}: {}", 
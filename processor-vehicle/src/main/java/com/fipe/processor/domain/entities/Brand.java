@@ -26,6 +26,9 @@ public class Brand {
 
     private LocalDateTime createdAt;
 
+    @Builder.Default
+    private Long generation = 0L;
+
     public static Brand create(String code, String name) {
         return Brand.builder()
                 .code(code)
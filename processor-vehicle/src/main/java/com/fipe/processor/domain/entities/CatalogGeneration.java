@@ -0,0 +1,29 @@
+package com.fipe.processor.domain.entities;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("catalog_generations")
+public class CatalogGeneration {
+
+    @Id
+    private Long id;
+
+    private String status;
+
+    private Integer expectedBrands;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime publishedAt;
+}
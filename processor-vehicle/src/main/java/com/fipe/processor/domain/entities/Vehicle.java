@@ -31,6 +31,9 @@ public class Vehicle {
 
     private LocalDateTime updatedAt;
 
+    @Builder.Default
+    private Long generation = 0L;
+
      public static Vehicle create(String code, String brandCode, String model) {
         LocalDateTime now = LocalDateTime.now();
         return Vehicle.builder()
@@ -67,6 +70,7 @@ public class Vehicle {
                 ", observations='" + observations + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", generation=" + generation +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.fipe.processor.domain.repositories;
+
+import com.fipe.processor.domain.entities.CatalogGeneration;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface CatalogGenerationRepository extends R2dbcRepository<CatalogGeneration, Long> {
+
+    @Modifying
+    @Query("""
+            INSERT INTO catalog_generation_brands (generation_id, brand_code)
+            VALUES (:generation, :brandCode)
+            ON CONFLICT DO NOTHING
+            """)
+    Mono<Long> markBrandCompleted(@Param("generation") Long generation, @Param("brandCode") String brandCode);
+
+    /**
+     * Removes what a brand wrote into a generation that failed while the brand was loading.
+     */
+    @Modifying
+    @Query("""
+            WITH discarded AS (
+                DELETE FROM pending_vehicle_updates WHERE generation_id = :generation AND brand_code = :brandCode)
+            DELETE FROM vehicles WHERE generation = :generation AND brand_code = :brandCode
+            """)
+    Mono<Long> discardBrand(@Param("generation") Long generation, @Param("brandCode") String brandCode);
+
+    @Query("SELECT status = 'FAILED' FROM catalog_generations WHERE id = :id")
+    Mono<Boolean> isFailed(@Param("id") Long id);
+
+    @Modifying
+    @Query("""
+            UPDATE catalog_generations SET status = 'PUBLISHED', published_at = NOW()
+            WHERE id = :id AND status = 'LOADING' AND expected_brands IS NOT NULL
+              AND expected_brands <= (SELECT COUNT(*) FROM catalog_generation_brands WHERE generation_id = :id)
+            """)
+    Mono<Long> publishIfComplete(@Param("id") Long id);
+}
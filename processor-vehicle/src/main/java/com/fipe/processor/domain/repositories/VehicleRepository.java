@@ -1,7 +1,10 @@
 package com.fipe.processor.domain.repositories;
 
 import com.fipe.processor.domain.entities.Vehicle;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 
@@ -9,4 +12,18 @@ import reactor.core.publisher.Mono;
 public interface VehicleRepository extends R2dbcRepository<Vehicle, Long> {
 
     Mono<Boolean> existsByCodeAndBrandCode(String code, String brandCode);
+
+    /**
+     * Stages the model FIPE now reports for an existing vehicle; it is applied when the generation is published (V9).
+     */
+    @Modifying
+    @Query("""
+            INSERT INTO pending_vehicle_updates (generation_id, code, brand_code, model)
+            SELECT :generation, v.code, v.brand_code, :model FROM vehicles v
+            WHERE v.code = :code AND v.brand_code = :brandCode AND v.generation < :generation
+              AND v.model IS DISTINCT FROM :model
+            ON CONFLICT (generation_id, code, brand_code) DO UPDATE SET model = EXCLUDED.model
+            """)
+    Mono<Long> stageUpdate(@Param("code") String code, @Param("brandCode") String brandCode,
+                           @Param("model") String model, @Param("generation") Long generation);
 }
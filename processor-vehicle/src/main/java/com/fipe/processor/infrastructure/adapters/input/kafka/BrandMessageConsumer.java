@@ -1,6 +1,5 @@
 package com.fipe.processor.infrastructure.adapters.input.kafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fipe.processor.application.usecases.ProcessBrandUseCase;
 import com.fipe.processor.domain.MessageProcessingException;
 import com.fipe.processor.domain.entities.Brand;
@@ -29,9 +28,9 @@ import reactor.util.retry.Retry;
 @RequiredArgsConstructor
 public class BrandMessageConsumer {
 
-    private final KafkaReceiver<String, String> kafkaReceiver;
+    private final KafkaReceiver<String, byte[]> kafkaReceiver;
     private final ProcessBrandUseCase processBrandUseCase;
-    private final ObjectMapper objectMapper;
+    private final BrandMessageDecoder brandMessageDecoder;
     private final RateLimiterRegistry rateLimiterRegistry;
 
     @Value("${kafka.topics.brands}")
@@ -67,7 +66,7 @@ public class BrandMessageConsumer {
         log.info("Kafka consumer started successfully");
     }
 
-    Mono<Void> processMessageWithRetry(ReceiverRecord<String, String> record) {
+    Mono<Void> processMessageWithRetry(ReceiverRecord<String, byte[]> record) {
         return Mono.defer(() -> processSingleMessage(record))
                 .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
                         .filter(this::isRetryableError)
@@ -84,10 +83,10 @@ public class BrandMessageConsumer {
                 .doOnError(error -> log.error("Failed to process brand {}: {}", record.key(), error.getMessage()));
     }
 
-    private Mono<Void> processSingleMessage(ReceiverRecord<String, String> record) {
+    private Mono<Void> processSingleMessage(ReceiverRecord<String, byte[]> record) {
         return Mono.fromCallable(() -> {
                     try {
-                        Brand brandMessage = objectMapper.readValue(record.value(), Brand.class);
+                        Brand brandMessage = brandMessageDecoder.decode(record.value(), record.headers());
                         log.info("Processing brand: {} - Offset: {}", record.key(), record.offset());
                         return brandMessage;
                     } catch (Exception e) {
@@ -96,16 +95,15 @@ public class BrandMessageConsumer {
                     }
                 })
                 .transformDeferred(RateLimiterOperator.of(fipeRateLimiter))
-                .flatMap(brand -> processBrandUseCase.execute(brand)
-                        .collectList()
-                        .doOnSuccess(vehicles -> log.info("Successfully processed brand {}: {} vehicles",
-                                brand.getCode(), vehicles.size()))
+                .flatMap(brand -> processBrandUseCase.process(brand)
+                        .doOnSuccess(stored -> log.info("Successfully processed brand {}: {} vehicles",
+                                brand.getCode(), stored))
                 )
                 .flatMap(ignore -> commitOffset(record))
                 .onErrorResume(error -> handleProcessingError(record, error));
     }
 
-    private Mono<Void> commitOffset(ReceiverRecord<String, String> record) {
+    private Mono<Void> commitOffset(ReceiverRecord<String, byte[]> record) {
         return record.receiverOffset()
                 .commit()
                 .doOnSuccess(v -> log.debug("Committed offset for brand {} at offset {}",
@@ -114,7 +112,7 @@ public class BrandMessageConsumer {
                         record.key(), record.offset(), error.getMessage()));
     }
 
-    private Mono<Void> handleProcessingError(ReceiverRecord<String, String> record, Throwable error) {
+    private Mono<Void> handleProcessingError(ReceiverRecord<String, byte[]> record, Throwable error) {
         String brandCode = record.key();
 
         if (error instanceof MessageProcessingException mpe && !mpe.isRetryable()) {
@@ -136,7 +134,7 @@ public class BrandMessageConsumer {
         return Mono.error(error);
     }
 
-    private Mono<Void> handlePermanentError(ReceiverRecord<String, String> record, Throwable error) {
+    private Mono<Void> handlePermanentError(ReceiverRecord<String, byte[]> record, Throwable error) {
         log.error("Permanent error after retries for brand {} at offset {}: {}",
                 record.key(), record.offset(), error.getMessage());
 
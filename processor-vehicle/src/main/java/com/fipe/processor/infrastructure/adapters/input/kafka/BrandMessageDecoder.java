@@ -0,0 +1,82 @@
+package com.fipe.processor.infrastructure.adapters.input.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fipe.processor.domain.entities.Brand;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decodes {@code fipe.brands} values straight from the record bytes.
+ *
+ * <p>Producers emit Smile with a {@code content-type} header; records without the header are
+ * sniffed for the Smile magic {@code :)\n} and otherwise treated as legacy JSON, so old and new
+ * producers can share the topic during a rolling upgrade. Unknown fields are ignored, which is
+ * what lets producers add fields without a coordinated consumer deploy.
+ */
+@Component
+public class BrandMessageDecoder {
+
+    static final String CONTENT_TYPE_HEADER = "content-type";
+    static final String SMILE_CONTENT_TYPE = "application/x-jackson-smile";
+
+    private static final byte[] SMILE_MAGIC = {':', ')', '\n'};
+
+    private final ObjectReader smileReader;
+    private final ObjectReader jsonReader;
+
+    public BrandMessageDecoder() {
+        this.smileReader = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(Brand.class);
+        this.jsonReader = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readerFor(Brand.class);
+    }
+
+    public Brand decode(final byte[] payload, final Headers headers) throws IOException {
+        return decode(payload, 0, payload.length, headers);
+    }
+
+    public Brand decode(final ByteBuffer payload, final Headers headers) throws IOException {
+        if (payload.hasArray()) {
+            return decode(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining(), headers);
+        }
+        boolean smile = isSmile(headers, payload);
+        return (smile ? smileReader : jsonReader).readValue(new ByteBufferBackedInputStream(payload.duplicate()));
+    }
+
+    private Brand decode(final byte[] payload, final int offset, final int length, final Headers headers)
+            throws IOException {
+        boolean smile = isSmile(headers, ByteBuffer.wrap(payload, offset, length));
+        return (smile ? smileReader : jsonReader).readValue(payload, offset, length);
+    }
+
+    private boolean isSmile(final Headers headers, final ByteBuffer payload) {
+        Header contentType = headers != null ? headers.lastHeader(CONTENT_TYPE_HEADER) : null;
+        if (contentType != null) {
+            return SMILE_CONTENT_TYPE.equals(new String(contentType.value(), StandardCharsets.UTF_8));
+        }
+        if (payload.remaining() < SMILE_MAGIC.length) {
+            return false;
+        }
+        int start = payload.position();
+        for (int i = 0; i < SMILE_MAGIC.length; i++) {
+            if (payload.get(start + i) != SMILE_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+package com.fipe.processor.infrastructure.adapters.output;
+
+import com.fipe.processor.application.concurrency.IngestionConcurrency;
+import com.fipe.processor.application.ports.output.VehicleBulkLoadPort;
+import com.fipe.processor.domain.entities.Vehicle;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Streams vehicles into a session-local staging table with {@code COPY FROM STDIN} and merges
+ * them into {@code vehicles} with a single {@code INSERT ... ON CONFLICT DO NOTHING}. Existing
+ * vehicles whose model changed are staged for the generation's publish instead (V9).
+ *
+ * <p>The staging table is {@code TEMP}: like an unlogged table it is never WAL-logged, and being
+ * private to the pooled connection it cannot collide with brands loaded concurrently. The caller
+ * passes the (rate-limited) FIPE crawl itself: rows are encoded into COPY chunks as they arrive,
+ * and the connection and a {@code db-write} permit are only taken once the crawl has completed,
+ * for the COPY and merge.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostgresCopyVehicleLoader implements VehicleBulkLoadPort {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS vehicles_staging (
+                code VARCHAR(50),
+                brand_code VARCHAR(50),
+                model VARCHAR(200),
+                created_at TIMESTAMP,
+                updated_at TIMESTAMP,
+                generation BIGINT
+            )""";
+
+    private static final String TRUNCATE_STAGING = "TRUNCATE vehicles_staging";
+
+    private static final String COPY_STAGING =
+            "COPY vehicles_staging (code, brand_code, model, created_at, updated_at, generation) FROM STDIN";
+
+    private static final String MERGE_STAGING = """
+            WITH incoming AS (
+                SELECT DISTINCT ON (code, brand_code) code, brand_code, model, created_at, updated_at, generation
+                FROM vehicles_staging),
+            staged AS (
+                INSERT INTO pending_vehicle_updates (generation_id, code, brand_code, model)
+                SELECT i.generation, i.code, i.brand_code, i.model FROM incoming i
+                JOIN vehicles v ON v.code = i.code AND v.brand_code = i.brand_code
+                WHERE i.generation > 0 AND v.generation < i.generation AND v.model IS DISTINCT FROM i.model
+                ON CONFLICT (generation_id, code, brand_code) DO UPDATE SET model = EXCLUDED.model)
+            INSERT INTO vehicles (code, brand_code, model, created_at, updated_at, generation)
+            SELECT code, brand_code, model, created_at, updated_at, generation FROM incoming
+            ON CONFLICT (code, brand_code) DO NOTHING""";
+
+    private static final String NULL = "\\N";
+
+    private final ConnectionFactory connectionFactory;
+    private final IngestionConcurrency concurrency;
+
+    @Value("${fipe.ingestion.bulk-load.rows-per-chunk:500}")
+    private int rowsPerChunk;
+
+    @Override
+    public Mono<Long> load(final Flux<Vehicle> vehicles) {
+        return vehicles
+                .map(this::encodeRow)
+                .buffer(rowsPerChunk)
+                .map(this::toBytes)
+                .collectList()
+                .flatMap(chunks -> chunks.isEmpty() ? Mono.just(0L)
+                        : concurrency.stage(IngestionConcurrency.DB_WRITE).run(copyAndMerge(chunks)));
+    }
+
+    private Mono<Long> copyAndMerge(final List<byte[]> chunks) {
+        return Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> copyAndMerge(unwrap(connection), chunks),
+                Connection::close,
+                (connection, error) -> connection.close(),
+                Connection::close);
+    }
+
+    private Mono<Long> copyAndMerge(final PostgresqlConnection connection, final List<byte[]> chunks) {
+        Flux<ByteBuf> rows = Flux.fromIterable(chunks).map(Unpooled::wrappedBuffer);
+
+        return execute(connection, CREATE_STAGING)
+                .then(execute(connection, TRUNCATE_STAGING))
+                .then(Mono.defer(() -> connection.copyIn(COPY_STAGING, rows)))
+                .doOnNext(copied -> log.debug("Copied {} vehicles into staging", copied))
+                .then(execute(connection, MERGE_STAGING))
+                .flatMap(inserted -> execute(connection, TRUNCATE_STAGING).thenReturn(inserted))
+                .doOnSuccess(inserted -> log.debug("Merged {} new vehicles from staging", inserted))
+                .doOnError(error -> log.error("Error bulk loading vehicles: {}", error.getMessage()));
+    }
+
+    private Mono<Long> execute(final PostgresqlConnection connection, final String sql) {
+        return Flux.defer(() -> connection.createStatement(sql).execute())
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .reduce(0L, Long::sum);
+    }
+
+    String encodeRow(final Vehicle vehicle) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdAt = nonNull(vehicle.getCreatedAt()) ? vehicle.getCreatedAt() : now;
+        LocalDateTime updatedAt = nonNull(vehicle.getUpdatedAt()) ? vehicle.getUpdatedAt() : createdAt;
+
+        return escape(vehicle.getCode()) + '\t'
+                + escape(vehicle.getBrandCode()) + '\t'
+                + escape(vehicle.getModel()) + '\t'
+                + createdAt + '\t'
+                + updatedAt + '\t'
+                + (nonNull(vehicle.getGeneration()) ? vehicle.getGeneration() : 0L) + '\n';
+    }
+
+    private String escape(final String value) {
+        if (value == null) {
+            return NULL;
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private byte[] toBytes(final List<String> rows) {
+        return String.join("", rows).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private PostgresqlConnection unwrap(final Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("COPY bulk load requires a PostgreSQL connection, got: "
+                + connection.getClass().getName());
+    }
+}
@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -27,12 +28,12 @@ public class KafkaConfig {
     private String brandsTopic;
 
     @Bean
-    public KafkaReceiver<String, String> kafkaReceiver() {
+    public KafkaReceiver<String, byte[]> kafkaReceiver() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 50);
@@ -44,7 +45,7 @@ public class KafkaConfig {
         props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1);
         props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
 
-        ReceiverOptions<String, String> receiverOptions = ReceiverOptions.<String, String>create(props)
+        ReceiverOptions<String, byte[]> receiverOptions = ReceiverOptions.<String, byte[]>create(props)
                 .subscription(Collections.singleton(brandsTopic))
                 .addAssignListener(partitions -> log.info("Partitions assigned: {}", partitions))
                 .addRevokeListener(partitions -> log.info("Partitions revoked: {}", partitions))
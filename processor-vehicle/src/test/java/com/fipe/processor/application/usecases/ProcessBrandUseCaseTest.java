@@ -1,18 +1,27 @@
 package com.fipe.processor.application.usecases;
 
+import com.fipe.processor.application.concurrency.IngestionConcurrency;
+import com.fipe.processor.application.concurrency.StageLimiter;
 import com.fipe.processor.application.ports.output.FipeServicePort;
+import com.fipe.processor.application.ports.output.VehicleBulkLoadPort;
 import com.fipe.processor.domain.entities.Brand;
 import com.fipe.processor.domain.entities.Vehicle;
+import com.fipe.processor.domain.repositories.CatalogGenerationRepository;
 import com.fipe.processor.domain.repositories.VehicleRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -27,6 +36,15 @@ class ProcessBrandUseCaseTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private VehicleBulkLoadPort vehicleBulkLoader;
+
+    @Mock
+    private CatalogGenerationRepository catalogGenerationRepository;
+
+    @Spy
+    private IngestionConcurrency concurrency = new IngestionConcurrency(2, 8);
+
     @InjectMocks
     private ProcessBrandUseCase processBrandUseCase;
 
@@ -154,4 +172,136 @@ class ProcessBrandUseCaseTest {
         verify(vehicleRepository, times(1)).existsByCodeAndBrandCode("V001", "B123");
         verify(vehicleRepository, times(1)).save(any(Vehicle.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void process_ShouldCountSavedVehiclesWhenBulkLoadDisabled() {
+        Brand brandMessage = Brand.builder().id(1L).code("B123").name("Brand123").build();
+        Vehicle vehicle = Vehicle.builder().id(1L).code("V001").brandCode("B123").model("Model1").build();
+
+        when(fipeService.fetchVehiclesByBrand("B123")).thenReturn(Flux.just(vehicle));
+        when(vehicleRepository.existsByCodeAndBrandCode("V001", "B123")).thenReturn(Mono.just(false));
+        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(processBrandUseCase.process(brandMessage))
+                .expectNext(1L)
+                .verifyComplete();
+
+        verifyNoInteractions(vehicleBulkLoader);
+        verifyNoInteractions(catalogGenerationRepository);
+    }
+
+    @Test
+    void process_ShouldStreamVehiclesIntoBulkLoaderWhenEnabled() {
+        ReflectionTestUtils.setField(processBrandUseCase, "bulkLoadEnabled", true);
+        Brand brandMessage = Brand.builder().id(1L).code("B123").name("Brand123").build();
+        Flux<Vehicle> vehicles = Flux.just(
+                Vehicle.create("V001", "B123", "Model1"),
+                Vehicle.create("V002", "B123", "Model2"));
+
+        when(fipeService.fetchVehiclesByBrand("B123")).thenReturn(vehicles);
+        when(vehicleBulkLoader.load(any())).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(processBrandUseCase.process(brandMessage))
+                .expectNext(2L)
+                .verifyComplete();
+
+        verify(vehicleBulkLoader).load(any());
+        verifyNoInteractions(vehicleRepository);
+    }
+
+    @Test
+    void bulkLoad_ShouldStreamCrawlIntoLoaderWithoutDbWritePermit() {
+        TestPublisher<Vehicle> crawl = TestPublisher.create();
+        Brand brandMessage = Brand.builder().id(1L).code("B123").name("Brand123").build();
+        StageLimiter dbWrite = concurrency.stage(IngestionConcurrency.DB_WRITE);
+
+        when(fipeService.fetchVehiclesByBrand("B123")).thenReturn(crawl.flux());
+        when(vehicleBulkLoader.load(any())).thenAnswer(invocation -> invocation.<Flux<Vehicle>>getArgument(0).count());
+
+        StepVerifier.create(processBrandUseCase.bulkLoad(brandMessage))
+                .then(() -> verify(vehicleBulkLoader).load(any()))
+                .then(() -> crawl.next(Vehicle.create("V001", "B123", "Model1")))
+                .then(() -> assertThat(dbWrite.getInFlight()).isZero())
+                .then(() -> assertThat(concurrency.stage(IngestionConcurrency.FIPE_FETCH).getInFlight()).isEqualTo(1))
+                .then(crawl::complete)
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(vehicleBulkLoader).load(any());
+        assertThat(dbWrite.getInFlight()).isZero();
+    }
+
+    @Test
+    void process_ShouldWriteVehiclesIntoBrandGenerationAndTryToPublishIt() {
+        Brand brandMessage = Brand.builder().id(1L).code("B123").name("Brand123").generation(7L).build();
+        Vehicle vehicle = Vehicle.builder().code("V001").brandCode("B123").model("Model1").build();
+
+        when(fipeService.fetchVehiclesByBrand("B123")).thenReturn(Flux.just(vehicle));
+        when(vehicleRepository.existsByCodeAndBrandCode("V001", "B123")).thenReturn(Mono.just(false));
+        when(vehicleRepository.save(any(Vehicle.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(catalogGenerationRepository.isFailed(7L)).thenReturn(Mono.just(false));
+        when(catalogGenerationRepository.markBrandCompleted(7L, "B123")).thenReturn(Mono.just(1L));
+        when(catalogGenerationRepository.publishIfComplete(7L)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(processBrandUseCase.process(brandMessage))
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(vehicleRepository).save(argThat(saved -> saved.getGeneration() == 7L));
+        verify(catalogGenerationRepository).markBrandCompleted(7L, "B123");
+        verify(catalogGenerationRepository).publishIfComplete(7L);
+    }
+
+    @Test
+    void process_ShouldStageChangedModelOfExistingVehicleForBrandGeneration() {
+        Brand brandMessage = Brand.builder().id(1L).code("B123").name("Brand123").generation(7L).build();
+        Vehicle vehicle = Vehicle.builder().code("V001").brandCode("B123").model("Model1 Turbo").build();
+
+        when(fipeService.fetchVehiclesByBrand("B123")).thenReturn(Flux.just(vehicle));
+        when(vehicleRepository.existsByCodeAndBrandCode("V001", "B123")).thenReturn(Mono.just(true));
+        when(vehicleRepository.stageUpdate("V001", "B123", "Model1 Turbo", 7L)).thenReturn(Mono.just(1L));
+        when(catalogGenerationRepository.isFailed(7L)).thenReturn(Mono.just(false));
+        when(catalogGenerationRepository.markBrandCompleted(7L, "B123")).thenReturn(Mono.just(1L));
+        when(catalogGenerationRepository.publishIfComplete(7L)).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(processBrandUseCase.process(brandMessage))
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(vehicleRepository).stageUpdate("V001", "B123", "Model1 Turbo", 7L);
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
+    }
+
+    @Test
+    void process_ShouldDiscardBrandRowsWhenGenerationFailedMeanwhile() {
+        Brand brandMessage = Brand.builder().id(1L).code("B123").name("Brand123").generation(7L).build();
+        Vehicle vehicle = Vehicle.builder().code("V001").brandCode("B123").model("Model1").build();
+
+        when(fipeService.fetchVehiclesByBrand("B123")).thenReturn(Flux.just(vehicle));
+        when(vehicleRepository.existsByCodeAndBrandCode("V001", "B123")).thenReturn(Mono.just(false));
+        when(vehicleRepository.save(any(Vehicle.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(catalogGenerationRepository.isFailed(7L)).thenReturn(Mono.just(true));
+        when(catalogGenerationRepository.discardBrand(7L, "B123")).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(processBrandUseCase.process(brandMessage))
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(catalogGenerationRepository).discardBrand(7L, "B123");
+        verify(catalogGenerationRepository, never()).markBrandCompleted(any(), any());
+        verify(catalogGenerationRepository, never()).publishIfComplete(any());
+    }
+
+    @Test
+    void process_ShouldNotRecordCompletionWhenBrandLoadFails() {
+        Brand brandMessage = Brand.builder().id(1L).code("B123").name("Brand123").generation(7L).build();
+
+        when(fipeService.fetchVehiclesByBrand("B123")).thenReturn(Flux.error(new RuntimeException("API error")));
+
+        StepVerifier.create(processBrandUseCase.process(brandMessage))
+                .expectErrorMessage("API error")
+                .verify();
+
+        verifyNoInteractions(catalogGenerationRepository);
+    }
+}
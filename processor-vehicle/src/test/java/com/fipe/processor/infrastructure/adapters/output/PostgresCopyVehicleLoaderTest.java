@@ -0,0 +1,104 @@
+package com.fipe.processor.infrastructure.adapters.output;
+
+import com.fipe.processor.application.concurrency.IngestionConcurrency;
+import com.fipe.processor.domain.entities.Vehicle;
+import io.r2dbc.spi.ConnectionFactory;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PostgresCopyVehicleLoaderTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private final IngestionConcurrency concurrency = new IngestionConcurrency(2, 8);
+    private final PostgresCopyVehicleLoader loader = new PostgresCopyVehicleLoader(connectionFactory, concurrency);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loader, "rowsPerChunk", 500);
+    }
+
+    @Test
+    void encodeRow_ShouldWriteTabSeparatedCopyTextRow() {
+        Vehicle vehicle = Vehicle.builder()
+                .code("001004-1")
+                .brandCode("1")
+                .model("Integra GS 1.8")
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .generation(5L)
+                .build();
+
+        assertThat(loader.encodeRow(vehicle))
+                .isEqualTo("001004-1\t1\tIntegra GS 1.8\t2024-01-15T10:30\t2024-01-15T10:30\t5\n");
+    }
+
+    @Test
+    void encodeRow_ShouldEscapeSpecialCharactersAndNulls() {
+        Vehicle vehicle = Vehicle.builder()
+                .code(null)
+                .brandCode("1")
+                .model("A\tB\\C\nD")
+                .createdAt(CREATED_AT)
+                .build();
+
+        assertThat(loader.encodeRow(vehicle))
+                .isEqualTo("\\N\t1\tA\\tB\\\\C\\nD\t2024-01-15T10:30\t2024-01-15T10:30\t0\n");
+    }
+
+    @Test
+    void load_ShouldRejectNonPostgresConnections() {
+        io.r2dbc.spi.Connection connection = mock(io.r2dbc.spi.Connection.class);
+        when(connectionFactory.create()).thenAnswer(invocation -> Mono.just(connection));
+        when(connection.close()).thenAnswer(invocation -> Mono.empty());
+
+        StepVerifier.create(loader.load(Flux.just(vehicle())))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void load_ShouldNotBorrowConnectionUntilVehiclesComplete() {
+        io.r2dbc.spi.Connection connection = mock(io.r2dbc.spi.Connection.class);
+        when(connectionFactory.create()).thenAnswer(invocation -> Mono.just(connection));
+        when(connection.close()).thenAnswer(invocation -> Mono.empty());
+        TestPublisher<Vehicle> crawl = TestPublisher.create();
+
+        StepVerifier.create(loader.load(crawl.flux()))
+                .then(() -> crawl.next(vehicle()))
+                .then(() -> verify(connectionFactory, never()).create())
+                .then(() -> assertThat(concurrency.stage(IngestionConcurrency.DB_WRITE).getInFlight()).isZero())
+                .then(crawl::complete)
+                .expectError(IllegalStateException.class)
+                .verify();
+        verify(connectionFactory).create();
+        assertThat(concurrency.stage(IngestionConcurrency.DB_WRITE).getInFlight()).isZero();
+    }
+
+    @Test
+    void load_ShouldSkipConnectionWhenThereAreNoVehicles() {
+        StepVerifier.create(loader.load(Flux.empty()))
+                .expectNext(0L)
+                .verifyComplete();
+
+        verifyNoInteractions(connectionFactory);
+    }
+
+    private static Vehicle vehicle() {
+        return Vehicle.builder().code("001004-1").brandCode("1").model("Integra GS 1.8").createdAt(CREATED_AT).build();
+    }
+}
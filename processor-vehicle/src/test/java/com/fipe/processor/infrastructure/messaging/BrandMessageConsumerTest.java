@@ -1,9 +1,9 @@
 package com.fipe.processor.infrastructure.messaging;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fipe.processor.application.usecases.ProcessBrandUseCase;
 import com.fipe.processor.domain.MessageProcessingException;
 import com.fipe.processor.infrastructure.adapters.input.kafka.BrandMessageConsumer;
+import com.fipe.processor.infrastructure.adapters.input.kafka.BrandMessageDecoder;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import java.io.IOException;
@@ -26,13 +26,13 @@ import static org.mockito.Mockito.when;
 class BrandMessageConsumerTest {
 
     @Mock
-    private KafkaReceiver<String, String> kafkaReceiver;
+    private KafkaReceiver<String, byte[]> kafkaReceiver;
 
     @Mock
     private ProcessBrandUseCase processBrandUseCase;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private BrandMessageDecoder brandMessageDecoder;
 
     @Mock
     private RateLimiterRegistry rateLimiterRegistry;
@@ -41,7 +41,7 @@ class BrandMessageConsumerTest {
     private RateLimiter rateLimiter;
 
     @Mock
-    private ReceiverRecord<String, String> receiverRecord;
+    private ReceiverRecord<String, byte[]> receiverRecord;
 
     @Mock
     private ReceiverOffset receiverOffset;
@@ -52,7 +52,7 @@ class BrandMessageConsumerTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         brandMessageConsumer = new BrandMessageConsumer(
-                kafkaReceiver, processBrandUseCase, objectMapper, rateLimiterRegistry
+                kafkaReceiver, processBrandUseCase, brandMessageDecoder, rateLimiterRegistry
         );
 
         // Configurar valores dos campos via reflection para testes
@@ -76,14 +76,14 @@ class BrandMessageConsumerTest {
 
         assertThat(invokeIsRetryableError(new IOException())).isTrue();
 
-        BrandMessageConsumer consumer = new BrandMessageConsumer(kafkaReceiver, processBrandUseCase, objectMapper, rateLimiterRegistry);
+        BrandMessageConsumer consumer = new BrandMessageConsumer(kafkaReceiver, processBrandUseCase, brandMessageDecoder, rateLimiterRegistry);
         MessageProcessingException retryableException = new MessageProcessingException("Error", new RuntimeException(), true);
         assertThat(invokeIsRetryableError(retryableException)).isTrue();
     }
 
     @Test
     void isRetryableError_ShouldReturnFalseForNonRetryableErrors() {
-        BrandMessageConsumer consumer = new BrandMessageConsumer(kafkaReceiver, processBrandUseCase, objectMapper, rateLimiterRegistry);
+        BrandMessageConsumer consumer = new BrandMessageConsumer(kafkaReceiver, processBrandUseCase, brandMessageDecoder, rateLimiterRegistry);
         MessageProcessingException nonRetryableException = new MessageProcessingException("Error", new RuntimeException(), false);
         assertThat(invokeIsRetryableError(nonRetryableException)).isFalse();
 
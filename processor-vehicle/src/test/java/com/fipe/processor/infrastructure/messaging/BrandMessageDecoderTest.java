@@ -0,0 +1,134 @@
+package com.fipe.processor.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fipe.processor.domain.entities.Brand;
+import com.fipe.processor.infrastructure.adapters.input.kafka.BrandMessageDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BrandMessageDecoderTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+    private final ObjectMapper jsonMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final ObjectMapper smileMapper = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private BrandMessageDecoder decoder;
+    private Brand brand;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new BrandMessageDecoder();
+        brand = Brand.builder().id(1L).code("59").name("VW - VolksWagen").createdAt(CREATED_AT).build();
+    }
+
+    @Test
+    void decode_ShouldReadSmilePayloadWithContentTypeHeader() throws Exception {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("content-type", "application/x-jackson-smile".getBytes(StandardCharsets.UTF_8));
+
+        Brand decoded = decoder.decode(smileMapper.writeValueAsBytes(brand), headers);
+
+        assertThat(decoded).isEqualTo(brand);
+    }
+
+    @Test
+    void decode_ShouldSniffSmilePayloadWithoutHeaders() throws Exception {
+        Brand decoded = decoder.decode(smileMapper.writeValueAsBytes(brand), new RecordHeaders());
+
+        assertThat(decoded).isEqualTo(brand);
+    }
+
+    @Test
+    void decode_ShouldReadLegacyJsonPayload() throws Exception {
+        Brand decoded = decoder.decode(jsonMapper.writeValueAsBytes(brand), new RecordHeaders());
+
+        assertThat(decoded).isEqualTo(brand);
+    }
+
+    @Test
+    void decode_ShouldReadFromDirectByteBuffer() throws Exception {
+        byte[] payload = smileMapper.writeValueAsBytes(brand);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length);
+        buffer.put(payload).flip();
+
+        Brand decoded = decoder.decode(buffer, null);
+
+        assertThat(decoded).isEqualTo(brand);
+        assertThat(buffer.remaining()).isEqualTo(payload.length);
+    }
+
+    @Test
+    void decode_ShouldIgnoreFieldsAddedByNewerProducers() throws Exception {
+        Map<String, Object> newer = Map.of(
+                "code", "59",
+                "name", "VW - VolksWagen",
+                "createdAt", "2024-01-15T10:30:00",
+                "addedInSchemaV2", "ignored");
+
+        Brand decoded = decoder.decode(smileMapper.writeValueAsBytes(newer), new RecordHeaders());
+
+        assertThat(decoded.getCode()).isEqualTo("59");
+        assertThat(decoded.getCreatedAt()).isEqualTo(CREATED_AT);
+    }
+
+    @Test
+    void smilePayload_ShouldBeSmallerThanJson() throws Exception {
+        assertThat(smileMapper.writeValueAsBytes(brand).length)
+                .isLessThan(jsonMapper.writeValueAsBytes(brand).length);
+    }
+
+    /**
+     * Run with {@code mvn test -Dtest=BrandMessageDecoderTest -Dbenchmark=true}.
+     * Compares the previous path (JSON bytes copied into a String, then parsed) with Smile decoded from bytes.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_JsonStringVersusSmileBytes() throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(brand);
+        byte[] smile = smileMapper.writeValueAsBytes(brand);
+        RecordHeaders headers = new RecordHeaders();
+        int warmup = 200_000;
+        int iterations = 1_000_000;
+
+        for (int i = 0; i < warmup; i++) {
+            jsonMapper.readValue(new String(json, StandardCharsets.UTF_8), Brand.class);
+            decoder.decode(smile, headers);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            jsonMapper.readValue(new String(json, StandardCharsets.UTF_8), Brand.class);
+        }
+        long jsonNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decoder.decode(smile, headers);
+        }
+        long smileNanos = System.nanoTime() - start;
+
+        System.out.printf("json: %d bytes, %.1f ns/op | smile: %d bytes, %.1f ns/op%n",
+                json.length, (double) jsonNanos / iterations,
+                smile.length, (double) smileNanos / iterations);
+    }
+}